@@ -2,12 +2,25 @@ package com.hackathon;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+
+import java.util.Map;
 
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.hackathon", "com.hackathon"})
 public class HealthcareApplication {
+
+    // 설정 파일/환경 변수에 값이 없을 때만 쓰는 기본값 (application.properties 등이 항상 우선)
+    // - 환자/처방/검진 이력 저장소는 파일 H2 DB (지정하지 않으면 Boot가 메모리 DB로 띄워 재시작 시 모두 사라짐)
+    // - 파일 DB는 내장 DB로 보지 않아 schema.sql 이 자동 실행되지 않으므로 항상 실행 (모든 문장이 IF NOT EXISTS)
+    // - 필요한 의존성: org.springframework.boot:spring-boot-starter-jdbc, com.h2database:h2
+    static final Map<String, Object> DEFAULT_PROPERTIES = Map.of(
+            "spring.datasource.url", "jdbc:h2:file:./data/healthcare",
+            "spring.datasource.username", "sa",
+            "spring.datasource.password", "",
+            "spring.sql.init.mode", "always");
+
     public static void main(String[] args) {
-        SpringApplication.run(HealthcareApplication.class, args);
+        SpringApplication application = new SpringApplication(HealthcareApplication.class);
+        application.setDefaultProperties(DEFAULT_PROPERTIES);
+        application.run(args);
     }
 }
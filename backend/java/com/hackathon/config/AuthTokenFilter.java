@@ -0,0 +1,135 @@
+package com.hackathon.config;
+
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bearer 토큰 인증 필터
+ * - 보호 경로(app.auth.protected-paths)에서만 동작하며, 토큰이 없거나 잘못되면 401
+ * - 검증한 인증 주체는 요청 속성(AuthPrincipal.REQUEST_ATTRIBUTE)으로 넘김
+ * - 의사 전용 경로(app.auth.doctor-paths)는 의사 토큰만 허용 (환자 토큰은 403)
+ * - 그 밖의 경로에서 환자 토큰은 경로의 {patientKey}가 자기 것일 때만 허용하고,
+ *   경로의 {userId}와 userId 요청 파라미터는 모든 토큰에서 자기 것이어야 함 (다르면 403)
+ */
+@Component
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // 환자 이력 / Lab 수치 / 의사 웹 환자 검색·처방 검사·일괄 분석 / 알림
+    @Value("${app.auth.protected-paths:/records/**,/labs/**,/patients/**,/notifications/**,/anomaly/**,/integrated/analyze-diseases/batch}")
+    private List<String> protectedPaths;
+
+    // 의사 웹 전용 경로 - 환자 검색, 처방 검사, 일괄 분석, 환자 정보 요청, 약물 계열별 처방 조회
+    // (/records/medications/**는 /records/{patientKey}/**보다 먼저 확인해야 "medications"를 환자 키로 보지 않음)
+    @Value("${app.auth.doctor-paths:/patients/**,/anomaly/**,/integrated/analyze-diseases/batch,/notifications/patient-info-request,/records/medications/**}")
+    private List<String> doctorPaths;
+
+    // 환자 본인 범위를 확인할 경로 ({patientKey}는 환자 키, {userId}는 사용자 ID와 비교)
+    @Value("${app.auth.patient-path-patterns:/records/{patientKey}/**,/labs/{patientKey}/**,/notifications/{userId}/recent}")
+    private List<String> patientPathPatterns;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true; // CORS 사전 요청
+        }
+        return !matchesAny(protectedPaths, path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "인증 토큰이 필요합니다.");
+            return;
+        }
+
+        AuthPrincipal principal = tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        if (principal == null) {
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "인증 토큰이 유효하지 않거나 만료되었습니다.");
+            return;
+        }
+
+        if (matchesAny(doctorPaths, path(request))) {
+            if (!principal.isDoctor()) {
+                reject(response, HttpServletResponse.SC_FORBIDDEN, "의사 계정만 사용할 수 있습니다.");
+                return;
+            }
+        } else if (!isOwnScope(request, principal)) {
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "다른 사용자의 정보에는 접근할 수 없습니다.");
+            return;
+        }
+
+        request.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE, principal);
+        chain.doFilter(request, response);
+    }
+
+    // 접근 범위 확인 - userId(요청 파라미터, 경로 변수)는 토큰의 사용자와, 환자 토큰은 {patientKey}도 토큰의 환자와 같아야 함
+    private boolean isOwnScope(HttpServletRequest request, AuthPrincipal principal) {
+        String userId = request.getParameter("userId");
+        if (userId != null && !userId.equals(principal.getUserId())) {
+            return false;
+        }
+        String path = path(request);
+        for (String pattern : patientPathPatterns) {
+            if (!pathMatcher.match(pattern, path)) {
+                continue;
+            }
+            Map<String, String> variables = pathMatcher.extractUriTemplateVariables(pattern, path);
+            if (variables.containsKey("patientKey") && !principal.isDoctor()
+                    && !variables.get("patientKey").equals(principal.getPatientKey())) {
+                return false;
+            }
+            if (variables.containsKey("userId") && !variables.get("userId").equals(principal.getUserId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 컨텍스트 경로(/api)를 뺀 요청 경로
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        if (status == HttpServletResponse.SC_UNAUTHORIZED) {
+            response.setHeader("WWW-Authenticate", "Bearer");
+        }
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":\"ERROR\",\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,143 @@
+package com.hackathon.config;
+
+import com.hackathon.service.AdaptiveConcurrencyLimiter;
+import com.hackathon.service.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 API를 부르는 무거운 경로의 동시 처리 수 제한 필터
+ * - 경로별 우선순위로 AdaptiveConcurrencyLimiter 에서 허가를 받고, 한도 초과면 바로 503 + Retry-After
+ * - 비동기(SSE) 응답은 스트림이 끝날 때 허가를 반납하고, 지연은 한도 계산에 반영하지 않음
+ * - 우선순위 경로에 해당하지 않는 요청은 제한하지 않음
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Value("${app.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.limiter.interactive-paths:/auth/request,/auth/request-raw,/auth/register/complete,/auth/doctor/login}")
+    private List<String> interactivePaths;
+
+    @Value("${app.limiter.analysis-paths:/integrated/health-data,/integrated/analyze-diseases,/integrated/analyze-diseases/stream,/anomaly/check}")
+    private List<String> analysisPaths;
+
+    @Value("${app.limiter.batch-paths:/integrated/analyze-diseases/batch,/anomaly/check/batch}")
+    private List<String> batchPaths;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || HttpMethod.OPTIONS.matches(request.getMethod()) || priorityOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        long acquiredAt = limiter.tryAcquire(priority);
+        if (acquiredAt < 0) {
+            reject(response, limiter.retryAfterSeconds(priority));
+            return;
+        }
+
+        boolean failed = true;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(priority, acquiredAt));
+            } else {
+                limiter.release(priority, acquiredAt, true, failed);
+            }
+        }
+    }
+
+    // 경로별 우선순위 (제한 대상이 아니면 null)
+    private Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (matches(interactivePaths, path)) {
+            return Priority.INTERACTIVE;
+        }
+        if (matches(analysisPaths, path)) {
+            return Priority.ANALYSIS;
+        }
+        if (matches(batchPaths, path)) {
+            return Priority.BATCH;
+        }
+        return null;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":\"ERROR\",\"message\":\"요청이 많아 잠시 후 다시 시도해 주세요.\"}");
+    }
+
+    // 비동기 응답이 끝나면(완료, 타임아웃, 오류 모두 onComplete 호출) 허가 반납
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final Priority priority;
+        private final long acquiredAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(Priority priority, long acquiredAt) {
+            this.priority = priority;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(priority, acquiredAt, false, false);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 같은 요청에서 비동기를 다시 시작하면 리스너를 새 컨텍스트에 다시 등록
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hackathon.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    // 사용자 요청의 기저질환 분석 스레드 수 / 대기열 크기
+    // (ThreadPoolExecutor는 대기열이 가득 차야 core 이상으로 스레드를 늘리므로 core == max 로 고정)
+    @Value("${app.executor.analysis.pool-size:16}")
+    private int analysisPoolSize;
+
+    @Value("${app.executor.analysis.queue-capacity:200}")
+    private int analysisQueueCapacity;
+
+    // 선행 분석의 ChatGPT 호출 스레드 수 / 대기열 크기 (사용자 요청 분석 풀과 분리)
+    @Value("${app.executor.background-analysis.pool-size:4}")
+    private int backgroundAnalysisPoolSize;
+
+    @Value("${app.executor.background-analysis.queue-capacity:100}")
+    private int backgroundAnalysisQueueCapacity;
+
+    // 일괄 분석 시 동시에 진행할 수 있는 ChatGPT 호출 수 (batchLlmExecutor 크기, 호출을 기다리는 스레드는 없음)
+    @Value("${app.batch.max-concurrent-llm:8}")
+    private int batchMaxConcurrentLlm;
+
+    // 동시에 진행할 수 있는 기저질환 선행 분석 수 (넘으면 선행 분석을 건너뜀)
+    @Value("${app.speculation.max-concurrent:4}")
+    private int speculationMaxConcurrent;
+
+    // 알림 전송 스레드 수 / 대기열 크기 (유휴 연결은 스레드를 점유하지 않고, 전송할 때만 사용)
+    @Value("${app.notifications.sender-threads:16}")
+    private int notificationSenderThreads;
+
+    @Value("${app.notifications.sender-queue-capacity:10000}")
+    private int notificationSenderQueueCapacity;
+
+    // 가상 스레드 모드 (Tomcat 요청 처리와 같은 설정을 따름, application-virtual.properties 참고)
+    // 켜면 외부 API(Tilko, ChatGPT) 호출을 기다리는 풀의 스레드를 가상 스레드로 만들고,
+    // 풀 크기는 스레드 수가 아닌 동시 작업 수 상한으로만 사용
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 기저질환 분석(스트리밍 포함) 백그라운드 작업용 스레드 풀 - 사용자가 기다리는 요청 전용
+    @Bean(name = "analysisExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService analysisExecutor() {
+        return fixedPool(analysisPoolSize, analysisQueueCapacity, "analysis-");
+    }
+
+    // 선행 분석의 ChatGPT 호출용 스레드 풀 (일괄 분석은 batchLlmExecutor 사용)
+    // 사용자 요청 분석과 스레드를 나눠 쓰지 않으므로 대량 작업이 몰려도 사용자 요청이 밀리지 않음
+    @Bean(name = "backgroundAnalysisExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService backgroundAnalysisExecutor() {
+        return fixedPool(backgroundAnalysisPoolSize, backgroundAnalysisQueueCapacity, "background-analysis-");
+    }
+
+    // 일괄 분석의 로컬 작업(약물 정보 추출, 프롬프트 생성)용 fork-join 풀
+    // CPU 작업이므로 가상 스레드 모드에서도 플랫폼 스레드 사용
+    @Bean(name = "batchLocalPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool batchLocalPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    // 일괄 분석의 ChatGPT 호출용 스레드 풀 - 풀 크기가 곧 동시 호출 상한
+    @Bean(name = "batchLlmExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService batchLlmExecutor() {
+        return new ThreadPoolExecutor(
+                batchMaxConcurrentLlm,
+                batchMaxConcurrentLlm,
+                0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory("batch-llm-"));
+    }
+
+    // 기저질환 선행 분석용 스레드 풀 - 대기열 없이 빈 스레드가 없으면 거절 (선행 분석은 건너뛰어도 됨)
+    @Bean(name = "speculationExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService speculationExecutor() {
+        return new ThreadPoolExecutor(
+                0,
+                speculationMaxConcurrent,
+                60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                threadFactory("speculation-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 알림(SSE/WebSocket) 전송용 스레드 풀 - 대기열이 가득 차면 거절하고 해당 구독을 끊음
+    @Bean(name = "notificationExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService notificationExecutor() {
+        return new ThreadPoolExecutor(
+                notificationSenderThreads,
+                notificationSenderThreads,
+                0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(notificationSenderQueueCapacity),
+                threadFactory("notification-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 스레드 수 고정 + 유휴 스레드는 종료, 대기열이 가득 차면 거절
+    private ThreadPoolExecutor fixedPool(int poolSize, int queueCapacity, String prefix) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory(prefix),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // 가상 스레드 모드면 가상 스레드, 아니면 데몬 플랫폼 스레드
+    private ThreadFactory threadFactory(String prefix) {
+        return virtualThreads ? VirtualThreads.factory(prefix) : namedThreadFactory(prefix);
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.hackathon.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+
+    // 외부 API(Tilko, ChatGPT) 유휴 연결 보관 수 / 보관 시간
+    // 연결을 재사용하므로 TLS 연결은 처음 한 번만 맺음 (시작 시 StartupWarmup 에서 미리 연결)
+    @Value("${app.upstream.max-idle-connections:32}")
+    private int maxIdleConnections;
+
+    @Value("${app.upstream.keep-alive-minutes:5}")
+    private long keepAliveMinutes;
+
+    // 외부 API 공용 HTTP 클라이언트 (타임아웃이 다른 호출은 newBuilder()로 연결 풀을 공유하며 조정)
+    @Bean
+    public OkHttpClient upstreamHttpClient() {
+        return new OkHttpClient.Builder()
+                .connectTimeout(60, TimeUnit.SECONDS)
+                .readTimeout(60, TimeUnit.SECONDS)
+                .writeTimeout(60, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES))
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hackathon.config;
+
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 알림 WebSocket 연결 전 토큰 확인
+ * - 브라우저 WebSocket은 헤더를 붙일 수 없으므로 token 요청 파라미터로 받음 (Authorization: Bearer 헤더도 허용)
+ * - 토큰이 없거나 잘못되면 401, userId가 토큰의 사용자가 아니면 403으로 연결을 거절
+ * - 확인한 인증 주체는 세션 속성(AuthPrincipal.REQUEST_ATTRIBUTE)으로 핸들러에 넘김
+ */
+@Component
+public class NotificationHandshakeInterceptor implements HandshakeInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+        String token = params.getFirst("token");
+        String authorization = request.getHeaders().getFirst("Authorization");
+        if (token == null && authorization != null
+                && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            token = authorization.substring(BEARER_PREFIX.length()).trim();
+        }
+
+        AuthPrincipal principal = token != null ? tokenService.verify(token) : null;
+        if (principal == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        if (!principal.getUserId().equals(params.getFirst("userId"))) {
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+
+        attributes.put(AuthPrincipal.REQUEST_ATTRIBUTE, principal);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.hackathon.config;
+
+import com.hackathon.service.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 마감 설정 필터
+ * - 요청 스레드에 마감(RequestDeadline)을 걸어, 안에서 부르는 외부 API 호출이 남은 시간만 기다리도록 함
+ * - 0 이하로 설정하면 끔
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Value("${app.upstream.request-deadline-seconds:90}")
+    private long deadlineSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return deadlineSeconds <= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline.Scope deadline = RequestDeadline.start(TimeUnit.SECONDS.toMillis(deadlineSeconds));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            deadline.close();
+        }
+    }
+}
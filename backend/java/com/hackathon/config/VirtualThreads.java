@@ -0,0 +1,32 @@
+package com.hackathon.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드 팩토리 생성 도우미
+ * - Java 21의 Thread.ofVirtual() 을 리플렉션으로 호출하여 Java 17에서도 컴파일되도록 함
+ * - 가상 스레드 모드(spring.threads.virtual.enabled=true)는 Java 21 이상에서만 켤 수 있음
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 이름이 prefix1, prefix2 ... 인 가상 스레드를 만드는 팩토리
+     */
+    static ThreadFactory factory(String prefix) {
+        try {
+            // 구현 클래스가 아닌 공개 인터페이스(Thread.Builder)의 메소드로 호출해야 접근 오류가 나지 않음
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method name = builderType.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다 (현재: "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hackathon.config;
+
+import com.hackathon.service.NotificationWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private NotificationWebSocketHandler notificationWebSocketHandler;
+
+    @Autowired
+    private NotificationHandshakeInterceptor notificationHandshakeInterceptor;
+
+    // 연결을 허용할 웹 오리진 (의사 웹 주소를 배포 환경에 맞게 지정, Origin 헤더가 없는 앱 연결은 토큰만 확인)
+    @Value("${app.websocket.allowed-origins:http://localhost:*,http://127.0.0.1:*}")
+    private String[] allowedOrigins;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(notificationWebSocketHandler, "/ws/notifications")
+                .addInterceptors(notificationHandshakeInterceptor)
+                .setAllowedOriginPatterns(allowedOrigins);
+    }
+}
@@ -0,0 +1,56 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.BatchPrescriptionCheckRequestDto;
+import com.hackathon.dto.BatchPrescriptionCheckResultDto;
+import com.hackathon.dto.PrescriptionCheckRequestDto;
+import com.hackathon.dto.PrescriptionCheckResultDto;
+import com.hackathon.service.PrescriptionAnomalyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/anomaly")
+public class AnomalyController {
+
+    @Autowired
+    private PrescriptionAnomalyService prescriptionAnomalyService;
+
+    // 약물 상호작용 검사 API (환자 약물 추가 시 후보 약물 검사 또는 복용 약물 전체 검사)
+    @PostMapping("/interactions")
+    public PrescriptionCheckResultDto checkInteractions(@RequestBody PrescriptionCheckRequestDto request) {
+        try {
+            return prescriptionAnomalyService.check(request);
+        } catch (Exception e) {
+            System.err.println("약물 상호작용 검사 오류: " + e.getMessage());
+            return errorResult(e);
+        }
+    }
+
+    // 처방 이상 사항 검사 API (틸코 처방 조회 결과 전체, eGFR/투석 여부가 있으면 신기능 용량 검사 포함)
+    @PostMapping("/check")
+    public PrescriptionCheckResultDto checkPrescription(@RequestBody Object medicationData,
+                                                        @RequestParam(value = "eGFR", required = false) Double egfr,
+                                                        @RequestParam(value = "isDialysis", defaultValue = "false") boolean dialysis) {
+        try {
+            return prescriptionAnomalyService.checkPrescription(medicationData, egfr, dialysis);
+        } catch (Exception e) {
+            System.err.println("처방 이상 사항 검사 오류: " + e.getMessage());
+            return errorResult(e);
+        }
+    }
+
+    // 처방 이상 사항 일괄 검사 API (의사 웹 환자 목록)
+    @PostMapping("/check/batch")
+    public List<BatchPrescriptionCheckResultDto> checkBatch(@RequestBody BatchPrescriptionCheckRequestDto batchRequest) throws Exception {
+        System.out.println("=== 처방 이상 사항 일괄 검사 요청 받음 ===");
+        return prescriptionAnomalyService.checkBatch(batchRequest);
+    }
+
+    private PrescriptionCheckResultDto errorResult(Exception e) {
+        return new PrescriptionCheckResultDto("ERROR", "처방 이상 사항 검사 중 오류가 발생했습니다: " + e.getMessage(),
+                new ArrayList<>(), new ArrayList<>());
+    }
+}
@@ -1,9 +1,18 @@
 package com.hackathon.controller;
 
+import com.hackathon.domain.AuthSession;
+import com.hackathon.domain.Patient;
 import com.hackathon.dto.AuthRequestDto;
 import com.hackathon.dto.AuthResponseDto;
 import com.hackathon.service.AuthService;
+import com.hackathon.service.DoctorAccountService;
+import com.hackathon.service.HealthRecordService;
+import com.hackathon.service.PatientSearchIndex;
+import com.hackathon.service.SimpleAuthSessionService;
+import com.hackathon.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import java.util.HashMap;
@@ -16,45 +25,81 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private PatientSearchIndex patientSearchIndex;
+
+    @Autowired
+    private HealthRecordService healthRecordService;
+
+    @Autowired
+    private SimpleAuthSessionService authSessions;
+
+    @Autowired
+    private DoctorAccountService doctorAccountService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
     // 간편인증 요청 API - 필터링된 DTO 반환 (통합 API 호출용)
     @PostMapping("/request")
     public AuthResponseDto requestAuth(@RequestBody AuthRequestDto authRequest) throws Exception {
-        return authService.requestSimpleAuth(authRequest);
+        AuthResponseDto response = authService.requestSimpleAuth(authRequest);
+        // 누구의 인증인지는 서버가 기록한 요청 정보로만 판단
+        authSessions.record(authRequest, response);
+        return response;
     }
 
-    // 간편인증 요청 API - 원본 JSON 반환 (디버깅용)
+    // 간편인증 요청 API - 원본 JSON 반환 (디버깅용, 거래를 기록하지 않으므로 건강 정보 조회/회원가입에는 사용할 수 없음)
     @PostMapping("/request-raw")
     public Object requestAuthRaw(@RequestBody AuthRequestDto authRequest) throws Exception {
         return authService.requestSimpleAuthRaw(authRequest);
     }
 
-    // 회원가입 완료 API (해커톤용 임시 구현)
+    // 회원가입 완료 API - 간편인증(건강 정보 조회 성공)을 마친 거래로만 환자 정보 저장 후 서명 토큰 발급
+    // 요청 본문: reqTxId(간편인증 거래 ID), userId - 이름/생년월일/전화번호는 서버에 기록된 간편인증 요청 정보 사용
     @PostMapping("/register/complete")
     public ResponseEntity<Map<String, Object>> completeRegistration(@RequestBody Map<String, Object> registrationData) {
         try {
             System.out.println("=== 회원가입 완료 요청 받음 ===");
-            System.out.println("받은 데이터: " + registrationData);
-
-            // 해커톤용 간단한 처리
-            // 실제로는 여기서 데이터베이스에 사용자 정보를 저장해야 함
 
+            String reqTxId = (String) registrationData.get("reqTxId");
             String userId = (String) registrationData.get("userId");
-            String userName = (String) registrationData.get("userName");
-            String phoneNumber = (String) registrationData.get("phoneNumber");
+            if (userId == null || userId.isBlank()) {
+                return failure(400, "userId가 없습니다.");
+            }
+
+            AuthSession session = authSessions.consumeVerified(reqTxId);
+            if (session == null) {
+                return failure(401, "간편인증이 확인되지 않았습니다. 간편인증을 다시 시도해주세요.");
+            }
+
+            // 환자 정보 저장 (이미 가입한 환자는 기존 userId 유지)
+            String birthDate = session.getBirthDate().replaceAll("[^0-9]", "");
+            Patient patient = healthRecordService.registerPatient(new Patient(session.getPatientKey(), userId,
+                    session.getUserName(), birthDate, session.getPhoneNumber(), null, null));
+            if (patient == null) {
+                return failure(409, "이미 다른 환자가 사용 중인 userId입니다.");
+            }
+
+            // 의사 웹 환자 검색 인덱스에 등록
+            patientSearchIndex.add(patient.getPatientKey(), patient.getUserId(), patient.getName(), birthDate);
 
-            // 임시 응답 생성
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "회원가입이 완료되었습니다.");
-            response.put("token", "temp-jwt-token-" + System.currentTimeMillis());
+            response.put("token", tokenService.issue(patient.getUserId(), patient.getPatientKey()));
 
             Map<String, Object> user = new HashMap<>();
-            user.put("userId", userId);
-            user.put("name", userName);
-            user.put("phoneNumber", phoneNumber);
+            user.put("userId", patient.getUserId());
+            user.put("name", patient.getName());
+            user.put("phoneNumber", patient.getPhoneNumber());
+            user.put("patientKey", patient.getPatientKey());
             response.put("user", user);
 
-            System.out.println("회원가입 완료 - userId: " + userId);
+            System.out.println("회원가입 완료 - userId: " + patient.getUserId());
 
             return ResponseEntity.ok(response);
 
@@ -62,12 +107,39 @@ public class AuthController {
             System.err.println("회원가입 완료 처리 중 오류: " + e.getMessage());
             e.printStackTrace();
 
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "회원가입 처리 중 오류가 발생했습니다.");
+            return failure(500, "회원가입 처리 중 오류가 발생했습니다.");
+        }
+    }
 
-            return ResponseEntity.status(500).body(errorResponse);
+    // 의사 웹 로그인 API - 의사 계정 확인 후 의사 토큰 발급 (환자 검색/처방 검사/일괄 분석/환자 정보 요청용)
+    // 요청 본문: doctorId, password
+    @PostMapping("/doctor/login")
+    public ResponseEntity<Map<String, Object>> doctorLogin(@RequestBody Map<String, Object> loginData) {
+        String doctorId = (String) loginData.get("doctorId");
+        String doctorName = doctorAccountService.authenticate(doctorId, (String) loginData.get("password"));
+        if (doctorName == null) {
+            System.out.println("의사 로그인 실패 - doctorId: " + doctorId);
+            return failure(401, "의사 ID 또는 비밀번호가 올바르지 않습니다.");
         }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("token", tokenService.issueDoctor(doctorId, doctorName));
+
+        Map<String, Object> doctor = new HashMap<>();
+        doctor.put("doctorId", doctorId);
+        doctor.put("name", doctorName);
+        response.put("doctor", doctor);
+
+        System.out.println("의사 로그인 - doctorId: " + doctorId);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> failure(int status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
     }
 
     // 테스트용 GET 메소드
@@ -77,8 +149,12 @@ public class AuthController {
     }
 
     // 헬스체크용
+    // 시작 워밍업(StartupWarmup)이 끝나기 전에는 503 - 로드밸런서가 준비된 뒤에만 트래픽을 보내도록
     @GetMapping("/health")
-    public String health() {
-        return "OK";
+    public ResponseEntity<String> health() {
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(503).body("WARMING_UP");
+        }
+        return ResponseEntity.ok("OK");
     }
 }
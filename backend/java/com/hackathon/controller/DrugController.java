@@ -0,0 +1,51 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.DrugInfoDto;
+import com.hackathon.service.DrugDictionary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/drugs")
+public class DrugController {
+
+    private static final int MAX_SEARCH_RESULTS = 20;
+
+    @Autowired
+    private DrugDictionary drugDictionary;
+
+    // 약품명으로 약품 조회 (원문 또는 정규화 이름 일치)
+    @GetMapping("/lookup")
+    public ResponseEntity<DrugInfoDto> lookup(@RequestParam String name) {
+        int drug = drugDictionary.lookup(name);
+        if (drug == DrugDictionary.NOT_FOUND) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toDto(drug));
+    }
+
+    // 약품명 접두어 검색 (환자 약물 추가 화면 자동완성용)
+    @GetMapping("/search")
+    public List<DrugInfoDto> search(@RequestParam String prefix) {
+        int[] found = new int[MAX_SEARCH_RESULTS];
+        int count = drugDictionary.prefixSearch(prefix, found);
+
+        List<DrugInfoDto> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(toDto(found[i]));
+        }
+        return results;
+    }
+
+    private DrugInfoDto toDto(int drug) {
+        return new DrugInfoDto(
+                drugDictionary.code(drug),
+                drugDictionary.name(drug),
+                drugDictionary.ingredientNames(drug),
+                drugDictionary.atc(drug));
+    }
+}
@@ -0,0 +1,81 @@
+package com.hackathon.controller;
+
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.dto.HealthDeltaDto;
+import com.hackathon.service.HealthRecordService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/records")
+public class HealthRecordController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private HealthRecordService healthRecordService;
+
+    // 환자의 기간별 복용약물 이력 (from/to는 yyyy-MM-dd, to 포함)
+    @GetMapping("/{patientKey}/medications")
+    public List<MedicationDetail> medications(@PathVariable String patientKey,
+                                              @RequestParam(defaultValue = "1900-01-01")
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(defaultValue = "2999-12-31")
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return healthRecordService.findMedications(patientKey, from, to);
+    }
+
+    // 환자의 기간별 건강검진 검사 수치
+    @GetMapping("/{patientKey}/checkups")
+    public List<CheckupResult> checkups(@PathVariable String patientKey,
+                                        @RequestParam(defaultValue = "1900-01-01")
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(defaultValue = "2999-12-31")
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return healthRecordService.findCheckupResults(patientKey, from, to);
+    }
+
+    // 앱 증분 동기화 API - since(또는 If-None-Match) 버전 이후 바뀐 약물 줄 / 검사 수치만 반환
+    // 바뀐 것이 없으면 304, since가 없거나 0이면 전체 이력
+    @GetMapping("/{patientKey}/delta")
+    public ResponseEntity<HealthDeltaDto> delta(@PathVariable String patientKey,
+                                                @RequestParam(required = false) Long since,
+                                                @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        long clientVersion = since != null ? since : parseETag(ifNoneMatch);
+        HealthDeltaDto delta = healthRecordService.delta(patientKey, clientVersion);
+        if (delta == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(clientVersion)).build();
+        }
+        return ResponseEntity.ok().eTag(delta.getVersion()).body(delta);
+    }
+
+    // ATC 코드(접두어)로 약물 처방 조회 (예: atc=C10AA)
+    @GetMapping("/medications/by-atc")
+    public List<MedicationDetail> medicationsByAtc(@RequestParam String atc,
+                                                   @RequestParam(defaultValue = "1900-01-01")
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                   @RequestParam(defaultValue = "2999-12-31")
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return healthRecordService.findMedicationsByAtc(atc, from, to, Math.min(limit, MAX_LIMIT));
+    }
+
+    // ETag 값("123" 또는 W/"123")을 버전으로 변환 (없거나 잘못된 값이면 0 = 전체)
+    private static long parseETag(String eTag) {
+        if (eTag == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(eTag.replace("W/", "").replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
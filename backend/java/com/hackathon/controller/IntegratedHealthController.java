@@ -1,13 +1,16 @@
 package com.hackathon.controller;
 
 import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.dto.BatchDiseaseAnalysisRequestDto;
 import com.hackathon.dto.IntegratedHealthDataDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
 import com.hackathon.service.IntegratedHealthService;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/integrated")
@@ -51,4 +54,26 @@ public class IntegratedHealthController {
         }
     }
 
+    // ChatGPT AI 기저질환 스트리밍 분석 API (SSE)
+    // 이벤트: disease(질환 1건씩) → complete(최종 결과) / error
+    @PostMapping(value = "/analyze-diseases/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeDiseasesStream(@RequestBody Object medicationData) {
+        System.out.println("=== 기저질환 스트리밍 분석 요청 받음 ===");
+
+        SseEmitter emitter = new SseEmitter(120_000L);
+        integratedHealthService.analyzeDiseasesStreaming(medicationData, emitter);
+        return emitter;
+    }
+
+    // 기저질환 일괄 분석 API (의사 웹, SSE)
+    // 이벤트: result(환자 1명 결과, 완료 순서대로) → complete(요약)
+    @PostMapping(value = "/analyze-diseases/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeDiseasesBatch(@RequestBody BatchDiseaseAnalysisRequestDto batchRequest) {
+        System.out.println("=== 기저질환 일괄 분석 요청 받음 ===");
+
+        SseEmitter emitter = new SseEmitter(600_000L);
+        integratedHealthService.analyzeDiseasesBatch(batchRequest, emitter);
+        return emitter;
+    }
+
 }
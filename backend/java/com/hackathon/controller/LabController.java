@@ -0,0 +1,66 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.LabSeriesDto;
+import com.hackathon.dto.LabTrendDto;
+import com.hackathon.dto.LabValueDto;
+import com.hackathon.service.LabValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+@RestController
+@RequestMapping("/labs")
+public class LabController {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Autowired
+    private LabValueStore labValueStore;
+
+    // 환자의 검사 항목 목록
+    @GetMapping("/{patientKey}/tests")
+    public List<String> tests(@PathVariable String patientKey) {
+        return labValueStore.testNames(patientKey);
+    }
+
+    // 검사 항목별 최근 수치 (건강검진 내역조회)
+    @GetMapping("/{patientKey}/latest")
+    public List<LabValueDto> latest(@PathVariable String patientKey) {
+        return labValueStore.latest(patientKey);
+    }
+
+    // 특정 년도의 모든 검사 수치 (이전 년도 조회)
+    @GetMapping("/{patientKey}/years/{year}")
+    public List<LabValueDto> year(@PathVariable String patientKey, @PathVariable int year) {
+        return labValueStore.allInRange(patientKey, startOfYear(year), startOfYear(year + 1));
+    }
+
+    // 검사 항목 1종의 기간 수치 (Lab 수치 열람, from/to는 년도이며 to 포함)
+    @GetMapping("/{patientKey}/series")
+    public ResponseEntity<LabSeriesDto> series(@PathVariable String patientKey,
+                                               @RequestParam String test,
+                                               @RequestParam(defaultValue = "1900") int from,
+                                               @RequestParam(defaultValue = "2999") int to) {
+        if (!labValueStore.contains(patientKey)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(labValueStore.range(patientKey, test, startOfYear(from), startOfYear(to + 1)));
+    }
+
+    // 검사 항목 1종의 추세 (1년당 변화량)
+    @GetMapping("/{patientKey}/trend")
+    public LabTrendDto trend(@PathVariable String patientKey,
+                             @RequestParam String test,
+                             @RequestParam(defaultValue = "1900") int from,
+                             @RequestParam(defaultValue = "2999") int to) {
+        return labValueStore.trend(patientKey, test, startOfYear(from), startOfYear(to + 1));
+    }
+
+    private long startOfYear(int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay(KST).toInstant().toEpochMilli();
+    }
+}
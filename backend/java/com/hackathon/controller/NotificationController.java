@@ -0,0 +1,83 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.NotificationDto;
+import com.hackathon.dto.PatientInfoRequestDto;
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.NotificationHub;
+import com.hackathon.service.SseNotificationSubscriber;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/notifications")
+public class NotificationController {
+
+    public static final String TYPE_PATIENT_INFO_REQUEST = "PATIENT_INFO_REQUEST";
+
+    @Value("${app.notifications.sse-timeout-minutes:30}")
+    private long sseTimeoutMinutes;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    // 알림 구독 API (SSE, 재연결 시 브라우저가 Last-Event-ID 헤더를 보냄)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam String userId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(sseTimeoutMinutes));
+        SseNotificationSubscriber subscriber = new SseNotificationSubscriber(
+                userId, notificationHub.getSubscriberQueueSize(), emitter);
+
+        emitter.onCompletion(() -> notificationHub.unsubscribe(subscriber));
+        emitter.onTimeout(() -> notificationHub.unsubscribe(subscriber));
+        emitter.onError(e -> notificationHub.unsubscribe(subscriber));
+
+        notificationHub.subscribe(subscriber, NotificationHub.parseLastEventId(lastEventId));
+        return emitter;
+    }
+
+    // 의사 → 환자 정보 요청 알림 발행 API
+    // 보내는 의사는 본문의 doctorId/doctorName이 아닌 의사 토큰으로 정함 (다른 의사를 사칭하지 못하도록)
+    @PostMapping("/patient-info-request")
+    public ResponseEntity<Map<String, Object>> requestPatientInfo(@RequestBody PatientInfoRequestDto request,
+                                                                  HttpServletRequest httpRequest) {
+        Map<String, Object> response = new HashMap<>();
+        AuthPrincipal doctor = AuthPrincipal.current(httpRequest);
+        if (doctor == null || !doctor.isDoctor()) {
+            response.put("status", "ERROR");
+            response.put("message", "의사 계정만 사용할 수 있습니다.");
+            return ResponseEntity.status(403).body(response);
+        }
+        if (request.getPatientUserId() == null || request.getPatientUserId().isBlank()) {
+            response.put("status", "ERROR");
+            response.put("message", "patientUserId가 필요합니다.");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        String message = request.getMessage() != null ? request.getMessage()
+                : doctor.getName() + " 의사가 환자 정보를 요청했습니다.";
+        NotificationDto notification = notificationHub.publish(request.getPatientUserId(), TYPE_PATIENT_INFO_REQUEST,
+                doctor.getUserId(), doctor.getName(), message);
+
+        response.put("status", "SUCCESS");
+        response.put("notification", notification);
+        return ResponseEntity.ok(response);
+    }
+
+    // 최근 알림 조회 API (재전송 버퍼에 남아 있는 알림, 구독 없이 폴링할 때 사용)
+    @GetMapping("/{userId}/recent")
+    public List<NotificationDto> recent(@PathVariable String userId,
+                                        @RequestParam(defaultValue = "0") long after) {
+        return notificationHub.recent(userId, after);
+    }
+}
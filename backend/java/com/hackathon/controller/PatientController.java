@@ -0,0 +1,28 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.PatientSearchResultDto;
+import com.hackathon.dto.PatientSummaryDto;
+import com.hackathon.service.PatientSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/patients")
+public class PatientController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private PatientSearchIndex patientSearchIndex;
+
+    // 환자 이름으로 조회 API (전체 이름, 접두어, 초성 + 선택적 생년월일)
+    @GetMapping("/search")
+    public PatientSearchResultDto search(@RequestParam String name,
+                                         @RequestParam(required = false) String birthDate,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        List<PatientSummaryDto> patients = patientSearchIndex.search(name, birthDate, Math.min(limit, MAX_LIMIT));
+        return new PatientSearchResultDto(patients.isEmpty() ? "NOT_FOUND" : "FOUND", patients);
+    }
+}
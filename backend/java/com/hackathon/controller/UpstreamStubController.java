@@ -0,0 +1,160 @@
+package com.hackathon.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 API(Tilko, ChatGPT) 대역 - 부하 테스트용 (upstream-stub 프로필에서만 등록)
+ * - 응답을 app.upstream-stub.latency-ms 만큼 늦게 보내 느린 외부 API를 흉내냄
+ * - 대기 중인 요청은 DeferredResult로 들고 있으므로 대역 서버 자신은 스레드를 점유하지 않음
+ *   (대량 동시 연결 시 server.tomcat.max-connections 를 함께 늘려야 함)
+ * - /stub/stats 로 현재/최대 동시 요청 수를 확인 (scripts/virtual-thread-benchmark.sh 에서 사용)
+ *
+ * 연결 방법: tilko.api.host=http://localhost:{port}{context-path}/stub/tilko,
+ *          chatgpt.api.url=http://localhost:{port}{context-path}/stub/openai/v1/chat/completions
+ */
+@RestController
+@Profile("upstream-stub")
+@RequestMapping("/stub")
+public class UpstreamStubController {
+
+    // 외부 API 응답 지연 시간
+    @Value("${app.upstream-stub.latency-ms:2000}")
+    private long latencyMs;
+
+    // ChatGPT 대역이 돌려줄 분석 결과 (질환명 JSON 배열)
+    @Value("${app.upstream-stub.chatgpt-content:[\"고혈압\", \"제2형 당뇨병\"]}")
+    private String chatGptContent;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    private ScheduledExecutorService delayScheduler;
+    private String publicKey;
+
+    @PostConstruct
+    public void init() throws Exception {
+        delayScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-stub-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // AuthService가 실제로 AES 키를 암호화할 수 있도록 진짜 RSA 공개키를 만들어 둠
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        publicKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delayScheduler.shutdownNow();
+    }
+
+    // Tilko 공개키 조회 (지연 없음 - 실제 서비스에서도 빠른 요청)
+    @GetMapping("/tilko/api/Auth/GetPublicKey")
+    public Map<String, Object> tilkoPublicKey() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("Status", "OK");
+        response.put("PublicKey", publicKey);
+        return response;
+    }
+
+    // Tilko 간편인증 / 건강검진 / 투약정보 조회
+    @PostMapping("/tilko/api/v1.0/nhissimpleauth/{operation}")
+    public DeferredResult<Map<String, Object>> tilko(@PathVariable String operation) {
+        long requestNo = completed.get() + inFlight.get();
+        Map<String, Object> response = new HashMap<>();
+        response.put("Status", "OK");
+        response.put("StatusSeq", 0);
+        if ("simpleauthrequest".equals(operation)) {
+            response.put("CxId", "stub-cx-" + requestNo);
+            response.put("PrivateAuthType", "0");
+            response.put("ReqTxId", "stub-req-" + requestNo);
+            response.put("Token", "stub-token-" + requestNo);
+            response.put("TxId", "stub-tx-" + requestNo);
+        } else {
+            response.put("ResultList", List.of());
+        }
+        return delayed(response);
+    }
+
+    // ChatGPT chat completions (스트리밍 요청이면 SSE 형식으로 한 번에 응답)
+    @PostMapping("/openai/v1/chat/completions")
+    public DeferredResult<ResponseEntity<String>> chatCompletions(@RequestBody Map<String, Object> request) {
+        String content = jsonString(chatGptContent);
+        String body;
+        MediaType type;
+        if (Boolean.TRUE.equals(request.get("stream"))) {
+            body = "data: {\"choices\":[{\"index\":0,\"delta\":{\"content\":" + content + "}}]}\n\n"
+                    + "data: [DONE]\n\n";
+            type = MediaType.TEXT_EVENT_STREAM;
+        } else {
+            body = "{\"id\":\"stub\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+                    + "\"message\":{\"role\":\"assistant\",\"content\":" + content + "},\"finish_reason\":\"stop\"}],"
+                    + "\"usage\":{\"prompt_tokens\":0,\"completion_tokens\":0,\"total_tokens\":0}}";
+            type = MediaType.APPLICATION_JSON;
+        }
+        return delayed(ResponseEntity.ok().contentType(type).body(body));
+    }
+
+    // 대역 통계 (maxInFlight = 동시에 열려 있던 외부 API 요청 수의 최대값)
+    @GetMapping("/stats")
+    public Map<String, Object> stats(@RequestParam(defaultValue = "false") boolean reset) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("latencyMs", latencyMs);
+        stats.put("inFlight", inFlight.get());
+        stats.put("maxInFlight", maxInFlight.get());
+        stats.put("completed", completed.get());
+        if (reset) {
+            maxInFlight.set(inFlight.get());
+            completed.set(0);
+        }
+        return stats;
+    }
+
+    private <T> DeferredResult<T> delayed(T response) {
+        DeferredResult<T> result = new DeferredResult<>(latencyMs + TimeUnit.MINUTES.toMillis(1));
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        delayScheduler.schedule(() -> {
+            inFlight.decrementAndGet();
+            completed.incrementAndGet();
+            result.setResult(response);
+        }, latencyMs, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    // 문자열을 JSON 문자열 리터럴로 변환
+    private static String jsonString(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthSession {
+    private String reqTxId;         // Tilko 간편인증 거래 ID
+    private String cxId;
+    private String patientKey;      // 간편인증을 요청한 정보로 만든 환자 키
+    private String userName;
+    private String birthDate;       // 간편인증 요청 형식 그대로
+    private String phoneNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime verifiedAt;   // Tilko 조회 성공 시각 (아직 인증 전이면 null)
+
+    public boolean isVerified() {
+        return verifiedAt != null;
+    }
+}
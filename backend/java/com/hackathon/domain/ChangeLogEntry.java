@@ -0,0 +1,42 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 환자 데이터 변경 1건 (약물 줄 또는 검사 수치의 자연키 + 변경 종류)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    public static final String ENTITY_MEDICATION = "MEDICATION";
+    public static final String ENTITY_CHECKUP = "CHECKUP";
+
+    public static final String OP_INSERT = "I";
+    public static final String OP_UPDATE = "U";
+    public static final String OP_DELETE = "D";
+
+    private long seq;
+    private String patientKey;
+    private String entity;
+    private String op;
+    private LocalDate rowDate;
+    private Integer rowSeq;
+    private Integer rowLine;
+    private String testName;
+
+    public static ChangeLogEntry of(MedicationDetail detail, String op) {
+        return new ChangeLogEntry(0, detail.getPatientKey(), ENTITY_MEDICATION, op,
+                detail.getTreatmentDate(), detail.getPrescriptionSeq(), detail.getLineNo(), null);
+    }
+
+    public static ChangeLogEntry of(CheckupResult result, String op) {
+        return new ChangeLogEntry(0, result.getPatientKey(), ENTITY_CHECKUP, op,
+                result.getCheckupDate(), null, null, result.getTestName());
+    }
+}
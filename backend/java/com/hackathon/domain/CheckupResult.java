@@ -0,0 +1,20 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 건강검진 검사 수치 1건 - 자연키 (환자 키, 검사명, 검진일)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckupResult {
+    private String patientKey;
+    private String testName;
+    private LocalDate checkupDate;
+    private double value;
+}
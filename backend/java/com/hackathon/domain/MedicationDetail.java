@@ -0,0 +1,27 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 처방 1건의 약물 1줄 - 자연키 (환자 키, 진료 시작일, 처방 순번, 줄 번호)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicationDetail {
+    private String patientKey;
+    private LocalDate treatmentDate;
+    private int prescriptionSeq;
+    private int lineNo;
+    private String drugName;
+    private String drugEffect;
+    private int dosageDays;
+    private String component;
+    private String atcCode;
+    private String kpicInfo;
+    private Double strengthMg;      // 약품명에 함량 표기가 없으면 null
+}
@@ -0,0 +1,20 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Patient {
+    private String patientKey;      // PatientKeys.of(이름, 생년월일, 전화번호) - 서버 비밀키 HMAC
+    private String userId;
+    private String name;
+    private String birthDate;       // yyyyMMdd
+    private String phoneNumber;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.hackathon.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 처방 1건 - 자연키 (환자 키, 진료 시작일, 같은 날 처방 순번)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Prescription {
+    private String patientKey;
+    private LocalDate treatmentDate;
+    private int seq;                // 같은 진료 시작일 안에서의 순번 (0부터)
+    private String treatmentType;   // 처방조제 등
+    private int medicationCount;
+    private String recordJson;      // Tilko 처방 원본(JSON), 없으면 null
+}
@@ -0,0 +1,22 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDiseaseAnalysisRequestDto {
+    private List<PatientMedication> patients;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PatientMedication {
+        private String patientId;
+        private Object medicationData; // /integrated/analyze-diseases 와 동일한 처방 데이터
+    }
+}
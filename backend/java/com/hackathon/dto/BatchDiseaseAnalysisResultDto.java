@@ -0,0 +1,14 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDiseaseAnalysisResultDto {
+    private String patientId;
+    private DiseaseAnalysisDto analysis;
+    private long elapsedMillis;
+}
@@ -0,0 +1,30 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPrescriptionCheckRequestDto {
+    private List<PatientPrescription> patients;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PatientPrescription {
+        private String patientId;
+
+        @JsonProperty("eGFR")
+        private Double egfr;
+
+        @JsonProperty("isDialysis")
+        private boolean dialysis;
+
+        private Object medicationData; // /anomaly/check 와 동일한 처방 데이터
+    }
+}
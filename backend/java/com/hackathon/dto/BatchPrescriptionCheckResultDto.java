@@ -0,0 +1,13 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPrescriptionCheckResultDto {
+    private String patientId;
+    private PrescriptionCheckResultDto result;
+}
@@ -1,11 +1,13 @@
 package com.hackathon.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -20,6 +22,15 @@ public class ChatGptApiRequestDto {
     
     private List<Message> messages;
     
+    // 스트리밍(SSE) 응답 요청 여부 (null이면 전송하지 않음)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stream;
+    
+    // 스트리밍 옵션 - include_usage 면 마지막 청크에 사용량이 포함됨 (null이면 전송하지 않음)
+    @JsonProperty("stream_options")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> streamOptions;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,17 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DrugInfoDto {
+    private String drugCode;
+    private String drugName;
+    private List<String> ingredients;
+    private String atcCode;
+}
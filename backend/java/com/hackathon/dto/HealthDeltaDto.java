@@ -0,0 +1,24 @@
+package com.hackathon.dto;
+
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthDeltaDto {
+    private String version;     // 다음 요청에 since로 보낼 버전
+    private boolean full;       // true면 전체 이력 (클라이언트는 보관 데이터를 통째로 교체)
+    private List<MedicationDetail> insertedMedications = new ArrayList<>();
+    private List<MedicationDetail> updatedMedications = new ArrayList<>();
+    private List<MedicationDetail> removedMedications = new ArrayList<>();  // 자연키 필드만 채워짐
+    private List<CheckupResult> insertedCheckups = new ArrayList<>();
+    private List<CheckupResult> updatedCheckups = new ArrayList<>();
+    private List<CheckupResult> removedCheckups = new ArrayList<>();        // 자연키 필드만 채워짐
+}
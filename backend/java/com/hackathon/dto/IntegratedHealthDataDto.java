@@ -12,4 +12,5 @@ public class IntegratedHealthDataDto {
     private Object medicationData;
     private String status;
     private String message;
+    private String patientKey; // 검사 수치 조회(/labs) 등에 사용하는 환자 키
 }
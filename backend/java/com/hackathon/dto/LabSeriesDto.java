@@ -0,0 +1,14 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabSeriesDto {
+    private String testName;
+    private long[] timestamps; // 검진일 (epoch millis)
+    private double[] values;
+}
@@ -0,0 +1,14 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabTrendDto {
+    private String testName;
+    private double slopePerYear; // 1년당 변화량 (수치가 2개 미만이면 NaN)
+    private int sampleCount;
+}
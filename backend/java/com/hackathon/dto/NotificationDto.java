@@ -0,0 +1,17 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+    private long id;            // 사용자별 증가 번호 (SSE Last-Event-ID 로 재전송 위치 지정)
+    private String type;        // PATIENT_INFO_REQUEST
+    private String fromUserId;
+    private String fromName;
+    private String message;
+    private long createdAt;     // epoch millis
+}
@@ -0,0 +1,15 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientInfoRequestDto {
+    private String doctorId;        // 무시 - 보내는 의사는 의사 토큰으로 정함
+    private String doctorName;      // 무시 - 보내는 의사는 의사 토큰으로 정함
+    private String patientUserId;
+    private String message;
+}
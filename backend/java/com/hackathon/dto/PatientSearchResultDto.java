@@ -0,0 +1,15 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSearchResultDto {
+    private String status; // FOUND, NOT_FOUND
+    private List<PatientSummaryDto> patients;
+}
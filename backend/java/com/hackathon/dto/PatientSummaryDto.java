@@ -0,0 +1,15 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientSummaryDto {
+    private String patientKey;
+    private String userId;
+    private String name;
+    private String birthDate; // yyyyMMdd
+}
@@ -0,0 +1,22 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionAnomalyDto {
+
+    public static final String TYPE_INTERACTION = "INTERACTION";
+    public static final String TYPE_RENAL_DOSE = "RENAL_DOSE";
+    public static final String TYPE_DUPLICATE_THERAPY = "DUPLICATE_THERAPY";
+
+    private String type;         // INTERACTION, RENAL_DOSE, DUPLICATE_THERAPY
+    private String severity;     // 예: CONTRAINDICATED, MAJOR, MODERATE / AVOID, REDUCE, CAUTION
+    private List<String> drugs;  // 관련 약품명
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionCheckRequestDto {
+    private String candidateDrug;      // 추가하려는 약품명 (없으면 복용 약물 전체 검사)
+    private List<String> activeDrugs;  // 복용 중인 약품명 목록
+
+    @JsonProperty("eGFR")
+    private Double egfr;               // 신기능 검사용 (없으면 용량 검사 생략)
+
+    @JsonProperty("isDialysis")
+    private boolean dialysis;
+}
@@ -0,0 +1,17 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrescriptionCheckResultDto {
+    private String status;                        // SUCCESS, ERROR
+    private String message;
+    private List<PrescriptionAnomalyDto> anomalies;
+    private List<String> unknownDrugs;            // 약품 사전에서 찾지 못한 약품명
+}
@@ -0,0 +1,18 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResultDto {
+    private String dataType;    // MEDICATION, CHECKUP
+    private String fetchedFrom; // yyyy-MM-dd (전체 조회면 null)
+    private int inserted;
+    private int updated;
+    private int deleted;
+    private int unchanged;
+    private String highWater;   // yyyy-MM-dd (데이터가 없으면 null)
+}
@@ -0,0 +1,27 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.AuthSession;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class AuthSessionRowMapper implements RowMapper<AuthSession> {
+
+    public static final AuthSessionRowMapper INSTANCE = new AuthSessionRowMapper();
+
+    @Override
+    public AuthSession mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp verifiedAt = rs.getTimestamp("verified_at");
+        return new AuthSession(
+                rs.getString("req_tx_id"),
+                rs.getString("cx_id"),
+                rs.getString("patient_key"),
+                rs.getString("user_name"),
+                rs.getString("birth_date"),
+                rs.getString("phone_number"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                verifiedAt != null ? verifiedAt.toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.ChangeLogEntry;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class ChangeLogRowMapper implements RowMapper<ChangeLogEntry> {
+
+    public static final ChangeLogRowMapper INSTANCE = new ChangeLogRowMapper();
+
+    @Override
+    public ChangeLogEntry mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ChangeLogEntry(
+                rs.getLong("seq"),
+                rs.getString("patient_key"),
+                rs.getString("entity"),
+                rs.getString("op"),
+                rs.getDate("row_date").toLocalDate(),
+                (Integer) rs.getObject("row_seq"),
+                (Integer) rs.getObject("row_line"),
+                rs.getString("test_name"));
+    }
+}
@@ -0,0 +1,21 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.CheckupResult;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class CheckupResultRowMapper implements RowMapper<CheckupResult> {
+
+    public static final CheckupResultRowMapper INSTANCE = new CheckupResultRowMapper();
+
+    @Override
+    public CheckupResult mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new CheckupResult(
+                rs.getString("patient_key"),
+                rs.getString("test_name"),
+                rs.getDate("checkup_date").toLocalDate(),
+                rs.getDouble("result_value"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.domain.Prescription;
+import com.hackathon.service.LabValueExtractor;
+import com.hackathon.service.PrescriptionParser;
+import com.hackathon.service.PrescriptionParser.MedicationItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tilko 조회 결과(JSON 트리) → 저장용 도메인 객체 변환
+ * - 처방 순번은 같은 진료 시작일 안에서의 순서로 매겨 재조회해도 같은 자연키가 나오도록 함
+ * - 진료 시작일을 알 수 없는 처방은 자연키를 만들 수 없으므로 저장하지 않음
+ * - 처방 원본(JSON)도 함께 보관하여 증분 조회 후에도 전체 조회와 같은 응답을 만들 수 있게 함
+ */
+public class HealthRecordMapper {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 필드 순서를 고정해 같은 처방을 다시 받아도 같은 문자열이 되도록 (변경 비교용)
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private HealthRecordMapper() {
+    }
+
+    /**
+     * 처방 + 약물 줄 목록
+     */
+    public static class PrescriptionHistory {
+        private final List<Prescription> prescriptions = new ArrayList<>();
+        private final List<MedicationDetail> details = new ArrayList<>();
+        private int skipped;
+
+        public List<Prescription> getPrescriptions() {
+            return prescriptions;
+        }
+
+        public List<MedicationDetail> getDetails() {
+            return details;
+        }
+
+        /**
+         * 진료 시작일을 알 수 없어 제외한 약물 수
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+    }
+
+    /**
+     * 복용약물 조회 결과를 처방/약물 줄로 변환하는 메소드
+     */
+    public static PrescriptionHistory toPrescriptionHistory(String patientKey, Object medicationData) {
+        PrescriptionHistory history = new PrescriptionHistory();
+        Map<LocalDate, Integer> nextSeq = new HashMap<>();
+        List<String> recordJson = new ArrayList<>();
+        PrescriptionParser.forEachPrescription(medicationData,
+                (prescription, prescriptionNo) -> recordJson.add(toJson(prescription)));
+        Prescription current = null;
+        int currentNo = -1;
+
+        for (MedicationItem item : PrescriptionParser.parse(medicationData)) {
+            if (item.getTreatmentEpochDay() == PrescriptionParser.UNKNOWN_DAY) {
+                history.skipped++;
+                continue;
+            }
+            if (current == null || item.getPrescriptionNo() != currentNo) {
+                LocalDate date = LocalDate.ofEpochDay(item.getTreatmentEpochDay());
+                int seq = nextSeq.merge(date, 1, Integer::sum) - 1;
+                current = new Prescription(patientKey, date, seq, item.getTreatmentType(), 0,
+                        item.getPrescriptionNo() < recordJson.size() ? recordJson.get(item.getPrescriptionNo()) : null);
+                currentNo = item.getPrescriptionNo();
+                history.prescriptions.add(current);
+            }
+
+            double strengthMg = item.getStrengthMg();
+            history.details.add(new MedicationDetail(
+                    patientKey,
+                    current.getTreatmentDate(),
+                    current.getSeq(),
+                    current.getMedicationCount(),
+                    item.getDrugName(),
+                    item.getDrugEffect(),
+                    item.getDosageDays(),
+                    item.getComponent(),
+                    item.getAtcCode(),
+                    item.getKpicInfo(),
+                    Double.isNaN(strengthMg) ? null : strengthMg));
+            current.setMedicationCount(current.getMedicationCount() + 1);
+        }
+        return history;
+    }
+
+    /**
+     * 저장된 처방 1건을 Tilko 복용약물 조회 결과의 ResultList 항목 형식으로 되돌리는 메소드
+     * - 증분 동기화로 최근 구간만 조회한 경우, 앱/분석에는 저장된 전체 이력을 이 형식으로 넘김
+     * - 처방 원본이 저장된 처방은 원본 그대로 복원
+     * - 원본이 없는 처방(원본 저장 이전에 동기화된 처방)은 저장된 줄로 다시 만들며 AtcInfo는 "[ATC코드]" 형식으로만 복원됨
+     * @param lines 처방의 약물 줄 (줄 번호 오름차순, 원본이 있으면 사용하지 않음)
+     */
+    public static Map<String, Object> toTilkoRecord(Prescription prescription, List<MedicationDetail> lines) {
+        if (prescription.getRecordJson() != null) {
+            return fromJson(prescription.getRecordJson());
+        }
+        List<Map<String, Object>> tilkoLines = new ArrayList<>(lines.size());
+        for (MedicationDetail line : lines) {
+            tilkoLines.add(toTilkoDetail(line));
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("JinRyoGaesiIl", prescription.getTreatmentDate().format(DateTimeFormatter.BASIC_ISO_DATE));
+        record.put("JinRyoHyungTae", prescription.getTreatmentType());
+        record.put("RetrieveTreatmentInjectionInformationPersonDetailList", tilkoLines);
+        return record;
+    }
+
+    private static String toJson(Map<?, ?> record) {
+        try {
+            return MAPPER.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            System.err.println("처방 원본 변환 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> fromJson(String recordJson) {
+        try {
+            return MAPPER.readValue(recordJson, LinkedHashMap.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 처방 원본을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toTilkoDetail(MedicationDetail detail) {
+        Map<String, Object> drugDetailInfo = new LinkedHashMap<>();
+        drugDetailInfo.put("CmpnInfo", detail.getComponent());
+        drugDetailInfo.put("AtcInfo", detail.getAtcCode() != null ? "[" + detail.getAtcCode() + "]" : null);
+        drugDetailInfo.put("KpicInfo", detail.getKpicInfo());
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ChoBangYakPumMyung", detail.getDrugName());
+        line.put("ChoBangYakPumHyoneung", detail.getDrugEffect());
+        line.put("TuyakIlSoo", String.valueOf(detail.getDosageDays()));
+        line.put("DrugDetailInfo", drugDetailInfo);
+        return line;
+    }
+
+    /**
+     * 건강검진 조회 결과를 검사 수치 목록으로 변환하는 메소드
+     */
+    public static List<CheckupResult> toCheckupResults(String patientKey, Object healthCheckupData) {
+        List<CheckupResult> results = new ArrayList<>();
+        LabValueExtractor.extract(healthCheckupData, (testName, timestamp, value) ->
+                results.add(new CheckupResult(patientKey, testName,
+                        Instant.ofEpochMilli(timestamp).atZone(KST).toLocalDate(), value)));
+        return results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.MedicationDetail;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class MedicationDetailRowMapper implements RowMapper<MedicationDetail> {
+
+    public static final MedicationDetailRowMapper INSTANCE = new MedicationDetailRowMapper();
+
+    @Override
+    public MedicationDetail mapRow(ResultSet rs, int rowNum) throws SQLException {
+        // wasNull은 마지막으로 읽은 열 기준이므로 함량을 읽은 직후에 확인
+        double strengthMg = rs.getDouble("strength_mg");
+        Double strength = rs.wasNull() ? null : strengthMg;
+        return new MedicationDetail(
+                rs.getString("patient_key"),
+                rs.getDate("treatment_date").toLocalDate(),
+                rs.getInt("prescription_seq"),
+                rs.getInt("line_no"),
+                rs.getString("drug_name"),
+                rs.getString("drug_effect"),
+                rs.getInt("dosage_days"),
+                rs.getString("component"),
+                rs.getString("atc_code"),
+                rs.getString("kpic_info"),
+                strength);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.Patient;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class PatientRowMapper implements RowMapper<Patient> {
+
+    public static final PatientRowMapper INSTANCE = new PatientRowMapper();
+
+    @Override
+    public Patient mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new Patient(
+                rs.getString("patient_key"),
+                rs.getString("user_id"),
+                rs.getString("name"),
+                rs.getString("birth_date"),
+                rs.getString("phone_number"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.Prescription;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class PrescriptionRowMapper implements RowMapper<Prescription> {
+
+    public static final PrescriptionRowMapper INSTANCE = new PrescriptionRowMapper();
+
+    @Override
+    public Prescription mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Prescription(
+                rs.getString("patient_key"),
+                rs.getDate("treatment_date").toLocalDate(),
+                rs.getInt("seq"),
+                rs.getString("treatment_type"),
+                rs.getInt("medication_count"),
+                rs.getString("record_json"));
+    }
+}
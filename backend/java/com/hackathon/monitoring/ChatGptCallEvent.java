@@ -0,0 +1,57 @@
+package com.hackathon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ChatGPT API 호출 JFR 이벤트 (재시도는 시도마다 1건)
+ * - 스트리밍 응답에는 사용량이 없으므로 토큰 수는 0, 대신 estimatedTokens 로 확인
+ */
+@Name("com.hackathon.ChatGptCall")
+@Label("ChatGPT Call")
+@Category({"Hackathon", "Upstream"})
+@Description("ChatGPT chat completions 호출")
+@StackTrace(false)
+public class ChatGptCallEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Streaming")
+    public boolean streaming;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("HTTP Status")
+    public int httpStatus;
+
+    @Label("Estimated Tokens")
+    public int estimatedTokens;
+
+    @Label("Prompt Tokens")
+    public int promptTokens;
+
+    @Label("Completion Tokens")
+    public int completionTokens;
+
+    @Label("Total Tokens")
+    public int totalTokens;
+
+    /**
+     * 호출 이벤트를 시작하는 메소드
+     */
+    public static ChatGptCallEvent start(String model, boolean streaming, int attempt, int estimatedTokens) {
+        ChatGptCallEvent event = new ChatGptCallEvent();
+        event.model = model;
+        event.streaming = streaming;
+        event.attempt = attempt;
+        event.estimatedTokens = estimatedTokens;
+        event.begin();
+        return event;
+    }
+}
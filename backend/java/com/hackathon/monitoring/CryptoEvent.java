@@ -0,0 +1,42 @@
+package com.hackathon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Tilko 요청 암호화 JFR 이벤트 (AES 필드 암호화, RSA 키 암호화)
+ */
+@Name("com.hackathon.Crypto")
+@Label("Crypto Operation")
+@Category({"Hackathon", "Crypto"})
+@Description("Tilko 요청용 AES/RSA 암호화")
+@StackTrace(false)
+public class CryptoEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Input Size")
+    @DataAmount
+    public long inputBytes;
+
+    /**
+     * 암호화 이벤트를 시작하는 메소드
+     */
+    public static CryptoEvent encrypt(String algorithm, long inputBytes) {
+        CryptoEvent event = new CryptoEvent();
+        event.algorithm = algorithm;
+        event.operation = "encrypt";
+        event.inputBytes = inputBytes;
+        event.begin();
+        return event;
+    }
+}
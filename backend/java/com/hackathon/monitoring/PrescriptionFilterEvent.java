@@ -0,0 +1,26 @@
+package com.hackathon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 투약정보 응답의 처방조제 기록 필터링 JFR 이벤트
+ * - 임시 파일로 받은 응답은 읽으면서 필터링하므로 이 이벤트가 없음 (TilkoCall의 spilled로 구분)
+ */
+@Name("com.hackathon.PrescriptionFilter")
+@Label("Prescription Filter")
+@Category({"Hackathon", "Prescription"})
+@Description("투약정보 응답에서 처방조제 기록만 남기는 처리")
+@StackTrace(false)
+public class PrescriptionFilterEvent extends Event {
+
+    @Label("Records In")
+    public int recordsIn;
+
+    @Label("Records Out")
+    public int recordsOut;
+}
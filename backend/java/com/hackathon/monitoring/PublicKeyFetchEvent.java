@@ -0,0 +1,30 @@
+package com.hackathon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Tilko RSA 공개키 조회 JFR 이벤트
+ */
+@Name("com.hackathon.PublicKeyFetch")
+@Label("Public Key Fetch")
+@Category({"Hackathon", "Upstream"})
+@Description("Tilko RSA 공개키 조회")
+@StackTrace(false)
+public class PublicKeyFetchEvent extends Event {
+
+    @Label("HTTP Status")
+    public int httpStatus;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,53 @@
+package com.hackathon.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Tilko API 호출 JFR 이벤트 (간편인증, 건강검진, 투약정보)
+ * - 요청 전송부터 응답 본문을 다 읽을 때까지가 이벤트 구간
+ */
+@Name("com.hackathon.TilkoCall")
+@Label("Tilko Call")
+@Category({"Hackathon", "Upstream"})
+@Description("Tilko API 호출 (요청 전송 ~ 응답 본문 수신)")
+@StackTrace(false)
+public class TilkoCallEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("HTTP Status")
+    public int httpStatus;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Spilled To Disk")
+    public boolean spilled;
+
+    /**
+     * URL의 마지막 경로(예: simpleauthrequest)를 endpoint로 하여 이벤트를 시작하는 메소드
+     */
+    public static TilkoCallEvent start(String url) {
+        TilkoCallEvent event = new TilkoCallEvent();
+        event.endpoint = lastSegment(url);
+        event.begin();
+        return event;
+    }
+
+    // 쿼리를 뺀 URL의 마지막 경로 (예: .../nhissimpleauth/simpleauthrequest → simpleauthrequest)
+    private static String lastSegment(String url) {
+        int end = url.indexOf('?');
+        if (end < 0) {
+            end = url.length();
+        }
+        return url.substring(url.lastIndexOf('/', end - 1) + 1, end);
+    }
+}
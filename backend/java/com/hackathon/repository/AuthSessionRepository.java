@@ -0,0 +1,62 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.AuthSession;
+import com.hackathon.mapper.AuthSessionRowMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 간편인증 요청 기록 저장소
+ */
+@Repository
+public class AuthSessionRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO auth_session (req_tx_id, cx_id, patient_key, user_name, birth_date, phone_number, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT req_tx_id, cx_id, patient_key, user_name, birth_date, phone_number, created_at, verified_at "
+            + "FROM auth_session";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insert(AuthSession session) {
+        jdbcTemplate.update(INSERT_SQL,
+                session.getReqTxId(),
+                session.getCxId(),
+                session.getPatientKey(),
+                session.getUserName(),
+                session.getBirthDate(),
+                session.getPhoneNumber(),
+                Timestamp.valueOf(session.getCreatedAt()));
+    }
+
+    public AuthSession findByReqTxId(String reqTxId) {
+        List<AuthSession> sessions = jdbcTemplate.query(SELECT_COLUMNS + " WHERE req_tx_id = ?",
+                AuthSessionRowMapper.INSTANCE, reqTxId);
+        return sessions.isEmpty() ? null : sessions.get(0);
+    }
+
+    public void markVerified(String reqTxId, LocalDateTime verifiedAt) {
+        jdbcTemplate.update("UPDATE auth_session SET verified_at = ? WHERE req_tx_id = ?",
+                Timestamp.valueOf(verifiedAt), reqTxId);
+    }
+
+    /**
+     * 기록을 지우는 메소드 (지운 건수 반환 - 동시에 같은 기록을 쓰려는 요청 중 하나만 1을 받음)
+     */
+    public int delete(String reqTxId) {
+        return jdbcTemplate.update("DELETE FROM auth_session WHERE req_tx_id = ?", reqTxId);
+    }
+
+    public int deleteCreatedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM auth_session WHERE created_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
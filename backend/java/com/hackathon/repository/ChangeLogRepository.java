@@ -0,0 +1,104 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.ChangeLogEntry;
+import com.hackathon.mapper.ChangeLogRowMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 환자 데이터 변경 이력 저장소
+ * - 환자별 버전(patient_version)은 동기화 트랜잭션 안에서 행을 잠근 채 1씩 올리고,
+ *   그 트랜잭션의 변경 이력은 모두 올린 버전으로 기록
+ * - 같은 환자의 동기화가 버전 행에서 줄을 서므로, 먼저 받은 버전의 이력이 나중에 커밋되는 일이 없음
+ */
+@Repository
+public class ChangeLogRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (patient_key, entity, op, row_date, row_seq, row_line, test_name, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 처음 동기화하는 환자는 기존 이력의 최대 seq부터 시작 (버전 컬럼 추가 이전 이력과 이어지도록)
+    private static final String INSERT_VERSION_SQL =
+            "INSERT INTO patient_version (patient_key, version) "
+            + "SELECT ?, COALESCE(MAX(seq), 0) FROM change_log WHERE patient_key = ?";
+
+    @Value("${app.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 환자 버전 행을 잠그고 현재 버전을 읽는 메소드 (트랜잭션 안에서 호출, 커밋/롤백 때까지 같은 환자의 동기화는 대기)
+     */
+    public long lockVersion(String patientKey) {
+        List<Long> versions = selectVersionForUpdate(patientKey);
+        if (versions.isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_VERSION_SQL, patientKey, patientKey);
+            } catch (DuplicateKeyException e) {
+                // 다른 동기화가 먼저 만든 경우 - 그 트랜잭션이 끝난 뒤 다시 잠금
+            }
+            versions = selectVersionForUpdate(patientKey);
+        }
+        return versions.get(0);
+    }
+
+    public void saveVersion(String patientKey, long version) {
+        jdbcTemplate.update("UPDATE patient_version SET version = ? WHERE patient_key = ?", version, patientKey);
+    }
+
+    /**
+     * 변경 이력을 해당 버전으로 기록하는 메소드 (lockVersion으로 잠근 트랜잭션 안에서 호출)
+     */
+    public void appendAll(List<ChangeLogEntry> entries, long version) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getPatientKey());
+            ps.setString(2, entry.getEntity());
+            ps.setString(3, entry.getOp());
+            ps.setDate(4, Date.valueOf(entry.getRowDate()));
+            if (entry.getRowSeq() != null) {
+                ps.setInt(5, entry.getRowSeq());
+                ps.setInt(6, entry.getRowLine());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+                ps.setNull(6, Types.INTEGER);
+            }
+            ps.setString(7, entry.getTestName());
+            ps.setLong(8, version);
+        });
+    }
+
+    /**
+     * 환자 데이터셋의 현재 버전 (변경 이력이 없으면 0)
+     */
+    public long latestVersion(String patientKey) {
+        List<Long> versions = jdbcTemplate.query("SELECT version FROM patient_version WHERE patient_key = ?",
+                (rs, rowNum) -> rs.getLong("version"), patientKey);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * since 이후(since 미포함) upTo 버전까지의 변경 이력 (seq 순)
+     * - upTo로 자르므로 버전을 읽은 뒤 커밋된 동기화의 이력은 섞이지 않음
+     */
+    public List<ChangeLogEntry> findSince(String patientKey, long since, long upTo) {
+        return jdbcTemplate.query(
+                "SELECT seq, patient_key, entity, op, row_date, row_seq, row_line, test_name FROM change_log "
+                + "WHERE patient_key = ? AND version > ? AND version <= ? ORDER BY seq",
+                ChangeLogRowMapper.INSTANCE, patientKey, since, upTo);
+    }
+
+    private List<Long> selectVersionForUpdate(String patientKey) {
+        return jdbcTemplate.query("SELECT version FROM patient_version WHERE patient_key = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getLong("version"), patientKey);
+    }
+}
@@ -0,0 +1,78 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.mapper.CheckupResultRowMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 건강검진 검사 수치 저장소 (자연키 배치 MERGE)
+ */
+@Repository
+public class CheckupResultRepository {
+
+    private static final String UPSERT_SQL =
+            "MERGE INTO checkup_result (patient_key, test_name, checkup_date, result_value) "
+            + "KEY (patient_key, test_name, checkup_date) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM checkup_result WHERE patient_key = ? AND test_name = ? AND checkup_date = ?";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT patient_key, test_name, checkup_date, result_value FROM checkup_result";
+
+    @Value("${app.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<CheckupResult> results) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, results, batchSize, (ps, result) -> {
+            ps.setString(1, result.getPatientKey());
+            ps.setString(2, result.getTestName());
+            ps.setDate(3, Date.valueOf(result.getCheckupDate()));
+            ps.setDouble(4, result.getValue());
+        });
+    }
+
+    public void deleteAll(List<CheckupResult> results) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, results, batchSize, (ps, result) -> {
+            ps.setString(1, result.getPatientKey());
+            ps.setString(2, result.getTestName());
+            ps.setDate(3, Date.valueOf(result.getCheckupDate()));
+        });
+    }
+
+    /**
+     * 환자의 [from, to] 기간 검사 수치 (검진일, 검사명 순)
+     */
+    public List<CheckupResult> findByPatient(String patientKey, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SELECT_COLUMNS
+                        + " WHERE patient_key = ? AND checkup_date BETWEEN ? AND ? ORDER BY checkup_date, test_name",
+                CheckupResultRowMapper.INSTANCE, patientKey, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 환자의 검사 1종 수치 (검진일 순)
+     */
+    public List<CheckupResult> findByPatientAndTest(String patientKey, String testName) {
+        return jdbcTemplate.query(SELECT_COLUMNS
+                        + " WHERE patient_key = ? AND test_name = ? ORDER BY checkup_date",
+                CheckupResultRowMapper.INSTANCE, patientKey, testName);
+    }
+
+    /**
+     * 하루 동안의 모든 환자 검사 수치
+     */
+    public List<CheckupResult> findByDate(LocalDate date) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE checkup_date = ?",
+                CheckupResultRowMapper.INSTANCE, Date.valueOf(date));
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.Patient;
+import com.hackathon.mapper.PatientRowMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class PatientRepository {
+
+    // created_at은 목록에 없으므로 처음 저장할 때만 기본값이 들어감
+    private static final String UPSERT_SQL =
+            "MERGE INTO patient (patient_key, user_id, name, birth_date, phone_number, updated_at) "
+            + "KEY (patient_key) VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT patient_key, user_id, name, birth_date, phone_number, created_at, updated_at FROM patient";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void upsert(Patient patient) {
+        jdbcTemplate.update(UPSERT_SQL,
+                patient.getPatientKey(),
+                patient.getUserId(),
+                patient.getName(),
+                patient.getBirthDate(),
+                patient.getPhoneNumber());
+    }
+
+    public Patient findByKey(String patientKey) {
+        List<Patient> patients = jdbcTemplate.query(SELECT_COLUMNS + " WHERE patient_key = ?",
+                PatientRowMapper.INSTANCE, patientKey);
+        return patients.isEmpty() ? null : patients.get(0);
+    }
+
+    public List<Patient> findByUserId(String userId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE user_id = ?", PatientRowMapper.INSTANCE, userId);
+    }
+
+    /**
+     * 모든 환자를 한 건씩 넘겨주는 메소드 (목록을 메모리에 모으지 않음)
+     */
+    public void forEach(RowCallbackHandler handler) {
+        jdbcTemplate.query(SELECT_COLUMNS, handler);
+    }
+}
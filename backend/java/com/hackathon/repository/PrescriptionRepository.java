@@ -0,0 +1,207 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.domain.Prescription;
+import com.hackathon.mapper.MedicationDetailRowMapper;
+import com.hackathon.mapper.PrescriptionRowMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 처방 / 약물 줄 저장소
+ * - 저장은 JDBC 배치 MERGE(자연키 upsert)로 처리하여 이력 수백 건도 몇 번의 왕복으로 끝남
+ * - 조회는 환자+기간(기본키), 날짜, ATC 코드 접두어+기간 인덱스를 사용
+ */
+@Repository
+public class PrescriptionRepository {
+
+    private static final String UPSERT_PRESCRIPTION_SQL =
+            "MERGE INTO prescription (patient_key, treatment_date, seq, treatment_type, medication_count, record_json) "
+            + "KEY (patient_key, treatment_date, seq) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_DETAIL_SQL =
+            "MERGE INTO medication_detail (patient_key, treatment_date, prescription_seq, line_no, drug_name, "
+            + "drug_effect, dosage_days, component, atc_code, kpic_info, strength_mg) "
+            + "KEY (patient_key, treatment_date, prescription_seq, line_no) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 재조회한 처방의 약물 줄 수가 줄었으면 남은 줄을 지움
+    private static final String DELETE_EXTRA_LINES_SQL =
+            "DELETE FROM medication_detail "
+            + "WHERE patient_key = ? AND treatment_date = ? AND prescription_seq = ? AND line_no >= ?";
+
+    private static final String DELETE_PRESCRIPTION_SQL =
+            "DELETE FROM prescription WHERE patient_key = ? AND treatment_date = ? AND seq = ?";
+
+    private static final String DELETE_PRESCRIPTION_LINES_SQL =
+            "DELETE FROM medication_detail WHERE patient_key = ? AND treatment_date = ? AND prescription_seq = ?";
+
+    private static final String DELETE_DETAIL_SQL =
+            "DELETE FROM medication_detail "
+            + "WHERE patient_key = ? AND treatment_date = ? AND prescription_seq = ? AND line_no = ?";
+
+    private static final String PRESCRIPTION_COLUMNS =
+            "SELECT patient_key, treatment_date, seq, treatment_type, medication_count, record_json FROM prescription";
+
+    private static final String DETAIL_COLUMNS =
+            "SELECT patient_key, treatment_date, prescription_seq, line_no, drug_name, drug_effect, dosage_days, "
+            + "component, atc_code, kpic_info, strength_mg FROM medication_detail";
+
+    // 처방 + (원본 JSON이 없는 처방만) 약물 줄, 최근 진료 순 / 처방 안에서는 줄 순
+    private static final String PRESCRIPTION_WITH_LINES_SQL =
+            "SELECT p.patient_key, p.treatment_date, p.seq, p.treatment_type, p.medication_count, p.record_json, "
+            + "d.prescription_seq, d.line_no, d.drug_name, d.drug_effect, d.dosage_days, d.component, d.atc_code, "
+            + "d.kpic_info, d.strength_mg "
+            + "FROM prescription p LEFT JOIN medication_detail d "
+            + "ON p.record_json IS NULL AND d.patient_key = p.patient_key "
+            + "AND d.treatment_date = p.treatment_date AND d.prescription_seq = p.seq "
+            + "WHERE p.patient_key = ? ORDER BY p.treatment_date DESC, p.seq DESC, d.line_no";
+
+    // JDBC 배치 1회에 보내는 행 수
+    @Value("${app.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void upsertPrescriptions(List<Prescription> prescriptions) {
+        jdbcTemplate.batchUpdate(UPSERT_PRESCRIPTION_SQL, prescriptions, batchSize, (ps, prescription) -> {
+            ps.setString(1, prescription.getPatientKey());
+            ps.setDate(2, Date.valueOf(prescription.getTreatmentDate()));
+            ps.setInt(3, prescription.getSeq());
+            ps.setString(4, prescription.getTreatmentType());
+            ps.setInt(5, prescription.getMedicationCount());
+            ps.setString(6, prescription.getRecordJson());
+        });
+        jdbcTemplate.batchUpdate(DELETE_EXTRA_LINES_SQL, prescriptions, batchSize, (ps, prescription) -> {
+            ps.setString(1, prescription.getPatientKey());
+            ps.setDate(2, Date.valueOf(prescription.getTreatmentDate()));
+            ps.setInt(3, prescription.getSeq());
+            ps.setInt(4, prescription.getMedicationCount());
+        });
+    }
+
+    public void upsertDetails(List<MedicationDetail> details) {
+        jdbcTemplate.batchUpdate(UPSERT_DETAIL_SQL, details, batchSize, (ps, detail) -> {
+            ps.setString(1, detail.getPatientKey());
+            ps.setDate(2, Date.valueOf(detail.getTreatmentDate()));
+            ps.setInt(3, detail.getPrescriptionSeq());
+            ps.setInt(4, detail.getLineNo());
+            ps.setString(5, detail.getDrugName());
+            ps.setString(6, detail.getDrugEffect());
+            ps.setInt(7, detail.getDosageDays());
+            ps.setString(8, detail.getComponent());
+            ps.setString(9, detail.getAtcCode());
+            ps.setString(10, detail.getKpicInfo());
+            if (detail.getStrengthMg() != null) {
+                ps.setDouble(11, detail.getStrengthMg());
+            } else {
+                ps.setNull(11, Types.DOUBLE);
+            }
+        });
+    }
+
+    /**
+     * 처방과 그 약물 줄을 지우는 메소드 (재조회 결과에서 사라진 처방)
+     */
+    public void deletePrescriptions(List<Prescription> prescriptions) {
+        jdbcTemplate.batchUpdate(DELETE_PRESCRIPTION_LINES_SQL, prescriptions, batchSize, (ps, prescription) -> {
+            ps.setString(1, prescription.getPatientKey());
+            ps.setDate(2, Date.valueOf(prescription.getTreatmentDate()));
+            ps.setInt(3, prescription.getSeq());
+        });
+        jdbcTemplate.batchUpdate(DELETE_PRESCRIPTION_SQL, prescriptions, batchSize, (ps, prescription) -> {
+            ps.setString(1, prescription.getPatientKey());
+            ps.setDate(2, Date.valueOf(prescription.getTreatmentDate()));
+            ps.setInt(3, prescription.getSeq());
+        });
+    }
+
+    public void deleteDetails(List<MedicationDetail> details) {
+        jdbcTemplate.batchUpdate(DELETE_DETAIL_SQL, details, batchSize, (ps, detail) -> {
+            ps.setString(1, detail.getPatientKey());
+            ps.setDate(2, Date.valueOf(detail.getTreatmentDate()));
+            ps.setInt(3, detail.getPrescriptionSeq());
+            ps.setInt(4, detail.getLineNo());
+        });
+    }
+
+    /**
+     * 환자의 [from, to] 기간 처방 목록 (진료 시작일 순)
+     */
+    public List<Prescription> findPrescriptions(String patientKey, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(PRESCRIPTION_COLUMNS
+                        + " WHERE patient_key = ? AND treatment_date BETWEEN ? AND ? ORDER BY treatment_date, seq",
+                PrescriptionRowMapper.INSTANCE, patientKey, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 환자의 [from, to] 기간 약물 줄 목록 (진료 시작일, 처방, 줄 순)
+     */
+    public List<MedicationDetail> findDetails(String patientKey, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(DETAIL_COLUMNS
+                        + " WHERE patient_key = ? AND treatment_date BETWEEN ? AND ?"
+                        + " ORDER BY treatment_date, prescription_seq, line_no",
+                MedicationDetailRowMapper.INSTANCE, patientKey, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 환자의 전체 처방을 최근 진료 순으로 1건씩 전달하는 메소드
+     * - 쿼리 1번으로 읽으며 결과를 목록으로 모으지 않으므로 이력이 길어도 처방 1건만 메모리에 둠
+     * - 약물 줄은 처방 원본(record_json)이 없는 처방만 함께 읽음 (원본이 있으면 빈 목록)
+     */
+    public void forEachPrescriptionNewestFirst(String patientKey, BiConsumer<Prescription, List<MedicationDetail>> consumer) {
+        Prescription[] current = {null};
+        List<MedicationDetail> lines = new ArrayList<>();
+        jdbcTemplate.query(PRESCRIPTION_WITH_LINES_SQL, (RowCallbackHandler) rs -> {
+            LocalDate treatmentDate = rs.getDate("treatment_date").toLocalDate();
+            int seq = rs.getInt("seq");
+            if (current[0] == null || current[0].getSeq() != seq || !current[0].getTreatmentDate().equals(treatmentDate)) {
+                if (current[0] != null) {
+                    consumer.accept(current[0], new ArrayList<>(lines));
+                }
+                current[0] = PrescriptionRowMapper.INSTANCE.mapRow(rs, 0);
+                lines.clear();
+            }
+            if (rs.getObject("line_no") != null) {
+                lines.add(MedicationDetailRowMapper.INSTANCE.mapRow(rs, 0));
+            }
+        }, patientKey);
+        if (current[0] != null) {
+            consumer.accept(current[0], lines);
+        }
+    }
+
+    /**
+     * 하루 동안의 모든 환자 약물 줄 목록
+     */
+    public List<MedicationDetail> findDetailsByDate(LocalDate date) {
+        return jdbcTemplate.query(DETAIL_COLUMNS + " WHERE treatment_date = ?",
+                MedicationDetailRowMapper.INSTANCE, Date.valueOf(date));
+    }
+
+    /**
+     * ATC 코드 접두어(예: C10AA)와 [from, to] 기간으로 약물 줄을 찾는 메소드
+     */
+    public List<MedicationDetail> findDetailsByAtc(String atcPrefix, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(DETAIL_COLUMNS
+                        + " WHERE atc_code LIKE ? AND treatment_date BETWEEN ? AND ?"
+                        + " ORDER BY atc_code, treatment_date LIMIT ?",
+                MedicationDetailRowMapper.INSTANCE,
+                escapeLike(atcPrefix) + "%", Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
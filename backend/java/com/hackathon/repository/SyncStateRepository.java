@@ -0,0 +1,37 @@
+package com.hackathon.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 환자별 / 데이터 종류별 동기화 기준일(high-water mark) 저장소
+ */
+@Repository
+public class SyncStateRepository {
+
+    private static final String UPSERT_SQL =
+            "MERGE INTO sync_state (patient_key, data_type, high_water, last_synced_at) "
+            + "KEY (patient_key, data_type) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 마지막 동기화 기준일 (동기화한 적이 없으면 null)
+     */
+    public LocalDate findHighWater(String patientKey, String dataType) {
+        List<Date> dates = jdbcTemplate.query(
+                "SELECT high_water FROM sync_state WHERE patient_key = ? AND data_type = ?",
+                (rs, rowNum) -> rs.getDate("high_water"), patientKey, dataType);
+        return dates.isEmpty() ? null : dates.get(0).toLocalDate();
+    }
+
+    public void saveHighWater(String patientKey, String dataType, LocalDate highWater) {
+        jdbcTemplate.update(UPSERT_SQL, patientKey, dataType, Date.valueOf(highWater));
+    }
+}
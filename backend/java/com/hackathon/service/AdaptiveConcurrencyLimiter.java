@@ -0,0 +1,183 @@
+package com.hackathon.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답 지연 기반 적응형 동시 처리 한도 (gradient 방식)
+ * - 우선순위별로 평소 지연(장기 평균)과 최근 지연(단기 평균)을 따로 관리하고,
+ *   최근 지연이 평소보다 늘어난 비율만큼 한도를 줄임 (로그인 ~1초, 분석 ~10초처럼 평소 지연이 달라도 섞이지 않음)
+ * - 지연이 평소 수준이면 한도를 sqrt(한도)씩 늘리고, 오류(5xx)는 한 번에 절반까지 줄임
+ * - 한도는 하나를 공유하고, 우선순위가 낮을수록 쓸 수 있는 비율이 작음
+ *   → 과부하 시 배치/분석 요청부터 거절되고 로그인은 남은 여유분으로 처리
+ * - 대기열 없이 즉시 거절 (호출 측에서 503 + Retry-After)
+ */
+@Service
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 요청 우선순위 (선언 순서가 높은 우선순위)
+     */
+    public enum Priority {
+        INTERACTIVE, // 간편인증 등 사용자가 화면에서 기다리는 요청
+        ANALYSIS,    // 건강 정보 조회, 기저질환 분석
+        BATCH        // 의사 웹 일괄 분석 등
+    }
+
+    // 평소 지연(장기 평균)의 표본 수, 최근 지연(단기 평균)의 표본 수
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+    // 과부하 중 평소 지연을 갱신하는 속도 배율 (1/10)
+    private static final int CONGESTED_SLOWDOWN = 10;
+
+    @Value("${app.limiter.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${app.limiter.min-limit:8}")
+    private int minLimit;
+
+    @Value("${app.limiter.max-limit:400}")
+    private int maxLimit;
+
+    // 최근 지연이 평소의 이 배수를 넘어야 한도를 줄임
+    @Value("${app.limiter.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    // 한 번에 반영하는 새 한도의 비율
+    @Value("${app.limiter.smoothing:0.2}")
+    private double smoothing;
+
+    // 우선순위별로 쓸 수 있는 한도 비율 (INTERACTIVE, ANALYSIS, BATCH 순)
+    @Value("${app.limiter.priority-shares:1.0,0.75,0.4}")
+    private double[] priorityShares;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Rtt[] rtts = new Rtt[Priority.values().length];
+
+    private volatile double limit;
+    private volatile boolean rejectedSinceUpdate;
+    private int lastLoggedLimit;
+
+    @PostConstruct
+    public void init() {
+        if (priorityShares.length != Priority.values().length) {
+            throw new IllegalStateException("app.limiter.priority-shares 는 우선순위 수(" + Priority.values().length + ")만큼 필요합니다.");
+        }
+        for (int i = 0; i < rtts.length; i++) {
+            rtts[i] = new Rtt();
+        }
+        limit = initialLimit;
+        lastLoggedLimit = initialLimit;
+    }
+
+    /**
+     * 처리 허가를 받는 메소드 (대기 없이 즉시 판단)
+     * @return 허가 시각(System.nanoTime), 한도 초과면 -1 (허가를 받았으면 반드시 release 호출)
+     */
+    public long tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priorityShares[priority.ordinal()]));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejectedSinceUpdate = true;
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 처리 완료를 알리고 지연을 반영하는 메소드
+     * @param acquiredAt tryAcquire 반환값
+     * @param sample 지연을 한도 계산에 반영할지 (SSE처럼 응답이 오래 열려 있는 요청은 false)
+     * @param failed 서버 오류(5xx, 예외) 여부
+     */
+    public void release(Priority priority, long acquiredAt, boolean sample, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (!sample && !failed) {
+            return;
+        }
+
+        long rttNanos = System.nanoTime() - acquiredAt;
+        lock.lock();
+        try {
+            double gradient = failed ? 0.5 : rtts[priority.ordinal()].gradient(rttNanos, rttTolerance);
+            double newLimit = limit * gradient + Math.sqrt(limit);
+
+            // 한도의 절반도 쓰지 않고 거절한 요청도 없으면 한도를 늘릴 근거가 없음
+            // (거절이 있었으면 낮은 우선순위가 비율 한도에 걸린 것이므로 늘림)
+            if (current < limit / 2 && !rejectedSinceUpdate) {
+                newLimit = Math.min(newLimit, limit);
+            }
+            rejectedSinceUpdate = false;
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+            logLimitChange();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 거절 시 Retry-After 로 보낼 초 (해당 우선순위의 평소 지연, 우선순위가 낮을수록 길게)
+     */
+    public long retryAfterSeconds(Priority priority) {
+        double longRttNanos = rtts[priority.ordinal()].longRttNanos;
+        long seconds = (long) Math.ceil(longRttNanos / TimeUnit.SECONDS.toNanos(1));
+        return Math.max(1, seconds) * (priority.ordinal() + 1);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // 한도가 마지막 기록보다 10% 이상 바뀌면 로그
+    private void logLimitChange() {
+        int current = (int) limit;
+        if (Math.abs(current - lastLoggedLimit) >= Math.max(1, lastLoggedLimit / 10)) {
+            System.out.println("동시 처리 한도 변경: " + lastLoggedLimit + " → " + current + " (처리 중 " + inFlight.get() + ")");
+            lastLoggedLimit = current;
+        }
+    }
+
+    // 우선순위별 지연 평균 (lock 안에서만 사용)
+    private static final class Rtt {
+        private volatile double longRttNanos; // retryAfterSeconds 에서 lock 없이 읽음
+        private double shortRttNanos;
+        private int samples;
+
+        // 이번 표본을 반영하고 한도 배율(0.5 ~ 1.0)을 계산
+        double gradient(long rttNanos, double tolerance) {
+            if (samples < LONG_WINDOW) {
+                samples++;
+            }
+            if (samples == 1) {
+                longRttNanos = rttNanos;
+                shortRttNanos = rttNanos;
+                return 1.0;
+            }
+            shortRttNanos += (rttNanos - shortRttNanos) * 2.0 / (Math.min(samples, SHORT_WINDOW) + 1);
+
+            // 과부하 중에는 평소 지연을 거의 올리지 않음 (올리면 늘어난 지연이 곧 평소가 되어 한도가 다시 커짐)
+            int window = samples * (shortRttNanos > tolerance * longRttNanos ? CONGESTED_SLOWDOWN : 1);
+            longRttNanos += (rttNanos - longRttNanos) * 2.0 / (window + 1);
+
+            // 과부하가 끝나 최근 지연이 평소의 절반 아래면 평소 지연을 빠르게 낮춤 (과부하 때 올라간 기준 회복)
+            if (longRttNanos > shortRttNanos * 2) {
+                longRttNanos *= 0.95;
+            }
+            return Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        }
+    }
+}
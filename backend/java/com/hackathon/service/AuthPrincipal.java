@@ -0,0 +1,90 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 토큰에서 꺼낸 인증 주체 (불변 - 같은 토큰의 요청끼리 그대로 재사용)
+ * JSON 필드명은 토큰 payload의 클레임 이름
+ */
+public final class AuthPrincipal {
+
+    // 인증 필터가 요청 속성에 넣는 이름
+    public static final String REQUEST_ATTRIBUTE = AuthPrincipal.class.getName();
+
+    public static final String ROLE_PATIENT = "PATIENT";
+    public static final String ROLE_DOCTOR = "DOCTOR";
+
+    private final String userId;       // 환자는 사용자 ID, 의사는 의사 ID
+    private final String patientKey;   // 환자 토큰만
+    private final String name;         // 의사 토큰만 (알림에 표시할 이름)
+    private final String role;
+    private final long issuedAt;   // epoch seconds
+    private final long expiresAt;  // epoch seconds
+
+    @JsonCreator
+    public AuthPrincipal(@JsonProperty("sub") String userId,
+                         @JsonProperty("pk") String patientKey,
+                         @JsonProperty("name") String name,
+                         @JsonProperty("role") String role,
+                         @JsonProperty("iat") long issuedAt,
+                         @JsonProperty("exp") long expiresAt) {
+        this.userId = userId;
+        this.patientKey = patientKey;
+        this.name = name;
+        this.role = role;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 현재 요청의 인증 주체 (보호 경로가 아니거나 토큰이 없으면 null)
+     */
+    public static AuthPrincipal current(HttpServletRequest request) {
+        return (AuthPrincipal) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+
+    @JsonProperty("sub")
+    public String getUserId() {
+        return userId;
+    }
+
+    @JsonProperty("pk")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getPatientKey() {
+        return patientKey;
+    }
+
+    @JsonProperty("name")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty("role")
+    public String getRole() {
+        return role;
+    }
+
+    @JsonProperty("iat")
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    @JsonProperty("exp")
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @JsonIgnore
+    public boolean isDoctor() {
+        return ROLE_DOCTOR.equals(role);
+    }
+
+    public boolean isExpired(long nowEpochSecond) {
+        return nowEpochSecond >= expiresAt;
+    }
+}
@@ -2,33 +2,40 @@ package com.hackathon.service;
 
 import com.hackathon.dto.AuthRequestDto;
 import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.monitoring.TilkoCallEvent;
 import okhttp3.*;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
 
 @Service
 public class AuthService {
 
+    // 응답 지연 추적(UpstreamLatencyTracker) 엔드포인트 이름
+    private static final String AUTH_ENDPOINT = "tilko:simpleauthrequest";
+
     @Value("${tilko.api.host}")
     private String apiHost;
 
     @Value("${tilko.api.key}")
     private String apiKey;
 
+    @Autowired
+    private OkHttpClient upstreamHttpClient;
+
+    @Autowired
+    private TilkoPublicKeyCache publicKeyCache;
+
+    @Autowired
+    private UpstreamLatencyTracker latencyTracker;
+
     // JSON 응답을 AuthResponseDto로 변환 (API 스펙에 맞게 ENC: 접두어 추가)
     private AuthResponseDto parseAuthResponse(String jsonStr) throws ParseException {
         System.out.println("=== 간편인증 응답 파싱 시작 ===");
@@ -72,6 +79,8 @@ public class AuthService {
             String errorMessage = (String) jsonObject.get("Message");
             String errorCode = jsonObject.get("ErrorCode") != null ?
                     jsonObject.get("ErrorCode").toString() : "";
+            // 공개키가 바뀌었을 수 있으므로 다음 요청에서 다시 조회
+            publicKeyCache.invalidate();
             throw new RuntimeException("간편인증 실패 - ErrorCode: " + errorCode +
                     ", Message: " + errorMessage);
         }
@@ -125,7 +134,7 @@ public class AuthService {
     // 간편인증 요청 처리 - 필터링된 DTO 반환
     public AuthResponseDto requestSimpleAuth(AuthRequestDto authRequest) throws Exception {
         // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        String rsaPublicKey = publicKeyCache.get();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -134,7 +143,7 @@ public class AuthService {
         byte[] aesIv = new byte[]{0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
 
         // AES Key를 RSA Public Key로 암호화
-        String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        String aesCipherKey = TilkoCrypto.rsaEncrypt(rsaPublicKey, aesKey);
 
         // API URL 설정
         String url = apiHost + "/api/v1.0/nhissimpleauth/simpleauthrequest";
@@ -142,20 +151,14 @@ public class AuthService {
         // API 요청 파라미터 설정
         JSONObject json = new JSONObject();
         json.put("PrivateAuthType", "0");
-        json.put("UserName", aesEncrypt(aesKey, aesIv, authRequest.getUserName()));
-        json.put("BirthDate", aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
-        json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
+        json.put("UserName", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getUserName()));
+        json.put("BirthDate", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
+        json.put("UserCellphoneNumber", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
 
         System.out.println("간편인증 요청 URL: " + url);
         System.out.println("간편인증 요청 데이터: " + json.toJSONString());
 
         // API 호출
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
-
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("API-KEY", apiKey)
@@ -163,26 +166,35 @@ public class AuthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), json.toJSONString()))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
+        Call call = latencyTracker.newCall(upstreamHttpClient, request, AUTH_ENDPOINT);
+        long startedAt = System.nanoTime();
+        TilkoCallEvent event = TilkoCallEvent.start(url);
+        try (Response response = call.execute()) {
+            event.httpStatus = response.code();
             System.out.println("HTTP Status Code: " + response.code());
 
             if (response.body() == null) {
                 throw new IOException("Response body is null");
             }
 
-            String responseStr = response.body().string();
+            byte[] body = response.body().bytes();
+            event.responseBytes = body.length;
+            latencyTracker.record(AUTH_ENDPOINT, startedAt);
+            String responseStr = new String(body, StandardCharsets.UTF_8);
             System.out.println("간편인증 원본 응답:");
             System.out.println(responseStr);
 
             // JSON 응답을 DTO로 변환
             return parseAuthResponse(responseStr);
+        } finally {
+            event.commit();
         }
     }
 
     // 간편인증 요청 처리 - 원본 JSON 반환 (Raw) - 이 메서드가 누락되어 있었습니다!
     public Object requestSimpleAuthRaw(AuthRequestDto authRequest) throws Exception {
         // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        String rsaPublicKey = publicKeyCache.get();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -191,7 +203,7 @@ public class AuthService {
         byte[] aesIv = new byte[]{0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
 
         // AES Key를 RSA Public Key로 암호화
-        String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        String aesCipherKey = TilkoCrypto.rsaEncrypt(rsaPublicKey, aesKey);
 
         // API URL 설정
         String url = apiHost + "/api/v1.0/nhissimpleauth/simpleauthrequest";
@@ -199,17 +211,11 @@ public class AuthService {
         // API 요청 파라미터 설정
         JSONObject json = new JSONObject();
         json.put("PrivateAuthType", "0");
-        json.put("UserName", aesEncrypt(aesKey, aesIv, authRequest.getUserName()));
-        json.put("BirthDate", aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
-        json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
+        json.put("UserName", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getUserName()));
+        json.put("BirthDate", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
+        json.put("UserCellphoneNumber", TilkoCrypto.aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
 
         // API 호출
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
-
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("API-KEY", apiKey)
@@ -217,73 +223,25 @@ public class AuthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), json.toJSONString()))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
+        Call call = latencyTracker.newCall(upstreamHttpClient, request, AUTH_ENDPOINT);
+        long startedAt = System.nanoTime();
+        TilkoCallEvent event = TilkoCallEvent.start(url);
+        try (Response response = call.execute()) {
+            event.httpStatus = response.code();
             if (response.body() == null) {
                 throw new IOException("Response body is null");
             }
 
-            String responseStr = response.body().string();
+            byte[] body = response.body().bytes();
+            event.responseBytes = body.length;
+            latencyTracker.record(AUTH_ENDPOINT, startedAt);
+            String responseStr = new String(body, StandardCharsets.UTF_8);
 
             // JSON 파싱해서 원본 그대로 반환
             JSONParser parser = new JSONParser();
             return parser.parse(responseStr);
+        } finally {
+            event.commit();
         }
     }
-
-    // Public Key 조회
-    private String getPublicKey() throws Exception {
-        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
-
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
-
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
-
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new IOException("Response body is null");
-            }
-
-            String responseStr = response.body().string();
-            JSONParser jsonParser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) jsonParser.parse(responseStr);
-
-            return (String) jsonObject.get("PublicKey");
-        }
-    }
-
-    // RSA 암호화
-    private String rsaEncrypt(String publicKeyStr, byte[] data) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        PublicKey publicKey = keyFactory.generatePublic(spec);
-
-        Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-        byte[] encrypted = cipher.doFinal(data);
-
-        return Base64.getEncoder().encodeToString(encrypted);
-    }
-
-    // AES 암호화
-    private String aesEncrypt(byte[] key, byte[] iv, String plainText) throws Exception {
-        if (plainText == null || plainText.isEmpty()) {
-            return "";
-        }
-
-        SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
-        IvParameterSpec ivSpec = new IvParameterSpec(iv);
-
-        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
-        byte[] encrypted = cipher.doFinal(plainText.getBytes("UTF-8"));
-
-        return Base64.getEncoder().encodeToString(encrypted);
-    }
 }
\ No newline at end of file
@@ -1,20 +1,40 @@
 package com.hackathon.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hackathon.dto.ChatGptApiRequestDto;
 import com.hackathon.dto.ChatGptApiResponseDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.monitoring.ChatGptCallEvent;
 import okhttp3.*;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import okio.BufferedSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Service
 public class ChatGptAiService {
@@ -31,8 +51,58 @@ public class ChatGptAiService {
     @Value("${chatgpt.api.max-tokens}")
     private int maxTokens;
     
+    // 동일 분석 요청 대기 최대 시간 (초)
+    @Value("${chatgpt.api.wait-timeout-seconds:90}")
+    private long waitTimeoutSeconds;
+    
+    // 모델 캐스케이드: 작은 모델로 먼저 분석하고, 결과가 검증에 실패할 때만 기본 모델로 재분석
+    @Value("${chatgpt.cascade.enabled:true}")
+    private boolean cascadeEnabled;
+    
+    @Value("${chatgpt.cascade.fast-model:gpt-4o-mini}")
+    private String fastModel;
+    
+    // 출력은 최대 4개 질환의 JSON 배열이므로 작은 max_tokens로 충분
+    @Value("${chatgpt.cascade.fast-max-tokens:100}")
+    private int fastMaxTokens;
+    
+    // 429 응답 시 최대 재시도 횟수
+    @Value("${chatgpt.rate-limit.max-retries:3}")
+    private int maxRetries;
+    
+    @Autowired
+    @Qualifier("analysisExecutor")
+    private ExecutorService analysisExecutor;
+    
+    @Autowired
+    @Qualifier("backgroundAnalysisExecutor")
+    private ExecutorService backgroundAnalysisExecutor;
+    
+    @Autowired
+    private OpenAiRateScheduler rateScheduler;
+    
+    @Autowired
+    private DiseaseHeuristics diseaseHeuristics;
+    
+    @Autowired
+    private DrugDictionary drugDictionary;
+    
+    @Autowired
+    private OkHttpClient upstreamHttpClient;
+    
+    @Autowired
+    private UpstreamLatencyTracker latencyTracker;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
+    // 동일 입력에 대한 동시 분석 요청을 하나의 ChatGPT 호출로 합침
+    private SingleFlight<String, ChatGptApiResponseDto> analysisFlights;
+    
+    @PostConstruct
+    public void init() {
+        analysisFlights = new SingleFlight<>(analysisExecutor);
+    }
+    
     /**
      * 처방 데이터를 분석하여 기저질환을 예측하는 메소드
      * @param medicationData 처방 데이터
@@ -44,148 +114,255 @@ public class ChatGptAiService {
             System.out.println("medicationData 타입: " + medicationData.getClass().getName());
             System.out.println("medicationData 내용: " + medicationData.toString());
             
-            // 처방 데이터에서 약물 정보 추출
-            List<String> actualMedicationNames = extractMedicationNames(medicationData);
-            String medicationInfo = extractMedicationInfo(medicationData);
+            return analyzePrepared(prepareAnalysis(medicationData));
             
+        } catch (Exception e) {
+            System.err.println("기저질환 분석 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+            return createErrorResult(e);
+        }
+    }
+    
+    /**
+     * 분석 준비 단계 (약물 정보 추출 + 프롬프트 생성) - ChatGPT 호출 없이 로컬에서만 수행
+     * @param medicationData 처방 데이터
+     * @return 분석 준비 결과
+     */
+    public PreparedAnalysis prepareAnalysis(Object medicationData) {
+        return prepareAnalysis(medicationData, true);
+    }
+    
+    /**
+     * 분석 준비 단계 (log가 false면 추출 결과와 프롬프트를 출력하지 않음 - 시작 워밍업용)
+     */
+    PreparedAnalysis prepareAnalysis(Object medicationData, boolean log) {
+        // 처방 데이터를 한 번만 순회하여 프롬프트와 휴리스틱이 함께 사용
+        MedicationModel model = MedicationModel.parse(medicationData, drugDictionary);
+        List<String> actualMedicationNames = new ArrayList<>(model.drugCount());
+        for (int drug = 0; drug < model.drugCount(); drug++) {
+            actualMedicationNames.add(model.drugNameOf(drug));
+        }
+        StringBuilder medicationText = new StringBuilder(64 * model.rowCount() + 32);
+        model.appendPromptText(medicationText);
+        String medicationInfo = medicationText.toString();
+        
+        // ChatGPT API에 전송할 프롬프트 생성
+        String prompt = createAnalysisPrompt(medicationInfo, actualMedicationNames);
+        
+        if (log) {
             System.out.println("추출된 약물명 목록: " + actualMedicationNames);
             System.out.println("추출된 약물 정보: " + medicationInfo);
-            
-            // ChatGPT API에 전송할 프롬프트 생성
-            String prompt = createAnalysisPrompt(medicationInfo, actualMedicationNames);
-            
             System.out.println("=== 생성된 프롬프트 ===");
             System.out.println(prompt);
             System.out.println("========================");
-            
-            // ChatGPT API 호출
-            String chatgptResponse = callChatGptApi(prompt);
-            
-            // ChatGPT 응답을 파싱하여 결과 생성
-            return parseChatGptResponse(chatgptResponse);
-            
-        } catch (Exception e) {
-            System.err.println("기저질환 분석 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            
-            // 오류 발생 시 기본 응답 반환
-            DiseaseAnalysisDto errorResponse = new DiseaseAnalysisDto();
-            errorResponse.setStatus("ERROR");
-            errorResponse.setMessage("기저질환 분석 중 오류가 발생했습니다: " + e.getMessage());
-            errorResponse.setPredictedDiseases(new ArrayList<>());
-            errorResponse.setRiskLevel("UNKNOWN");
-            return errorResponse;
         }
+        
+        // 캐스케이드 검증용 로컬 휴리스틱 신호
+        List<Set<String>> strongSignals = diseaseHeuristics.strongSignals(model);
+        
+        String flightKey = analysisKey(medicationInfo, String.join("|", actualMedicationNames));
+        return new PreparedAnalysis(prompt, flightKey, strongSignals);
+    }
+    
+    /**
+     * 준비된 분석에 대해 ChatGPT를 호출하여 결과를 생성하는 메소드 (사용자 대기 요청)
+     * @param prepared 분석 준비 결과
+     * @return 기저질환 분석 결과
+     */
+    public DiseaseAnalysisDto analyzePrepared(PreparedAnalysis prepared) throws Exception {
+        return analyzePrepared(prepared, OpenAiRateScheduler.Priority.INTERACTIVE);
     }
     
     /**
-     * 처방 데이터에서 실제 약물명 목록을 추출하는 메소드
+     * 준비된 분석에 대해 ChatGPT를 호출하여 결과를 생성하는 메소드
+     * @param prepared 분석 준비 결과
+     * @param priority OpenAI 호출 스케줄링 우선순위
+     * @return 기저질환 분석 결과
      */
-    private List<String> extractMedicationNames(Object medicationData) {
-        List<String> medicationNames = new ArrayList<>();
-        
-        try {
-            if (medicationData instanceof JSONObject) {
-                JSONObject data = (JSONObject) medicationData;
-                Object prescriptionData = data.get("PrescriptionData");
-                
-                if (prescriptionData instanceof JSONArray) {
-                    JSONArray prescriptions = (JSONArray) prescriptionData;
-                    
-                    for (Object prescriptionObj : prescriptions) {
-                        if (prescriptionObj instanceof JSONObject) {
-                            JSONObject prescription = (JSONObject) prescriptionObj;
-                            
-                            // 약물 상세 정보
-                            Object medicationDetails = prescription.get("MedicationDetails");
-                            if (medicationDetails instanceof JSONArray) {
-                                JSONArray details = (JSONArray) medicationDetails;
-                                
-                                for (Object detailObj : details) {
-                                    if (detailObj instanceof JSONObject) {
-                                        JSONObject detail = (JSONObject) detailObj;
-                                        String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                        if (drugName != null && !drugName.trim().isEmpty()) {
-                                            medicationNames.add(drugName.trim());
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+    public DiseaseAnalysisDto analyzePrepared(PreparedAnalysis prepared, OpenAiRateScheduler.Priority priority) throws Exception {
+        // 1단계: 작은 모델로 분석하고 검증을 통과하면 그대로 사용
+        if (cascadeEnabled && !fastModel.equals(chatgptModel)) {
+            CompletableFuture<ChatGptApiResponseDto> fastWaiter = analysisFlights.join(prepared.getFlightKey() + ":fast",
+                    signal -> callChatGptApi(prepared.getPrompt(), fastModel, fastMaxTokens, priority, signal),
+                    flightExecutor(priority), priority == OpenAiRateScheduler.Priority.INTERACTIVE);
+            List<String> fastDiseases = null;
+            try {
+                fastDiseases = validateCascadeOutput(awaitAnalysis(fastWaiter), prepared.getStrongSignals());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                // 작은 모델 호출 실패(오류 응답, 시간 초과 등)는 검증 실패와 같이 상위 모델로 넘김
+                System.err.println("캐스케이드 1단계(" + fastModel + ") 호출 실패: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("약물명 추출 중 오류: " + e.getMessage());
+            
+            if (fastDiseases != null) {
+                System.out.println("캐스케이드 1단계(" + fastModel + ") 결과 채택");
+                return buildSuccessResult(fastDiseases);
+            }
+            System.out.println("캐스케이드 상위 모델(" + chatgptModel + ")로 재분석");
         }
         
-        return medicationNames;
+        // ChatGPT API 호출 (동일 입력으로 진행 중인 호출이 있으면 합류)
+        // 사용자 요청이 선행 분석(BATCH) 호출에 합류하면 그 호출을 사용자 요청 우선순위로 올림
+        CompletableFuture<ChatGptApiResponseDto> waiter = analysisFlights.join(prepared.getFlightKey(),
+                signal -> callChatGptApi(prepared.getPrompt(), chatgptModel, maxTokens, priority, signal),
+                flightExecutor(priority), priority == OpenAiRateScheduler.Priority.INTERACTIVE);
+        ChatGptApiResponseDto chatgptResponse = awaitAnalysis(waiter);
+        
+        // ChatGPT 응답을 파싱하여 결과 생성
+        return parseChatGptResponse(chatgptResponse);
     }
     
     /**
-     * 처방 데이터에서 약물 정보를 추출하는 메소드
+     * 준비된 분석을 기다리는 스레드 없이 수행하는 메소드 (의사 웹 일괄 분석용)
+     * - ChatGPT 호출은 flightExecutor에서 실행하므로 그 풀의 크기가 곧 동시 호출 상한
+     * - 제한 시간(timeoutMillis)은 호출 스레드를 받아 ChatGPT 호출을 시작할 때부터 계산
+     * - 반환된 Future를 cancel 하면 합류한 호출의 대기자에서 빠지고, 마지막 대기자라면 ChatGPT 호출도 취소됨
      */
-    private String extractMedicationInfo(Object medicationData) {
-        StringBuilder medicationInfo = new StringBuilder();
+    public CompletableFuture<DiseaseAnalysisDto> analyzePreparedAsync(PreparedAnalysis prepared,
+                                                                      OpenAiRateScheduler.Priority priority,
+                                                                      Executor flightExecutor, long timeoutMillis) {
+        CompletableFuture<DiseaseAnalysisDto> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<ChatGptApiResponseDto>> currentWaiter = new AtomicReference<>();
+        result.whenComplete((analysis, error) -> {
+            CompletableFuture<ChatGptApiResponseDto> waiter = currentWaiter.get();
+            if (result.isCancelled() && waiter != null) {
+                waiter.cancel(true);
+            }
+        });
         
-        try {
-            if (medicationData instanceof JSONObject) {
-                JSONObject data = (JSONObject) medicationData;
-                Object prescriptionData = data.get("PrescriptionData");
-                
-                if (prescriptionData instanceof JSONArray) {
-                    JSONArray prescriptions = (JSONArray) prescriptionData;
-                    
-                    for (Object prescriptionObj : prescriptions) {
-                        if (prescriptionObj instanceof JSONObject) {
-                            JSONObject prescription = (JSONObject) prescriptionObj;
-                            
-                            // 진료일자
-                            String treatmentDate = (String) prescription.get("JinRyoGaesiIl");
-                            medicationInfo.append("진료일자: ").append(treatmentDate).append("\\n");
-                            
-                            // 약물 상세 정보
-                            Object medicationDetails = prescription.get("MedicationDetails");
-                            if (medicationDetails instanceof JSONArray) {
-                                JSONArray details = (JSONArray) medicationDetails;
-                                
-                                for (Object detailObj : details) {
-                                    if (detailObj instanceof JSONObject) {
-                                        JSONObject detail = (JSONObject) detailObj;
-                                        
-                                        String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                        String drugEffect = (String) detail.get("ChoBangYakPumHyoneung");
-                                        String dosageDays = (String) detail.get("TuyakIlSoo");
-                                        
-                                        Object drugDetailInfo = detail.get("DrugDetailInfo");
-                                        if (drugDetailInfo instanceof JSONObject) {
-                                            JSONObject drugDetail = (JSONObject) drugDetailInfo;
-                                            String component = (String) drugDetail.get("CmpnInfo");
-                                            String atcInfo = (String) drugDetail.get("AtcInfo");
-                                            String kpicInfo = (String) drugDetail.get("KpicInfo");
-                                            
-                                            medicationInfo.append("- 약물명: ").append(drugName)
-                                                          .append(", 효능: ").append(drugEffect)
-                                                          .append(", 투약일수: ").append(dosageDays)
-                                                          .append(", 성분: ").append(component)
-                                                          .append(", ATC분류: ").append(atcInfo)
-                                                          .append(", KPIC분류: ").append(kpicInfo)
-                                                          .append("\\n");
-                                        }
-                                    }
-                                }
-                            }
-                            medicationInfo.append("\\n");
-                        }
-                    }
+        Runnable mainStage = () -> {
+            CompletableFuture<ChatGptApiResponseDto> waiter = analysisFlights.join(prepared.getFlightKey(),
+                    signal -> callWithinDeadline(prepared.getPrompt(), chatgptModel, maxTokens, priority, signal, timeoutMillis),
+                    flightExecutor);
+            watch(currentWaiter, waiter, result);
+            waiter.whenComplete((response, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                } else {
+                    result.complete(parseChatGptResponse(response));
                 }
+            });
+        };
+        
+        if (!cascadeEnabled || fastModel.equals(chatgptModel)) {
+            mainStage.run();
+            return result;
+        }
+        
+        // 1단계: 작은 모델 결과가 검증을 통과하면 그대로 사용, 실패하거나 호출 오류면 상위 모델로 재분석
+        CompletableFuture<ChatGptApiResponseDto> fastWaiter = analysisFlights.join(prepared.getFlightKey() + ":fast",
+                signal -> callWithinDeadline(prepared.getPrompt(), fastModel, fastMaxTokens, priority, signal, timeoutMillis),
+                flightExecutor);
+        watch(currentWaiter, fastWaiter, result);
+        fastWaiter.whenComplete((response, error) -> {
+            if (result.isDone()) {
+                return;
             }
-        } catch (Exception e) {
-            System.err.println("약물 정보 추출 중 오류: " + e.getMessage());
-            return "약물 정보 추출에 실패했습니다.";
+            List<String> fastDiseases = null;
+            if (error != null) {
+                System.err.println("캐스케이드 1단계(" + fastModel + ") 호출 실패: " + unwrap(error).getMessage());
+            } else {
+                fastDiseases = validateCascadeOutput(response, prepared.getStrongSignals());
+            }
+            
+            if (fastDiseases != null) {
+                System.out.println("캐스케이드 1단계(" + fastModel + ") 결과 채택");
+                result.complete(buildSuccessResult(fastDiseases));
+            } else {
+                System.out.println("캐스케이드 상위 모델(" + chatgptModel + ")로 재분석");
+                mainStage.run();
+            }
+        });
+        return result;
+    }
+    
+    // 현재 단계의 대기자 기록 (이미 취소된 분석이면 바로 빠짐)
+    private static void watch(AtomicReference<CompletableFuture<ChatGptApiResponseDto>> currentWaiter,
+                              CompletableFuture<ChatGptApiResponseDto> waiter, CompletableFuture<?> result) {
+        currentWaiter.set(waiter);
+        if (result.isCancelled()) {
+            waiter.cancel(true);
         }
+    }
+    
+    // 호출 스레드에서 마감을 설정하고 ChatGPT 호출 (RequestDeadline은 스레드별이므로 호출 시작 시점부터 계산됨)
+    private ChatGptApiResponseDto callWithinDeadline(String prompt, String model, int modelMaxTokens,
+                                                     OpenAiRateScheduler.Priority priority,
+                                                     SingleFlight.CancellationSignal signal,
+                                                     long timeoutMillis) throws Exception {
+        RequestDeadline.Scope deadline = RequestDeadline.start(timeoutMillis);
+        try {
+            return callChatGptApi(prompt, model, modelMaxTokens, priority, signal);
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    // 선행 분석(BATCH)은 별도 풀에서 호출하여 사용자 요청 분석 스레드를 차지하지 않음
+    // (일괄 분석은 analyzePreparedAsync로 일괄 분석 풀을 직접 지정)
+    private ExecutorService flightExecutor(OpenAiRateScheduler.Priority priority) {
+        return priority == OpenAiRateScheduler.Priority.BATCH ? backgroundAnalysisExecutor : analysisExecutor;
+    }
+    
+    /**
+     * 오류 발생 시 기본 분석 응답을 생성하는 메소드
+     */
+    public DiseaseAnalysisDto createErrorResult(Exception e) {
+        DiseaseAnalysisDto errorResponse = new DiseaseAnalysisDto();
+        errorResponse.setStatus("ERROR");
+        errorResponse.setMessage("기저질환 분석 중 오류가 발생했습니다: " + e.getMessage());
+        errorResponse.setPredictedDiseases(new ArrayList<>());
+        errorResponse.setRiskLevel("UNKNOWN");
+        return errorResponse;
+    }
+    
+    /**
+     * 처방 데이터를 스트리밍 모드로 분석하는 메소드
+     * 질환명이 JSON 배열에서 완성되는 즉시 onDisease로 전달하고, 최종 결과를 반환한다
+     * @param medicationData 처방 데이터
+     * @param onDisease 추정 질환 수신 콜백
+     * @param signal 취소 신호 (클라이언트 연결이 끊기면 진행 중인 스트리밍 호출을 중단)
+     * @return 기저질환 분석 결과
+     */
+    public DiseaseAnalysisDto streamPrescriptionAnalysis(Object medicationData,
+                                                         Consumer<DiseaseAnalysisDto.PredictedDisease> onDisease,
+                                                         SingleFlight.CancellationSignal signal) throws Exception {
+        String prompt = prepareAnalysis(medicationData).getPrompt();
+        
+        List<DiseaseAnalysisDto.PredictedDisease> diseases = new ArrayList<>();
+        Set<String> emitted = new HashSet<>();
+        DiseaseArrayStreamParser parser = new DiseaseArrayStreamParser(diseaseName -> {
+            // 목록에 없는 질환명, 중복, 최대 개수 초과분은 클라이언트에 보내지 않음
+            String name = diseaseName.trim();
+            if (!DiseaseVocabulary.isAllowed(name)) {
+                System.out.println("스트리밍 질병 무시 (허용 목록에 없음): " + diseaseName);
+                return;
+            }
+            if (emitted.size() >= DiseaseVocabulary.MAX_DISEASES || !emitted.add(name)) {
+                return;
+            }
+            DiseaseAnalysisDto.PredictedDisease disease = toPredictedDisease(name);
+            diseases.add(disease);
+            System.out.println("스트리밍 질병 수신: " + name);
+            onDisease.accept(disease);
+        });
         
-        return medicationInfo.toString();
+        callChatGptApiStreaming(prompt, parser::feed, signal);
+        
+        DiseaseAnalysisDto result = buildAnalysisResult(diseases);
+        if (parser.isComplete()) {
+            result.setStatus("SUCCESS");
+            result.setMessage("기저질환 분석이 완료되었습니다.");
+        } else {
+            result.setStatus("PARTIAL_SUCCESS");
+            result.setMessage("분석은 완료되었으나 결과 파싱에 오류가 발생했습니다.");
+        }
+        return result;
     }
     
     /**
@@ -231,31 +408,182 @@ public class ChatGptAiService {
                "질환명3",
                "질환명4"
              ]
-                
+             ```
+
+             처방 약물 목록: ["%s"]
 
-        """.formatted(medicationInfo, String.join(", ", actualMedicationNames));
+             처방 이력:
+             %s
+        """.formatted(medicationNamesList, medicationInfo);
     }
 
+    /**
+     * 분석 입력을 정규화하여 SingleFlight 키를 생성하는 메소드
+     */
+    private String analysisKey(String medicationInfo, String medicationNames) {
+        String normalized = chatgptModel + "\n"
+                + medicationInfo.replaceAll("\\s+", " ").trim() + "\n"
+                + medicationNames.replaceAll("\\s+", " ").trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 합류한 분석 호출의 결과를 기다리는 메소드
+     * 대기 시간 초과나 인터럽트 시 대기자에서 빠지고, 마지막 대기자라면 업스트림 호출도 취소된다
+     */
+    private ChatGptApiResponseDto awaitAnalysis(CompletableFuture<ChatGptApiResponseDto> waiter) throws Exception {
+        try {
+            // 요청 마감(RequestDeadline)이 더 가까우면 그때까지만 대기
+            return waiter.get(maxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            waiter.cancel(true);
+            throw new IOException("ChatGPT API 응답 대기 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            waiter.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+    
     /**
      * ChatGPT API를 호출하는 메소드
+     * 스케줄러에서 호출 허가를 받은 뒤 호출하고, 429 응답이면 Retry-After 만큼 쉬었다가 재시도한다
      */
-    private String callChatGptApi(String prompt) throws IOException {
+    private ChatGptApiResponseDto callChatGptApi(String prompt, String model, int modelMaxTokens,
+                                                 OpenAiRateScheduler.Priority priority,
+                                                 SingleFlight.CancellationSignal signal) throws Exception {
         // API 키 유효성 검사
-        if (chatgptApiKey == null || chatgptApiKey.trim().isEmpty() || chatgptApiKey.contains("여기에")) {
-            throw new IOException("ChatGPT API 키가 설정되지 않았습니다. application.properties에서 chatgpt.api.key를 설정해주세요.");
-        }
+        validateApiKey();
         
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
+        Request request = buildChatGptRequest(prompt, model, modelMaxTokens, false);
+        int estimatedTokens = estimateTokens(prompt, modelMaxTokens);
         
+        for (int attempt = 0; ; attempt++) {
+            OpenAiRateScheduler.Permit permit;
+            try {
+                permit = rateScheduler.acquire(estimatedTokens, priority, maxWaitMillis(), signal);
+            } catch (CancellationException e) {
+                throw new IOException("ChatGPT API 호출이 취소되었습니다.");
+            } catch (TimeoutException e) {
+                throw new IOException(e.getMessage());
+            }
+            
+            // 모든 대기자가 떠나면 진행 중인 HTTP 호출 취소 (타임아웃은 모델별 최근 응답 지연 기준)
+            Call call = latencyTracker.newCall(upstreamHttpClient, request, "openai:" + model);
+            signal.setOnCancel(call::cancel);
+            long startedAt = System.nanoTime();
+            
+            // API 호출
+            ChatGptCallEvent event = ChatGptCallEvent.start(model, false, attempt, estimatedTokens);
+            try (Response response = call.execute()) {
+                event.httpStatus = response.code();
+                System.out.println("ChatGPT API 응답 코드: " + response.code());
+                
+                if (response.body() == null) {
+                    throw new IOException("ChatGPT API 응답 본문이 비어있습니다.");
+                }
+                
+                String responseBody = response.body().string();
+                
+                if (response.code() == 429 && attempt < maxRetries) {
+                    // 요청 한도 초과 - 스케줄러 전체를 Retry-After 동안 멈추고 재시도
+                    rateScheduler.onRateLimited(retryAfterMillis(response, attempt));
+                    rateScheduler.release(permit);
+                    continue;
+                }
+                
+                if (!response.isSuccessful()) {
+                    rateScheduler.release(permit);
+                    System.err.println("ChatGPT API 오류 응답: " + responseBody);
+                    throw toApiException(response.code(), responseBody);
+                }
+                
+                latencyTracker.record("openai:" + model, startedAt);
+                System.out.println("ChatGPT API 성공적 응답 수신");
+                ChatGptApiResponseDto apiResponse = readApiResponse(responseBody);
+                ChatGptApiResponseDto.Usage usage = apiResponse.getUsage();
+                if (usage != null) {
+                    event.promptTokens = usage.getPromptTokens();
+                    event.completionTokens = usage.getCompletionTokens();
+                    event.totalTokens = usage.getTotalTokens();
+                }
+                rateScheduler.complete(permit, usage);
+                return apiResponse;
+            } finally {
+                event.commit();
+            }
+        }
+    }
+    
+    // 호출 허가 최대 대기 시간 (응답 대기 시간과 요청 마감 중 가까운 쪽)
+    private long maxWaitMillis() {
+        return Math.min(TimeUnit.SECONDS.toMillis(waitTimeoutSeconds), RequestDeadline.remainingMillis());
+    }
+    
+    /**
+     * 프롬프트 길이와 max_tokens로 사용 토큰 수를 보수적으로 추정하는 메소드
+     * (한글은 대략 글자당 1토큰 이상이므로 글자 수를 그대로 사용)
+     */
+    private int estimateTokens(String prompt, int modelMaxTokens) {
+        return prompt.length() + modelMaxTokens;
+    }
+    
+    /**
+     * 429 응답의 대기 시간을 계산하는 메소드 (retry-after-ms → Retry-After → 지수 백오프)
+     */
+    private long retryAfterMillis(Response response, int attempt) {
+        try {
+            String retryAfterMs = response.header("retry-after-ms");
+            if (retryAfterMs != null) {
+                return (long) Double.parseDouble(retryAfterMs);
+            }
+            String retryAfter = response.header("Retry-After");
+            if (retryAfter != null) {
+                return (long) (Double.parseDouble(retryAfter) * 1000);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Retry-After 헤더 파싱 실패: " + e.getMessage());
+        }
+        return 1000L << attempt;
+    }
+    
+    /**
+     * ChatGPT API 응답 본문을 DTO로 변환하는 메소드
+     * 변환에 실패하면 내용이 없는 응답으로 처리하여 PARTIAL_SUCCESS가 되도록 한다
+     */
+    private ChatGptApiResponseDto readApiResponse(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, ChatGptApiResponseDto.class);
+        } catch (IOException e) {
+            System.err.println("ChatGPT 응답 파싱 오류: " + e.getMessage());
+            return new ChatGptApiResponseDto();
+        }
+    }
+    
+    /**
+     * ChatGPT API 요청을 생성하는 메소드
+     */
+    private Request buildChatGptRequest(String prompt, String model, int modelMaxTokens, boolean stream) throws IOException {
         // 요청 DTO 생성
         ChatGptApiRequestDto requestDto = new ChatGptApiRequestDto();
-        requestDto.setModel(chatgptModel);
-        requestDto.setMaxTokens(maxTokens);
+        requestDto.setModel(model);
+        requestDto.setMaxTokens(modelMaxTokens);
         requestDto.setTemperature(0.3); // 적절한 창의성을 위한 온도 설정
+        if (stream) {
+            requestDto.setStream(true);
+            requestDto.setStreamOptions(Collections.singletonMap("include_usage", true));
+        }
         
         ChatGptApiRequestDto.Message systemMessage = new ChatGptApiRequestDto.Message();
         systemMessage.setRole("system");
@@ -272,53 +600,140 @@ public class ChatGptAiService {
         
         System.out.println("=== ChatGPT API 요청 ===");
         System.out.println("URL: " + chatgptApiUrl);
-        System.out.println("Model: " + chatgptModel);
+        System.out.println("Model: " + model + (stream ? " (stream)" : ""));
         
         // HTTP 요청 생성
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(chatgptApiUrl)
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Authorization", "Bearer " + chatgptApiKey)
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), requestJson))
                 .build();
+    }
+    
+    /**
+     * ChatGPT API를 스트리밍(SSE) 모드로 호출하는 메소드
+     * 토큰이 도착할 때마다 onDelta로 전달하고, 전체 응답 텍스트를 반환한다
+     */
+    private String callChatGptApiStreaming(String prompt, Consumer<String> onDelta,
+                                           SingleFlight.CancellationSignal signal) throws Exception {
+        validateApiKey();
+        
+        Request request = buildChatGptRequest(prompt, chatgptModel, maxTokens, true);
+        StringBuilder fullText = new StringBuilder();
+        
+        // 마지막 청크의 사용량(stream_options.include_usage)으로 예산 보정, 받지 못하면 예상치 유지
+        int estimatedTokens = estimateTokens(prompt, maxTokens);
+        OpenAiRateScheduler.Permit permit;
+        try {
+            permit = rateScheduler.acquire(
+                    estimatedTokens, OpenAiRateScheduler.Priority.INTERACTIVE, maxWaitMillis(), signal);
+        } catch (CancellationException e) {
+            throw new IOException("ChatGPT API 스트리밍 호출이 취소되었습니다.");
+        }
+        ChatGptApiResponseDto.Usage usage = null;
+        boolean rejected = false;
+        
+        // 스트리밍은 응답이 길게 이어지므로 전체 호출이 아니라 수신 간격(readTimeout)에 첫 응답까지의 지연 기준 타임아웃 적용
+        String endpoint = "openai-stream:" + chatgptModel;
+        OkHttpClient client = upstreamHttpClient.newBuilder()
+                .readTimeout(latencyTracker.timeoutMillis(endpoint), TimeUnit.MILLISECONDS)
+                .build();
+        long startedAt = System.nanoTime();
         
-        // API 호출
-        try (Response response = client.newCall(request).execute()) {
-            System.out.println("ChatGPT API 응답 코드: " + response.code());
+        ChatGptCallEvent event = ChatGptCallEvent.start(chatgptModel, true, 0, estimatedTokens);
+        // 클라이언트 연결이 끊기면 수신 중인 HTTP 호출 취소
+        Call call = client.newCall(request);
+        signal.setOnCancel(call::cancel);
+        try (Response response = call.execute()) {
+            event.httpStatus = response.code();
+            System.out.println("ChatGPT API 스트리밍 응답 코드: " + response.code());
             
             if (response.body() == null) {
                 throw new IOException("ChatGPT API 응답 본문이 비어있습니다.");
             }
             
-            String responseBody = response.body().string();
-            
             if (!response.isSuccessful()) {
+                rejected = true;
+                if (response.code() == 429) {
+                    rateScheduler.onRateLimited(retryAfterMillis(response, 0));
+                }
+                String responseBody = response.body().string();
                 System.err.println("ChatGPT API 오류 응답: " + responseBody);
+                throw toApiException(response.code(), responseBody);
+            }
+            latencyTracker.record(endpoint, startedAt);
+            
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                // SSE 형식: "data: {...}" 줄만 처리 (빈 줄, 주석 무시)
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
                 
-                if (response.code() == 401) {
-                    throw new IOException("ChatGPT API 인증 실패: API 키를 확인해주세요.");
-                } else if (response.code() == 429) {
-                    throw new IOException("ChatGPT API 요청 한도 초과: 잠시 후 다시 시도해주세요.");
-                } else if (response.code() == 400) {
-                    throw new IOException("ChatGPT API 요청 오류: 요청 데이터를 확인해주세요.");
-                } else {
-                    throw new IOException("ChatGPT API 호출 실패: " + response.code() + " - " + responseBody);
+                JsonNode chunk = objectMapper.readTree(data);
+                JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+                if (content.isTextual()) {
+                    fullText.append(content.asText());
+                    onDelta.accept(content.asText());
+                }
+                if (chunk.path("usage").isObject()) {
+                    usage = toUsage(chunk.path("usage"));
+                    event.promptTokens = usage.getPromptTokens();
+                    event.completionTokens = usage.getCompletionTokens();
+                    event.totalTokens = usage.getTotalTokens();
                 }
             }
-            
-            System.out.println("ChatGPT API 성공적 응답 수신");
-            return responseBody;
+        } finally {
+            event.commit();
+            if (rejected) {
+                rateScheduler.release(permit);
+            } else {
+                rateScheduler.complete(permit, usage);
+            }
+        }
+        
+        System.out.println("ChatGPT API 스트리밍 수신 완료");
+        return fullText.toString();
+    }
+    
+    // 스트리밍 마지막 청크의 usage 객체 변환
+    private ChatGptApiResponseDto.Usage toUsage(JsonNode node) {
+        ChatGptApiResponseDto.Usage usage = new ChatGptApiResponseDto.Usage();
+        usage.setPromptTokens(node.path("prompt_tokens").asInt());
+        usage.setCompletionTokens(node.path("completion_tokens").asInt());
+        usage.setTotalTokens(node.path("total_tokens").asInt());
+        return usage;
+    }
+    
+    private void validateApiKey() throws IOException {
+        if (chatgptApiKey == null || chatgptApiKey.trim().isEmpty() || chatgptApiKey.contains("여기에")) {
+            throw new IOException("ChatGPT API 키가 설정되지 않았습니다. application.properties에서 chatgpt.api.key를 설정해주세요.");
+        }
+    }
+    
+    private IOException toApiException(int code, String responseBody) {
+        if (code == 401) {
+            return new IOException("ChatGPT API 인증 실패: API 키를 확인해주세요.");
+        } else if (code == 429) {
+            return new IOException("ChatGPT API 요청 한도 초과: 잠시 후 다시 시도해주세요.");
+        } else if (code == 400) {
+            return new IOException("ChatGPT API 요청 오류: 요청 데이터를 확인해주세요.");
+        } else {
+            return new IOException("ChatGPT API 호출 실패: " + code + " - " + responseBody);
         }
     }
     
     /**
      * ChatGPT API 응답을 파싱하여 DiseaseAnalysisDto로 변환하는 메소드
      */
-    private DiseaseAnalysisDto parseChatGptResponse(String chatgptResponse) {
+    private DiseaseAnalysisDto parseChatGptResponse(ChatGptApiResponseDto apiResponse) {
         try {
-            // ChatGPT API 응답 파싱
-            ChatGptApiResponseDto apiResponse = objectMapper.readValue(chatgptResponse, ChatGptApiResponseDto.class);
-            
             if (apiResponse.getChoices() != null && !apiResponse.getChoices().isEmpty()) {
                 String analysisText = apiResponse.getChoices().get(0).getMessage().getContent();
                 
@@ -400,27 +815,18 @@ public class ChatGptAiService {
             @SuppressWarnings("unchecked")
             List<String> diseaseNames = objectMapper.readValue(jsonArrayText, List.class);
             
-            DiseaseAnalysisDto result = new DiseaseAnalysisDto();
             List<DiseaseAnalysisDto.PredictedDisease> diseases = new ArrayList<>();
             
             // 추출된 질환명들을 PredictedDisease 객체로 변환
             for (String diseaseName : diseaseNames) {
                 if (diseaseName != null && !diseaseName.trim().isEmpty()) {
-                    DiseaseAnalysisDto.PredictedDisease disease = new DiseaseAnalysisDto.PredictedDisease();
-                    disease.setDiseaseName(diseaseName.trim());
-                    disease.setProbability("추정"); // 기본값
-                    disease.setReason("처방 패턴 분석 결과"); // 기본값
-                    disease.setRelatedMedications(new ArrayList<>()); // 빈 목록으로 초기화
-                    
+                    DiseaseAnalysisDto.PredictedDisease disease = toPredictedDisease(diseaseName.trim());
                     diseases.add(disease);
                     System.out.println("추가된 질병: " + disease.getDiseaseName());
                 }
             }
             
-            result.setPredictedDiseases(diseases);
-            result.setAnalysisReason("처방 데이터 패턴 분석을 통한 기저질환 추정");
-            result.setRiskLevel(diseases.isEmpty() ? "LOW" : "MEDIUM");
-            result.setRecommendations(Arrays.asList("의료진과 상담 권장", "정기적인 건강검진"));
+            DiseaseAnalysisDto result = buildAnalysisResult(diseases);
             
             System.out.println("파싱 완료: " + result.getPredictedDiseases().size() + "개 질병 추출");
             
@@ -440,4 +846,105 @@ public class ChatGptAiService {
             throw e;
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 캐스케이드 1단계 결과를 검증하는 메소드
+     * @return 검증을 통과한 질환명 목록 (상위 모델로 넘겨야 하면 null)
+     */
+    private List<String> validateCascadeOutput(ChatGptApiResponseDto apiResponse, List<Set<String>> strongSignals) {
+        try {
+            if (apiResponse.getChoices() == null || apiResponse.getChoices().isEmpty()) {
+                System.out.println("캐스케이드 검증 실패: 응답 내용 없음");
+                return null;
+            }
+            ChatGptApiResponseDto.Choice choice = apiResponse.getChoices().get(0);
+            if ("length".equals(choice.getFinishReason())) {
+                System.out.println("캐스케이드 검증 실패: max_tokens 초과로 응답이 잘림");
+                return null;
+            }
+            
+            String jsonArrayText = extractJsonArrayFromText(choice.getMessage().getContent());
+            List<?> parsed = objectMapper.readValue(jsonArrayText, List.class);
+            if (parsed.size() > DiseaseVocabulary.MAX_DISEASES) {
+                System.out.println("캐스케이드 검증 실패: 질환 수 초과 (" + parsed.size() + ")");
+                return null;
+            }
+            
+            List<String> diseases = new ArrayList<>();
+            for (Object element : parsed) {
+                if (!(element instanceof String) || !DiseaseVocabulary.isAllowed((String) element)) {
+                    System.out.println("캐스케이드 검증 실패: 허용되지 않은 질환명 " + element);
+                    return null;
+                }
+                diseases.add(((String) element).trim());
+            }
+            
+            Set<String> missed = diseaseHeuristics.findMissedSignal(diseases, strongSignals);
+            if (missed != null) {
+                System.out.println("캐스케이드 검증 실패: 로컬 휴리스틱과 불일치 " + missed);
+                return null;
+            }
+            return diseases;
+            
+        } catch (Exception e) {
+            System.out.println("캐스케이드 검증 실패: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private DiseaseAnalysisDto buildSuccessResult(List<String> diseaseNames) {
+        List<DiseaseAnalysisDto.PredictedDisease> diseases = new ArrayList<>();
+        for (String diseaseName : diseaseNames) {
+            diseases.add(toPredictedDisease(diseaseName));
+        }
+        DiseaseAnalysisDto result = buildAnalysisResult(diseases);
+        result.setStatus("SUCCESS");
+        result.setMessage("기저질환 분석이 완료되었습니다.");
+        return result;
+    }
+    
+    private DiseaseAnalysisDto.PredictedDisease toPredictedDisease(String diseaseName) {
+        DiseaseAnalysisDto.PredictedDisease disease = new DiseaseAnalysisDto.PredictedDisease();
+        disease.setDiseaseName(diseaseName);
+        disease.setProbability("추정"); // 기본값
+        disease.setReason("처방 패턴 분석 결과"); // 기본값
+        disease.setRelatedMedications(new ArrayList<>()); // 빈 목록으로 초기화
+        return disease;
+    }
+    
+    private DiseaseAnalysisDto buildAnalysisResult(List<DiseaseAnalysisDto.PredictedDisease> diseases) {
+        DiseaseAnalysisDto result = new DiseaseAnalysisDto();
+        result.setPredictedDiseases(diseases);
+        result.setAnalysisReason("처방 데이터 패턴 분석을 통한 기저질환 추정");
+        result.setRiskLevel(diseases.isEmpty() ? "LOW" : "MEDIUM");
+        result.setRecommendations(Arrays.asList("의료진과 상담 권장", "정기적인 건강검진"));
+        return result;
+    }
+    
+    /**
+     * ChatGPT 호출 직전까지 준비된 분석 입력
+     */
+    public static class PreparedAnalysis {
+        private final String prompt;
+        private final String flightKey;
+        private final List<Set<String>> strongSignals;
+        
+        public PreparedAnalysis(String prompt, String flightKey, List<Set<String>> strongSignals) {
+            this.prompt = prompt;
+            this.flightKey = flightKey;
+            this.strongSignals = strongSignals;
+        }
+        
+        public String getPrompt() {
+            return prompt;
+        }
+        
+        public String getFlightKey() {
+            return flightKey;
+        }
+        
+        public List<Set<String>> getStrongSignals() {
+            return strongSignals;
+        }
+    }
+}
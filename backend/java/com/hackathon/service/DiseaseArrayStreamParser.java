@@ -0,0 +1,98 @@
+package com.hackathon.service;
+
+import java.util.function.Consumer;
+
+/**
+ * ChatGPT 스트리밍 토큰을 받아 JSON 문자열 배열 원소를 하나씩 꺼내는 증분 파서
+ * - ```json 코드 블록 등 배열 앞뒤의 텍스트는 무시한다
+ * - 문자열 원소가 닫히는 즉시 콜백으로 전달한다
+ */
+public class DiseaseArrayStreamParser {
+
+    private enum State { BEFORE_ARRAY, IN_ARRAY, IN_STRING, ESCAPE, UNICODE, DONE }
+
+    private final Consumer<String> onElement;
+    private final StringBuilder current = new StringBuilder();
+    private State state = State.BEFORE_ARRAY;
+    private int unicodeValue;
+    private int unicodeDigits;
+
+    public DiseaseArrayStreamParser(Consumer<String> onElement) {
+        this.onElement = onElement;
+    }
+
+    /**
+     * 새로 도착한 텍스트 조각을 처리하는 메소드
+     */
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            char c = chunk.charAt(i);
+
+            switch (state) {
+                case BEFORE_ARRAY:
+                    if (c == '[') {
+                        state = State.IN_ARRAY;
+                    }
+                    break;
+                case IN_ARRAY:
+                    if (c == '"') {
+                        current.setLength(0);
+                        state = State.IN_STRING;
+                    } else if (c == ']') {
+                        state = State.DONE;
+                    }
+                    break;
+                case IN_STRING:
+                    if (c == '\\') {
+                        state = State.ESCAPE;
+                    } else if (c == '"') {
+                        String element = current.toString().trim();
+                        if (!element.isEmpty()) {
+                            onElement.accept(element);
+                        }
+                        state = State.IN_ARRAY;
+                    } else {
+                        current.append(c);
+                    }
+                    break;
+                case ESCAPE:
+                    if (c == 'u') {
+                        unicodeValue = 0;
+                        unicodeDigits = 0;
+                        state = State.UNICODE;
+                    } else {
+                        current.append(unescape(c));
+                        state = State.IN_STRING;
+                    }
+                    break;
+                case UNICODE:
+                    unicodeValue = (unicodeValue << 4) + Character.digit(c, 16);
+                    if (++unicodeDigits == 4) {
+                        current.append((char) unicodeValue);
+                        state = State.IN_STRING;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 배열이 닫혔는지 여부
+     */
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    private char unescape(char c) {
+        switch (c) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            default: return c;
+        }
+    }
+}
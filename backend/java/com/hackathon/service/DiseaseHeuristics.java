@@ -0,0 +1,129 @@
+package com.hackathon.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ATC 분류 기반의 로컬 기저질환 휴리스틱
+ * 장기 복용이 명확한 계열 약물이 있으면 해당 질환(또는 질환 그룹)을 "강한 신호"로 판단한다
+ * - ChatGPT 결과와 비교하여 모델 캐스케이드의 상위 모델 호출 여부를 결정하는 데 사용
+ */
+@Service
+public class DiseaseHeuristics {
+
+    // 강한 신호로 판단하는 계열별 누적 투약일수
+    private static final int STRONG_SIGNAL_DAYS = 28;
+
+    // ATC 접두어 → 해당 계열로 설명 가능한 질환 그룹 (긴 접두어가 우선)
+    private static final Map<String, Set<String>> ATC_RULES = new HashMap<>();
+
+    static {
+        rule("C10", "고지혈증");
+        rule("A10", "당뇨병");
+        rule("C02", "고혈압");
+        rule("C03", "고혈압", "심부전");
+        rule("C07", "고혈압", "관상동맥질환", "심방세동", "심부전");
+        rule("C08", "고혈압", "관상동맥질환");
+        rule("C09", "고혈압", "심부전");
+        rule("B01AA", "항응고치료중", "심방세동");
+        rule("B01AE", "항응고치료중", "심방세동");
+        rule("B01AF", "항응고치료중", "심방세동");
+        rule("H03", "갑상선기능이상");
+        rule("M05", "골다공증");
+        rule("M04", "통풍");
+        rule("N03", "뇌전증");
+        rule("N04", "파킨슨병");
+        rule("N06D", "치매");
+        rule("N06A", "우울증", "불안장애");
+        rule("N05A", "조현병", "양극성장애");
+        rule("R03", "천식", "COPD");
+        rule("J04A", "결핵");
+        rule("J05AR", "HIV");
+        rule("L04", "장기이식 후 면역억제 치료 중", "자가면역질환", "류마티스관절염");
+    }
+
+    private static void rule(String atcPrefix, String... diseases) {
+        ATC_RULES.put(atcPrefix, new LinkedHashSet<>(Arrays.asList(diseases)));
+    }
+
+    /**
+     * 약물 목록에서 강한 신호가 있는 질환 그룹 목록을 계산하는 메소드
+     * 결과의 각 원소는 "이 중 하나는 추정되어야 하는" 질환 그룹이다
+     */
+    public List<Set<String>> strongSignals(MedicationModel model) {
+        // 규칙 매칭은 서로 다른 ATC 코드마다 한 번만
+        String[] ruleOfAtc = new String[model.atcCount()];
+        for (int atc = 0; atc < ruleOfAtc.length; atc++) {
+            ruleOfAtc[atc] = matchRule(model.atcCodeOf(atc));
+        }
+
+        // 계열별 투약 기간 인덱스 (겹쳐 처방된 기간은 한 번만 계산)
+        TherapyIntervalIndex index = TherapyIntervalIndex.build(model, atc -> ruleOfAtc[atc]);
+        Map<String, Integer> daysByRule = new HashMap<>();
+        for (String rulePrefix : index.classes()) {
+            int[] span = index.span(rulePrefix);
+            daysByRule.put(rulePrefix, index.cumulativeDays(rulePrefix, span[0], span[1]));
+        }
+
+        // 진료일을 알 수 없는 기록은 투약일수를 그대로 더함
+        for (int row = 0; row < model.rowCount(); row++) {
+            int atc = model.atc(row);
+            if (atc != MedicationModel.NONE && ruleOfAtc[atc] != null
+                    && model.day(row) == PrescriptionParser.UNKNOWN_DAY) {
+                daysByRule.merge(ruleOfAtc[atc], model.dosageDays(row), Integer::sum);
+            }
+        }
+
+        List<Set<String>> signals = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : daysByRule.entrySet()) {
+            if (entry.getValue() >= STRONG_SIGNAL_DAYS) {
+                signals.add(ATC_RULES.get(entry.getKey()));
+            }
+        }
+        return signals;
+    }
+
+    /**
+     * 추정 결과가 강한 신호와 어긋나는지 확인하는 메소드
+     * @return 어긋나는 질환 그룹 (없으면 null)
+     */
+    public Set<String> findMissedSignal(List<String> predictedDiseases, List<Set<String>> strongSignals) {
+        // 이미 최대 개수를 추정했다면 누락으로 보지 않음
+        if (predictedDiseases.size() >= DiseaseVocabulary.MAX_DISEASES) {
+            return null;
+        }
+        for (Set<String> group : strongSignals) {
+            boolean covered = false;
+            for (String disease : predictedDiseases) {
+                if (group.contains(disease)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private String matchRule(String atcCode) {
+        if (atcCode == null) {
+            return null;
+        }
+        for (int length = Math.min(atcCode.length(), 5); length >= 3; length--) {
+            String prefix = atcCode.substring(0, length);
+            if (ATC_RULES.containsKey(prefix)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hackathon.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 기저질환 분석에서 허용하는 질환명 목록 (분석 프롬프트의 "가능한 질환" 목록과 동일)
+ */
+public final class DiseaseVocabulary {
+
+    public static final Set<String> ALLOWED_DISEASES = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "뇌전증", "치매", "파킨슨병", "뇌졸중 후유증", "만성두통",
+            "심부전", "고혈압", "관상동맥질환", "심방세동", "고지혈증",
+            "COPD", "천식", "폐섬유화증", "수면무호흡증",
+            "빈혈", "혈우병", "항응고치료중", "고형암", "혈액암",
+            "당뇨병", "갑상선기능이상", "골다공증", "부신기능장애",
+            "만성신부전", "투석환자", "신증후군",
+            "간경변", "B형간염", "C형간염", "비알코올성지방간",
+            "위염", "소화성궤양", "염증성장질환", "과민성장증후군",
+            "류마티스관절염", "골관절염", "통풍", "전신홍반루푸스",
+            "자가면역질환", "장기이식 후 면역억제 치료 중",
+            "HIV", "결핵", "만성바이러스간염",
+            "우울증", "조현병", "양극성장애", "불안장애",
+            "PKU", "윌슨병", "헌팅턴병")));
+
+    // 한 번에 추정할 수 있는 최대 질환 수
+    public static final int MAX_DISEASES = 4;
+
+    private DiseaseVocabulary() {
+    }
+
+    public static boolean isAllowed(String diseaseName) {
+        return diseaseName != null && ALLOWED_DISEASES.contains(diseaseName.trim());
+    }
+}
@@ -0,0 +1,146 @@
+package com.hackathon.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 의사 웹 계정 확인
+ * - 계정 파일 형식 (properties): 의사ID.name=표시 이름, 의사ID.password=pbkdf2-sha256$반복 횟수$솔트$해시 (Base64)
+ *   해시는 scripts/DoctorPasswordHash.java로 만듦
+ * - 파일은 로그인 시 수정 시간이 바뀌었을 때만 다시 읽음 (계정 추가/삭제에 재시작 불필요)
+ * - 없는 계정도 같은 비용으로 해시를 비교하여 응답 시간으로 계정 존재 여부를 알 수 없도록 함
+ */
+@Service
+public class DoctorAccountService {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String HASH_PREFIX = "pbkdf2-sha256";
+    private static final int DEFAULT_ITERATIONS = 210_000;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    @Value("${app.auth.doctor-accounts-file:data/doctor-accounts.properties}")
+    private String accountsFile;
+
+    private volatile Map<String, Account> accounts = Map.of();
+    private long accountsFileModified = Long.MIN_VALUE;
+    private String unknownAccountHash;
+
+    @PostConstruct
+    public void init() {
+        unknownAccountHash = hash(new char[0]);
+        reloadAccounts();
+        if (accounts.isEmpty()) {
+            System.out.println("의사 계정이 없어 의사 웹 로그인을 사용할 수 없습니다: " + Paths.get(accountsFile).toAbsolutePath());
+        }
+    }
+
+    /**
+     * 의사 ID와 비밀번호를 확인하는 메소드
+     * @return 맞으면 의사 표시 이름, 계정이 없거나 비밀번호가 틀리면 null
+     */
+    public String authenticate(String doctorId, String password) {
+        reloadAccounts();
+        Account account = doctorId != null ? accounts.get(doctorId) : null;
+        boolean matches = matches(password != null ? password : "",
+                account != null ? account.passwordHash : unknownAccountHash);
+        return account != null && matches ? account.name : null;
+    }
+
+    /**
+     * 비밀번호 해시 문자열을 만드는 메소드 (계정 파일의 password 값)
+     */
+    public static String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        new SecureRandom().nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return HASH_PREFIX + "$" + DEFAULT_ITERATIONS + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(pbkdf2(password, salt, DEFAULT_ITERATIONS));
+    }
+
+    // 형식이 잘못된 해시는 항상 불일치
+    static boolean matches(String password, String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !HASH_PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password.toCharArray(), salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] pbkdf2(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("비밀번호 해시 실패", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    // 계정 파일이 바뀌었으면 다시 읽음 (실패하면 기존 계정 유지)
+    private synchronized void reloadAccounts() {
+        Path path = Paths.get(accountsFile);
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == accountsFileModified) {
+                return;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            Map<String, Account> loaded = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.endsWith(".password")) {
+                    String doctorId = name.substring(0, name.length() - ".password".length());
+                    String displayName = properties.getProperty(doctorId + ".name", doctorId).trim();
+                    loaded.put(doctorId, new Account(displayName, properties.getProperty(name).trim()));
+                }
+            }
+
+            accounts = loaded;
+            accountsFileModified = modified;
+            System.out.println("의사 계정 로드 완료 - " + loaded.size() + "개");
+        } catch (Exception e) {
+            System.err.println("의사 계정 로드 실패: " + e.getMessage());
+        }
+    }
+
+    private static final class Account {
+        private final String name;
+        private final String passwordHash;
+
+        private Account(String name, String passwordHash) {
+            this.name = name;
+            this.passwordHash = passwordHash;
+        }
+    }
+}
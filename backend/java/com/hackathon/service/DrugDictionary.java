@@ -0,0 +1,333 @@
+package com.hackathon.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 약품명 → 약품코드/성분/ATC 조회 사전
+ * - DrugDictionaryCompiler로 만든 인덱스 파일을 메모리 매핑하여 힙 밖에서 조회
+ * - 조회(lookup, prefixSearch)는 스레드별 재사용 버퍼와 정수 결과만 사용하므로 객체를 생성하지 않는다
+ * - 문자열이 필요할 때만 name/code/atc/ingredientName 으로 꺼낸다
+ * - 약품 사전은 처방 검사/분석의 첫 요청에 바로 필요하므로 지연 초기화(faststart) 프로필에서도 시작 시 로드
+ */
+@Service
+@Lazy(false)
+public class DrugDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    @Value("${drug.dictionary.master:data/drug-master.csv}")
+    private String masterPath;
+
+    @Value("${drug.dictionary.index:data/drug-master.idx}")
+    private String indexPath;
+
+    private volatile Index index = Index.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        try {
+            load(Paths.get(masterPath), Paths.get(indexPath));
+        } catch (Exception e) {
+            // 사전이 없어도 서비스는 동작 (정규화 조회만 불가)
+            System.err.println("약품 사전 로드 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 인덱스를 (필요하면 다시 컴파일한 뒤) 메모리 매핑하는 메소드
+     */
+    public void load(Path master, Path indexFile) throws IOException {
+        boolean hasMaster = Files.exists(master);
+        boolean stale = !Files.exists(indexFile)
+                || (hasMaster && Files.getLastModifiedTime(master).compareTo(Files.getLastModifiedTime(indexFile)) > 0);
+
+        if (stale) {
+            if (!hasMaster) {
+                System.out.println("약품 마스터 파일이 없습니다: " + master.toAbsolutePath());
+                return;
+            }
+            DrugDictionaryCompiler.compile(master, indexFile);
+        }
+
+        long startedAt = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index = new Index(buffer);
+        }
+        System.out.println("약품 사전 로드 완료: " + index.drugCount + "개 약품, "
+                + (System.nanoTime() - startedAt) / 1_000 + "µs");
+    }
+
+    public int size() {
+        return index.drugCount;
+    }
+
+    /**
+     * 약품명으로 약품을 찾는 메소드 (원문 일치 → 정규화 일치 순서)
+     * @return 약품 번호 (없으면 NOT_FOUND)
+     */
+    public int lookup(CharSequence drugName) {
+        if (drugName == null) {
+            return NOT_FOUND;
+        }
+        Index current = index;
+        char[] buffer = DrugNameNormalizer.threadBuffer();
+
+        int length = DrugNameNormalizer.exact(drugName, buffer);
+        int found = current.find(current.exactKeys, current.exactKeyCount, buffer, length);
+        if (found != NOT_FOUND) {
+            return found;
+        }
+
+        length = DrugNameNormalizer.normalize(drugName, buffer);
+        return length == 0 ? NOT_FOUND : current.find(current.normKeys, current.normKeyCount, buffer, length);
+    }
+
+    /**
+     * 정규화 이름 접두어로 약품을 찾는 메소드
+     * @param out 결과 약품 번호를 담을 배열
+     * @return 찾은 개수 (최대 out.length)
+     */
+    public int prefixSearch(CharSequence prefix, int[] out) {
+        if (prefix == null) {
+            return 0;
+        }
+        Index current = index;
+        char[] buffer = DrugNameNormalizer.threadBuffer();
+        int length = DrugNameNormalizer.normalize(prefix, buffer);
+        return length == 0 ? 0 : current.prefix(buffer, length, out);
+    }
+
+    public String code(int drug) {
+        return index.string(index.drugs.get(drug * DrugDictionaryCompiler.DRUG_INTS));
+    }
+
+    public String name(int drug) {
+        return index.string(index.drugs.get(drug * DrugDictionaryCompiler.DRUG_INTS + 1));
+    }
+
+    public String atc(int drug) {
+        return index.string(index.drugs.get(drug * DrugDictionaryCompiler.DRUG_INTS + 2));
+    }
+
+    public int ingredientCount(int drug) {
+        return index.drugs.get(drug * DrugDictionaryCompiler.DRUG_INTS + 4);
+    }
+
+    /**
+     * 약품의 n번째 성분 ID (성분 ID는 0 ~ totalIngredients()-1 범위의 조밀한 정수)
+     */
+    public int ingredientId(int drug, int n) {
+        int start = index.drugs.get(drug * DrugDictionaryCompiler.DRUG_INTS + 3);
+        return index.ingredientRefs.get(start + n);
+    }
+
+    public int totalIngredients() {
+        return index.ingredientCount;
+    }
+
+    public String ingredientName(int ingredientId) {
+        return index.string(index.ingredients.get(ingredientId));
+    }
+
+    /**
+     * 성분명으로 성분 ID를 찾는 메소드
+     * @return 성분 ID (없으면 NOT_FOUND)
+     */
+    public int findIngredient(CharSequence ingredientName) {
+        if (ingredientName == null) {
+            return NOT_FOUND;
+        }
+        Index current = index;
+        char[] buffer = DrugNameNormalizer.threadBuffer();
+        int length = 0;
+        for (int i = 0; i < ingredientName.length() && length < buffer.length; i++) {
+            char c = ingredientName.charAt(i);
+            buffer[length++] = c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        // 앞뒤 공백 제거
+        int start = 0;
+        while (start < length && Character.isWhitespace(buffer[start])) {
+            start++;
+        }
+        while (length > start && Character.isWhitespace(buffer[length - 1])) {
+            length--;
+        }
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, length - start);
+            length -= start;
+        }
+
+        int low = 0;
+        int high = current.ingredientCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = current.compare(current.ingredients.get(mid), buffer, length);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * 약품의 성분명 목록 (API 응답용)
+     */
+    public List<String> ingredientNames(int drug) {
+        int count = ingredientCount(drug);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(ingredientName(ingredientId(drug, i)));
+        }
+        return names;
+    }
+
+    /**
+     * 메모리 매핑된 인덱스 뷰
+     */
+    private static final class Index {
+        static final Index EMPTY = new Index();
+
+        final int drugCount;
+        final int exactKeyCount;
+        final int normKeyCount;
+        final int ingredientCount;
+        final IntBuffer drugs;
+        final IntBuffer exactKeys;
+        final IntBuffer normKeys;
+        final IntBuffer ingredients;
+        final IntBuffer ingredientRefs;
+        final CharBuffer pool;
+
+        private Index() {
+            drugCount = exactKeyCount = normKeyCount = ingredientCount = 0;
+            drugs = exactKeys = normKeys = ingredients = ingredientRefs = IntBuffer.allocate(0);
+            pool = CharBuffer.allocate(0);
+        }
+
+        Index(ByteBuffer buffer) throws IOException {
+            IntBuffer header = buffer.asIntBuffer();
+            if (header.get(0) != DrugDictionaryCompiler.MAGIC || header.get(1) != DrugDictionaryCompiler.VERSION) {
+                throw new IOException("약품 사전 인덱스 형식이 올바르지 않습니다.");
+            }
+            drugCount = header.get(2);
+            exactKeyCount = header.get(3);
+            normKeyCount = header.get(4);
+            ingredientCount = header.get(5);
+            int ingredientRefCount = header.get(6);
+
+            int offset = DrugDictionaryCompiler.HEADER_INTS * 4;
+            drugs = slice(buffer, offset, drugCount * DrugDictionaryCompiler.DRUG_INTS);
+            offset += drugCount * DrugDictionaryCompiler.DRUG_INTS * 4;
+            exactKeys = slice(buffer, offset, exactKeyCount * DrugDictionaryCompiler.KEY_INTS);
+            offset += exactKeyCount * DrugDictionaryCompiler.KEY_INTS * 4;
+            normKeys = slice(buffer, offset, normKeyCount * DrugDictionaryCompiler.KEY_INTS);
+            offset += normKeyCount * DrugDictionaryCompiler.KEY_INTS * 4;
+            ingredients = slice(buffer, offset, ingredientCount);
+            offset += ingredientCount * 4;
+            ingredientRefs = slice(buffer, offset, ingredientRefCount);
+            offset += ingredientRefCount * 4;
+            pool = buffer.duplicate().position(offset).slice().asCharBuffer();
+        }
+
+        private static IntBuffer slice(ByteBuffer buffer, int offset, int intCount) {
+            return buffer.duplicate().position(offset).limit(offset + intCount * 4).slice().asIntBuffer();
+        }
+
+        int find(IntBuffer keys, int keyCount, char[] query, int length) {
+            int low = 0;
+            int high = keyCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys.get(mid * 2), query, length);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return keys.get(mid * 2 + 1);
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        int prefix(char[] query, int length, int[] out) {
+            // 접두어 이상인 첫 키 위치 (lower bound)
+            int low = 0;
+            int high = normKeyCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(normKeys.get(mid * 2), query, length) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            int found = 0;
+            for (int i = low; i < normKeyCount && found < out.length; i++) {
+                if (!startsWith(normKeys.get(i * 2), query, length)) {
+                    break;
+                }
+                out[found++] = normKeys.get(i * 2 + 1);
+            }
+            return found;
+        }
+
+        int compare(int ref, char[] query, int length) {
+            int keyLength = pool.get(ref);
+            int common = Math.min(keyLength, length);
+            for (int i = 0; i < common; i++) {
+                int diff = pool.get(ref + 1 + i) - query[i];
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return keyLength - length;
+        }
+
+        boolean startsWith(int ref, char[] query, int length) {
+            if (pool.get(ref) < length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (pool.get(ref + 1 + i) != query[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String string(int ref) {
+            if (ref < 0) {
+                return null;
+            }
+            int length = pool.get(ref);
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = pool.get(ref + 1 + i);
+            }
+            return new String(chars);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.hackathon.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 약품 마스터 CSV를 메모리 매핑용 바이너리 인덱스로 변환하는 컴파일러
+ *
+ * 마스터 CSV 형식 (헤더 1줄): 약품코드,약품명,성분명,ATC코드
+ * - 복합제 성분은 '+' 또는 ';'로 구분
+ *
+ * 인덱스 형식 (big-endian):
+ * <pre>
+ * header       : MAGIC, VERSION, drugCount, exactKeyCount, normKeyCount, ingredientCount, ingredientRefCount
+ * drugs        : drugCount × (codeRef, nameRef, atcRef, ingredientStart, ingredientCount)
+ * exact keys   : exactKeyCount × (keyRef, drugIndex)  - 공백 제거/소문자 이름 기준 정렬
+ * norm keys    : normKeyCount × (keyRef, drugIndex)   - 정규화 이름 기준 정렬
+ * ingredients  : ingredientCount × nameRef            - 성분명 기준 정렬 (순번이 곧 성분 ID)
+ * ingredientRefs : ingredientRefCount × ingredientId  - 약품별 성분 목록
+ * string pool  : (length:char, chars...) 반복, ref는 풀 안의 char 위치
+ * </pre>
+ */
+public final class DrugDictionaryCompiler {
+
+    public static final int MAGIC = 0x44525547; // "DRUG"
+    public static final int VERSION = 1;
+    public static final int HEADER_INTS = 7;
+    public static final int DRUG_INTS = 5;
+    public static final int KEY_INTS = 2;
+
+    private DrugDictionaryCompiler() {
+    }
+
+    /**
+     * 마스터 CSV를 읽어 인덱스 파일을 생성하는 메소드
+     * @return 컴파일된 약품 수
+     */
+    public static int compile(Path masterCsv, Path indexFile) throws IOException {
+        List<String[]> rows = readRows(masterCsv);
+
+        StringPool pool = new StringPool();
+        TreeMap<String, Integer> ingredientIds = new TreeMap<>();
+        for (String[] row : rows) {
+            for (String ingredient : splitIngredients(row[2])) {
+                ingredientIds.put(ingredient, 0);
+            }
+        }
+        int nextId = 0;
+        for (Map.Entry<String, Integer> entry : ingredientIds.entrySet()) {
+            entry.setValue(nextId++);
+        }
+
+        int[] drugs = new int[rows.size() * DRUG_INTS];
+        List<Integer> ingredientRefs = new ArrayList<>();
+        List<Key> exactKeys = new ArrayList<>();
+        List<Key> normKeys = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            List<String> ingredients = splitIngredients(row[2]);
+
+            drugs[i * DRUG_INTS] = pool.ref(row[0]);
+            drugs[i * DRUG_INTS + 1] = pool.ref(row[1]);
+            drugs[i * DRUG_INTS + 2] = row[3].isEmpty() ? -1 : pool.ref(row[3]);
+            drugs[i * DRUG_INTS + 3] = ingredientRefs.size();
+            drugs[i * DRUG_INTS + 4] = ingredients.size();
+            for (String ingredient : ingredients) {
+                ingredientRefs.add(ingredientIds.get(ingredient));
+            }
+
+            char[] buffer = new char[Math.max(row[1].length(), 1)];
+            String exact = new String(buffer, 0, DrugNameNormalizer.exact(row[1], buffer));
+            String normalized = new String(buffer, 0, DrugNameNormalizer.normalize(row[1], buffer));
+            exactKeys.add(new Key(exact, pool.ref(exact), i));
+            if (!normalized.isEmpty()) {
+                normKeys.add(new Key(normalized, pool.ref(normalized), i));
+            }
+        }
+
+        int[] ingredientNameRefs = new int[ingredientIds.size()];
+        for (Map.Entry<String, Integer> entry : ingredientIds.entrySet()) {
+            ingredientNameRefs[entry.getValue()] = pool.ref(entry.getKey());
+        }
+
+        Comparator<Key> byText = Comparator.comparing((Key key) -> key.text).thenComparingInt(key -> key.drugIndex);
+        exactKeys.sort(byText);
+        normKeys.sort(byText);
+
+        // 임시 파일에 쓴 뒤 교체 (읽는 중인 매핑에 영향 없도록)
+        Path tempFile = Files.createTempFile(indexFile.toAbsolutePath().getParent(), "drug-index", ".tmp");
+        try (OutputStream fileOut = Files.newOutputStream(tempFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rows.size());
+            out.writeInt(exactKeys.size());
+            out.writeInt(normKeys.size());
+            out.writeInt(ingredientNameRefs.length);
+            out.writeInt(ingredientRefs.size());
+
+            for (int value : drugs) {
+                out.writeInt(value);
+            }
+            for (Key key : exactKeys) {
+                out.writeInt(key.ref);
+                out.writeInt(key.drugIndex);
+            }
+            for (Key key : normKeys) {
+                out.writeInt(key.ref);
+                out.writeInt(key.drugIndex);
+            }
+            for (int ref : ingredientNameRefs) {
+                out.writeInt(ref);
+            }
+            for (int ingredientId : ingredientRefs) {
+                out.writeInt(ingredientId);
+            }
+            pool.writeTo(out);
+        }
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        System.out.println("약품 사전 컴파일 완료: " + rows.size() + "개 약품, " + ingredientNameRefs.length + "개 성분");
+        return rows.size();
+    }
+
+    private static List<String[]> readRows(Path masterCsv) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(masterCsv, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // 헤더
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                if (fields.size() < 4 || fields.get(1).isEmpty()) {
+                    continue;
+                }
+                rows.add(new String[]{fields.get(0), fields.get(1), fields.get(2), fields.get(3)});
+            }
+        }
+        return rows;
+    }
+
+    // 큰따옴표로 감싼 필드를 지원하는 단순 CSV 분리
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static List<String> splitIngredients(String ingredients) {
+        List<String> result = new ArrayList<>();
+        for (String ingredient : ingredients.split("[+;]")) {
+            String trimmed = ingredient.trim().toLowerCase();
+            if (!trimmed.isEmpty() && !result.contains(trimmed)) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static class Key {
+        private final String text;
+        private final int ref;
+        private final int drugIndex;
+
+        Key(String text, int ref, int drugIndex) {
+            this.text = text;
+            this.ref = ref;
+            this.drugIndex = drugIndex;
+        }
+    }
+
+    // 동일 문자열은 한 번만 저장하는 문자열 풀
+    private static class StringPool {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final StringBuilder chars = new StringBuilder();
+
+        int ref(String value) {
+            return refs.computeIfAbsent(value, v -> {
+                int ref = chars.length();
+                chars.append((char) v.length()).append(v);
+                return ref;
+            });
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (int i = 0; i < chars.length(); i++) {
+                out.writeChar(chars.charAt(i));
+            }
+        }
+    }
+}
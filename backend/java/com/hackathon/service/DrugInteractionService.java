@@ -0,0 +1,229 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.PrescriptionAnomalyDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 약물 상호작용 검사 엔진
+ * - 상호작용 규칙 파일(성분A,성분B,심각도,설명)을 성분 ID 기준의 비트 행렬로 미리 계산
+ * - 행렬의 i번째 행은 성분 i와 상호작용하는 성분들의 비트셋 (대칭)
+ * - 검사 시 복용 중인 약물의 성분 비트셋을 만들고, 후보 성분의 행과 AND 하여 워드 단위로 충돌을 찾는다
+ * - 상세 정보(심각도, 설명)는 충돌이 발견된 쌍에 대해서만 조회
+ * - 상호작용 행렬은 시작 시 만들어 둠 (faststart 프로필의 지연 초기화 제외)
+ */
+@Service
+@Lazy(false)
+public class DrugInteractionService {
+
+    @Value("${drug.interaction.rules:data/interaction-rules.csv}")
+    private String rulesPath;
+
+    @Autowired
+    private DrugDictionary drugDictionary;
+
+    private volatile Matrix matrix = Matrix.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        try {
+            load(Paths.get(rulesPath));
+        } catch (Exception e) {
+            System.err.println("약물 상호작용 규칙 로드 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 상호작용 규칙 파일을 읽어 비트 행렬을 만드는 메소드
+     * 규칙 파일 형식 (헤더 1줄): 성분A,성분B,심각도,설명
+     */
+    public void load(Path rulesFile) throws IOException {
+        if (!Files.exists(rulesFile)) {
+            System.out.println("약물 상호작용 규칙 파일이 없습니다: " + rulesFile.toAbsolutePath());
+            return;
+        }
+
+        int ingredientCount = drugDictionary.totalIngredients();
+        Matrix loaded = new Matrix(ingredientCount);
+        int skipped = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(rulesFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // 헤더
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", 4);
+                if (fields.length < 3) {
+                    skipped++;
+                    continue;
+                }
+                int a = drugDictionary.findIngredient(fields[0]);
+                int b = drugDictionary.findIngredient(fields[1]);
+                if (a == DrugDictionary.NOT_FOUND || b == DrugDictionary.NOT_FOUND || a == b) {
+                    skipped++;
+                    continue;
+                }
+                String description = fields.length > 3 ? fields[3].trim() : "";
+                loaded.put(a, b, new Rule(fields[2].trim(), description));
+            }
+        }
+
+        matrix = loaded;
+        System.out.println("약물 상호작용 규칙 로드 완료: " + loaded.rules.size() + "건 (건너뜀 " + skipped + "건), "
+                + "행렬 " + ingredientCount + "x" + ingredientCount);
+    }
+
+    /**
+     * 후보 약물을 복용 중인 약물 목록에 추가할 때의 상호작용을 검사하는 메소드
+     * @param candidateDrug 추가하려는 약물 (사전 약품 번호)
+     * @param activeDrugs 복용 중인 약물 (사전 약품 번호)
+     */
+    public List<PrescriptionAnomalyDto> checkCandidate(int candidateDrug, int[] activeDrugs) {
+        Matrix current = matrix;
+        List<PrescriptionAnomalyDto> anomalies = new ArrayList<>();
+        if (current.ingredientCount == 0 || candidateDrug == DrugDictionary.NOT_FOUND) {
+            return anomalies;
+        }
+
+        long[] active = current.newBitset();
+        for (int drug : activeDrugs) {
+            addIngredients(drug, active);
+        }
+
+        long[] hits = current.newBitset();
+        int ingredients = drugDictionary.ingredientCount(candidateDrug);
+        for (int n = 0; n < ingredients; n++) {
+            int ingredient = drugDictionary.ingredientId(candidateDrug, n);
+            if (!current.intersect(ingredient, active, hits)) {
+                continue;
+            }
+            // 충돌한 성분을 가진 복용 약물을 찾아 상세 결과 생성
+            for (int drug : activeDrugs) {
+                reportPairs(current, candidateDrug, ingredient, drug, hits, anomalies);
+            }
+        }
+        return anomalies;
+    }
+
+    /**
+     * 약물 목록 전체의 쌍별 상호작용을 검사하는 메소드
+     * @param drugs 사전 약품 번호 목록 (중복 없이)
+     */
+    public List<PrescriptionAnomalyDto> checkAll(int[] drugs) {
+        List<PrescriptionAnomalyDto> anomalies = new ArrayList<>();
+        // 앞 약물들을 복용 중으로 보고 한 개씩 추가하는 방식 → 각 쌍을 한 번씩 검사
+        for (int i = 1; i < drugs.length; i++) {
+            anomalies.addAll(checkCandidate(drugs[i], Arrays.copyOf(drugs, i)));
+        }
+        return anomalies;
+    }
+
+    /**
+     * 규칙 행렬에 포함된 성분 수 (0이면 규칙 미로드)
+     */
+    public int ingredientCount() {
+        return matrix.ingredientCount;
+    }
+
+    private void addIngredients(int drug, long[] bitset) {
+        if (drug == DrugDictionary.NOT_FOUND) {
+            return;
+        }
+        int count = drugDictionary.ingredientCount(drug);
+        for (int n = 0; n < count; n++) {
+            int ingredient = drugDictionary.ingredientId(drug, n);
+            bitset[ingredient >>> 6] |= 1L << ingredient;
+        }
+    }
+
+    private void reportPairs(Matrix current, int candidateDrug, int candidateIngredient, int drug,
+                             long[] hits, List<PrescriptionAnomalyDto> anomalies) {
+        if (drug == DrugDictionary.NOT_FOUND) {
+            return;
+        }
+        int count = drugDictionary.ingredientCount(drug);
+        for (int n = 0; n < count; n++) {
+            int ingredient = drugDictionary.ingredientId(drug, n);
+            if ((hits[ingredient >>> 6] & (1L << ingredient)) == 0) {
+                continue;
+            }
+            Rule rule = current.rules.get(Matrix.pairKey(candidateIngredient, ingredient));
+            anomalies.add(new PrescriptionAnomalyDto(
+                    PrescriptionAnomalyDto.TYPE_INTERACTION,
+                    rule.severity,
+                    List.of(drugDictionary.name(candidateDrug), drugDictionary.name(drug)),
+                    drugDictionary.ingredientName(candidateIngredient) + " + "
+                            + drugDictionary.ingredientName(ingredient) + ": " + rule.description));
+        }
+    }
+
+    /**
+     * 성분 쌍 상호작용 비트 행렬
+     */
+    private static final class Matrix {
+        static final Matrix EMPTY = new Matrix(0);
+
+        final int ingredientCount;
+        final int words;
+        final long[] bits;
+        final Map<Long, Rule> rules = new HashMap<>();
+
+        Matrix(int ingredientCount) {
+            this.ingredientCount = ingredientCount;
+            this.words = (ingredientCount + 63) >>> 6;
+            this.bits = new long[ingredientCount * words];
+        }
+
+        static long pairKey(int a, int b) {
+            return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+        }
+
+        void put(int a, int b, Rule rule) {
+            bits[a * words + (b >>> 6)] |= 1L << b;
+            bits[b * words + (a >>> 6)] |= 1L << a;
+            rules.put(pairKey(a, b), rule);
+        }
+
+        long[] newBitset() {
+            return new long[words];
+        }
+
+        // 성분 행과 복용 성분 비트셋의 교집합을 hits에 쓰고, 충돌 여부 반환
+        boolean intersect(int ingredient, long[] active, long[] hits) {
+            int row = ingredient * words;
+            long any = 0;
+            for (int w = 0; w < words; w++) {
+                long hit = bits[row + w] & active[w];
+                hits[w] = hit;
+                any |= hit;
+            }
+            return any != 0;
+        }
+    }
+
+    private static class Rule {
+        private final String severity;
+        private final String description;
+
+        Rule(String severity, String description) {
+            this.severity = severity;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.hackathon.service;
+
+/**
+ * 약품명 정규화
+ * - 공백, 괄호 안 내용, 함량 표기(10mg, 0.5밀리그램, 500mg/5ml 등), 끝의 제형 표기(정, 캡슐 등)를 제거
+ * - 영문은 소문자로 변환
+ * 예: "리피토정 10mg (아토르바스타틴)" → "리피토"
+ *
+ * 호출자가 넘긴 char 버퍼에 결과를 쓰므로 조회 경로에서 객체를 생성하지 않는다
+ */
+public final class DrugNameNormalizer {
+
+    // 함량 단위 (긴 것부터 비교)
+    private static final char[][] UNITS = toChars(
+            "마이크로그램", "밀리그램", "밀리그람", "밀리리터", "그램", "그람",
+            "mcg", "µg", "mg", "ml", "iu", "g", "%");
+
+    // 끝에 붙는 제형 표기 (긴 것부터 비교)
+    private static final char[][] FORMS = toChars(
+            "필름코팅정", "연질캡슐", "서방정", "장용정", "캡슐", "시럽", "과립", "주사", "정", "액", "산", "주");
+
+    private static final int MAX_LENGTH = 256;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private DrugNameNormalizer() {
+    }
+
+    /**
+     * 현재 스레드의 재사용 버퍼
+     */
+    public static char[] threadBuffer() {
+        return BUFFER.get();
+    }
+
+    /**
+     * 원문 그대로(공백 제거, 소문자화만) 버퍼에 쓰는 메소드
+     * @return 결과 길이
+     */
+    public static int exact(CharSequence name, char[] out) {
+        int length = 0;
+        for (int i = 0; i < name.length() && length < out.length; i++) {
+            char c = name.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                out[length++] = lower(c);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 정규화된 이름을 버퍼에 쓰는 메소드
+     * @return 결과 길이
+     */
+    public static int normalize(CharSequence name, char[] out) {
+        // 1단계: 공백, 괄호 안 내용 제거 + 소문자화
+        int length = 0;
+        int depth = 0;
+        for (int i = 0; i < name.length() && length < out.length; i++) {
+            char c = name.charAt(i);
+            if (c == '(' || c == '[') {
+                depth++;
+            } else if ((c == ')' || c == ']') && depth > 0) {
+                depth--;
+            } else if (depth == 0 && !Character.isWhitespace(c)) {
+                out[length++] = lower(c);
+            }
+        }
+
+        // 2단계: 함량 표기 제거 (숫자 뒤에 단위가 오거나 숫자로 끝나는 경우)
+        int write = 0;
+        int read = 0;
+        while (read < length) {
+            char c = out[read];
+            if (!isDigit(c)) {
+                out[write++] = c;
+                read++;
+                continue;
+            }
+
+            int end = read;
+            while (end < length && (isDigit(out[end]) || out[end] == '.' || out[end] == ',' || out[end] == '/')) {
+                end++;
+            }
+            int unitLength = matchAt(out, end, length, UNITS);
+            if (unitLength > 0 || end == length) {
+                read = end + unitLength;
+                // 500mg/5ml 처럼 이어지는 함량 표기 제거
+                while (read < length && out[read] == '/') {
+                    int next = read + 1;
+                    while (next < length && (isDigit(out[next]) || out[next] == '.')) {
+                        next++;
+                    }
+                    int nextUnit = matchAt(out, next, length, UNITS);
+                    if (nextUnit == 0) {
+                        break;
+                    }
+                    read = next + nextUnit;
+                }
+            } else {
+                while (read < end) {
+                    out[write++] = out[read++];
+                }
+            }
+        }
+        length = write;
+
+        // 3단계: 끝의 제형 표기 제거 (남는 이름이 2자 이상인 경우만)
+        for (char[] form : FORMS) {
+            if (length - form.length >= 2 && matchAt(out, length - form.length, length, form)) {
+                length -= form.length;
+                break;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * 정규화된 이름을 문자열로 반환 (사전 생성 등 조회 경로가 아닌 곳에서 사용)
+     */
+    public static String normalize(CharSequence name) {
+        char[] buffer = new char[Math.max(name.length(), 1)];
+        return new String(buffer, 0, normalize(name, buffer));
+    }
+
+    private static int matchAt(char[] text, int offset, int length, char[][] candidates) {
+        for (char[] candidate : candidates) {
+            if (matchAt(text, offset, length, candidate)) {
+                return candidate.length;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean matchAt(char[] text, int offset, int length, char[] candidate) {
+        if (offset < 0 || offset + candidate.length > length) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length; i++) {
+            if (text[offset + i] != candidate[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+    }
+
+    private static char[][] toChars(String... values) {
+        char[][] result = new char[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i].toCharArray();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.ChangeLogEntry;
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.domain.Patient;
+import com.hackathon.dto.HealthDeltaDto;
+import com.hackathon.repository.ChangeLogRepository;
+import com.hackathon.repository.CheckupResultRepository;
+import com.hackathon.repository.PatientRepository;
+import com.hackathon.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 환자 / 처방 / 건강검진 이력 저장 서비스
+ * - 조회한 이력의 저장은 HealthSyncService가 바뀐 행만 JDBC 배치로 반영
+ */
+@Service
+public class HealthRecordService {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(2999, 12, 31);
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private CheckupResultRepository checkupResultRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private PatientSearchIndex patientSearchIndex;
+
+    /**
+     * 환자 정보를 저장(또는 갱신)하는 메소드
+     */
+    @Transactional
+    public void savePatient(Patient patient) {
+        patientRepository.upsert(patient);
+    }
+
+    /**
+     * 간편인증으로 확인한 환자를 가입시키는 메소드
+     * - 이미 가입한 환자는 저장된 userId를 유지 (다른 요청이 userId를 바꾸지 못하도록)
+     * - userId가 다른 환자의 것이면 저장하지 않고 null 반환
+     */
+    @Transactional
+    public Patient registerPatient(Patient verified) {
+        Patient existing = patientRepository.findByKey(verified.getPatientKey());
+        if (existing != null) {
+            verified.setUserId(existing.getUserId());
+        } else {
+            for (Patient other : patientRepository.findByUserId(verified.getUserId())) {
+                if (!other.getPatientKey().equals(verified.getPatientKey())) {
+                    return null;
+                }
+            }
+        }
+        patientRepository.upsert(verified);
+        return verified;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MedicationDetail> findMedications(String patientKey, LocalDate from, LocalDate to) {
+        return prescriptionRepository.findDetails(patientKey, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MedicationDetail> findMedicationsByAtc(String atcPrefix, LocalDate from, LocalDate to, int limit) {
+        return prescriptionRepository.findDetailsByAtc(atcPrefix, from, to, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CheckupResult> findCheckupResults(String patientKey, LocalDate from, LocalDate to) {
+        return checkupResultRepository.findByPatient(patientKey, from, to);
+    }
+
+    /**
+     * 클라이언트 버전(since) 이후 바뀐 약물 줄 / 검사 수치를 모으는 메소드
+     * - since가 0이거나 알 수 없는 버전이면 전체 이력 (full = true)
+     * - 같은 행이 여러 번 바뀌었으면 마지막 상태만 보냄 (추가 후 삭제된 행은 생략)
+     * @return 바뀐 것이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public HealthDeltaDto delta(String patientKey, long since) {
+        long version = changeLogRepository.latestVersion(patientKey);
+        if (since > 0 && since == version) {
+            return null;
+        }
+
+        HealthDeltaDto delta = new HealthDeltaDto();
+        delta.setVersion(String.valueOf(version));
+        if (since <= 0 || since > version) {
+            delta.setFull(true);
+            delta.setInsertedMedications(prescriptionRepository.findDetails(patientKey, MIN_DATE, MAX_DATE));
+            delta.setInsertedCheckups(checkupResultRepository.findByPatient(patientKey, MIN_DATE, MAX_DATE));
+            return delta;
+        }
+
+        // 행(자연키)별 since 이후 첫 변경과 마지막 변경
+        Map<String, ChangeLogEntry> firstChange = new HashMap<>();
+        Map<String, ChangeLogEntry> lastChange = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : changeLogRepository.findSince(patientKey, since, version)) {
+            String key = changeKey(entry);
+            firstChange.putIfAbsent(key, entry);
+            lastChange.put(key, entry);
+        }
+
+        Map<String, Boolean> medicationUpserts = new HashMap<>();  // 자연키 → 추가 여부
+        Map<String, Boolean> checkupUpserts = new HashMap<>();
+        LocalDate[] medicationRange = {null, null};
+        LocalDate[] checkupRange = {null, null};
+        for (Map.Entry<String, ChangeLogEntry> change : lastChange.entrySet()) {
+            ChangeLogEntry last = change.getValue();
+            boolean inserted = ChangeLogEntry.OP_INSERT.equals(firstChange.get(change.getKey()).getOp());
+            boolean medication = ChangeLogEntry.ENTITY_MEDICATION.equals(last.getEntity());
+
+            if (ChangeLogEntry.OP_DELETE.equals(last.getOp())) {
+                if (inserted) {
+                    continue;
+                }
+                if (medication) {
+                    delta.getRemovedMedications().add(new MedicationDetail(patientKey, last.getRowDate(),
+                            last.getRowSeq(), last.getRowLine(), null, null, 0, null, null, null, null));
+                } else {
+                    delta.getRemovedCheckups().add(new CheckupResult(patientKey, last.getTestName(),
+                            last.getRowDate(), 0));
+                }
+                continue;
+            }
+            (medication ? medicationUpserts : checkupUpserts).put(change.getKey(), inserted);
+            extend(medication ? medicationRange : checkupRange, last.getRowDate());
+        }
+
+        // 추가/변경된 행의 현재 값은 해당 날짜 구간을 한 번에 읽어 걸러냄
+        if (!medicationUpserts.isEmpty()) {
+            for (MedicationDetail detail : prescriptionRepository.findDetails(patientKey, medicationRange[0], medicationRange[1])) {
+                Boolean inserted = medicationUpserts.get(medicationKey(detail));
+                if (inserted != null) {
+                    (inserted ? delta.getInsertedMedications() : delta.getUpdatedMedications()).add(detail);
+                }
+            }
+        }
+        if (!checkupUpserts.isEmpty()) {
+            for (CheckupResult result : checkupResultRepository.findByPatient(patientKey, checkupRange[0], checkupRange[1])) {
+                Boolean inserted = checkupUpserts.get(checkupKey(result));
+                if (inserted != null) {
+                    (inserted ? delta.getInsertedCheckups() : delta.getUpdatedCheckups()).add(result);
+                }
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 서버 시작 시 저장된 환자로 의사 웹 환자 검색 인덱스를 채우는 메소드
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPatientSearchIndex() {
+        try {
+            int[] count = {0};
+            patientRepository.forEach(rs -> {
+                patientSearchIndex.add(rs.getString("patient_key"), rs.getString("user_id"),
+                        rs.getString("name"), rs.getString("birth_date"));
+                count[0]++;
+            });
+            System.out.println("환자 검색 인덱스 적재 완료: " + count[0] + "명");
+        } catch (Exception e) {
+            System.err.println("환자 검색 인덱스 적재 실패: " + e.getMessage());
+        }
+    }
+
+    private static void extend(LocalDate[] range, LocalDate date) {
+        if (range[0] == null || date.isBefore(range[0])) {
+            range[0] = date;
+        }
+        if (range[1] == null || date.isAfter(range[1])) {
+            range[1] = date;
+        }
+    }
+
+    private static String changeKey(ChangeLogEntry entry) {
+        return ChangeLogEntry.ENTITY_MEDICATION.equals(entry.getEntity())
+                ? "M|" + entry.getRowDate() + "|" + entry.getRowSeq() + "|" + entry.getRowLine()
+                : "C|" + entry.getTestName() + "|" + entry.getRowDate();
+    }
+
+    private static String medicationKey(MedicationDetail detail) {
+        return "M|" + detail.getTreatmentDate() + "|" + detail.getPrescriptionSeq() + "|" + detail.getLineNo();
+    }
+
+    private static String checkupKey(CheckupResult result) {
+        return "C|" + result.getTestName() + "|" + result.getCheckupDate();
+    }
+}
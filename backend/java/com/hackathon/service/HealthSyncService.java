@@ -0,0 +1,252 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.ChangeLogEntry;
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.domain.Prescription;
+import com.hackathon.dto.SyncResultDto;
+import com.hackathon.mapper.HealthRecordMapper;
+import com.hackathon.mapper.HealthRecordMapper.PrescriptionHistory;
+import com.hackathon.repository.ChangeLogRepository;
+import com.hackathon.repository.CheckupResultRepository;
+import com.hackathon.repository.PrescriptionRepository;
+import com.hackathon.repository.SyncStateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Tilko 조회 결과 증분 동기화
+ * - 환자별 / 데이터 종류별 기준일(high-water mark)을 기록하고,
+ *   다음 동기화는 기준일에서 겹침 기간을 뺀 날짜 이후만 다룸 (늦게 청구/등록되는 기록 반영)
+ * - 복용약물은 조회 기간을 지정해 최근 구간만 받고, 건강검진처럼 기간 지정이 안 되면
+ *   받은 결과 중 동기화 구간만 저장된 기록과 자연키로 비교하여 바뀐 행만 쓰고 지움
+ * - 바뀐 행은 같은 트랜잭션에서 change_log에 남겨 앱 증분 동기화(/records/{patientKey}/delta)에 사용
+ * - 같은 환자의 동기화는 환자 버전 행을 잠근 뒤 비교하므로 동시에 들어와도 하나씩 반영됨
+ */
+@Service
+public class HealthSyncService {
+
+    public static final String TYPE_MEDICATION = "MEDICATION";
+    public static final String TYPE_CHECKUP = "CHECKUP";
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(2999, 12, 31);
+
+    // 복용약물 기준일 이전으로 다시 확인하는 기간 (요양기관 청구 지연 반영)
+    @Value("${app.sync.medication-overlap-days:35}")
+    private int medicationOverlapDays;
+
+    // 건강검진 기준일 이전으로 다시 확인하는 기간 (검사 결과 추가 등록 반영)
+    @Value("${app.sync.checkup-overlap-days:90}")
+    private int checkupOverlapDays;
+
+    // 복용약물 API에 조회 기간을 지정할지 여부 (false면 항상 전체 조회 후 비교)
+    @Value("${app.sync.incremental-fetch:true}")
+    private boolean incrementalFetch;
+
+    @Autowired
+    private SyncStateRepository syncStateRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private CheckupResultRepository checkupResultRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    /**
+     * 복용약물 API에 지정할 조회 시작일 (처음 동기화하거나 증분 조회를 끈 경우 null = 전체 조회)
+     */
+    public LocalDate medicationFetchFrom(String patientKey) {
+        if (!incrementalFetch) {
+            return null;
+        }
+        LocalDate highWater = syncStateRepository.findHighWater(patientKey, TYPE_MEDICATION);
+        return highWater != null ? highWater.minusDays(medicationOverlapDays) : null;
+    }
+
+    /**
+     * 복용약물 조회 결과를 저장된 처방과 비교하여 바뀐 부분만 반영하는 메소드
+     * @param fetchedFrom 조회 시작일 (전체 조회면 null) - 이 날짜 이전의 기록은 건드리지 않음
+     */
+    @Transactional
+    public SyncResultDto syncMedications(String patientKey, Object medicationData, LocalDate fetchedFrom) {
+        long version = changeLogRepository.lockVersion(patientKey);
+        LocalDate from = fetchedFrom != null ? fetchedFrom : MIN_DATE;
+        PrescriptionHistory history = HealthRecordMapper.toPrescriptionHistory(patientKey, medicationData);
+
+        // 조회 기간을 무시하고 전체를 돌려준 경우에도 구간 밖의 기록은 비교하지 않음
+        Map<String, Prescription> incomingPrescriptions = new HashMap<>();
+        for (Prescription prescription : history.getPrescriptions()) {
+            if (!prescription.getTreatmentDate().isBefore(from)) {
+                incomingPrescriptions.put(key(prescription), prescription);
+            }
+        }
+        Map<String, MedicationDetail> incomingDetails = new HashMap<>();
+        for (MedicationDetail detail : history.getDetails()) {
+            if (!detail.getTreatmentDate().isBefore(from)) {
+                incomingDetails.put(key(detail), detail);
+            }
+        }
+
+        Diff<Prescription> prescriptionDiff = diff(incomingPrescriptions,
+                prescriptionRepository.findPrescriptions(patientKey, from, MAX_DATE), HealthSyncService::key);
+        Diff<MedicationDetail> detailDiff = diff(incomingDetails,
+                prescriptionRepository.findDetails(patientKey, from, MAX_DATE), HealthSyncService::key);
+
+        // 사라진 처방은 약물 줄까지 함께 지우므로 먼저 처리
+        prescriptionRepository.deletePrescriptions(prescriptionDiff.removed);
+        prescriptionRepository.deleteDetails(detailDiff.removed);
+        prescriptionRepository.upsertPrescriptions(prescriptionDiff.changed());
+        prescriptionRepository.upsertDetails(detailDiff.changed());
+
+        List<ChangeLogEntry> changes = new ArrayList<>();
+        detailDiff.inserted.forEach(detail -> changes.add(ChangeLogEntry.of(detail, ChangeLogEntry.OP_INSERT)));
+        detailDiff.updated.forEach(detail -> changes.add(ChangeLogEntry.of(detail, ChangeLogEntry.OP_UPDATE)));
+        detailDiff.removed.forEach(detail -> changes.add(ChangeLogEntry.of(detail, ChangeLogEntry.OP_DELETE)));
+        appendChanges(patientKey, version, changes);
+
+        LocalDate highWater = syncStateRepository.findHighWater(patientKey, TYPE_MEDICATION);
+        for (Prescription prescription : incomingPrescriptions.values()) {
+            highWater = later(highWater, prescription.getTreatmentDate());
+        }
+        if (highWater != null) {
+            syncStateRepository.saveHighWater(patientKey, TYPE_MEDICATION, highWater);
+        }
+
+        return result(TYPE_MEDICATION, fetchedFrom, detailDiff, highWater);
+    }
+
+    /**
+     * 건강검진 조회 결과를 저장된 검사 수치와 비교하여 바뀐 부분만 반영하는 메소드
+     * (건강검진 API는 기간 지정이 없어 전체를 받지만, 기준일 - 겹침 기간 이후만 비교/저장)
+     */
+    @Transactional
+    public SyncResultDto syncCheckups(String patientKey, Object healthCheckupData) {
+        long version = changeLogRepository.lockVersion(patientKey);
+        LocalDate highWater = syncStateRepository.findHighWater(patientKey, TYPE_CHECKUP);
+        LocalDate windowFrom = highWater != null ? highWater.minusDays(checkupOverlapDays) : null;
+        LocalDate from = windowFrom != null ? windowFrom : MIN_DATE;
+
+        Map<String, CheckupResult> incoming = new HashMap<>();
+        for (CheckupResult result : HealthRecordMapper.toCheckupResults(patientKey, healthCheckupData)) {
+            if (!result.getCheckupDate().isBefore(from)) {
+                incoming.put(key(result), result);
+            }
+        }
+
+        Diff<CheckupResult> diff = diff(incoming,
+                checkupResultRepository.findByPatient(patientKey, from, MAX_DATE), HealthSyncService::key);
+        checkupResultRepository.deleteAll(diff.removed);
+        checkupResultRepository.upsertAll(diff.changed());
+
+        List<ChangeLogEntry> changes = new ArrayList<>();
+        diff.inserted.forEach(result -> changes.add(ChangeLogEntry.of(result, ChangeLogEntry.OP_INSERT)));
+        diff.updated.forEach(result -> changes.add(ChangeLogEntry.of(result, ChangeLogEntry.OP_UPDATE)));
+        diff.removed.forEach(result -> changes.add(ChangeLogEntry.of(result, ChangeLogEntry.OP_DELETE)));
+        appendChanges(patientKey, version, changes);
+
+        for (CheckupResult result : incoming.values()) {
+            highWater = later(highWater, result.getCheckupDate());
+        }
+        if (highWater != null) {
+            syncStateRepository.saveHighWater(patientKey, TYPE_CHECKUP, highWater);
+        }
+
+        return result(TYPE_CHECKUP, windowFrom, diff, highWater);
+    }
+
+    /**
+     * 저장된 복용약물 전체 이력을 Tilko 조회 결과 형식으로 넘기는 메소드 (증분 조회 후 응답용)
+     * 기록은 읽을 때 DB에서 1건씩 읽으므로 이력을 미리 만들지 않음
+     * @param header 최상위 필드(Status 등)로 쓸 이번 조회 결과의 필드
+     */
+    public StoredMedicationData storedMedicationData(String patientKey, Map<String, Object> header) {
+        return new StoredMedicationData(prescriptionRepository, patientKey, header);
+    }
+
+    // 바뀐 행이 있으면 버전을 1 올려 그 버전으로 변경 이력 기록
+    private void appendChanges(String patientKey, long version, List<ChangeLogEntry> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        changeLogRepository.appendAll(changes, version + 1);
+        changeLogRepository.saveVersion(patientKey, version + 1);
+    }
+
+    // 자연키 기준 비교 결과
+    private static final class Diff<T> {
+        private final List<T> inserted = new ArrayList<>();
+        private final List<T> updated = new ArrayList<>();
+        private final List<T> removed = new ArrayList<>();
+        private int unchanged;
+
+        // upsert할 행 (추가 + 변경)
+        List<T> changed() {
+            List<T> changed = new ArrayList<>(inserted.size() + updated.size());
+            changed.addAll(inserted);
+            changed.addAll(updated);
+            return changed;
+        }
+    }
+
+    private static <T> Diff<T> diff(Map<String, T> incoming, List<T> stored, Function<T, String> keyFunction) {
+        Diff<T> diff = new Diff<>();
+        Map<String, T> storedByKey = new HashMap<>();
+        for (T row : stored) {
+            storedByKey.put(keyFunction.apply(row), row);
+            if (!incoming.containsKey(keyFunction.apply(row))) {
+                diff.removed.add(row);
+            }
+        }
+        for (Map.Entry<String, T> entry : incoming.entrySet()) {
+            T existing = storedByKey.get(entry.getKey());
+            if (existing == null) {
+                diff.inserted.add(entry.getValue());
+            } else if (!Objects.equals(existing, entry.getValue())) {
+                diff.updated.add(entry.getValue());
+            } else {
+                diff.unchanged++;
+            }
+        }
+        return diff;
+    }
+
+    private static SyncResultDto result(String dataType, LocalDate fetchedFrom, Diff<?> diff, LocalDate highWater) {
+        return new SyncResultDto(dataType,
+                fetchedFrom != null ? fetchedFrom.toString() : null,
+                diff.inserted.size(),
+                diff.updated.size(),
+                diff.removed.size(),
+                diff.unchanged,
+                highWater != null ? highWater.toString() : null);
+    }
+
+    private static LocalDate later(LocalDate current, LocalDate candidate) {
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static String key(Prescription prescription) {
+        return prescription.getTreatmentDate() + "|" + prescription.getSeq();
+    }
+
+    private static String key(MedicationDetail detail) {
+        return detail.getTreatmentDate() + "|" + detail.getPrescriptionSeq() + "|" + detail.getLineNo();
+    }
+
+    private static String key(CheckupResult result) {
+        return result.getTestName() + "|" + result.getCheckupDate();
+    }
+}
@@ -1,29 +1,56 @@
 package com.hackathon.service;
 
+import com.hackathon.domain.AuthSession;
 import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.dto.BatchDiseaseAnalysisRequestDto;
+import com.hackathon.dto.BatchDiseaseAnalysisResultDto;
 import com.hackathon.dto.IntegratedHealthDataDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.SyncResultDto;
+import com.hackathon.monitoring.PrescriptionFilterEvent;
+import com.hackathon.monitoring.TilkoCallEvent;
 import okhttp3.*;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-
-import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 @Service
 public class IntegratedHealthService {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 처방조제 기록만 남기는 필터 (JinRyoHyungTae가 "처방조제")
+    private static final Predicate<Map<?, ?>> PRESCRIPTION_RECORD =
+            record -> "처방조제".equals(record.get("JinRyoHyungTae"));
+
     @Value("${tilko.api.host}")
     private String apiHost;
 
@@ -33,6 +60,50 @@ public class IntegratedHealthService {
     @Autowired
     private ChatGptAiService chatGptAiService;
 
+    @Autowired
+    private LabValueStore labValueStore;
+
+    @Autowired
+    private HealthSyncService healthSyncService;
+
+    @Autowired
+    private ResponseSpooler responseSpooler;
+
+    @Autowired
+    private OkHttpClient upstreamHttpClient;
+
+    @Autowired
+    private TilkoPublicKeyCache publicKeyCache;
+
+    @Autowired
+    private UpstreamLatencyTracker latencyTracker;
+
+    @Autowired
+    private SpeculativeAnalysisService speculativeAnalysis;
+
+    @Autowired
+    private SimpleAuthSessionService authSessions;
+
+    @Autowired
+    @Qualifier("analysisExecutor")
+    private ExecutorService analysisExecutor;
+
+    @Autowired
+    @Qualifier("batchLocalPool")
+    private ForkJoinPool batchLocalPool;
+
+    @Autowired
+    @Qualifier("batchLlmExecutor")
+    private ExecutorService batchLlmExecutor;
+
+    // 일괄 분석 1회 최대 환자 수
+    @Value("${app.batch.max-patients:500}")
+    private int batchMaxPatients;
+
+    // 환자 1명당 분석 제한 시간 (초) - 느린 환자가 전체 일괄 분석을 붙잡지 않도록
+    @Value("${app.batch.patient-timeout-seconds:60}")
+    private long batchPatientTimeoutSeconds;
+
     // 통합 건강 정보 조회
     public IntegratedHealthDataDto getIntegratedHealthData(AuthResponseDto authData) throws Exception {
         System.out.println("=== 통합 건강 정보 조회 시작 ===");
@@ -40,6 +111,13 @@ public class IntegratedHealthService {
         // 필수 파라미터 검증
         validateAuthData(authData);
 
+        // 서버가 기록한 간편인증 거래인지 확인 - 개인정보는 클라이언트가 보낸 값 대신 요청 때 기록한 값 사용
+        AuthSession session = authSessions.find(authData);
+        if (session == null) {
+            throw new IllegalArgumentException("간편인증 기록이 없습니다. 간편인증을 다시 시도해주세요.");
+        }
+        authData = withSessionIdentity(authData, session);
+
         IntegratedHealthDataDto result = new IntegratedHealthDataDto();
 
         try {
@@ -47,10 +125,43 @@ public class IntegratedHealthService {
             Object healthCheckupData = callHealthCheckupAPI(authData);
             result.setHealthCheckupData(healthCheckupData);
 
-            // 2. 복용약물 정보 조회
-            Object medicationData = callMedicationAPI(authData);
+            // 조회가 성공했으면 사용자가 간편인증을 마친 것 → 회원가입에 쓸 수 있도록 표시
+            authSessions.markVerified(session.getReqTxId());
+
+            // 검사 수치를 환자별 시계열로 저장 (Lab 수치 열람, 이전 년도 조회용)
+            String patientKey = session.getPatientKey();
+            result.setPatientKey(patientKey);
+            int labValueCount = labValueStore.ingest(patientKey, healthCheckupData);
+            System.out.println("검사 수치 저장 완료: " + labValueCount + "건");
+
+            // 2. 복용약물 정보 조회 (이전에 동기화한 환자는 기준일 이후만 조회)
+            LocalDate medicationFrom = fetchFromOrNull(patientKey);
+            Object medicationData = callMedicationAPI(authData, medicationFrom);
             result.setMedicationData(medicationData);
 
+            // 3. 처방/검진 이력 증분 동기화 (저장 실패는 조회 결과에 영향을 주지 않음)
+            try {
+                SyncResultDto medicationSync = healthSyncService.syncMedications(patientKey, medicationData, medicationFrom);
+                SyncResultDto checkupSync = healthSyncService.syncCheckups(patientKey, healthCheckupData);
+                System.out.println("건강 이력 동기화 완료: " + medicationSync + ", " + checkupSync);
+
+                // 최근 구간만 조회했으면 저장된 전체 이력으로 응답 (Status 등 최상위 필드는 이번 조회 결과 그대로)
+                // 이력은 분석 준비/응답 직렬화 때 DB에서 1건씩 읽음 (대용량 조회 결과처럼 힙에 모으지 않음)
+                if (medicationFrom != null) {
+                    result.setMedicationData(healthSyncService.storedMedicationData(patientKey,
+                            headerOf(medicationData)));
+                }
+            } catch (Exception e) {
+                System.err.println("건강 이력 동기화 실패: " + e.getMessage());
+                if (medicationFrom != null) {
+                    // 저장된 이력과 합칠 수 없으므로 전체를 다시 조회
+                    result.setMedicationData(callMedicationAPI(authData, null));
+                }
+            }
+
+            // 앱이 이어서 요청할 기저질환 분석을 미리 시작 (여유가 있을 때만)
+            speculativeAnalysis.speculate(patientKey, result.getMedicationData());
+
             result.setStatus("SUCCESS");
             result.setMessage("건강 정보 조회가 완료되었습니다.");
 
@@ -70,7 +181,7 @@ public class IntegratedHealthService {
         System.out.println("=== 건강검진 API 호출 시작 ===");
 
         // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        String rsaPublicKey = publicKeyCache.get();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -78,7 +189,7 @@ public class IntegratedHealthService {
         byte[] aesIv = new byte[] { 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
 
         // AES Key를 RSA Public Key로 암호화
-        String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        String aesCipherKey = TilkoCrypto.rsaEncrypt(rsaPublicKey, aesKey);
 
         // API URL - v1.0 사용
         String url = apiHost + "/api/v1.0/nhissimpleauth/ggpab003m0105";
@@ -102,9 +213,9 @@ public class IntegratedHealthService {
         json.put("TxId", authData.getTxId());
 
         // AES로 암호화하는 필드들
-        json.put("UserName", aesEncrypt(aesKey, aesIv, userName));
-        json.put("BirthDate", aesEncrypt(aesKey, aesIv, birthDate));
-        json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, userCellphoneNumber));
+        json.put("UserName", TilkoCrypto.aesEncrypt(aesKey, aesIv, userName));
+        json.put("BirthDate", TilkoCrypto.aesEncrypt(aesKey, aesIv, birthDate));
+        json.put("UserCellphoneNumber", TilkoCrypto.aesEncrypt(aesKey, aesIv, userCellphoneNumber));
 
         System.out.println("건강검진 API URL: " + url);
         System.out.println("건강검진 요청 파라미터:");
@@ -115,18 +226,28 @@ public class IntegratedHealthService {
         System.out.println("- TxId: " + authData.getTxId());
 
         // API 호출
-        Object result = callAPI(url, json.toJSONString(), aesCipherKey);
+        Object result = callAPI(url, json.toJSONString(), aesCipherKey, null);
         System.out.println("건강검진 API 응답 수신 완료");
 
         return result;
     }
 
-    // 복용약물 API 호출
-    private Object callMedicationAPI(AuthResponseDto authData) throws Exception {
+    // 증분 조회 시작일 (조회 실패 시 전체 조회)
+    private LocalDate fetchFromOrNull(String patientKey) {
+        try {
+            return healthSyncService.medicationFetchFrom(patientKey);
+        } catch (Exception e) {
+            System.err.println("동기화 기준일 조회 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // 복용약물 API 호출 (startDate가 있으면 그 날짜부터 오늘까지만 조회)
+    private Object callMedicationAPI(AuthResponseDto authData, LocalDate startDate) throws Exception {
         System.out.println("=== 복용약물 API 호출 시작 ===");
 
         // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        String rsaPublicKey = publicKeyCache.get();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -134,7 +255,7 @@ public class IntegratedHealthService {
         byte[] aesIv = new byte[] { 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
 
         // AES Key를 RSA Public Key로 암호화
-        String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        String aesCipherKey = TilkoCrypto.rsaEncrypt(rsaPublicKey, aesKey);
 
         // API URL - v1.0 사용
         String url = apiHost + "/api/v1.0/nhissimpleauth/retrievetreatmentinjectioninformationperson";
@@ -158,14 +279,20 @@ public class IntegratedHealthService {
         json.put("TxId", authData.getTxId());
 
         // AES로 암호화하는 필드들
-        json.put("UserName", aesEncrypt(aesKey, aesIv, userName));
-        json.put("BirthDate", aesEncrypt(aesKey, aesIv, birthDate));
-        json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, userCellphoneNumber));
+        json.put("UserName", TilkoCrypto.aesEncrypt(aesKey, aesIv, userName));
+        json.put("BirthDate", TilkoCrypto.aesEncrypt(aesKey, aesIv, birthDate));
+        json.put("UserCellphoneNumber", TilkoCrypto.aesEncrypt(aesKey, aesIv, userCellphoneNumber));
+
+        // 조회 기간 (yyyyMMdd)
+        if (startDate != null) {
+            json.put("StartDate", startDate.format(DateTimeFormatter.BASIC_ISO_DATE));
+            json.put("EndDate", LocalDate.now(KST).format(DateTimeFormatter.BASIC_ISO_DATE));
+        }
 
-        System.out.println("복용약물 API URL: " + url);
+        System.out.println("복용약물 API URL: " + url + (startDate != null ? " (" + startDate + " 이후)" : ""));
 
-        // API 호출
-        Object rawResult = callAPI(url, json.toJSONString(), aesCipherKey);
+        // API 호출 (처방 이력이 큰 환자는 임시 파일로 받고 처방조제 기록만 읽음)
+        Object rawResult = callAPI(url, json.toJSONString(), aesCipherKey, PRESCRIPTION_RECORD);
         System.out.println("복용약물 API 응답 수신 완료");
 
         // JinRyoHyungTae가 "처방조제"인 데이터만 필터링
@@ -175,16 +302,11 @@ public class IntegratedHealthService {
     }
 
     // 공통 API 호출 메소드
-    private Object callAPI(String url, String jsonBody, String encKey) throws Exception {
+    // spillRecordFilter가 있으면 큰 응답은 임시 파일로 받아 ResultList 중 필터를 통과한 기록만 읽음 (null이면 항상 메모리)
+    private Object callAPI(String url, String jsonBody, String encKey, Predicate<Map<?, ?>> spillRecordFilter) throws Exception {
         System.out.println("=== API 호출 ===");
         System.out.println("URL: " + url);
 
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
-
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("API-KEY", apiKey)
@@ -193,33 +315,103 @@ public class IntegratedHealthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), jsonBody))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
+        // 응답 지연 추적 엔드포인트 이름 (예: tilko:ggpab003m0105)
+        String endpoint = "tilko:" + url.substring(url.lastIndexOf('/') + 1);
+        Call call = latencyTracker.newCall(upstreamHttpClient, request, endpoint);
+        long startedAt = System.nanoTime();
+
+        ResponseSpooler.Spooled spooled;
+        TilkoCallEvent event = TilkoCallEvent.start(url);
+        try (Response response = call.execute()) {
+            event.httpStatus = response.code();
             System.out.println("HTTP Status Code: " + response.code());
 
             if (response.body() == null) {
                 throw new RuntimeException("Response body is null");
             }
 
-            String responseStr = response.body().string();
-            System.out.println("Raw Response (처음 100자): " +
-                    (responseStr.length() > 100 ? responseStr.substring(0, 100) + "..." : responseStr));
+            spooled = spillRecordFilter != null
+                    ? responseSpooler.read(response.body())
+                    : ResponseSpooler.Spooled.inMemory(response.body().bytes());
+            event.responseBytes = spooled.getSize();
+            event.spilled = spooled.isSpilled();
+            latencyTracker.record(endpoint, startedAt);
+        } finally {
+            event.commit();
+        }
 
-            // JSON 파싱
-            JSONParser parser = new JSONParser();
-            JSONObject jsonResponse = (JSONObject) parser.parse(responseStr);
-
-            // 응답 상태 확인
-            String status = (String) jsonResponse.get("Status");
-            if (!"OK".equals(status)) {
-                String errorMessage = (String) jsonResponse.get("Message");
-                String errorLog = (String) jsonResponse.get("ErrorLog");
-                throw new RuntimeException("API 오류 - Status: " + status +
-                        ", Message: " + errorMessage +
-                        ", ErrorLog: " + errorLog);
-            }
+        if (spooled.isSpilled()) {
+            return openSpooled(spooled, spillRecordFilter);
+        }
+        return parseResponse(new String(spooled.getBytes(), StandardCharsets.UTF_8));
+    }
+
+    // 메모리로 받은 응답 파싱 및 상태 확인
+    private JSONObject parseResponse(String responseStr) throws Exception {
+        System.out.println("Raw Response (처음 100자): " +
+                (responseStr.length() > 100 ? responseStr.substring(0, 100) + "..." : responseStr));
+
+        // JSON 파싱
+        JSONParser parser = new JSONParser();
+        JSONObject jsonResponse = (JSONObject) parser.parse(responseStr);
+
+        // 응답 상태 확인
+        checkStatus(jsonResponse.get("Status"), jsonResponse.get("Message"), jsonResponse.get("ErrorLog"));
+        return jsonResponse;
+    }
+
+    // 임시 파일로 받은 응답 열기 및 상태 확인 (파일은 요청이 끝나면 삭제)
+    private SpooledJsonResult openSpooled(ResponseSpooler.Spooled spooled, Predicate<Map<?, ?>> recordFilter) throws Exception {
+        SpooledJsonResult result;
+        try {
+            result = SpooledJsonResult.open(spooled.getFile(), "ResultList", recordFilter);
+            checkStatus(result.get("Status"), result.get("Message"), result.get("ErrorLog"));
+        } catch (Exception e) {
+            Files.deleteIfExists(spooled.getFile());
+            throw e;
+        }
+        System.out.println("Raw Response: 임시 파일 " + spooled.getFile().getFileName() + " (" + spooled.getSize() + " bytes)");
+
+        // 요청 스레드가 아니면 ResponseSpooler의 주기적 정리에 맡김
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.registerDestructionCallback(spooled.getFile().toString(), result::delete,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        return result;
+    }
 
-            return jsonResponse;
+    // 조회 결과의 최상위 필드 (ResultList 제외, 저장된 전체 이력으로 응답할 때 사용)
+    private static Map<String, Object> headerOf(Object medicationData) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        if (medicationData instanceof RecordStream) {
+            header.putAll(((RecordStream) medicationData).getHeader());
+        } else if (medicationData instanceof Map) {
+            ((Map<?, ?>) medicationData).forEach((field, value) -> {
+                if (!"ResultList".equals(field)) {
+                    header.put(String.valueOf(field), value);
+                }
+            });
         }
+        return header;
+    }
+
+    // 응답 상태가 OK가 아니면 예외
+    private void checkStatus(Object status, Object errorMessage, Object errorLog) {
+        if (!"OK".equals(status)) {
+            // 공개키가 바뀌었을 수 있으므로 다음 요청에서 다시 조회
+            publicKeyCache.invalidate();
+            throw new RuntimeException("API 오류 - Status: " + status +
+                    ", Message: " + errorMessage +
+                    ", ErrorLog: " + errorLog);
+        }
+    }
+
+    // 간편인증 응답의 거래 정보에 기록된 요청자 정보를 합친 사본
+    private static AuthResponseDto withSessionIdentity(AuthResponseDto authData, AuthSession session) {
+        return new AuthResponseDto(authData.getCxId(), authData.getPrivateAuthType(), authData.getReqTxId(),
+                authData.getToken(), authData.getTxId(), session.getUserName(), session.getBirthDate(),
+                session.getPhoneNumber());
     }
 
     // 필수 파라미터 검증
@@ -256,70 +448,12 @@ public class IntegratedHealthService {
         System.out.println("AuthData 검증 완료 - 모든 필수 파라미터가 존재합니다.");
     }
 
-    // Public Key 조회
-    private String getPublicKey() throws Exception {
-        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
-
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
-
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
-
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new RuntimeException("Response body is null");
-            }
-
-            String responseStr = response.body().string();
-            JSONParser jsonParser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) jsonParser.parse(responseStr);
-
-            String publicKey = (String) jsonObject.get("PublicKey");
-            if (publicKey == null) {
-                throw new RuntimeException("Public Key가 null입니다.");
-            }
-
-            return publicKey;
-        }
-    }
-
-    // RSA 암호화
-    private String rsaEncrypt(String publicKeyStr, byte[] data) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        PublicKey publicKey = keyFactory.generatePublic(spec);
-
-        Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-        byte[] encrypted = cipher.doFinal(data);
-
-        return Base64.getEncoder().encodeToString(encrypted);
-    }
-
-    // AES 암호화
-    private String aesEncrypt(byte[] key, byte[] iv, String plainText) throws Exception {
-        if (plainText == null || plainText.isEmpty()) {
-            return "";
-        }
-
-        SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
-        IvParameterSpec ivSpec = new IvParameterSpec(iv);
-
-        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
-        byte[] encrypted = cipher.doFinal(plainText.getBytes("UTF-8"));
-
-        return Base64.getEncoder().encodeToString(encrypted);
-    }
-
     // 처방조제 데이터만 필터링
     private Object filterPrescriptionData(Object rawData) {
+        // 임시 파일 응답은 읽을 때 이미 필터링됨
+        if (rawData instanceof SpooledJsonResult) {
+            return rawData;
+        }
         try {
             JSONParser parser = new JSONParser();
             JSONObject jsonData;
@@ -333,16 +467,7 @@ public class IntegratedHealthService {
             // ResultList에서 JinRyoHyungTae가 "처방조제"인 것만 필터링
             JSONArray resultList = (JSONArray) jsonData.get("ResultList");
             if (resultList != null) {
-                JSONArray filteredList = new JSONArray();
-
-                for (Object item : resultList) {
-                    JSONObject record = (JSONObject) item;
-                    String jinRyoHyungTae = (String) record.get("JinRyoHyungTae");
-
-                    if ("처방조제".equals(jinRyoHyungTae)) {
-                        filteredList.add(record);
-                    }
-                }
+                JSONArray filteredList = keepPrescriptionRecords(resultList);
 
                 // 필터링된 결과로 교체
                 jsonData.put("ResultList", filteredList);
@@ -357,13 +482,40 @@ public class IntegratedHealthService {
         }
     }
 
+    // ResultList 중 처방조제 기록만 남긴 목록 (시작 워밍업에서도 사용)
+    static JSONArray keepPrescriptionRecords(JSONArray resultList) {
+        PrescriptionFilterEvent event = new PrescriptionFilterEvent();
+        event.begin();
+        JSONArray filteredList = new JSONArray();
+
+        for (Object item : resultList) {
+            JSONObject record = (JSONObject) item;
+
+            if (PRESCRIPTION_RECORD.test(record)) {
+                filteredList.add(record);
+            }
+        }
+
+        event.recordsIn = resultList.size();
+        event.recordsOut = filteredList.size();
+        event.commit();
+        return filteredList;
+    }
+
     // 기저질환 분석 (ChatGPT AI 활용)
     public DiseaseAnalysisDto analyzeDiseases(Object medicationData) {
         try {
             System.out.println("=== 기저질환 분석 시작 (ChatGPT AI) ===");
 
-            // ChatGPT AI 서비스를 통해 기저질환 분석
-            DiseaseAnalysisDto analysisResult = chatGptAiService.analyzePrescriptionForDiseases(medicationData);
+            // 건강 정보 조회 때 시작한 선행 분석 결과가 있으면 바로 사용
+            ChatGptAiService.PreparedAnalysis prepared = chatGptAiService.prepareAnalysis(medicationData);
+            DiseaseAnalysisDto analysisResult = speculativeAnalysis.lookup(prepared.getFlightKey());
+            if (analysisResult != null) {
+                System.out.println("선행 분석 결과 사용");
+            } else {
+                // ChatGPT AI 서비스를 통해 기저질환 분석 (선행 분석이 진행 중이면 같은 호출에 합류해 사용자 요청 우선순위로 올림)
+                analysisResult = chatGptAiService.analyzePrepared(prepared);
+            }
 
             System.out.println("ChatGPT AI 분석 완료: " + analysisResult.getStatus());
 
@@ -383,4 +535,214 @@ public class IntegratedHealthService {
             return errorResponse;
         }
     }
-}
\ No newline at end of file
+
+    // 기저질환 스트리밍 분석 - 질환이 추정될 때마다 SSE 이벤트로 전달
+    public void analyzeDiseasesStreaming(Object medicationData, SseEmitter emitter) {
+        // 연결 종료(완료/시간 초과/오류) 시 ChatGPT 스트리밍 호출을 취소하고 더 이상 전송하지 않음
+        SingleFlight.CancellationSignal signal = new SingleFlight.CancellationSignal();
+        emitter.onCompletion(signal::cancel);
+        emitter.onTimeout(signal::cancel);
+        emitter.onError(error -> signal.cancel());
+
+        try {
+            analysisExecutor.execute(() -> {
+                if (signal.isCancelled()) {
+                    System.out.println("기저질환 스트리밍 분석 취소 (시작 전 연결 종료)");
+                    return;
+                }
+                try {
+                    System.out.println("=== 기저질환 스트리밍 분석 시작 (ChatGPT AI) ===");
+
+                    DiseaseAnalysisDto analysisResult = chatGptAiService.streamPrescriptionAnalysis(medicationData, disease -> {
+                        if (signal.isCancelled()) {
+                            return;
+                        }
+                        try {
+                            emitter.send(SseEmitter.event().name("disease").data(disease));
+                        } catch (Exception e) {
+                            // 클라이언트 연결 종료 - 남은 스트리밍 호출 중단
+                            System.err.println("SSE 전송 실패: " + e.getMessage());
+                            signal.cancel();
+                        }
+                    }, signal);
+
+                    System.out.println("ChatGPT AI 스트리밍 분석 완료: " + analysisResult.getStatus());
+
+                    emitter.send(SseEmitter.event().name("complete").data(analysisResult));
+                    emitter.complete();
+
+                } catch (Exception e) {
+                    if (signal.isCancelled()) {
+                        System.out.println("기저질환 스트리밍 분석 중단 (클라이언트 연결 종료)");
+                        return;
+                    }
+                    System.err.println("기저질환 스트리밍 분석 중 오류 발생: " + e.getMessage());
+                    e.printStackTrace();
+                    sendStreamingError(emitter, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("기저질환 스트리밍 분석 대기열 초과");
+            sendStreamingError(emitter, e);
+        }
+    }
+
+    private void sendStreamingError(SseEmitter emitter, Exception cause) {
+        DiseaseAnalysisDto errorResponse = new DiseaseAnalysisDto();
+        errorResponse.setStatus("ERROR");
+        errorResponse.setMessage("기저질환 분석 중 오류가 발생했습니다: " + cause.getMessage());
+        errorResponse.setPredictedDiseases(new java.util.ArrayList<>());
+        errorResponse.setRiskLevel("UNKNOWN");
+
+        try {
+            emitter.send(SseEmitter.event().name("error").data(errorResponse));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 기저질환 일괄 분석 (의사 웹 - 여러 환자 동시 분석)
+    // 로컬 작업은 fork-join 풀에서 병렬로, ChatGPT 호출은 상한이 있는 풀에서 수행하고
+    // 환자별 결과는 완료되는 순서대로 SSE 이벤트로 전달
+    public void analyzeDiseasesBatch(BatchDiseaseAnalysisRequestDto batchRequest, SseEmitter emitter) {
+        List<BatchDiseaseAnalysisRequestDto.PatientMedication> patients =
+                batchRequest != null ? batchRequest.getPatients() : null;
+
+        if (patients == null || patients.isEmpty()) {
+            sendStreamingError(emitter, new IllegalArgumentException("분석할 환자 목록이 비어있습니다."));
+            return;
+        }
+        if (patients.size() > batchMaxPatients) {
+            sendStreamingError(emitter, new IllegalArgumentException(
+                    "일괄 분석은 최대 " + batchMaxPatients + "명까지 가능합니다."));
+            return;
+        }
+
+        System.out.println("=== 기저질환 일괄 분석 시작: " + patients.size() + "명 ===");
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        BatchStream stream = new BatchStream(emitter, patients.size());
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[patients.size()];
+
+        for (int i = 0; i < patients.size(); i++) {
+            BatchDiseaseAnalysisRequestDto.PatientMedication patient = patients.get(i);
+            int index = i;
+            long startedAt = System.currentTimeMillis();
+
+            CompletableFuture<ChatGptAiService.PreparedAnalysis> preparing = CompletableFuture
+                    .supplyAsync(() -> chatGptAiService.prepareAnalysis(patient.getMedicationData()), batchLocalPool);
+            stream.track(index, preparing);
+            tasks[i] = preparing
+                    // ChatGPT 호출은 일괄 분석 풀(app.batch.max-concurrent-llm)에서만 실행하고 기다리는 스레드는 두지 않음
+                    // 환자별 제한 시간은 호출이 시작될 때부터 계산 - 지나면 호출을 멈추고 오류 결과로 처리
+                    .thenCompose(prepared -> stream.track(index, chatGptAiService.analyzePreparedAsync(prepared,
+                            OpenAiRateScheduler.Priority.BATCH, batchLlmExecutor,
+                            TimeUnit.SECONDS.toMillis(batchPatientTimeoutSeconds))))
+                    .handle((analysis, error) -> {
+                        if (stream.isClosed()) {
+                            return null;
+                        }
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            System.err.println("일괄 분석 실패 - patientId: " + patient.getPatientId() + ", " + cause);
+                            analysis = chatGptAiService.createErrorResult(
+                                    cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+                        }
+                        if ("ERROR".equals(analysis.getStatus())) {
+                            failureCount.incrementAndGet();
+                        } else {
+                            successCount.incrementAndGet();
+                        }
+
+                        BatchDiseaseAnalysisResultDto result = new BatchDiseaseAnalysisResultDto(
+                                patient.getPatientId(), analysis, System.currentTimeMillis() - startedAt);
+                        stream.send("result", result);
+                        return null;
+                    });
+        }
+
+        CompletableFuture.allOf(tasks).whenComplete((ignored, error) -> {
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("total", patients.size());
+            summary.put("success", successCount.get());
+            summary.put("failed", failureCount.get());
+
+            if (stream.isClosed()) {
+                System.out.println("=== 기저질환 일괄 분석 중단 (연결 종료): " + summary + " ===");
+                return;
+            }
+            System.out.println("=== 기저질환 일괄 분석 완료: " + summary + " ===");
+            stream.send("complete", summary);
+            emitter.complete();
+        });
+    }
+
+    /**
+     * 일괄 분석 1건의 SSE 연결 상태와 진행 중인 환자별 작업을 관리하는 클래스
+     * 연결이 끝나면(완료/시간 초과/오류/전송 실패) 남은 작업을 취소하고 더 이상 전송하지 않는다
+     * (분석 Future를 취소하면 SingleFlight 대기자가 빠지고, 다른 대기자가 없으면 ChatGPT 호출도 중단됨)
+     */
+    private static class BatchStream {
+        private final SseEmitter emitter;
+        // 여러 스레드에서 동시에 전송하므로 일괄 분석 1건 단위로 직렬화
+        // 전송(소켓 쓰기) 중에 잠금을 잡으므로 synchronized 대신 ReentrantLock 사용 (가상 스레드가 캐리어 스레드에 고정되지 않음)
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 환자별 현재 단계(준비 → 분석)의 Future
+        private final AtomicReferenceArray<CompletableFuture<?>> pending;
+
+        BatchStream(SseEmitter emitter, int size) {
+            this.emitter = emitter;
+            this.pending = new AtomicReferenceArray<>(size);
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        // 환자별 현재 단계 등록 (이미 연결이 끝났으면 바로 취소)
+        <T> CompletableFuture<T> track(int index, CompletableFuture<T> future) {
+            pending.set(index, future);
+            if (closed.get()) {
+                future.cancel(true);
+            }
+            return future;
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+
+        void send(String name, Object data) {
+            sendLock.lock();
+            try {
+                if (closed.get()) {
+                    return;
+                }
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (Exception e) {
+                System.err.println("SSE 전송 실패: " + e.getMessage());
+                close();
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            int cancelled = 0;
+            for (int i = 0; i < pending.length(); i++) {
+                CompletableFuture<?> future = pending.get(i);
+                if (future != null && future.cancel(true)) {
+                    cancelled++;
+                }
+            }
+            if (cancelled > 0) {
+                System.out.println("일괄 분석 연결 종료 - 남은 분석 " + cancelled + "건 취소");
+            }
+        }
+    }
+}
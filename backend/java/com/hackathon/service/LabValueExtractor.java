@@ -0,0 +1,162 @@
+package com.hackathon.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 건강검진 조회 결과(JSON 트리)에서 검사 수치를 꺼내는 파서
+ * - ResultList의 각 검진(Year: "2023년", CheckUpDate: "01/18")을 검진일로 사용
+ * - 검진 아래의 모든 {Name, Value} 항목 중 숫자로 읽을 수 있는 값만 추출
+ * - 혈압처럼 "120/80" 형식이면 "(수축기)", "(이완기)" 두 항목으로 나눔
+ */
+public class LabValueExtractor {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /**
+     * 검사 수치 1건을 받는 콜백
+     */
+    public interface Sink {
+        void accept(String testName, long timestamp, double value);
+    }
+
+    private LabValueExtractor() {
+    }
+
+    /**
+     * 건강검진 데이터에서 검사 수치를 추출하는 메소드
+     * @return 추출한 수치 개수
+     */
+    public static int extract(Object healthCheckupData, Sink sink) {
+        if (!(healthCheckupData instanceof Map)) {
+            return 0;
+        }
+        Object checkups = ((Map<?, ?>) healthCheckupData).get("ResultList");
+        if (!(checkups instanceof List)) {
+            return 0;
+        }
+
+        int count = 0;
+        for (Object checkupObj : (List<?>) checkups) {
+            if (!(checkupObj instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> checkup = (Map<?, ?>) checkupObj;
+            long timestamp = checkupTimestamp(checkup.get("Year"), checkup.get("CheckUpDate"));
+            if (timestamp == Long.MIN_VALUE) {
+                continue;
+            }
+            for (Object value : checkup.values()) {
+                count += walk(value, timestamp, sink);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 검진 연도/날짜를 epoch millis(한국 시간 자정)로 변환하는 메소드
+     * @return epoch millis (해석할 수 없으면 Long.MIN_VALUE)
+     */
+    public static long checkupTimestamp(Object year, Object checkUpDate) {
+        if (year == null) {
+            return Long.MIN_VALUE;
+        }
+        String yearDigits = year.toString().replaceAll("[^0-9]", "");
+        if (yearDigits.length() != 4) {
+            return Long.MIN_VALUE;
+        }
+
+        int month = 1;
+        int day = 1;
+        if (checkUpDate != null) {
+            String[] parts = checkUpDate.toString().split("[/.\\-]");
+            if (parts.length == 2) {
+                try {
+                    month = Integer.parseInt(parts[0].trim());
+                    day = Integer.parseInt(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    month = 1;
+                    day = 1;
+                }
+            }
+        }
+
+        try {
+            return LocalDate.of(Integer.parseInt(yearDigits), month, day)
+                    .atStartOfDay(KST).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    // JSON 트리를 따라 내려가며 {Name, Value} 항목을 찾음
+    private static int walk(Object node, long timestamp, Sink sink) {
+        int count = 0;
+        if (node instanceof List) {
+            for (Object child : (List<?>) node) {
+                count += walk(child, timestamp, sink);
+            }
+            return count;
+        }
+        if (!(node instanceof Map)) {
+            return 0;
+        }
+
+        Map<?, ?> map = (Map<?, ?>) node;
+        Object name = map.get("Name");
+        Object value = map.get("Value");
+        if (name != null && value != null && !(value instanceof Map) && !(value instanceof List)) {
+            count += emit(name.toString().trim(), value.toString(), timestamp, sink);
+        }
+        for (Object child : map.values()) {
+            if (child instanceof Map || child instanceof List) {
+                count += walk(child, timestamp, sink);
+            }
+        }
+        return count;
+    }
+
+    private static int emit(String testName, String rawValue, long timestamp, Sink sink) {
+        if (testName.isEmpty()) {
+            return 0;
+        }
+        String[] parts = rawValue.split("/");
+        if (parts.length == 2) {
+            double systolic = parseNumber(parts[0]);
+            double diastolic = parseNumber(parts[1]);
+            if (!Double.isNaN(systolic) && !Double.isNaN(diastolic)) {
+                sink.accept(testName + "(수축기)", timestamp, systolic);
+                sink.accept(testName + "(이완기)", timestamp, diastolic);
+                return 2;
+            }
+        }
+
+        double value = parseNumber(rawValue);
+        if (Double.isNaN(value)) {
+            return 0;
+        }
+        sink.accept(testName, timestamp, value);
+        return 1;
+    }
+
+    // "5.8", "120 mg/dL", "1,234" 등에서 앞쪽 숫자만 읽음 (숫자가 아니면 NaN)
+    private static double parseNumber(String raw) {
+        String text = raw.trim().replace(",", "");
+        int end = 0;
+        while (end < text.length() && (Character.isDigit(text.charAt(end)) || text.charAt(end) == '.'
+                || (end == 0 && text.charAt(end) == '-'))) {
+            end++;
+        }
+        if (end == 0 || (end == 1 && text.charAt(0) == '-')) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(text.substring(0, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.LabSeriesDto;
+import com.hackathon.dto.LabTrendDto;
+import com.hackathon.dto.LabValueDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 건강검진 검사 수치 저장소 (환자별 열 지향 시계열)
+ * - 검사명은 전역 사전으로 int 코드화
+ * - 환자별로 (코드, 검진일) 순 정렬된 long[] 검진일 / double[] 수치 열을 보관하고,
+ *   코드 열은 같은 검사의 연속 구간 표(segmentCodes/segmentStart)로 압축
+ *   → 범위 조회는 구간 이진 탐색 + 검진일 이진 탐색 2번
+ * - 환자 시계열은 불변 객체로 통째로 교체하므로 맵 조회 외에는 잠금이 필요 없음
+ */
+@Service
+public class LabValueStore {
+
+    private static final double MILLIS_PER_YEAR = 365.25 * 24 * 60 * 60 * 1000;
+
+    // 보관할 최대 환자 수 (넘으면 가장 오래 조회되지 않은 환자부터 제거)
+    @Value("${app.labs.max-patients:10000}")
+    private int maxPatients;
+
+    // 검사명 ↔ 코드 사전
+    private final Map<String, Integer> testCodes = new ConcurrentHashMap<>();
+    private final List<String> testNames = new ArrayList<>();
+
+    private final Map<String, PatientSeries> patients = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 건강검진 조회 결과에서 검사 수치를 추출하여 환자 시계열을 교체하는 메소드
+     * @return 저장한 수치 개수
+     */
+    public int ingest(String patientKey, Object healthCheckupData) {
+        Builder builder = new Builder();
+        LabValueExtractor.extract(healthCheckupData, (testName, timestamp, value) ->
+                builder.add(code(testName), timestamp, value));
+
+        PatientSeries series = builder.build();
+        synchronized (patients) {
+            patients.put(patientKey, series);
+            if (patients.size() > maxPatients) {
+                patients.remove(patients.keySet().iterator().next());
+            }
+        }
+        return series.size();
+    }
+
+    /**
+     * 환자의 검사명 목록
+     */
+    public List<String> testNames(String patientKey) {
+        PatientSeries series = series(patientKey);
+        List<String> names = new ArrayList<>(series.segmentCodes.length);
+        for (int code : series.segmentCodes) {
+            names.add(testName(code));
+        }
+        return names;
+    }
+
+    /**
+     * 검사 1종의 [from, to) 기간 수치 (검진일 순)
+     */
+    public LabSeriesDto range(String patientKey, String testName, long from, long to) {
+        PatientSeries series = series(patientKey);
+        int segment = series.segment(testCodes.getOrDefault(testName, -1));
+        if (segment < 0) {
+            return new LabSeriesDto(testName, new long[0], new double[0]);
+        }
+        int lo = series.lowerBound(segment, from);
+        int hi = series.lowerBound(segment, to);
+        return new LabSeriesDto(testName,
+                Arrays.copyOfRange(series.timestamps, lo, hi),
+                Arrays.copyOfRange(series.values, lo, hi));
+    }
+
+    /**
+     * [from, to) 기간의 모든 검사 수치 (이전 년도 조회용)
+     */
+    public List<LabValueDto> allInRange(String patientKey, long from, long to) {
+        PatientSeries series = series(patientKey);
+        List<LabValueDto> result = new ArrayList<>();
+        for (int segment = 0; segment < series.segmentCodes.length; segment++) {
+            String testName = testName(series.segmentCodes[segment]);
+            int hi = series.lowerBound(segment, to);
+            for (int i = series.lowerBound(segment, from); i < hi; i++) {
+                result.add(new LabValueDto(testName, series.timestamps[i], series.values[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 검사별 가장 최근 수치 목록
+     */
+    public List<LabValueDto> latest(String patientKey) {
+        PatientSeries series = series(patientKey);
+        List<LabValueDto> result = new ArrayList<>(series.segmentCodes.length);
+        for (int segment = 0; segment < series.segmentCodes.length; segment++) {
+            int last = series.segmentStart[segment + 1] - 1;
+            result.add(new LabValueDto(testName(series.segmentCodes[segment]),
+                    series.timestamps[last], series.values[last]));
+        }
+        return result;
+    }
+
+    /**
+     * 검사 1종의 가장 최근 수치 (없으면 null)
+     */
+    public LabValueDto latest(String patientKey, String testName) {
+        PatientSeries series = series(patientKey);
+        int segment = series.segment(testCodes.getOrDefault(testName, -1));
+        if (segment < 0) {
+            return null;
+        }
+        int last = series.segmentStart[segment + 1] - 1;
+        return new LabValueDto(testName, series.timestamps[last], series.values[last]);
+    }
+
+    /**
+     * [from, to) 기간의 최소제곱 추세 기울기 (1년당 변화량)
+     */
+    public LabTrendDto trend(String patientKey, String testName, long from, long to) {
+        PatientSeries series = series(patientKey);
+        int segment = series.segment(testCodes.getOrDefault(testName, -1));
+        if (segment < 0) {
+            return new LabTrendDto(testName, Double.NaN, 0);
+        }
+        int lo = series.lowerBound(segment, from);
+        int hi = series.lowerBound(segment, to);
+        int count = hi - lo;
+        if (count < 2) {
+            return new LabTrendDto(testName, Double.NaN, count);
+        }
+
+        // 수치 오차를 줄이기 위해 첫 검진일 기준 연 단위 x로 계산
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = lo; i < hi; i++) {
+            sumX += (series.timestamps[i] - series.timestamps[lo]) / MILLIS_PER_YEAR;
+            sumY += series.values[i];
+        }
+        double meanX = sumX / count;
+        double meanY = sumY / count;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = lo; i < hi; i++) {
+            double dx = (series.timestamps[i] - series.timestamps[lo]) / MILLIS_PER_YEAR - meanX;
+            covariance += dx * (series.values[i] - meanY);
+            variance += dx * dx;
+        }
+        return new LabTrendDto(testName, variance == 0 ? Double.NaN : covariance / variance, count);
+    }
+
+    public boolean contains(String patientKey) {
+        synchronized (patients) {
+            return patients.containsKey(patientKey);
+        }
+    }
+
+    private PatientSeries series(String patientKey) {
+        PatientSeries series;
+        synchronized (patients) {
+            series = patients.get(patientKey);
+        }
+        return series != null ? series : PatientSeries.EMPTY;
+    }
+
+    private int code(String testName) {
+        Integer code = testCodes.get(testName);
+        if (code != null) {
+            return code;
+        }
+        synchronized (testNames) {
+            return testCodes.computeIfAbsent(testName, name -> {
+                testNames.add(name);
+                return testNames.size() - 1;
+            });
+        }
+    }
+
+    private String testName(int code) {
+        synchronized (testNames) {
+            return testNames.get(code);
+        }
+    }
+
+    /**
+     * 환자 1명의 열 지향 시계열 (불변)
+     */
+    private static final class PatientSeries {
+        static final PatientSeries EMPTY = new PatientSeries(new long[0], new double[0], new int[0], new int[]{0});
+
+        final long[] timestamps;
+        final double[] values;
+        final int[] segmentCodes; // 검사 코드 (오름차순)
+        final int[] segmentStart; // 검사 segmentCodes[s] 의 수치 = [segmentStart[s], segmentStart[s+1])
+
+        PatientSeries(long[] timestamps, double[] values, int[] segmentCodes, int[] segmentStart) {
+            this.timestamps = timestamps;
+            this.values = values;
+            this.segmentCodes = segmentCodes;
+            this.segmentStart = segmentStart;
+        }
+
+        int size() {
+            return timestamps.length;
+        }
+
+        int segment(int code) {
+            return code < 0 ? -1 : Math.max(Arrays.binarySearch(segmentCodes, code), -1);
+        }
+
+        // 구간 안에서 검진일이 timestamp 이상인 첫 위치
+        int lowerBound(int segment, long timestamp) {
+            int lo = segmentStart[segment];
+            int hi = segmentStart[segment + 1];
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (timestamps[mid] < timestamp) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * 추출 중인 수치를 모아 (코드, 검진일) 순으로 정렬하는 빌더
+     */
+    private static final class Builder {
+        private int[] codes = new int[64];
+        private long[] timestamps = new long[64];
+        private double[] values = new double[64];
+        private int size;
+
+        void add(int code, long timestamp, double value) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            codes[size] = code;
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        PatientSeries build() {
+            // 코드 순 → 같은 코드 안에서 검진일 순 (안정 정렬이므로 같은 검진일이면 나중에 들어온 값이 뒤)
+            Integer[] sorted = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (a, b) -> {
+                int byCode = Integer.compare(codes[a], codes[b]);
+                return byCode != 0 ? byCode : Long.compare(timestamps[a], timestamps[b]);
+            });
+
+            long[] outTimestamps = new long[size];
+            double[] outValues = new double[size];
+            int[] outCodes = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int source = sorted[i];
+                int code = codes[source];
+                if (count > 0 && outCodes[count - 1] == code && outTimestamps[count - 1] == timestamps[source]) {
+                    outValues[count - 1] = values[source];
+                    continue;
+                }
+                outCodes[count] = code;
+                outTimestamps[count] = timestamps[source];
+                outValues[count] = values[source];
+                count++;
+            }
+
+            int segments = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || outCodes[i] != outCodes[i - 1]) {
+                    segments++;
+                }
+            }
+            int[] segmentCodes = new int[segments];
+            int[] segmentStart = new int[segments + 1];
+            int segment = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || outCodes[i] != outCodes[i - 1]) {
+                    segmentCodes[segment] = outCodes[i];
+                    segmentStart[segment++] = i;
+                }
+            }
+            segmentStart[segments] = count;
+
+            return new PatientSeries(Arrays.copyOf(outTimestamps, count), Arrays.copyOf(outValues, count),
+                    segmentCodes, segmentStart);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hackathon.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지수 감쇠 로그 구간 지연 히스토그램 (HDR 히스토그램의 단순화 버전)
+ * - 1ms ~ 10분을 10% 간격 구간으로 세어 백분위수를 구함 (오차 10% 이내, 메모리는 구간 수만큼 고정)
+ * - halfLife 가 지날 때마다 모든 구간의 수를 절반으로 줄여 최근 표본의 비중을 높임
+ */
+public class LatencyHistogram {
+
+    private static final double RATIO = 1.1;
+    private static final double LOG_RATIO = Math.log(RATIO);
+    private static final int BUCKETS = (int) Math.ceil(Math.log(TimeUnit.MINUTES.toMillis(10)) / LOG_RATIO) + 1;
+
+    private final long halfLifeNanos;
+    private final double[] counts = new double[BUCKETS];
+    private double total;
+    private long lastDecayNanos;
+
+    public LatencyHistogram(long halfLifeNanos, long nowNanos) {
+        this.halfLifeNanos = halfLifeNanos;
+        this.lastDecayNanos = nowNanos;
+    }
+
+    public synchronized void record(long millis, long nowNanos) {
+        decay(nowNanos);
+        counts[bucket(millis)]++;
+        total++;
+    }
+
+    /**
+     * 감쇠를 반영한 표본 수
+     */
+    public synchronized double count(long nowNanos) {
+        decay(nowNanos);
+        return total;
+    }
+
+    /**
+     * 백분위수(ms, 구간 상한값) - 표본이 없으면 0
+     * @param p 0 ~ 1 (예: 0.99)
+     */
+    public synchronized long percentile(double p, long nowNanos) {
+        decay(nowNanos);
+        if (total <= 0) {
+            return 0;
+        }
+        double target = p * total;
+        double cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    // 지난 반감기 수만큼 절반으로 줄임
+    private void decay(long nowNanos) {
+        long halves = (nowNanos - lastDecayNanos) / halfLifeNanos;
+        if (halves <= 0) {
+            return;
+        }
+        double factor = halves >= 64 ? 0 : Math.pow(0.5, halves);
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] *= factor;
+        }
+        total *= factor;
+        lastDecayNanos += halves * halfLifeNanos;
+    }
+
+    // 구간 i 에는 (RATIO^(i-1), RATIO^i] ms 가 들어감
+    private static int bucket(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, (int) Math.ceil(Math.log(millis) / LOG_RATIO));
+    }
+
+    private static long upperBound(int bucket) {
+        return (long) Math.ceil(Math.pow(RATIO, bucket));
+    }
+}
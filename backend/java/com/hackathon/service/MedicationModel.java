@@ -0,0 +1,357 @@
+package com.hackathon.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 환자 1명의 처방 이력 (요청 단위, 불변)
+ * - 처방 데이터를 한 번만 순회하여 기저질환 분석(프롬프트/휴리스틱)과 처방 이상 사항 검사가 함께 사용
+ * - 약품명 / 텍스트(효능, 성분, AtcInfo, KpicInfo, 진료일자 원문) / ATC 코드는 요청별 사전으로 int 번호화
+ * - 약물 줄은 번호 배열(int[]), 투약일수 short[] 로 보관하고 진료일은 처방 단위 epoch day int[]
+ * - 함량, 약품 사전 번호, ATC 코드 추출은 서로 다른 약품명/AtcInfo 마다 한 번만 계산
+ */
+public final class MedicationModel {
+
+    // 값이 없을 때의 사전 번호
+    public static final int NONE = -1;
+
+    // 요청별 사전
+    private final String[] drugNames;
+    private final String[] texts;
+    private final String[] atcCodes;
+
+    // 약품별 (약품 번호 = drugNames 번호)
+    private final int[] drugIndex;          // 약품 사전 번호 (DrugDictionary.NOT_FOUND 가능)
+    private final double[] drugStrengthMg;  // 1단위 함량 (표기가 없으면 NaN)
+
+    // 처방별
+    private final int[] prescriptionDay;    // 진료 시작일 epoch day (UNKNOWN_DAY 가능)
+    private final int[] prescriptionDate;   // 진료일자 원문 (texts 번호)
+    private final int[] prescriptionStart;  // 처방 p의 약물 줄 = [prescriptionStart[p], prescriptionStart[p+1])
+
+    // 약물 줄별
+    private final int[] rowPrescription;
+    private final int[] rowDrug;
+    private final short[] rowDays;
+    private final int[] rowEffect;
+    private final int[] rowComponent;
+    private final int[] rowAtcInfo;
+    private final int[] rowKpic;
+    private final int[] rowAtc;             // AtcInfo의 ATC 코드, 없으면 약품 사전의 ATC 코드 (atcCodes 번호)
+
+    private MedicationModel(Builder builder) {
+        drugNames = builder.drugNames.toArray();
+        texts = builder.texts.toArray();
+        atcCodes = builder.atcCodes.toArray();
+        drugIndex = Arrays.copyOf(builder.drugIndex, drugNames.length);
+        drugStrengthMg = Arrays.copyOf(builder.drugStrengthMg, drugNames.length);
+
+        int prescriptions = builder.prescriptionCount;
+        prescriptionDay = Arrays.copyOf(builder.prescriptionDay, prescriptions);
+        prescriptionDate = Arrays.copyOf(builder.prescriptionDate, prescriptions);
+        prescriptionStart = Arrays.copyOf(builder.prescriptionStart, prescriptions + 1);
+        prescriptionStart[prescriptions] = builder.rowCount;
+
+        int rows = builder.rowCount;
+        rowPrescription = Arrays.copyOf(builder.rowPrescription, rows);
+        rowDrug = Arrays.copyOf(builder.rowDrug, rows);
+        rowDays = Arrays.copyOf(builder.rowDays, rows);
+        rowEffect = Arrays.copyOf(builder.rowEffect, rows);
+        rowComponent = Arrays.copyOf(builder.rowComponent, rows);
+        rowAtcInfo = Arrays.copyOf(builder.rowAtcInfo, rows);
+        rowKpic = Arrays.copyOf(builder.rowKpic, rows);
+        rowAtc = Arrays.copyOf(builder.rowAtc, rows);
+    }
+
+    /**
+     * 처방 데이터(PrescriptionData 또는 Tilko ResultList 형식)로 모델을 만드는 메소드
+     * @param dictionary 약품 사전 (null이면 약품 사전 번호 없이 만듦)
+     */
+    public static MedicationModel parse(Object medicationData, DrugDictionary dictionary) {
+        Builder builder = new Builder(dictionary);
+        PrescriptionParser.walk(medicationData, builder);
+        return new MedicationModel(builder);
+    }
+
+    /**
+     * 약품명 목록만으로 모델을 만드는 메소드 (의사 웹에서 약품명 목록으로 검사할 때 사용)
+     * 진료일을 알 수 없는 처방 1건 아래의 약물 줄로 만든다
+     */
+    public static MedicationModel ofDrugNames(List<String> drugNames, DrugDictionary dictionary) {
+        Builder builder = new Builder(dictionary);
+        builder.prescription(0, null, null);
+        if (drugNames != null) {
+            for (String drugName : drugNames) {
+                if (drugName != null && !drugName.isBlank()) {
+                    builder.medication(drugName.trim(), null, null, null, null, null);
+                }
+            }
+        }
+        return new MedicationModel(builder);
+    }
+
+    // ----- 크기 -----
+
+    public int rowCount() {
+        return rowDrug.length;
+    }
+
+    public int drugCount() {
+        return drugNames.length;
+    }
+
+    public int prescriptionCount() {
+        return prescriptionDay.length;
+    }
+
+    public int atcCount() {
+        return atcCodes.length;
+    }
+
+    // ----- 약물 줄 -----
+
+    /**
+     * 약물 줄의 약품 번호 (요청 안에서 같은 약품명이면 같은 번호)
+     */
+    public int drug(int row) {
+        return rowDrug[row];
+    }
+
+    public int prescription(int row) {
+        return rowPrescription[row];
+    }
+
+    /**
+     * 약물 줄의 진료 시작일 epoch day (알 수 없으면 PrescriptionParser.UNKNOWN_DAY)
+     */
+    public int day(int row) {
+        return prescriptionDay[rowPrescription[row]];
+    }
+
+    public int dosageDays(int row) {
+        return rowDays[row];
+    }
+
+    /**
+     * 기준일(epoch day)에 복용 중이거나 앞으로 복용할 약물 줄인지 - 투약 기간 [시작일, 시작일 + 투약일수)
+     * 진료일을 알 수 없으면(약품명 목록으로 만든 모델 등) 복용 중으로 봄, 투약일수가 없으면 1일로 봄
+     */
+    public boolean isActiveOn(int row, int epochDay) {
+        int start = day(row);
+        if (start == PrescriptionParser.UNKNOWN_DAY) {
+            return true;
+        }
+        return (long) start + Math.max(dosageDays(row), 1) > epochDay;
+    }
+
+    /**
+     * 약물 줄의 ATC 코드 번호 (없으면 NONE)
+     */
+    public int atc(int row) {
+        return rowAtc[row];
+    }
+
+    public String drugName(int row) {
+        return drugNames[rowDrug[row]];
+    }
+
+    public String atcCode(int row) {
+        return rowAtc[row] == NONE ? null : atcCodes[rowAtc[row]];
+    }
+
+    public String treatmentDate(int row) {
+        return text(prescriptionDate[rowPrescription[row]]);
+    }
+
+    public int drugIndex(int row) {
+        return drugIndex[rowDrug[row]];
+    }
+
+    public double strengthMg(int row) {
+        return drugStrengthMg[rowDrug[row]];
+    }
+
+    // ----- 사전 -----
+
+    public String drugNameOf(int drug) {
+        return drugNames[drug];
+    }
+
+    public int drugIndexOf(int drug) {
+        return drugIndex[drug];
+    }
+
+    public String atcCodeOf(int atc) {
+        return atcCodes[atc];
+    }
+
+    /**
+     * ChatGPT 프롬프트용 처방 이력 텍스트를 덧붙이는 메소드
+     * 처방마다 "진료일자: ..." 줄과 약물 줄 목록 (값이 없는 항목은 생략)
+     */
+    public void appendPromptText(StringBuilder out) {
+        for (int p = 0; p < prescriptionDay.length; p++) {
+            out.append("진료일자: ").append(text(prescriptionDate[p])).append('\n');
+            for (int row = prescriptionStart[p]; row < prescriptionStart[p + 1]; row++) {
+                out.append("- 약물명: ").append(drugNames[rowDrug[row]]);
+                appendField(out, ", 효능: ", rowEffect[row]);
+                out.append(", 투약일수: ").append(rowDays[row]);
+                appendField(out, ", 성분: ", rowComponent[row]);
+                appendField(out, ", ATC분류: ", rowAtcInfo[row]);
+                appendField(out, ", KPIC분류: ", rowKpic[row]);
+                out.append('\n');
+            }
+            out.append('\n');
+        }
+    }
+
+    private void appendField(StringBuilder out, String label, int text) {
+        if (text != NONE) {
+            out.append(label).append(texts[text]);
+        }
+    }
+
+    private String text(int text) {
+        return text == NONE ? null : texts[text];
+    }
+
+    /**
+     * 요청별 문자열 사전 (문자열 → 등록 순 번호)
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        String[] toArray() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * 처방 데이터 순회 결과를 사전 번호와 기본형 배열로 모으는 빌더
+     */
+    private static final class Builder implements PrescriptionParser.Sink {
+        private final DrugDictionary dictionary;
+
+        final StringTable drugNames = new StringTable();
+        final StringTable texts = new StringTable();
+        final StringTable atcCodes = new StringTable();
+
+        int[] drugIndex = new int[16];
+        double[] drugStrengthMg = new double[16];
+        // AtcInfo 텍스트 번호 → ATC 코드 번호 (처음 보는 AtcInfo만 정규식으로 추출)
+        private final Map<Integer, Integer> atcOfText = new HashMap<>();
+
+        int prescriptionCount;
+        int[] prescriptionDay = new int[16];
+        int[] prescriptionDate = new int[16];
+        int[] prescriptionStart = new int[17];
+
+        int rowCount;
+        int[] rowPrescription = new int[64];
+        int[] rowDrug = new int[64];
+        short[] rowDays = new short[64];
+        int[] rowEffect = new int[64];
+        int[] rowComponent = new int[64];
+        int[] rowAtcInfo = new int[64];
+        int[] rowKpic = new int[64];
+        int[] rowAtc = new int[64];
+
+        Builder(DrugDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public void prescription(int prescriptionNo, String treatmentDate, String treatmentType) {
+            if (prescriptionCount == prescriptionDay.length) {
+                int size = prescriptionCount * 2;
+                prescriptionDay = Arrays.copyOf(prescriptionDay, size);
+                prescriptionDate = Arrays.copyOf(prescriptionDate, size);
+                prescriptionStart = Arrays.copyOf(prescriptionStart, size + 1);
+            }
+            prescriptionDay[prescriptionCount] = PrescriptionParser.parseEpochDay(treatmentDate);
+            prescriptionDate[prescriptionCount] = texts.id(treatmentDate);
+            prescriptionStart[prescriptionCount] = rowCount;
+            prescriptionCount++;
+        }
+
+        @Override
+        public void medication(String drugName, String drugEffect, String dosageDays,
+                               String component, String atcInfo, String kpicInfo) {
+            if (rowCount == rowDrug.length) {
+                grow(rowCount * 2);
+            }
+            int drug = drug(drugName);
+            int atcInfoText = texts.id(atcInfo);
+            int atc = atcInfoText != NONE ? atcOf(atcInfoText, atcInfo) : NONE;
+            if (atc == NONE && drugIndex[drug] != DrugDictionary.NOT_FOUND) {
+                atc = atcCodes.id(dictionary.atc(drugIndex[drug]));
+            }
+
+            rowPrescription[rowCount] = prescriptionCount - 1;
+            rowDrug[rowCount] = drug;
+            rowDays[rowCount] = (short) Math.min(PrescriptionParser.parseDays(dosageDays), Short.MAX_VALUE);
+            rowEffect[rowCount] = texts.id(drugEffect);
+            rowComponent[rowCount] = texts.id(component);
+            rowAtcInfo[rowCount] = atcInfoText;
+            rowKpic[rowCount] = texts.id(kpicInfo);
+            rowAtc[rowCount] = atc;
+            rowCount++;
+        }
+
+        // 처음 보는 약품명이면 함량과 약품 사전 번호를 계산
+        private int drug(String drugName) {
+            int before = drugNames.size();
+            int drug = drugNames.id(drugName);
+            if (drug == before) {
+                if (drug == drugIndex.length) {
+                    drugIndex = Arrays.copyOf(drugIndex, drug * 2);
+                    drugStrengthMg = Arrays.copyOf(drugStrengthMg, drug * 2);
+                }
+                drugIndex[drug] = dictionary != null ? dictionary.lookup(drugName) : DrugDictionary.NOT_FOUND;
+                drugStrengthMg[drug] = PrescriptionParser.parseStrengthMg(drugName);
+            }
+            return drug;
+        }
+
+        private int atcOf(int atcInfoText, String atcInfo) {
+            Integer atc = atcOfText.get(atcInfoText);
+            if (atc == null) {
+                atc = atcCodes.id(PrescriptionParser.extractAtcCode(atcInfo));
+                atcOfText.put(atcInfoText, atc);
+            }
+            return atc;
+        }
+
+        private void grow(int size) {
+            rowPrescription = Arrays.copyOf(rowPrescription, size);
+            rowDrug = Arrays.copyOf(rowDrug, size);
+            rowDays = Arrays.copyOf(rowDays, size);
+            rowEffect = Arrays.copyOf(rowEffect, size);
+            rowComponent = Arrays.copyOf(rowComponent, size);
+            rowAtcInfo = Arrays.copyOf(rowAtcInfo, size);
+            rowKpic = Arrays.copyOf(rowKpic, size);
+            rowAtc = Arrays.copyOf(rowAtc, size);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.NotificationDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 알림 허브 (의사 → 환자 "환자 정보 요청" 등)
+ * - 사용자 ID 해시로 나눈 샤드별 잠금으로 구독 목록을 관리 (샤드 간 경합 없음)
+ * - 사용자별 제한 크기 재전송 버퍼(링 버퍼)를 두어 재연결 시 Last-Event-ID 이후 알림을 다시 보냄
+ * - 주기적으로 하트비트를 보내 프록시의 유휴 연결 종료를 막고, 끊긴 구독과 오래된 채널을 정리
+ *
+ * SSE는 서블릿 비동기 요청, WebSocket은 컨테이너의 비동기 I/O를 사용하므로 유휴 연결은 스레드를 점유하지 않는다
+ * (노드당 대량 연결 시 server.tomcat.max-connections 를 함께 늘려야 함)
+ */
+@Service
+public class NotificationHub {
+
+    private static final int SHARD_COUNT = 64;
+
+    // 사용자별 재전송 버퍼 크기
+    @Value("${app.notifications.replay-size:50}")
+    private int replaySize;
+
+    // 구독별 전송 대기열 크기 (넘으면 느린 클라이언트로 보고 연결 종료)
+    @Value("${app.notifications.subscriber-queue:64}")
+    private int subscriberQueueSize;
+
+    // 사용자 1명당 최대 동시 구독 수 (넘으면 가장 오래된 구독 종료)
+    @Value("${app.notifications.max-subscribers-per-user:5}")
+    private int maxSubscribersPerUser;
+
+    @Value("${app.notifications.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    // 구독이 없는 채널(재전송 버퍼)을 보관하는 시간
+    @Value("${app.notifications.channel-idle-minutes:60}")
+    private long channelIdleMinutes;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ExecutorService notificationExecutor;
+
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ScheduledExecutorService heartbeatScheduler;
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Channel channel : shard.channels.values()) {
+                    channel.subscribers.forEach(NotificationSubscriber::close);
+                }
+                shard.channels.clear();
+            }
+        }
+    }
+
+    /**
+     * 구독 대기열 크기 (전송 계층에서 구독 생성 시 사용)
+     */
+    public int getSubscriberQueueSize() {
+        return subscriberQueueSize;
+    }
+
+    /**
+     * 구독을 등록하고 lastEventId 이후의 알림을 재전송하는 메소드
+     * @param lastEventId 클라이언트가 마지막으로 받은 알림 번호 (처음 연결이면 null)
+     */
+    public void subscribe(NotificationSubscriber subscriber, Long lastEventId) {
+        subscriber.attach(notificationExecutor);
+        Shard shard = shardOf(subscriber.getUserId());
+        NotificationSubscriber evicted = null;
+
+        synchronized (shard) {
+            Channel channel = shard.channels.computeIfAbsent(subscriber.getUserId(), id -> new Channel(replaySize));
+            channel.lastActive = System.currentTimeMillis();
+            if (channel.subscribers.size() >= maxSubscribersPerUser) {
+                evicted = channel.subscribers.remove(0);
+                subscriberCount.decrementAndGet();
+            }
+            channel.subscribers.add(subscriber);
+            subscriberCount.incrementAndGet();
+
+            // 잠금 안에서 대기열에 넣어야 동시에 발행된 알림과 순서가 섞이지 않음
+            if (lastEventId != null) {
+                for (NotificationDto missed : channel.replayAfter(lastEventId)) {
+                    if (!subscriber.offer(missed)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (evicted != null) {
+            evicted.close();
+        }
+    }
+
+    /**
+     * 구독을 해제하는 메소드 (연결 종료 시 전송 계층에서 호출)
+     */
+    public void unsubscribe(NotificationSubscriber subscriber) {
+        Shard shard = shardOf(subscriber.getUserId());
+        synchronized (shard) {
+            Channel channel = shard.channels.get(subscriber.getUserId());
+            if (channel != null && channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                channel.lastActive = System.currentTimeMillis();
+            }
+        }
+        subscriber.close();
+    }
+
+    /**
+     * 사용자에게 알림을 발행하는 메소드
+     * @return 번호가 매겨진 알림
+     */
+    public NotificationDto publish(String userId, String type, String fromUserId, String fromName, String message) {
+        Shard shard = shardOf(userId);
+        List<NotificationSubscriber> overflowed = new ArrayList<>();
+        NotificationDto notification;
+
+        synchronized (shard) {
+            Channel channel = shard.channels.computeIfAbsent(userId, id -> new Channel(replaySize));
+            notification = new NotificationDto(++channel.lastId, type, fromUserId, fromName, message,
+                    System.currentTimeMillis());
+            channel.append(notification);
+            channel.lastActive = notification.getCreatedAt();
+
+            Iterator<NotificationSubscriber> iterator = channel.subscribers.iterator();
+            while (iterator.hasNext()) {
+                NotificationSubscriber subscriber = iterator.next();
+                if (!subscriber.offer(notification)) {
+                    iterator.remove();
+                    subscriberCount.decrementAndGet();
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+
+        // 따라오지 못한 구독은 끊음 (재연결 시 재전송 버퍼로 복구)
+        for (NotificationSubscriber subscriber : overflowed) {
+            System.out.println("알림 구독 종료 (전송 지연) - userId: " + userId);
+            subscriber.close();
+        }
+        return notification;
+    }
+
+    /**
+     * 재전송 버퍼에 남아 있는 최근 알림 목록 (폴링/알림 아이콘용)
+     */
+    public List<NotificationDto> recent(String userId, long afterId) {
+        Shard shard = shardOf(userId);
+        synchronized (shard) {
+            Channel channel = shard.channels.get(userId);
+            return channel != null ? channel.replayAfter(afterId) : new ArrayList<>();
+        }
+    }
+
+    /**
+     * Last-Event-ID 값을 알림 번호로 변환하는 메소드 (없거나 잘못된 값이면 null)
+     */
+    public static Long parseLastEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // 하트비트 전송 + 닫힌 구독/오래된 채널 정리
+    private void heartbeat() {
+        long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(channelIdleMinutes);
+        try {
+            for (Shard shard : shards) {
+                List<NotificationSubscriber> dead = new ArrayList<>();
+                synchronized (shard) {
+                    Iterator<Channel> channels = shard.channels.values().iterator();
+                    while (channels.hasNext()) {
+                        Channel channel = channels.next();
+                        Iterator<NotificationSubscriber> iterator = channel.subscribers.iterator();
+                        while (iterator.hasNext()) {
+                            NotificationSubscriber subscriber = iterator.next();
+                            if (subscriber.isClosed() || !subscriber.requestHeartbeat()) {
+                                iterator.remove();
+                                subscriberCount.decrementAndGet();
+                                dead.add(subscriber);
+                            }
+                        }
+                        if (channel.subscribers.isEmpty() && channel.lastActive < idleBefore) {
+                            channels.remove();
+                        }
+                    }
+                }
+                dead.forEach(NotificationSubscriber::close);
+            }
+        } catch (Exception e) {
+            System.err.println("알림 하트비트 처리 중 오류: " + e.getMessage());
+        }
+    }
+
+    private Shard shardOf(String userId) {
+        return shards[(userId.hashCode() & 0x7fffffff) % SHARD_COUNT];
+    }
+
+    private static final class Shard {
+        private final Map<String, Channel> channels = new HashMap<>();
+    }
+
+    /**
+     * 사용자 1명의 구독 목록과 재전송 버퍼
+     */
+    private static final class Channel {
+        private final List<NotificationSubscriber> subscribers = new ArrayList<>(1);
+        private final NotificationDto[] replay;
+        private int replayStart;
+        private int replayCount;
+        private long lastId;
+        private long lastActive;
+
+        Channel(int replaySize) {
+            this.replay = new NotificationDto[replaySize];
+        }
+
+        void append(NotificationDto notification) {
+            if (replay.length == 0) {
+                return;
+            }
+            if (replayCount < replay.length) {
+                replay[(replayStart + replayCount++) % replay.length] = notification;
+            } else {
+                replay[replayStart] = notification;
+                replayStart = (replayStart + 1) % replay.length;
+            }
+        }
+
+        List<NotificationDto> replayAfter(long afterId) {
+            List<NotificationDto> result = new ArrayList<>();
+            for (int i = 0; i < replayCount; i++) {
+                NotificationDto notification = replay[(replayStart + i) % replay.length];
+                if (notification.getId() > afterId) {
+                    result.add(notification);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.NotificationDto;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 알림 구독 1건 (SSE 연결 또는 WebSocket 세션)
+ * - 알림은 구독별 제한 크기 대기열에 넣고, 전송 스레드 풀에서 한 번에 하나의 작업만 대기열을 비움
+ *   → 유휴 연결은 스레드를 점유하지 않고, 느린 클라이언트가 다른 구독의 전송을 막지 않음
+ * - 대기열이 가득 차면(느린 클라이언트) offer가 false를 반환하고 허브가 구독을 끊음
+ *   → 클라이언트는 재연결 시 Last-Event-ID 이후 알림을 재전송 버퍼에서 받음
+ */
+public abstract class NotificationSubscriber {
+
+    private final String userId;
+    private final int capacity;
+    private final ArrayDeque<NotificationDto> queue = new ArrayDeque<>(4);
+    private Executor executor;
+    private boolean draining;
+    private boolean heartbeatPending;
+    private volatile boolean closed;
+
+    protected NotificationSubscriber(String userId, int capacity) {
+        this.userId = userId;
+        this.capacity = capacity;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void attach(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 알림을 전송 대기열에 넣는 메소드
+     * @return 대기열이 가득 찼거나 이미 닫힌 구독이면 false
+     */
+    synchronized boolean offer(NotificationDto notification) {
+        if (closed || queue.size() >= capacity) {
+            return false;
+        }
+        queue.add(notification);
+        return scheduleDrain();
+    }
+
+    /**
+     * 하트비트 전송을 요청하는 메소드 (이미 전송할 알림이 있으면 그 전송으로 대신함)
+     */
+    synchronized boolean requestHeartbeat() {
+        if (closed) {
+            return false;
+        }
+        if (queue.isEmpty()) {
+            heartbeatPending = true;
+        }
+        return scheduleDrain();
+    }
+
+    /**
+     * 구독을 닫는 메소드 (여러 번 호출해도 안전)
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+        }
+        try {
+            closeTransport();
+        } catch (Exception e) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    private boolean scheduleDrain() {
+        if (draining) {
+            return true;
+        }
+        try {
+            executor.execute(this::drain);
+            draining = true;
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            NotificationDto next;
+            boolean heartbeat;
+            synchronized (this) {
+                next = queue.poll();
+                heartbeat = next == null && heartbeatPending;
+                heartbeatPending = false;
+                if (closed || (next == null && !heartbeat)) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            try {
+                if (next != null) {
+                    send(next);
+                } else {
+                    sendHeartbeat();
+                }
+            } catch (Exception e) {
+                // 전송 실패 = 연결 종료, 허브는 다음 하트비트 정리 때 구독을 제거
+                close();
+                synchronized (this) {
+                    draining = false;
+                }
+                return;
+            }
+        }
+    }
+
+    protected abstract void send(NotificationDto notification) throws Exception;
+
+    protected abstract void sendHeartbeat() throws Exception;
+
+    protected abstract void closeTransport() throws Exception;
+}
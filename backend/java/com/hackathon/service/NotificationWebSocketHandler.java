@@ -0,0 +1,62 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 알림 WebSocket 핸들러
+ * - 연결 주소: /ws/notifications?userId=...&token=...&lastEventId=...
+ *   (토큰과 userId는 연결 전에 NotificationHandshakeInterceptor가 확인)
+ * - 서버 → 클라이언트 단방향이므로 받은 메시지는 무시
+ */
+@Component
+public class NotificationWebSocketHandler extends TextWebSocketHandler {
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, WebSocketNotificationSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Map<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams()
+                .toSingleValueMap();
+        AuthPrincipal principal = (AuthPrincipal) session.getAttributes().get(AuthPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("인증 토큰이 필요합니다"));
+            return;
+        }
+        String userId = principal.getUserId();
+
+        WebSocketNotificationSubscriber subscriber = new WebSocketNotificationSubscriber(
+                userId, notificationHub.getSubscriberQueueSize(), session, objectMapper);
+        subscribers.put(session.getId(), subscriber);
+        notificationHub.subscribe(subscriber, NotificationHub.parseLastEventId(params.get("lastEventId")));
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        release(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        release(session);
+    }
+
+    private void release(WebSocketSession session) {
+        WebSocketNotificationSubscriber subscriber = subscribers.remove(session.getId());
+        if (subscriber != null) {
+            notificationHub.unsubscribe(subscriber);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.ChatGptApiResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * OpenAI 호출 스케줄러
+ * - 분당 요청 수(RPM)와 분당 토큰 수(TPM) 예산을 토큰 버킷으로 관리
+ * - 예산이 부족하면 대기열에서 순서대로 대기 (우선순위가 높은 요청이 먼저)
+ * - 429 응답의 Retry-After 동안은 모든 호출을 멈춤
+ * - 요청 마감이 지나거나 호출이 취소되면 대기열에서 빠짐
+ */
+@Service
+public class OpenAiRateScheduler {
+
+    /**
+     * 요청 우선순위 (선언 순서가 높은 우선순위)
+     */
+    public enum Priority {
+        INTERACTIVE, // 사용자가 화면에서 기다리는 요청
+        BATCH        // 의사 웹 일괄 분석 등
+    }
+
+    @Value("${chatgpt.rate-limit.requests-per-minute:500}")
+    private int requestsPerMinute;
+
+    @Value("${chatgpt.rate-limit.tokens-per-minute:200000}")
+    private int tokensPerMinute;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>();
+
+    private long sequence;
+    private double requestBudget = -1;
+    private double tokenBudget;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * 호출 허가를 받을 때까지 대기하는 메소드
+     * @param estimatedTokens 예상 사용 토큰 수 (프롬프트 + max_tokens)
+     * @param priority 요청 우선순위
+     * @param maxWaitMillis 최대 대기 시간 (요청 마감까지 남은 시간 등) - 지나면 TimeoutException
+     * @param signal 취소 신호 (없으면 null) - 대기 중 취소되면 CancellationException, 우선 처리로 표시되면 INTERACTIVE로 대기
+     * @return 호출 허가 (호출 후 반드시 complete 또는 release 호출)
+     */
+    public Permit acquire(int estimatedTokens, Priority priority, long maxWaitMillis,
+                          SingleFlight.CancellationSignal signal) throws InterruptedException, TimeoutException {
+        int tokens = Math.min(Math.max(estimatedTokens, 1), tokensPerMinute);
+        if (signal != null) {
+            // 대기 중 취소되거나 우선 처리로 바뀌면 바로 깨어나도록 (허가를 받은 뒤 호출부가 HTTP 취소 동작으로 다시 등록)
+            signal.setOnCancel(this::wakeUp);
+            signal.setOnUrgent(this::wakeUp);
+        }
+
+        lock.lock();
+        try {
+            Ticket ticket = new Ticket(priority, sequence++);
+            queue.add(ticket);
+            long startedAt = System.nanoTime();
+            long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxWaitMillis, 0));
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+
+                    if (signal != null && signal.isCancelled()) {
+                        throw new CancellationException("OpenAI 호출 대기 중 취소되었습니다.");
+                    }
+                    if (signal != null && signal.isUrgent() && ticket.priority != Priority.INTERACTIVE) {
+                        // 사용자 요청이 합류한 선행 분석 - 대기 순서는 유지한 채 우선순위만 올림
+                        queue.remove(ticket);
+                        ticket = new Ticket(Priority.INTERACTIVE, ticket.sequence);
+                        queue.add(ticket);
+                        System.out.println("OpenAI 호출 우선순위 상향 (사용자 요청 합류)");
+                    }
+
+                    long waitNanos;
+                    if (now < pausedUntilNanos) {
+                        waitNanos = pausedUntilNanos - now;
+                    } else if (queue.peek() != ticket) {
+                        waitNanos = TimeUnit.SECONDS.toNanos(1);
+                    } else if (requestBudget >= 1 && tokenBudget >= tokens) {
+                        queue.poll();
+                        requestBudget -= 1;
+                        tokenBudget -= tokens;
+                        changed.signalAll();
+                        return new Permit(tokens);
+                    } else {
+                        waitNanos = nanosUntilAvailable(tokens);
+                    }
+
+                    long remainingNanos = maxWaitNanos - (now - startedAt);
+                    if (remainingNanos <= 0) {
+                        throw new TimeoutException("OpenAI 호출 허가 대기 시간이 초과되었습니다.");
+                    }
+                    changed.awaitNanos(Math.max(Math.min(waitNanos, remainingNanos), TimeUnit.MILLISECONDS.toNanos(1)));
+                }
+            } catch (InterruptedException | TimeoutException | RuntimeException e) {
+                queue.remove(ticket);
+                changed.signalAll();
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 호출 완료 후 실제 사용량으로 토큰 예산을 보정하는 메소드
+     * @param permit acquire로 받은 허가
+     * @param usage 응답의 실제 사용량 (없으면 예상치 유지)
+     */
+    public void complete(Permit permit, ChatGptApiResponseDto.Usage usage) {
+        if (usage == null || usage.getTotalTokens() <= 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            tokenBudget = Math.min(tokenBudget + permit.estimatedTokens - usage.getTotalTokens(), tokensPerMinute);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 호출이 처리되지 않았을 때(429 등) 예상 토큰을 예산에 돌려주는 메소드
+     * 요청 수는 OpenAI 쪽에서도 세므로 돌려주지 않음
+     * @param permit acquire로 받은 허가
+     */
+    public void release(Permit permit) {
+        lock.lock();
+        try {
+            tokenBudget = Math.min(tokenBudget + permit.estimatedTokens, tokensPerMinute);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429 응답을 받았을 때 Retry-After 동안 모든 호출을 멈추는 메소드
+     */
+    public void onRateLimited(long retryAfterMillis) {
+        lock.lock();
+        try {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+            pausedUntilNanos = Math.max(pausedUntilNanos, until);
+            System.out.println("OpenAI 요청 한도 초과 - " + retryAfterMillis + "ms 동안 호출 중지");
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 요청이 없고 분당 예산이 reserveFraction 비율 이상 남아 있는지 확인하는 메소드
+     * (선행 분석처럼 미뤄도 되는 호출을 시작할지 판단할 때 사용)
+     */
+    public boolean hasHeadroom(double reserveFraction) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            return queue.isEmpty()
+                    && now >= pausedUntilNanos
+                    && requestBudget >= 1 + reserveFraction * requestsPerMinute
+                    && tokenBudget >= reserveFraction * tokensPerMinute;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 대기 중인 요청 수
+     */
+    public int queuedCount() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 대기 중인 acquire 를 깨워 취소 여부를 다시 확인하게 함
+    private void wakeUp() {
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 경과 시간만큼 예산 충전 (최대 1분치)
+    private void refill(long now) {
+        if (requestBudget < 0) {
+            requestBudget = requestsPerMinute;
+            tokenBudget = tokensPerMinute;
+            lastRefillNanos = now;
+            return;
+        }
+
+        double elapsedMinutes = (now - lastRefillNanos) / (double) TimeUnit.MINUTES.toNanos(1);
+        requestBudget = Math.min(requestBudget + elapsedMinutes * requestsPerMinute, requestsPerMinute);
+        tokenBudget = Math.min(tokenBudget + elapsedMinutes * tokensPerMinute, tokensPerMinute);
+        lastRefillNanos = now;
+    }
+
+    private long nanosUntilAvailable(int tokens) {
+        double minute = TimeUnit.MINUTES.toNanos(1);
+        double requestWait = requestBudget >= 1 ? 0 : (1 - requestBudget) / requestsPerMinute * minute;
+        double tokenWait = tokenBudget >= tokens ? 0 : (tokens - tokenBudget) / tokensPerMinute * minute;
+        return (long) Math.ceil(Math.max(requestWait, tokenWait));
+    }
+
+    /**
+     * 호출 허가
+     */
+    public static class Permit {
+        private final int estimatedTokens;
+
+        Permit(int estimatedTokens) {
+            this.estimatedTokens = estimatedTokens;
+        }
+
+        public int getEstimatedTokens() {
+            return estimatedTokens;
+        }
+    }
+
+    private static class Ticket implements Comparable<Ticket> {
+        private final Priority priority;
+        private final long sequence;
+
+        Ticket(Priority priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hackathon.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 환자 식별 키 생성
+ * - 이름/생년월일/휴대폰 번호를 그대로 노출하지 않도록 서버 비밀키로 만든 HMAC-SHA256 앞 16바이트를 키로 사용
+ *   (비밀키 없이 해시만 쓰면 이름·생년월일·번호 조합을 대입해 환자 키를 만들거나 되돌릴 수 있음)
+ * - 비밀키는 app.patient-key.secret(Base64), 없으면 비밀키 파일을 사용하고 파일도 없으면 처음 시작할 때 만들어 둠
+ * - 비밀키가 바뀌면 모든 환자 키가 바뀌므로 교체하지 않음 (저장된 이력과 발급한 토큰이 환자 키를 사용)
+ */
+@Component
+public class PatientKeys {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Value("${app.patient-key.secret:}")
+    private String secret;
+
+    @Value("${app.patient-key.secret-file:data/patient-key.secret}")
+    private String secretFile;
+
+    private SecretKeySpec key;
+
+    // Mac은 스레드 안전하지 않으므로 스레드별로 하나씩 보관
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() throws IOException {
+        byte[] secretBytes = !secret.isBlank() ? Base64.getDecoder().decode(secret.trim()) : loadOrCreateSecret(Paths.get(secretFile));
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("환자 키 비밀키는 32바이트 이상이어야 합니다.");
+        }
+        key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    /**
+     * 간편인증을 요청한 이름/생년월일/휴대폰 번호로 환자 키를 만드는 메소드
+     */
+    public String of(String userName, String birthDate, String cellphoneNumber) {
+        // 화면마다 형식이 달라도 같은 키가 나오도록 숫자만 사용
+        String source = userName.trim() + "|" + birthDate.replaceAll("[^0-9]", "") + "|"
+                + cellphoneNumber.replaceAll("[^0-9]", "");
+        byte[] hash = macs.get().doFinal(source.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, 16);
+    }
+
+    // 비밀키 파일 읽기 (없으면 임의 키를 만들어 저장 - 재시작해도 같은 환자 키가 나오도록)
+    private static byte[] loadOrCreateSecret(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            byte[] created = new byte[32];
+            new SecureRandom().nextBytes(created);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                Files.writeString(Files.createFile(path), Base64.getEncoder().encodeToString(created));
+                System.out.println("환자 키 비밀키 파일을 만들었습니다: " + path.toAbsolutePath());
+                return created;
+            } catch (FileAlreadyExistsException e) {
+                // 다른 서버가 먼저 만든 경우 그 키 사용
+            }
+        }
+        return Base64.getDecoder().decode(Files.readString(path, StandardCharsets.UTF_8).trim());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화 실패", e);
+        }
+    }
+}
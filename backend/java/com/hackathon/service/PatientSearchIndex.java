@@ -0,0 +1,348 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.PatientSummaryDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 의사 웹 "환자 이름으로 조회" 검색 인덱스
+ * - 이름을 자모 단위로 분해한 트라이(예: 김민수 → ㄱㅣㅁㅁㅣㄴㅅㅜ)와 초성 트라이(ㄱㅁㅅ)를 함께 유지
+ *   → 전체 이름, 입력 중인 접두어("김미"), 초성 검색을 모두 접두어 탐색 1번으로 처리
+ * - 트라이 노드와 게시 목록은 기본형 배열 (first-child / next-sibling, 연결 리스트 게시 목록)
+ * - 생년월일이 주어지면 생년월일별 게시 목록에서 후보를 고른 뒤 이름을 확인
+ * - 등록 시 점진적으로 추가 (읽기/쓰기 잠금)
+ */
+@Service
+public class PatientSearchIndex {
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = "\0ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private static final int NONE = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Trie jamoTrie = new Trie();
+    private final Trie choseongTrie = new Trie();
+
+    // 환자 정보 (환자 번호 = 배열 위치)
+    private String[] patientKeys = new String[1024];
+    private String[] userIds = new String[1024];
+    private String[] names = new String[1024];
+    private int[] birthDates = new int[1024]; // yyyyMMdd (모르면 0)
+    private boolean[] removed = new boolean[1024];
+    private int patientCount;
+
+    private final Map<String, Integer> byPatientKey = new HashMap<>();
+    private final Map<Integer, int[]> byBirthDate = new HashMap<>();
+
+    /**
+     * 환자를 등록하는 메소드 (같은 환자 키가 있으면 이전 정보를 대체)
+     */
+    public void add(String patientKey, String userId, String name, String birthDate) {
+        String normalizedName = normalizeName(name);
+        if (normalizedName.isEmpty()) {
+            return;
+        }
+        int birth = parseBirthDate(birthDate);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = byPatientKey.get(patientKey);
+            if (existing != null) {
+                if (names[existing].equals(normalizedName) && birthDates[existing] == birth) {
+                    userIds[existing] = userId;
+                    return;
+                }
+                removed[existing] = true;
+            }
+
+            int patient = patientCount++;
+            ensureCapacity(patientCount);
+            patientKeys[patient] = patientKey;
+            userIds[patient] = userId;
+            names[patient] = normalizedName;
+            birthDates[patient] = birth;
+            byPatientKey.put(patientKey, patient);
+
+            jamoTrie.insert(decompose(normalizedName), patient);
+            choseongTrie.insert(choseong(normalizedName), patient);
+            if (birth != 0) {
+                int[] postings = byBirthDate.get(birth);
+                if (postings == null) {
+                    postings = new int[]{0, 0, 0, 0, 0};
+                }
+                if (postings[0] + 1 == postings.length) {
+                    postings = Arrays.copyOf(postings, postings.length * 2);
+                }
+                postings[++postings[0]] = patient; // postings[0] = 개수
+                byBirthDate.put(birth, postings);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름(전체/접두어/초성)과 생년월일로 환자를 찾는 메소드
+     * @param query 이름, 이름 접두어 또는 초성 (예: "김민수", "김미", "ㄱㅁㅅ")
+     * @param birthDate 생년월일 (yyyyMMdd, yyMMdd, yyyy-MM-dd 등, 없으면 null)
+     * @param limit 최대 결과 수
+     */
+    public List<PatientSummaryDto> search(String query, String birthDate, int limit) {
+        String normalizedQuery = normalizeName(query);
+        List<PatientSummaryDto> results = new ArrayList<>();
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return results;
+        }
+        boolean choseongQuery = isChoseongOnly(normalizedQuery);
+        String key = choseongQuery ? normalizedQuery : decompose(normalizedQuery);
+        int birth = parseBirthDate(birthDate);
+
+        lock.readLock().lock();
+        try {
+            int[] found = new int[limit];
+            int count;
+            if (birth != 0) {
+                count = searchByBirthDate(birth, key, choseongQuery, found);
+            } else {
+                Trie trie = choseongQuery ? choseongTrie : jamoTrie;
+                count = trie.collect(trie.find(key), found, 0, removed);
+            }
+
+            for (int i = 0; i < count; i++) {
+                int patient = found[i];
+                results.add(new PatientSummaryDto(patientKeys[patient], userIds[patient], names[patient],
+                        birthDates[patient] != 0 ? String.valueOf(birthDates[patient]) : null));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byPatientKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 같은 생년월일 환자 중 이름 키가 접두어로 일치하는 환자
+    private int searchByBirthDate(int birth, String key, boolean choseongQuery, int[] found) {
+        int[] postings = byBirthDate.get(birth);
+        if (postings == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 1; i <= postings[0] && count < found.length; i++) {
+            int patient = postings[i];
+            if (removed[patient]) {
+                continue;
+            }
+            String patientKey = choseongQuery ? choseong(names[patient]) : decompose(names[patient]);
+            if (patientKey.startsWith(key)) {
+                found[count++] = patient;
+            }
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= names.length) {
+            return;
+        }
+        int capacity = names.length * 2;
+        patientKeys = Arrays.copyOf(patientKeys, capacity);
+        userIds = Arrays.copyOf(userIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        birthDates = Arrays.copyOf(birthDates, capacity);
+        removed = Arrays.copyOf(removed, capacity);
+    }
+
+    /**
+     * 공백 제거 + 영문 소문자화
+     */
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 한글 음절을 초성/중성/종성 자모로 분해 (그 외 문자는 그대로)
+     */
+    static String decompose(String text) {
+        StringBuilder jamo = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                int index = c - 0xAC00;
+                jamo.append(CHOSEONG.charAt(index / 588));
+                jamo.append(JUNGSEONG.charAt(index % 588 / 28));
+                if (index % 28 != 0) {
+                    jamo.append(JONGSEONG.charAt(index % 28));
+                }
+            } else {
+                jamo.append(c);
+            }
+        }
+        return jamo.toString();
+    }
+
+    /**
+     * 한글 음절의 초성만 추출 (그 외 문자는 그대로)
+     */
+    static String choseong(String text) {
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            initials.append(c >= 0xAC00 && c <= 0xD7A3 ? CHOSEONG.charAt((c - 0xAC00) / 588) : c);
+        }
+        return initials.toString();
+    }
+
+    private static boolean isChoseongOnly(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (CHOSEONG.indexOf(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 생년월일 문자열을 yyyyMMdd 정수로 변환 (6자리는 현재 연도 기준으로 세기 판단)
+     * @return yyyyMMdd (해석할 수 없으면 0)
+     */
+    static int parseBirthDate(String birthDate) {
+        if (birthDate == null) {
+            return 0;
+        }
+        String digits = birthDate.replaceAll("[^0-9]", "");
+        if (digits.length() == 6) {
+            int yy = Integer.parseInt(digits.substring(0, 2));
+            int century = yy > LocalDate.now().getYear() % 100 ? 1900 : 2000;
+            return (century + yy) * 10000 + Integer.parseInt(digits.substring(2));
+        }
+        return digits.length() == 8 ? Integer.parseInt(digits) : 0;
+    }
+
+    /**
+     * 배열 기반 트라이 (노드별 게시 목록은 연결 리스트)
+     */
+    private static final class Trie {
+        private char[] label = new char[1024];
+        private int[] firstChild = new int[1024];
+        private int[] nextSibling = new int[1024];
+        private int[] postingHead = new int[1024];
+        private int nodeCount;
+
+        private int[] postingPatient = new int[1024];
+        private int[] postingNext = new int[1024];
+        private int postingCount;
+
+        Trie() {
+            newNode('\0'); // 루트
+        }
+
+        void insert(String key, int patient) {
+            int node = 0;
+            for (int i = 0; i < key.length(); i++) {
+                node = child(node, key.charAt(i), true);
+            }
+            if (postingCount == postingPatient.length) {
+                postingPatient = Arrays.copyOf(postingPatient, postingCount * 2);
+                postingNext = Arrays.copyOf(postingNext, postingCount * 2);
+            }
+            postingPatient[postingCount] = patient;
+            postingNext[postingCount] = postingHead[node];
+            postingHead[node] = postingCount++;
+        }
+
+        // 키 경로의 마지막 노드 (없으면 NONE)
+        int find(String key) {
+            int node = 0;
+            for (int i = 0; i < key.length() && node != NONE; i++) {
+                node = child(node, key.charAt(i), false);
+            }
+            return node;
+        }
+
+        // 노드 아래의 환자를 깊이 우선으로 out이 찰 때까지 수집 (정확히 일치하는 이름부터, 자식은 자모 순)
+        int collect(int node, int[] out, int count, boolean[] removed) {
+            if (node == NONE || count >= out.length) {
+                return count;
+            }
+            for (int posting = postingHead[node]; posting != NONE && count < out.length; posting = postingNext[posting]) {
+                if (!removed[postingPatient[posting]]) {
+                    out[count++] = postingPatient[posting];
+                }
+            }
+            for (int child = firstChild[node]; child != NONE && count < out.length; child = nextSibling[child]) {
+                count = collect(child, out, count, removed);
+            }
+            return count;
+        }
+
+        private int child(int node, char c, boolean create) {
+            int previous = NONE;
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (label[child] == c) {
+                    return child;
+                }
+                if (label[child] > c) {
+                    break;
+                }
+                previous = child;
+            }
+            if (!create) {
+                return NONE;
+            }
+
+            // 형제 목록을 문자 순으로 유지 (검색 결과가 가나다 순이 되도록)
+            int created = newNode(c);
+            if (previous == NONE) {
+                nextSibling[created] = firstChild[node];
+                firstChild[node] = created;
+            } else {
+                nextSibling[created] = nextSibling[previous];
+                nextSibling[previous] = created;
+            }
+            return created;
+        }
+
+        private int newNode(char c) {
+            if (nodeCount == label.length) {
+                int capacity = nodeCount * 2;
+                label = Arrays.copyOf(label, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                postingHead = Arrays.copyOf(postingHead, capacity);
+            }
+            label[nodeCount] = c;
+            firstChild[nodeCount] = NONE;
+            nextSibling[nodeCount] = NONE;
+            postingHead[nodeCount] = NONE;
+            return nodeCount++;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.BatchPrescriptionCheckRequestDto;
+import com.hackathon.dto.BatchPrescriptionCheckResultDto;
+import com.hackathon.dto.PrescriptionAnomalyDto;
+import com.hackathon.dto.PrescriptionCheckRequestDto;
+import com.hackathon.dto.PrescriptionCheckResultDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * 약물 처방 이상 사항 검사 서비스 (의사 웹 "약물 처방 이상 사항", "환자 약물 추가")
+ * 약품명을 사전 약품 번호로 변환한 뒤 각 검사 엔진(상호작용, 신기능 용량, 중복 처방)에 전달한다
+ */
+@Service
+public class PrescriptionAnomalyService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    // 중복 처방으로 보는 최소 겹침 일수 (약 교체 시의 짧은 겹침 제외)
+    private static final int MIN_DUPLICATE_OVERLAP_DAYS = 7;
+
+    @Autowired
+    private DrugDictionary drugDictionary;
+
+    @Autowired
+    private DrugInteractionService drugInteractionService;
+
+    @Autowired
+    private RenalDosingService renalDosingService;
+
+    @Autowired
+    @Qualifier("batchLocalPool")
+    private ForkJoinPool batchLocalPool;
+
+    @Value("${app.batch.max-patients:500}")
+    private int batchMaxPatients;
+
+    /**
+     * 약품명 목록 기반 검사 메소드
+     * - candidateDrug가 있으면 복용 약물과 후보 약물 사이만 검사 (환자 약물 추가)
+     * - 없으면 복용 약물 전체의 쌍별 검사
+     * - eGFR 또는 투석 여부가 있으면 신기능 용량 검사도 함께 수행
+     */
+    public PrescriptionCheckResultDto check(PrescriptionCheckRequestDto request) {
+        List<String> unknownDrugs = new ArrayList<>();
+        MedicationModel active = MedicationModel.ofDrugNames(request.getActiveDrugs(), drugDictionary);
+        int[] activeDrugs = distinctDrugs(active, unknownDrugs);
+
+        List<PrescriptionAnomalyDto> anomalies = new ArrayList<>();
+        MedicationModel renalModel = active;
+        if (request.getCandidateDrug() != null && !request.getCandidateDrug().isBlank()) {
+            MedicationModel candidate = MedicationModel.ofDrugNames(List.of(request.getCandidateDrug()), drugDictionary);
+            int candidateDrug = candidate.drugIndex(0);
+            if (candidateDrug == DrugDictionary.NOT_FOUND) {
+                unknownDrugs.add(request.getCandidateDrug());
+            }
+            anomalies.addAll(drugInteractionService.checkCandidate(candidateDrug, activeDrugs));
+            renalModel = candidate;
+        } else {
+            anomalies.addAll(drugInteractionService.checkAll(activeDrugs));
+        }
+        anomalies.addAll(renalDosingService.check(renalModel, request.getEgfr(), request.isDialysis()));
+
+        return buildResult(anomalies, unknownDrugs);
+    }
+
+    /**
+     * 틸코 처방 조회 결과 기반 검사 메소드
+     * - 상호작용·신기능 용량 검사는 오늘 복용 중인 약물만 (이미 끝난 투약은 함께 복용하지 않으므로 제외)
+     * - 동일 계열 중복 처방은 처방 이력 전체에서 실제로 겹친 기간으로 검사
+     */
+    public PrescriptionCheckResultDto checkPrescription(Object medicationData, Double egfr, boolean dialysis) {
+        return checkPrescription(medicationData, egfr, dialysis, (int) LocalDate.now(KST).toEpochDay());
+    }
+
+    PrescriptionCheckResultDto checkPrescription(Object medicationData, Double egfr, boolean dialysis, int today) {
+        MedicationModel model = MedicationModel.parse(medicationData, drugDictionary);
+        List<String> unknownDrugs = new ArrayList<>();
+        distinctDrugs(model, unknownDrugs);
+
+        List<PrescriptionAnomalyDto> anomalies = new ArrayList<>(drugInteractionService.checkAll(activeDrugs(model, today)));
+        anomalies.addAll(renalDosingService.check(model, egfr, dialysis, today));
+        anomalies.addAll(duplicateTherapies(model));
+        return buildResult(anomalies, unknownDrugs);
+    }
+
+    /**
+     * 의사 웹 환자 목록 전체를 병렬로 검사하는 메소드 (로컬 계산만 하므로 CPU 수만큼 병렬)
+     */
+    public List<BatchPrescriptionCheckResultDto> checkBatch(BatchPrescriptionCheckRequestDto batchRequest) throws Exception {
+        List<BatchPrescriptionCheckRequestDto.PatientPrescription> patients =
+                batchRequest.getPatients() != null ? batchRequest.getPatients() : new ArrayList<>();
+        if (patients.size() > batchMaxPatients) {
+            throw new IllegalArgumentException("일괄 검사는 최대 " + batchMaxPatients + "명까지 가능합니다.");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        List<BatchPrescriptionCheckResultDto> results = batchLocalPool.submit(() -> patients.parallelStream()
+                .map(patient -> new BatchPrescriptionCheckResultDto(patient.getPatientId(),
+                        checkPrescription(patient.getMedicationData(), patient.getEgfr(), patient.isDialysis())))
+                .collect(Collectors.toList()))
+                .get();
+
+        System.out.println("처방 이상 사항 일괄 검사 완료: " + patients.size() + "명, "
+                + (System.currentTimeMillis() - startedAt) + "ms");
+        return results;
+    }
+
+    /**
+     * 같은 ATC 계열의 서로 다른 약물이 같은 기간에 투약된 경우를 찾는 메소드
+     * 같은 약물 쌍은 가장 길게 겹친 1건만 보고
+     */
+    private List<PrescriptionAnomalyDto> duplicateTherapies(MedicationModel model) {
+        TherapyIntervalIndex index = TherapyIntervalIndex.byAtcClass(model);
+        Map<String, PrescriptionAnomalyDto> byDrugPair = new LinkedHashMap<>();
+        Map<String, Integer> overlapByDrugPair = new HashMap<>();
+
+        for (String atcClass : index.classes()) {
+            for (int[] pair : index.overlappingPairs(atcClass, MIN_DUPLICATE_OVERLAP_DAYS)) {
+                String first = model.drugName(pair[0]);
+                String second = model.drugName(pair[1]);
+                String pairKey = first.compareTo(second) < 0 ? first + "|" + second : second + "|" + first;
+                if (overlapByDrugPair.getOrDefault(pairKey, 0) >= pair[2]) {
+                    continue;
+                }
+                overlapByDrugPair.put(pairKey, pair[2]);
+                byDrugPair.put(pairKey, new PrescriptionAnomalyDto(
+                        PrescriptionAnomalyDto.TYPE_DUPLICATE_THERAPY,
+                        "MODERATE",
+                        List.of(first, second),
+                        atcClass + " 계열 중복 투약 " + pair[2] + "일 ("
+                                + model.treatmentDate(pair[0]) + ", " + model.treatmentDate(pair[1]) + " 처방)"));
+            }
+        }
+        return new ArrayList<>(byDrugPair.values());
+    }
+
+    // 사전에서 찾은 약품 번호를 중복 없이 모으고, 찾지 못한 이름은 unknownDrugs에 추가
+    // (모델의 약품 목록은 이미 약품명 기준으로 중복이 없으므로 약물 줄이 아닌 약품 단위로 순회)
+    private int[] distinctDrugs(MedicationModel model, List<String> unknownDrugs) {
+        Set<Integer> drugs = new LinkedHashSet<>();
+        for (int drug = 0; drug < model.drugCount(); drug++) {
+            if (model.drugIndexOf(drug) != DrugDictionary.NOT_FOUND) {
+                drugs.add(model.drugIndexOf(drug));
+            } else {
+                unknownDrugs.add(model.drugNameOf(drug));
+            }
+        }
+        return drugs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // 기준일에 복용 중인 약물 줄의 약품 사전 번호 (중복 없이)
+    private int[] activeDrugs(MedicationModel model, int today) {
+        Set<Integer> drugs = new LinkedHashSet<>();
+        for (int row = 0; row < model.rowCount(); row++) {
+            if (model.drugIndex(row) != DrugDictionary.NOT_FOUND && model.isActiveOn(row, today)) {
+                drugs.add(model.drugIndex(row));
+            }
+        }
+        return drugs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private PrescriptionCheckResultDto buildResult(List<PrescriptionAnomalyDto> anomalies, List<String> unknownDrugs) {
+        // 처방 이력에 같은 약이 여러 번 있으면 같은 결과가 반복되므로 중복 제거
+        List<PrescriptionAnomalyDto> distinct = new ArrayList<>(new LinkedHashSet<>(anomalies));
+        String message = distinct.isEmpty()
+                ? "발견된 처방 이상 사항이 없습니다."
+                : distinct.size() + "건의 처방 이상 사항이 발견되었습니다.";
+        return new PrescriptionCheckResultDto("SUCCESS", message, distinct, unknownDrugs);
+    }
+}
@@ -0,0 +1,344 @@
+package com.hackathon.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 처방 데이터(JSON 트리)에서 약물 단위 레코드를 추출하는 파서
+ * - 앱에서 전달하는 PrescriptionData/MedicationDetails 형식과
+ *   Tilko 원본 ResultList/RetrieveTreatmentInjectionInformationPersonDetailList 형식을 모두 지원
+ */
+public class PrescriptionParser {
+
+    // AtcInfo 예: "[C10AA05]atorvastatin" → C10AA05
+    private static final Pattern ATC_CODE = Pattern.compile("[A-Z]\\d{2}[A-Z]{0,2}\\d{0,2}");
+
+    // 약품명의 함량 표기 예: "리피토정 10mg", "글루코파지정500밀리그램" (첫 번째 함량만 사용)
+    private static final Pattern STRENGTH = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*(mg|밀리그램|밀리그람|mcg|µg|마이크로그램|g|그램)", Pattern.CASE_INSENSITIVE);
+
+    // 진료 시작일을 알 수 없을 때의 epoch day
+    public static final int UNKNOWN_DAY = Integer.MIN_VALUE;
+
+    /**
+     * 처방 데이터 순회 결과를 받는 콜백
+     */
+    public interface Sink {
+        void prescription(int prescriptionNo, String treatmentDate, String treatmentType);
+
+        void medication(String drugName, String drugEffect, String dosageDays,
+                        String component, String atcInfo, String kpicInfo);
+    }
+
+    private PrescriptionParser() {
+    }
+
+    /**
+     * 처방 데이터에서 약물 레코드 목록을 추출하는 메소드
+     */
+    public static List<MedicationItem> parse(Object medicationData) {
+        return parse(medicationData, null);
+    }
+
+    /**
+     * 처방 데이터에서 약물 레코드 목록을 추출하고, 약품 사전으로 약품을 식별하는 메소드
+     * - 사전에서 찾은 약품은 drugIndex가 설정되고, AtcInfo가 없으면 사전의 ATC 코드로 채운다
+     * - 분석/이상 사항 검사는 문자열을 번호로 바꾼 MedicationModel을 사용
+     */
+    public static List<MedicationItem> parse(Object medicationData, DrugDictionary dictionary) {
+        List<MedicationItem> items = new ArrayList<>();
+        walk(medicationData, new Sink() {
+            private int prescriptionNo;
+            private String treatmentDate;
+            private String treatmentType;
+            private int treatmentEpochDay;
+
+            @Override
+            public void prescription(int no, String date, String type) {
+                prescriptionNo = no;
+                treatmentDate = date;
+                treatmentType = type;
+                treatmentEpochDay = parseEpochDay(date);
+            }
+
+            @Override
+            public void medication(String drugName, String drugEffect, String dosageDays,
+                                   String component, String atcInfo, String kpicInfo) {
+                MedicationItem item = new MedicationItem();
+                item.prescriptionNo = prescriptionNo;
+                item.treatmentType = treatmentType;
+                item.treatmentDate = treatmentDate;
+                item.treatmentEpochDay = treatmentEpochDay;
+                item.drugName = drugName;
+                item.drugEffect = drugEffect;
+                item.dosageDays = parseDays(dosageDays);
+                item.strengthMg = parseStrengthMg(drugName);
+                item.component = component;
+                item.atcInfo = atcInfo;
+                item.kpicInfo = kpicInfo;
+                item.atcCode = extractAtcCode(atcInfo);
+
+                if (dictionary != null) {
+                    item.drugIndex = dictionary.lookup(drugName);
+                    if (item.atcCode == null && item.drugIndex != DrugDictionary.NOT_FOUND) {
+                        item.atcCode = dictionary.atc(item.drugIndex);
+                    }
+                }
+                items.add(item);
+            }
+        });
+        return items;
+    }
+
+    /**
+     * 처방 데이터를 한 번 순회하며 처방/약물을 sink에 전달하는 메소드
+     * - 처방마다 prescription을 먼저 호출하고, 그 처방의 약물마다 medication을 호출
+     * - 약품명이 없는 약물은 건너뜀
+     */
+    public static void walk(Object medicationData, Sink sink) {
+        forEachPrescription(medicationData, (prescription, prescriptionNo) -> walkPrescription(prescriptionNo, prescription, sink));
+    }
+
+    /**
+     * 처방 원본(Map)을 처방 순번과 함께 순서대로 전달하는 메소드 (walk 의 prescriptionNo 와 같은 번호)
+     */
+    public static void forEachPrescription(Object medicationData, ObjIntConsumer<Map<?, ?>> consumer) {
+        // 임시 파일로 받은 대용량 응답, 저장된 이력은 처방을 1건씩 읽어 전달
+        if (medicationData instanceof RecordStream) {
+            int[] prescriptionNo = {-1};
+            ((RecordStream) medicationData).forEachRecord(
+                    prescription -> consumer.accept(prescription, ++prescriptionNo[0]));
+            return;
+        }
+        if (!(medicationData instanceof Map)) {
+            return;
+        }
+
+        Map<?, ?> data = (Map<?, ?>) medicationData;
+        Object prescriptions = data.get("PrescriptionData");
+        if (!(prescriptions instanceof List)) {
+            prescriptions = data.get("ResultList");
+        }
+        if (!(prescriptions instanceof List)) {
+            return;
+        }
+
+        int prescriptionNo = -1;
+        for (Object prescriptionObj : (List<?>) prescriptions) {
+            prescriptionNo++;
+            if (prescriptionObj instanceof Map) {
+                consumer.accept((Map<?, ?>) prescriptionObj, prescriptionNo);
+            }
+        }
+    }
+
+    // 처방 1건과 그 약물들을 sink에 전달
+    private static void walkPrescription(int prescriptionNo, Map<?, ?> prescription, Sink sink) {
+        Object details = prescription.get("MedicationDetails");
+        if (!(details instanceof List)) {
+            details = prescription.get("RetrieveTreatmentInjectionInformationPersonDetailList");
+        }
+        if (!(details instanceof List)) {
+            return;
+        }
+        sink.prescription(prescriptionNo, asString(prescription.get("JinRyoGaesiIl")),
+                asString(prescription.get("JinRyoHyungTae")));
+
+        for (Object detailObj : (List<?>) details) {
+            if (!(detailObj instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> detail = (Map<?, ?>) detailObj;
+            String drugName = trimToNull(asString(detail.get("ChoBangYakPumMyung")));
+            if (drugName == null) {
+                continue;
+            }
+
+            String component = null;
+            String atcInfo = null;
+            String kpicInfo = null;
+            Object drugDetailInfo = detail.get("DrugDetailInfo");
+            if (drugDetailInfo instanceof Map) {
+                Map<?, ?> drugDetail = (Map<?, ?>) drugDetailInfo;
+                component = asString(drugDetail.get("CmpnInfo"));
+                atcInfo = asString(drugDetail.get("AtcInfo"));
+                kpicInfo = asString(drugDetail.get("KpicInfo"));
+            }
+            sink.medication(drugName, asString(detail.get("ChoBangYakPumHyoneung")),
+                    asString(detail.get("TuyakIlSoo")), component, atcInfo, kpicInfo);
+        }
+    }
+
+    /**
+     * ATC 정보 문자열에서 ATC 코드를 추출하는 메소드
+     */
+    public static String extractAtcCode(String atcInfo) {
+        if (atcInfo == null) {
+            return null;
+        }
+        Matcher matcher = ATC_CODE.matcher(atcInfo);
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    /**
+     * 약품명에서 1단위 함량(mg)을 추출하는 메소드
+     * @return 함량 mg (표기가 없으면 NaN)
+     */
+    public static double parseStrengthMg(String drugName) {
+        if (drugName == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = STRENGTH.matcher(drugName);
+        if (!matcher.find()) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        String unit = matcher.group(2).toLowerCase();
+        switch (unit) {
+            case "mcg":
+            case "µg":
+            case "마이크로그램":
+                return value / 1000;
+            case "g":
+            case "그램":
+                return value * 1000;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * 진료 시작일(yyyyMMdd, yyyy-MM-dd, yyyy.MM.dd 등)을 epoch day로 변환하는 메소드
+     * @return epoch day (해석할 수 없으면 UNKNOWN_DAY)
+     */
+    public static int parseEpochDay(String date) {
+        if (date == null) {
+            return UNKNOWN_DAY;
+        }
+        String digits = date.replaceAll("[^0-9]", "");
+        if (digits.length() != 8) {
+            return UNKNOWN_DAY;
+        }
+        try {
+            return (int) LocalDate.of(Integer.parseInt(digits.substring(0, 4)),
+                    Integer.parseInt(digits.substring(4, 6)),
+                    Integer.parseInt(digits.substring(6, 8))).toEpochDay();
+        } catch (DateTimeException e) {
+            return UNKNOWN_DAY;
+        }
+    }
+
+    /**
+     * 투약일수 문자열을 숫자로 변환하는 메소드 (해석할 수 없으면 0)
+     */
+    static int parseDays(String days) {
+        if (days == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(days.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * 약물 1건 (처방 1건의 MedicationDetails 원소)
+     */
+    public static class MedicationItem {
+        private int prescriptionNo = -1;
+        private String treatmentType;
+        private String treatmentDate;
+        private int treatmentEpochDay = UNKNOWN_DAY;
+        private String drugName;
+        private String drugEffect;
+        private int dosageDays;
+        private String component;
+        private String atcInfo;
+        private String atcCode;
+        private String kpicInfo;
+        private double strengthMg = Double.NaN;
+        private int drugIndex = DrugDictionary.NOT_FOUND;
+
+        /**
+         * 처방 목록에서의 처방 순번 (같은 처방의 약물은 같은 값, 약품명만으로 만든 레코드는 -1)
+         */
+        public int getPrescriptionNo() {
+            return prescriptionNo;
+        }
+
+        public String getTreatmentType() {
+            return treatmentType;
+        }
+
+        public String getTreatmentDate() {
+            return treatmentDate;
+        }
+
+        /**
+         * 진료 시작일의 epoch day (알 수 없으면 UNKNOWN_DAY)
+         */
+        public int getTreatmentEpochDay() {
+            return treatmentEpochDay;
+        }
+
+        public String getDrugName() {
+            return drugName;
+        }
+
+        public String getDrugEffect() {
+            return drugEffect;
+        }
+
+        public int getDosageDays() {
+            return dosageDays;
+        }
+
+        public String getComponent() {
+            return component;
+        }
+
+        public String getAtcInfo() {
+            return atcInfo;
+        }
+
+        public String getAtcCode() {
+            return atcCode;
+        }
+
+        public String getKpicInfo() {
+            return kpicInfo;
+        }
+
+        /**
+         * 약품명의 1단위 함량 mg (표기가 없으면 NaN)
+         */
+        public double getStrengthMg() {
+            return strengthMg;
+        }
+
+        /**
+         * 약품 사전의 약품 번호 (사전에서 찾지 못하면 DrugDictionary.NOT_FOUND)
+         */
+        public int getDrugIndex() {
+            return drugIndex;
+        }
+    }
+}
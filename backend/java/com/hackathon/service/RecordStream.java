@@ -0,0 +1,53 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 기록 목록을 한 번에 만들지 않고 1건씩 읽어 전달하는 조회 결과 (임시 파일 응답, 저장된 이력)
+ * - 처방 파서(PrescriptionParser.walk)가 Map 형식 응답 대신 그대로 읽을 수 있음
+ */
+public interface RecordStream {
+
+    /**
+     * 최상위 필드 전체 (기록 목록 필드는 제외, 읽기 전용)
+     */
+    Map<String, Object> getHeader();
+
+    /**
+     * 기록을 1건씩 전달하는 메소드
+     * @return 전달한 기록 수
+     */
+    int forEachRecord(Consumer<Map<String, Object>> consumer);
+
+    /**
+     * 원래 응답과 같은 형식으로 직렬화 (최상위 필드 → 기록 목록, 기록은 읽는 대로 바로 씀)
+     */
+    static void writeJson(RecordStream stream, String listField, JsonGenerator gen,
+                          SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        for (Map.Entry<String, Object> field : stream.getHeader().entrySet()) {
+            gen.writeFieldName(field.getKey());
+            serializers.defaultSerializeValue(field.getValue(), gen);
+        }
+        gen.writeArrayFieldStart(listField);
+        try {
+            stream.forEachRecord(record -> {
+                try {
+                    serializers.defaultSerializeValue(record, gen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,277 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.PrescriptionAnomalyDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 신기능(eGFR, 투석 여부)에 따른 용량 조절 검사 엔진
+ * - 규칙 파일(성분,eGFR하한,eGFR상한,최대함량mg,최대투약일수,조치,설명)을 성분 ID 순으로 정렬하여 기본형 배열에 보관
+ * - 성분별 규칙 시작 위치(ruleStart)로 해당 성분의 규칙만 순회
+ * - 투석 환자는 eGFR 0 으로 평가 (하한 0 구간 규칙이 적용)
+ * - 처방 이력 중 오늘 복용 중인 투약만 검사
+ * - 신기능 용량 규칙은 시작 시 로드 (faststart 프로필의 지연 초기화 제외)
+ */
+@Service
+@Lazy(false)
+public class RenalDosingService {
+
+    // 조치 (심각도 순)
+    public static final byte ACTION_AVOID = 0;   // 투여 금기
+    public static final byte ACTION_REDUCE = 1;  // 함량/기간 초과 시 감량 필요
+    public static final byte ACTION_CAUTION = 2; // 신기능 모니터링 필요
+
+    private static final String[] ACTION_NAMES = {"AVOID", "REDUCE", "CAUTION"};
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Value("${drug.renal.rules:data/renal-rules.csv}")
+    private String rulesPath;
+
+    @Autowired
+    private DrugDictionary drugDictionary;
+
+    private volatile Rules rules = Rules.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        try {
+            load(Paths.get(rulesPath));
+        } catch (Exception e) {
+            System.err.println("신기능 용량 규칙 로드 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 규칙 파일을 읽어 성분 ID 순 기본형 배열로 만드는 메소드
+     * 규칙 파일 형식 (헤더 1줄): 성분,eGFR하한,eGFR상한,최대함량mg,최대투약일수,조치(AVOID/REDUCE/CAUTION),설명
+     * - 최대함량/최대투약일수가 비어 있으면 해당 조건은 검사하지 않음
+     */
+    public void load(Path rulesFile) throws IOException {
+        if (!Files.exists(rulesFile)) {
+            System.out.println("신기능 용량 규칙 파일이 없습니다: " + rulesFile.toAbsolutePath());
+            return;
+        }
+
+        List<long[]> parsed = new ArrayList<>(); // (성분 ID, 행 번호)
+        List<String[]> rows = new ArrayList<>();
+        List<float[]> limits = new ArrayList<>(); // (eGFR하한, eGFR상한, 최대함량mg, 최대투약일수)
+        int skipped = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(rulesFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // 헤더
+            int lineNo = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", 7);
+                int ingredient = fields.length >= 6 ? drugDictionary.findIngredient(fields[0]) : DrugDictionary.NOT_FOUND;
+                if (ingredient == DrugDictionary.NOT_FOUND || actionOf(fields[5].trim()) < 0) {
+                    skipped++;
+                    continue;
+                }
+                // 숫자 형식이 잘못된 줄은 해당 줄만 건너뜀 (나머지 규칙은 그대로 로드)
+                float[] limit;
+                try {
+                    limit = parseLimits(fields);
+                } catch (NumberFormatException e) {
+                    System.err.println("신기능 용량 규칙 " + lineNo + "번째 줄 건너뜀 - 숫자 형식 오류: " + e.getMessage());
+                    skipped++;
+                    continue;
+                }
+                parsed.add(new long[]{ingredient, rows.size()});
+                rows.add(fields);
+                limits.add(limit);
+            }
+        }
+        parsed.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        int ingredientCount = drugDictionary.totalIngredients();
+        Rules loaded = new Rules(ingredientCount, parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            int ingredient = (int) parsed.get(i)[0];
+            String[] fields = rows.get((int) parsed.get(i)[1]);
+            float[] limit = limits.get((int) parsed.get(i)[1]);
+            loaded.egfrMin[i] = limit[0];
+            loaded.egfrMax[i] = limit[1];
+            loaded.maxStrengthMg[i] = limit[2];
+            loaded.maxDays[i] = (int) limit[3];
+            loaded.action[i] = actionOf(fields[5].trim());
+            loaded.messages[i] = fields.length > 6 ? fields[6].trim() : "";
+            loaded.ruleStart[ingredient + 1]++;
+        }
+        // 성분별 개수 → 시작 위치 누적
+        for (int i = 0; i < ingredientCount; i++) {
+            loaded.ruleStart[i + 1] += loaded.ruleStart[i];
+        }
+
+        rules = loaded;
+        System.out.println("신기능 용량 규칙 로드 완료: " + parsed.size() + "건 (건너뜀 " + skipped + "건)");
+    }
+
+    /**
+     * 환자가 오늘 복용 중인 약물을 신기능 기준으로 검사하는 메소드
+     * @param model 처방 이력 (약품 사전으로 만든 MedicationModel)
+     * @param egfr eGFR (mL/min/1.73m², 모르면 null)
+     * @param dialysis 투석 여부
+     */
+    public List<PrescriptionAnomalyDto> check(MedicationModel model, Double egfr, boolean dialysis) {
+        return check(model, egfr, dialysis, (int) LocalDate.now(KST).toEpochDay());
+    }
+
+    /**
+     * 기준일(epoch day)에 복용 중인 약물만 검사하는 메소드 (이미 끝난 투약은 현재 신기능과 무관하므로 제외)
+     */
+    public List<PrescriptionAnomalyDto> check(MedicationModel model, Double egfr, boolean dialysis, int today) {
+        List<PrescriptionAnomalyDto> anomalies = new ArrayList<>();
+        if (!dialysis && egfr == null) {
+            return anomalies;
+        }
+        Rules current = rules;
+        if (current.ruleCount == 0) {
+            return anomalies;
+        }
+        float effectiveEgfr = dialysis ? 0f : egfr.floatValue();
+
+        for (int row = 0; row < model.rowCount(); row++) {
+            int drug = model.drugIndex(row);
+            if (drug == DrugDictionary.NOT_FOUND || !model.isActiveOn(row, today)) {
+                continue;
+            }
+            int ingredients = drugDictionary.ingredientCount(drug);
+            for (int n = 0; n < ingredients; n++) {
+                int rule = current.match(drugDictionary.ingredientId(drug, n), effectiveEgfr,
+                        model.strengthMg(row), model.dosageDays(row));
+                if (rule >= 0) {
+                    anomalies.add(toAnomaly(current, rule, model, row, effectiveEgfr, dialysis));
+                }
+            }
+        }
+        return anomalies;
+    }
+
+    private PrescriptionAnomalyDto toAnomaly(Rules current, int rule, MedicationModel model, int row,
+                                             float egfr, boolean dialysis) {
+        double strengthMg = model.strengthMg(row);
+        StringBuilder message = new StringBuilder();
+        message.append(dialysis ? "투석 환자" : "eGFR " + egfr).append(" - ");
+        if (current.action[rule] == ACTION_REDUCE) {
+            if (!Float.isNaN(current.maxStrengthMg[rule])) {
+                message.append("최대 ").append(current.maxStrengthMg[rule]).append("mg ");
+            }
+            if (current.maxDays[rule] > 0) {
+                message.append("최대 ").append(current.maxDays[rule]).append("일 ");
+            }
+            message.append("(처방: ")
+                    .append(Double.isNaN(strengthMg) ? "함량 미상" : strengthMg + "mg")
+                    .append(", ").append(model.dosageDays(row)).append("일) ");
+        }
+        message.append(current.messages[rule]);
+
+        return new PrescriptionAnomalyDto(
+                PrescriptionAnomalyDto.TYPE_RENAL_DOSE,
+                ACTION_NAMES[current.action[rule]],
+                List.of(model.drugName(row)),
+                message.toString().trim());
+    }
+
+    // eGFR하한, eGFR상한(빈 값은 상한 없음), 최대함량mg(빈 값은 NaN), 최대투약일수(빈 값은 0)
+    private static float[] parseLimits(String[] fields) {
+        return new float[]{
+                Float.parseFloat(fields[1].trim()),
+                fields[2].isBlank() ? Float.MAX_VALUE : Float.parseFloat(fields[2].trim()),
+                fields[3].isBlank() ? Float.NaN : Float.parseFloat(fields[3].trim()),
+                fields[4].isBlank() ? 0 : Integer.parseInt(fields[4].trim())
+        };
+    }
+
+    private static byte actionOf(String action) {
+        for (byte i = 0; i < ACTION_NAMES.length; i++) {
+            if (ACTION_NAMES[i].equalsIgnoreCase(action)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 성분 ID 순으로 정렬된 규칙 배열
+     */
+    private static final class Rules {
+        static final Rules EMPTY = new Rules(0, 0);
+
+        final int ruleCount;
+        final int[] ruleStart;     // 성분 i의 규칙 = [ruleStart[i], ruleStart[i+1])
+        final float[] egfrMin;     // 포함
+        final float[] egfrMax;     // 미포함
+        final float[] maxStrengthMg;
+        final int[] maxDays;
+        final byte[] action;
+        final String[] messages;
+
+        Rules(int ingredientCount, int ruleCount) {
+            this.ruleCount = ruleCount;
+            this.ruleStart = new int[ingredientCount + 1];
+            this.egfrMin = new float[ruleCount];
+            this.egfrMax = new float[ruleCount];
+            this.maxStrengthMg = new float[ruleCount];
+            this.maxDays = new int[ruleCount];
+            this.action = new byte[ruleCount];
+            this.messages = new String[ruleCount];
+        }
+
+        /**
+         * 해당 성분·eGFR 구간에서 위반된 가장 심각한 규칙을 찾는 메소드
+         * @return 규칙 번호 (위반 없으면 -1)
+         */
+        int match(int ingredient, float egfr, double strengthMg, int days) {
+            int found = -1;
+            for (int i = ruleStart[ingredient]; i < ruleStart[ingredient + 1]; i++) {
+                if (egfr < egfrMin[i] || egfr >= egfrMax[i] || !violates(i, strengthMg, days)) {
+                    continue;
+                }
+                if (found < 0 || action[i] < action[found]) {
+                    found = i;
+                }
+            }
+            return found;
+        }
+
+        private boolean violates(int rule, double strengthMg, int days) {
+            if (action[rule] != ACTION_REDUCE) {
+                return true;
+            }
+            boolean checked = false;
+            if (!Float.isNaN(maxStrengthMg[rule]) && !Double.isNaN(strengthMg)) {
+                checked = true;
+                if (strengthMg > maxStrengthMg[rule]) {
+                    return true;
+                }
+            }
+            if (maxDays[rule] > 0 && days > 0) {
+                checked = true;
+                if (days > maxDays[rule]) {
+                    return true;
+                }
+            }
+            // 함량/일수를 알 수 없으면 확인이 필요하므로 위반으로 본다
+            return !checked;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hackathon.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 마감 시각 (스레드별)
+ * - RequestDeadlineFilter 가 요청 시작 시 설정하고, 외부 API 호출은 남은 시간 안에서만 기다림
+ *   → 앞선 호출이 느렸으면 뒤의 호출(예: 건강검진 → 투약정보 → 재조회)은 남은 시간만 받음
+ * - 다른 스레드(분석 실행기 등)로 넘어간 작업에는 전달되지 않음 (그쪽은 호출별 타임아웃만 적용)
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * 지금부터 budgetMillis 뒤를 마감으로 설정 (이미 더 이른 마감이 있으면 그대로 유지)
+     * @return 닫으면 이전 마감으로 되돌림
+     */
+    public static Scope start(long budgetMillis) {
+        Long previous = DEADLINE_NANOS.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        if (previous == null || deadline - previous < 0) {
+            DEADLINE_NANOS.set(deadline);
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * 남은 시간(ms) - 마감이 없으면 Long.MAX_VALUE, 지났으면 0 이하
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Long previous;
+
+        private Scope(Long previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                DEADLINE_NANOS.remove();
+            } else {
+                DEADLINE_NANOS.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hackathon.service;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 응답 본문을 크기에 따라 메모리 또는 임시 파일로 받는 서비스
+ * - 임계값 이하면 지금처럼 byte[] 로 읽음
+ * - 임계값을 넘으면(Content-Length 또는 실제로 읽은 양 기준) 본문을 그대로 임시 파일에 씀
+ *   → 처방 기록이 수천 건인 환자 여러 명을 동시에 조회해도 요청당 힙 사용량이 응답 크기와 무관
+ * - 임시 파일은 요청이 끝나면 지우고, 남은 파일은 주기적으로 정리 (비정상 종료 대비)
+ */
+@Service
+public class ResponseSpooler {
+
+    private static final String FILE_PREFIX = "upstream-";
+
+    // 이 크기를 넘는 응답은 임시 파일로 받음
+    @Value("${app.upstream.spill-threshold-bytes:8388608}")
+    private long spillThresholdBytes;
+
+    // 임시 파일 경로 (비어 있으면 java.io.tmpdir/hackathon-spill)
+    @Value("${app.upstream.spill-dir:}")
+    private String spillDirPath;
+
+    // 이 시간보다 오래된 임시 파일은 정리
+    @Value("${app.upstream.spill-max-age-minutes:30}")
+    private long spillMaxAgeMinutes;
+
+    private Path spillDir;
+    private ScheduledExecutorService cleanupScheduler;
+
+    @PostConstruct
+    public void init() throws IOException {
+        spillDir = spillDirPath.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "hackathon-spill")
+                : Paths.get(spillDirPath);
+        Files.createDirectories(spillDir);
+
+        // 이전 실행에서 남은 파일 포함
+        cleanup(0);
+        cleanupScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-spill-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleanupScheduler.scheduleWithFixedDelay(() -> cleanup(TimeUnit.MINUTES.toMillis(spillMaxAgeMinutes)),
+                1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+
+    /**
+     * 응답 본문을 읽는 메소드 (임계값을 넘으면 임시 파일로)
+     */
+    public Spooled read(ResponseBody body) throws IOException {
+        BufferedSource source = body.source();
+        long contentLength = body.contentLength();
+
+        // 길이를 모르는 응답(chunked)은 임계값까지만 메모리에 읽어 보고 판단
+        boolean large = contentLength > spillThresholdBytes
+                || (contentLength < 0 && source.request(spillThresholdBytes + 1));
+        if (!large) {
+            return Spooled.inMemory(source.readByteArray());
+        }
+
+        Path file = Files.createTempFile(spillDir, FILE_PREFIX, ".json");
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file.toFile()))) {
+            sink.writeAll(source);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        long size = Files.size(file);
+        System.out.println("외부 API 응답을 임시 파일로 저장: " + file.getFileName() + " (" + size + " bytes)");
+        return new Spooled(null, file, size);
+    }
+
+    // 수정 시각이 maxAgeMillis 보다 오래된 임시 파일 삭제
+    private void cleanup(long maxAgeMillis) {
+        long before = System.currentTimeMillis() - maxAgeMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() <= before) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("임시 파일 정리 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 읽은 응답 본문 (메모리 또는 임시 파일)
+     */
+    public static final class Spooled {
+        private final byte[] bytes;
+        private final Path file;
+        private final long size;
+
+        private Spooled(byte[] bytes, Path file, long size) {
+            this.bytes = bytes;
+            this.file = file;
+            this.size = size;
+        }
+
+        /**
+         * 임계값과 상관없이 메모리로 읽은 본문
+         */
+        public static Spooled inMemory(byte[] bytes) {
+            return new Spooled(bytes, null, -1);
+        }
+
+        public boolean isSpilled() {
+            return file != null;
+        }
+
+        /**
+         * 메모리로 읽은 본문 (임시 파일이면 null)
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * 임시 파일 경로 (메모리로 읽었으면 null)
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        public long getSize() {
+            return file != null ? size : bytes.length;
+        }
+    }
+}
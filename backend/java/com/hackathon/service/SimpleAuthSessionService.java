@@ -0,0 +1,94 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.AuthSession;
+import com.hackathon.dto.AuthRequestDto;
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.repository.AuthSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 간편인증 거래를 서버에 기록하고 확인하는 서비스
+ * - 간편인증 요청 시 요청 정보(이름/생년월일/휴대폰 번호)와 Tilko 거래 ID를 기록
+ * - 그 거래로 Tilko 건강검진 조회가 성공하면 인증 완료로 표시 (사용자가 앱에서 인증을 마쳐야만 조회가 성공)
+ * - 회원가입은 인증이 끝난 기록을 한 번만 사용 → 클라이언트가 보낸 개인정보로 다른 환자의 토큰을 받을 수 없음
+ */
+@Service
+public class SimpleAuthSessionService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Autowired
+    private AuthSessionRepository authSessionRepository;
+
+    @Autowired
+    private PatientKeys patientKeys;
+
+    // 간편인증 요청부터 회원가입까지 허용하는 시간 (분)
+    @Value("${app.auth.simple-auth-ttl-minutes:30}")
+    private long ttlMinutes;
+
+    /**
+     * 간편인증 요청을 기록하는 메소드 (기한이 지난 기록도 함께 정리)
+     */
+    public void record(AuthRequestDto request, AuthResponseDto response) {
+        LocalDateTime now = LocalDateTime.now(KST);
+        authSessionRepository.deleteCreatedBefore(now.minusMinutes(ttlMinutes));
+
+        String userName = nullToEmpty(request.getUserName());
+        String birthDate = nullToEmpty(request.getBirthDate());
+        String phoneNumber = nullToEmpty(request.getUserCellphoneNumber());
+        authSessionRepository.insert(new AuthSession(response.getReqTxId(), response.getCxId(),
+                patientKeys.of(userName, birthDate, phoneNumber), userName, birthDate, phoneNumber, now, null));
+    }
+
+    /**
+     * 클라이언트가 보낸 간편인증 응답에 해당하는 기록을 찾는 메소드
+     * - 거래 ID와 CxId가 모두 맞고 기한 안인 기록만 (없으면 null)
+     */
+    public AuthSession find(AuthResponseDto authData) {
+        AuthSession session = findUnexpired(authData.getReqTxId());
+        if (session == null || !session.getCxId().equals(authData.getCxId())) {
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Tilko 조회가 성공한 거래를 인증 완료로 표시하는 메소드
+     */
+    public void markVerified(String reqTxId) {
+        authSessionRepository.markVerified(reqTxId, LocalDateTime.now(KST));
+    }
+
+    /**
+     * 인증이 끝난 기록을 꺼내고 지우는 메소드 (한 번만 사용 가능, 인증 전이거나 없으면 null)
+     */
+    public AuthSession consumeVerified(String reqTxId) {
+        AuthSession session = findUnexpired(reqTxId);
+        if (session == null || !session.isVerified()) {
+            return null;
+        }
+        // 같은 기록으로 동시에 들어온 요청 중 하나만 사용
+        return authSessionRepository.delete(reqTxId) == 1 ? session : null;
+    }
+
+    private AuthSession findUnexpired(String reqTxId) {
+        if (reqTxId == null || reqTxId.isBlank()) {
+            return null;
+        }
+        AuthSession session = authSessionRepository.findByReqTxId(reqTxId);
+        if (session == null || session.getCreatedAt().isBefore(LocalDateTime.now(KST).minusMinutes(ttlMinutes))) {
+            return null;
+        }
+        return session;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,245 @@
+package com.hackathon.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 동일 키에 대한 동시 요청을 하나의 업스트림 호출로 합치는 유틸리티
+ * - 같은 키로 진행 중인 호출이 있으면 새 업스트림 호출 없이 결과를 공유한다
+ * - 대기자가 모두 취소되면 업스트림 호출도 취소한다
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * 실제 업스트림 호출 (취소 신호를 받아 HTTP 호출 등을 중단할 수 있어야 함)
+     */
+    @FunctionalInterface
+    public interface Upstream<V> {
+        V call(CancellationSignal signal) throws Exception;
+    }
+
+    /**
+     * 업스트림 호출 취소 신호 (사용자 요청이 합류하면 우선 처리 표시도 함께 전달)
+     */
+    public static class CancellationSignal {
+        private volatile boolean cancelled;
+        private volatile Runnable onCancel;
+        private volatile boolean urgent;
+        private volatile Runnable onUrgent;
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // 취소 시 실행할 동작 등록 (이미 취소된 경우 즉시 실행)
+        public void setOnCancel(Runnable onCancel) {
+            this.onCancel = onCancel;
+            if (cancelled) {
+                onCancel.run();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Runnable action = onCancel;
+            if (action != null) {
+                action.run();
+            }
+        }
+
+        // 사용자가 기다리는 요청이 합류했는지 (선행 분석 등 낮은 우선순위 호출도 우선 처리)
+        public boolean isUrgent() {
+            return urgent;
+        }
+
+        // 우선 처리 표시 시 실행할 동작 등록
+        public void setOnUrgent(Runnable onUrgent) {
+            this.onUrgent = onUrgent;
+            if (urgent) {
+                onUrgent.run();
+            }
+        }
+
+        void markUrgent() {
+            if (urgent) {
+                return;
+            }
+            urgent = true;
+            Runnable action = onUrgent;
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public SingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 키에 해당하는 호출에 참여하는 메소드
+     * 반환된 Future를 cancel 하면 해당 대기자만 빠지고, 마지막 대기자가 빠지면 업스트림도 취소된다
+     */
+    public CompletableFuture<V> join(K key, Upstream<V> upstream) {
+        return join(key, upstream, executor);
+    }
+
+    /**
+     * 업스트림 호출을 시작할 때 사용할 스레드 풀을 지정해 참여하는 메소드
+     * (이미 진행 중인 호출에 합류하면 그 호출의 스레드 풀을 그대로 사용)
+     */
+    public CompletableFuture<V> join(K key, Upstream<V> upstream, Executor executor) {
+        return join(key, upstream, executor, false);
+    }
+
+    /**
+     * 사용자가 기다리는 요청(urgent)이면 합류한 호출을 우선 처리로 표시하는 메소드
+     * - 업스트림에 우선 처리 신호 전달 (OpenAI 스케줄러 대기열에서 우선순위 상향)
+     * - 호출이 아직 스레드 풀 대기열에 있으면 지정한 스레드 풀에서도 실행을 시도 (먼저 시작한 쪽만 실행)
+     */
+    public CompletableFuture<V> join(K key, Upstream<V> upstream, Executor executor, boolean urgent) {
+        while (true) {
+            Flight flight = inFlight.computeIfAbsent(key, k -> new Flight(k, upstream));
+            CompletableFuture<V> waiter = flight.attach();
+            if (waiter == null) {
+                // 방금 취소된 호출 - 제거 후 새로 시작
+                inFlight.remove(key, flight);
+                continue;
+            }
+            if (urgent) {
+                flight.signal.markUrgent();
+            }
+            if (flight.markStarted()) {
+                System.out.println("SingleFlight 업스트림 호출 시작 - key: " + key);
+                start(flight, executor, false);
+            } else {
+                System.out.println("SingleFlight 진행 중인 호출에 합류 - key: " + key);
+                if (urgent && !flight.isRunning()) {
+                    System.out.println("SingleFlight 대기 중인 호출을 우선 실행 - key: " + key);
+                    start(flight, executor, true);
+                }
+            }
+            return waiter;
+        }
+    }
+
+    /**
+     * 현재 진행 중인 업스트림 호출 수
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // takeover: 이미 다른 스레드 풀 대기열에 있는 호출을 먼저 실행하려는 시도 (거절되어도 원래 실행이 남아 있음)
+    private void start(Flight flight, Executor executor, boolean takeover) {
+        try {
+            executor.execute(() -> run(flight));
+        } catch (RejectedExecutionException e) {
+            if (takeover) {
+                return;
+            }
+            inFlight.remove(flight.key, flight);
+            flight.result.completeExceptionally(e);
+        }
+    }
+
+    private void run(Flight flight) {
+        if (!flight.markRunning()) {
+            return;
+        }
+        V value = null;
+        Throwable error = null;
+        try {
+            value = flight.upstream.call(flight.signal);
+        } catch (Throwable e) {
+            error = e;
+        }
+        // 결과를 알리기 전에 제거 - 끝난 호출에 새 요청이 합류해 지난 결과를 받지 않도록
+        inFlight.remove(flight.key, flight);
+        if (error != null) {
+            flight.result.completeExceptionally(error);
+        } else {
+            flight.result.complete(value);
+        }
+    }
+
+    private class Flight {
+        private final K key;
+        private final Upstream<V> upstream;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final CancellationSignal signal = new CancellationSignal();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private int waiters;
+        private boolean started;
+        private boolean cancelled;
+
+        Flight(K key, Upstream<V> upstream) {
+            this.key = key;
+            this.upstream = upstream;
+        }
+
+        CompletableFuture<V> attach() {
+            synchronized (this) {
+                if (cancelled) {
+                    return null;
+                }
+                waiters++;
+            }
+
+            CompletableFuture<V> waiter = new CompletableFuture<>();
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    waiter.completeExceptionally(error);
+                } else {
+                    waiter.complete(value);
+                }
+            });
+            waiter.whenComplete((value, error) -> {
+                if (waiter.isCancelled()) {
+                    detach();
+                }
+            });
+            return waiter;
+        }
+
+        synchronized boolean markStarted() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        // 스레드 풀에서 실제로 실행을 시작했는지 (대기열에 있거나 취소되었으면 false)
+        boolean isRunning() {
+            return running.get();
+        }
+
+        // 여러 스레드 풀에 제출된 경우 먼저 시작한 한 번만 실행 (이미 취소된 호출은 실행하지 않음)
+        boolean markRunning() {
+            return !result.isDone() && running.compareAndSet(false, true);
+        }
+
+        private void detach() {
+            synchronized (this) {
+                waiters--;
+                if (waiters > 0 || result.isDone()) {
+                    return;
+                }
+                cancelled = true;
+            }
+
+            // 모든 대기자가 떠남 - 업스트림 호출 취소
+            System.out.println("SingleFlight 모든 대기자 이탈, 업스트림 취소 - key: " + key);
+            inFlight.remove(key, this);
+            signal.cancel();
+            result.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.service.AdaptiveConcurrencyLimiter.Priority;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기저질환 선행 분석
+ * - 건강 정보 조회(/integrated/health-data)에서 투약 정보를 받으면 바로 백그라운드로 분석을 시작하고,
+ *   결과를 처방 데이터 지문(PreparedAnalysis.flightKey)으로 보관
+ *   → 이어지는 /integrated/analyze-diseases 는 ChatGPT를 기다리지 않고 보관된 결과로 응답
+ * - 분석 요청이 선행 분석 진행 중에 오면 같은 ChatGPT 호출(SingleFlight)에 합류
+ *   (합류하면 OpenAI 대기열에서 사용자 요청 우선순위로 올리고, 아직 스레드 풀 대기열에 있으면 사용자 요청 스레드에서 실행)
+ * - 여유가 있을 때만 시작 (없으면 건너뜀, 분석 요청 때 평소처럼 호출)
+ *   · 동시 처리 한도(AdaptiveConcurrencyLimiter)의 BATCH 비율 안에서 허가를 받음
+ *   · 전용 스레드 풀(speculationExecutor)에 빈 스레드가 있어야 함
+ *   · OpenAI 대기열이 비어 있고 분당 예산이 openai-reserve 비율 이상 남아 있어야 함
+ * - 같은 환자의 다른 처방 데이터로 다시 조회하면 이전 선행 분석 취소, timeout-seconds 가 지나도 중단
+ */
+@Service
+public class SpeculativeAnalysisService {
+
+    @Value("${app.speculation.enabled:true}")
+    private boolean enabled;
+
+    // 보관할 분석 결과 수 / 보관 시간
+    @Value("${app.speculation.cache-size:256}")
+    private int cacheSize;
+
+    @Value("${app.speculation.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${app.speculation.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    // 선행 분석을 시작하려면 남아 있어야 하는 OpenAI 분당 예산 비율 (나머지는 사용자 요청 몫)
+    @Value("${app.speculation.openai-reserve:0.5}")
+    private double openAiReserve;
+
+    @Autowired
+    private ChatGptAiService chatGptAiService;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    private OpenAiRateScheduler rateScheduler;
+
+    @Autowired
+    @Qualifier("speculationExecutor")
+    private ExecutorService speculationExecutor;
+
+    // 환자별 진행 중인 선행 분석
+    private final ConcurrentHashMap<String, Speculation> running = new ConcurrentHashMap<>();
+
+    // 처방 데이터 지문 → 분석 결과 (오래 안 쓴 순으로 제거, results 로 동기화)
+    private final LinkedHashMap<String, Cached> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * 투약 정보로 선행 분석을 시작하는 메소드 (여유가 없거나 이미 결과가 있으면 아무것도 하지 않음)
+     * 분석 준비(프롬프트 생성)는 호출 스레드에서 수행 - 요청이 끝나면 임시 파일 응답(SpooledJsonResult)이 삭제되므로
+     */
+    public void speculate(String patientKey, Object medicationData) {
+        if (!enabled || medicationData == null) {
+            return;
+        }
+
+        ChatGptAiService.PreparedAnalysis prepared;
+        try {
+            prepared = chatGptAiService.prepareAnalysis(medicationData, false);
+        } catch (Exception e) {
+            System.err.println("선행 분석 준비 실패: " + e.getMessage());
+            return;
+        }
+        String fingerprint = prepared.getFlightKey();
+        if (lookup(fingerprint) != null) {
+            return;
+        }
+
+        Speculation previous = running.get(patientKey);
+        if (previous != null) {
+            if (fingerprint.equals(previous.fingerprint)) {
+                return;
+            }
+            System.out.println("이전 선행 분석 취소 - 처방 데이터 변경: " + patientKey);
+            previous.cancel(true);
+        }
+
+        if (!rateScheduler.hasHeadroom(openAiReserve)) {
+            System.out.println("선행 분석 건너뜀 - OpenAI 예산 여유 없음");
+            return;
+        }
+        long acquiredAt = limiter.tryAcquire(Priority.BATCH);
+        if (acquiredAt < 0) {
+            System.out.println("선행 분석 건너뜀 - 동시 처리 한도 초과");
+            return;
+        }
+
+        Speculation speculation = new Speculation(patientKey, prepared, acquiredAt);
+        running.put(patientKey, speculation);
+        try {
+            speculationExecutor.execute(speculation);
+        } catch (RejectedExecutionException e) {
+            System.out.println("선행 분석 건너뜀 - 실행 스레드 없음");
+            speculation.cancel(false);
+        }
+    }
+
+    /**
+     * 처방 데이터 지문에 해당하는 선행 분석 결과 (없거나 만료되었으면 null)
+     */
+    public DiseaseAnalysisDto lookup(String fingerprint) {
+        synchronized (results) {
+            Cached cached = results.get(fingerprint);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAtNanos >= 0) {
+                results.remove(fingerprint);
+                return null;
+            }
+            return cached.result;
+        }
+    }
+
+    // 백그라운드 분석 (timeout-seconds 를 요청 마감으로 걸어 ChatGPT 대기 상한으로 사용, 취소되면 인터럽트로 대기에서 빠짐)
+    private void analyze(String fingerprint, ChatGptAiService.PreparedAnalysis prepared) {
+        long startedAt = System.nanoTime();
+        RequestDeadline.Scope deadline = RequestDeadline.start(TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        try {
+            DiseaseAnalysisDto result = chatGptAiService.analyzePrepared(prepared, OpenAiRateScheduler.Priority.BATCH);
+            if (!"SUCCESS".equals(result.getStatus())) {
+                return;
+            }
+            synchronized (results) {
+                results.put(fingerprint, new Cached(result, System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes)));
+            }
+            System.out.println("선행 분석 완료 (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + "ms)");
+        } catch (InterruptedException e) {
+            System.out.println("선행 분석 취소됨");
+        } catch (Exception e) {
+            System.err.println("선행 분석 실패: " + e.getMessage());
+        } finally {
+            deadline.close();
+        }
+    }
+
+    // 진행 중인 선행 분석 (끝나거나 시작 전에 취소되어도 done 에서 허가 반납)
+    private final class Speculation extends FutureTask<Void> {
+        private final String patientKey;
+        private final String fingerprint;
+        private final long acquiredAt;
+
+        Speculation(String patientKey, ChatGptAiService.PreparedAnalysis prepared, long acquiredAt) {
+            super(() -> analyze(prepared.getFlightKey(), prepared), null);
+            this.patientKey = patientKey;
+            this.fingerprint = prepared.getFlightKey();
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        protected void done() {
+            running.remove(patientKey, this);
+            limiter.release(Priority.BATCH, acquiredAt, false, false);
+        }
+    }
+
+    private static final class Cached {
+        private final DiseaseAnalysisDto result;
+        private final long expiresAtNanos;
+
+        Cached(DiseaseAnalysisDto result, long expiresAtNanos) {
+            this.result = result;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 임시 파일로 받은 외부 API 응답 (JSON 객체 1개, 기록 목록 필드 1개)
+ * - 파일은 읽기 전용 메모리 매핑으로 읽고, 기록 목록은 Jackson 스트리밍으로 1건씩만 객체로 만듦
+ *   → 응답 전체를 문자열/트리로 만들지 않으므로 힙 사용량은 기록 1건 크기로 제한됨
+ * - 목록 외의 최상위 필드(Status, Message 등)는 열 때 한 번 읽어 둠
+ * - 클라이언트 응답(JSON 직렬화)도 파일을 다시 읽으며 기록을 그대로 흘려보냄
+ * - 기록 필터를 지원하고 RecordStream 이므로 Map 형식 응답 대신 그대로 넘길 수 있음
+ */
+public class SpooledJsonResult implements JsonSerializable, RecordStream {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private final Path file;
+    private final String listField;
+    private final Predicate<Map<?, ?>> recordFilter;
+    private final Map<String, Object> header = new LinkedHashMap<>();
+
+    private SpooledJsonResult(Path file, String listField, Predicate<Map<?, ?>> recordFilter) {
+        this.file = file;
+        this.listField = listField;
+        this.recordFilter = recordFilter;
+    }
+
+    /**
+     * 임시 파일을 열어 최상위 필드를 읽는 메소드
+     * @param listField 기록 목록 필드명 (예: ResultList)
+     * @param recordFilter 남길 기록 (null이면 전체)
+     */
+    public static SpooledJsonResult open(Path file, String listField, Predicate<Map<?, ?>> recordFilter) throws IOException {
+        SpooledJsonResult result = new SpooledJsonResult(file, listField, recordFilter);
+        try (JsonParser parser = result.parser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("JSON 객체가 아닙니다: " + file.getFileName());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (listField.equals(name)) {
+                    parser.skipChildren();
+                } else {
+                    result.header.put(name, MAPPER.readValue(parser, Object.class));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 최상위 필드 값 (기록 목록 필드는 제외)
+     */
+    public Object get(String field) {
+        return header.get(field);
+    }
+
+    @Override
+    public Map<String, Object> getHeader() {
+        return Collections.unmodifiableMap(header);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 필터를 통과한 기록을 1건씩 전달하는 메소드
+     * @return 전달한 기록 수
+     */
+    @Override
+    public int forEachRecord(Consumer<Map<String, Object>> consumer) {
+        int count = 0;
+        try (JsonParser parser = parser()) {
+            if (!moveToList(parser)) {
+                return 0;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> record = MAPPER.readValue(parser, LinkedHashMap.class);
+                if (recordFilter == null || recordFilter.test(record)) {
+                    consumer.accept(record);
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("임시 파일 읽기 실패: " + file.getFileName(), e);
+        }
+        return count;
+    }
+
+    /**
+     * 임시 파일 삭제 (요청 종료 시 호출)
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("임시 파일 삭제 실패: " + file.getFileName() + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * 원래 응답과 같은 형식으로 직렬화 (기록은 파일에서 1건씩 읽어 바로 씀)
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        RecordStream.writeJson(this, listField, gen, serializers);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return "SpooledJsonResult{" + file.getFileName() + ", " + header + "}";
+    }
+
+    // 파일 전체를 읽기 전용으로 매핑한 파서 (매핑은 채널을 닫아도 유지됨)
+    private JsonParser parser() throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return FACTORY.createParser(new ByteBufferBackedInputStream(mapped));
+    }
+
+    // 기록 목록 배열의 시작으로 이동 (목록이 없으면 false)
+    private boolean moveToList(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (listField.equals(name)) {
+                return value == JsonToken.START_ARRAY;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
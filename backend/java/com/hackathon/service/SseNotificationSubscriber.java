@@ -0,0 +1,36 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.NotificationDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SSE 연결 구독 (EventSource 재연결 시 Last-Event-ID 헤더로 재전송 위치를 받음)
+ */
+public class SseNotificationSubscriber extends NotificationSubscriber {
+
+    private final SseEmitter emitter;
+
+    public SseNotificationSubscriber(String userId, int capacity, SseEmitter emitter) {
+        super(userId, capacity);
+        this.emitter = emitter;
+    }
+
+    @Override
+    protected void send(NotificationDto notification) throws Exception {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name("notification")
+                .data(notification));
+    }
+
+    @Override
+    protected void sendHeartbeat() throws Exception {
+        // 주석 이벤트는 EventSource가 무시하므로 연결 유지용으로만 쓰임
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    protected void closeTransport() {
+        emitter.complete();
+    }
+}
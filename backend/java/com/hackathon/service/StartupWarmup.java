@@ -0,0 +1,191 @@
+package com.hackathon.service;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 워밍업 - 배포 직후 첫 사용자가 느린 첫 요청을 겪지 않도록 준비
+ * - ApplicationRunner 이므로 끝나야 준비 상태(ReadinessState.ACCEPTING_TRAFFIC)가 되고 /auth/health 가 200
+ * - 외부 API(Tilko, ChatGPT)에 미리 연결해 공용 연결 풀(upstreamHttpClient)에 보관
+ * - Tilko 공개키 캐시 채우기
+ * - AES/RSA 암호화, 응답 JSON 파싱 + 처방조제 필터, 프롬프트 생성을 고정 데이터(warmup/medication-fixture.json)로 반복해 JIT 컴파일 유도
+ * - 단계별 첫 실행과 워밍업 후 소요 시간을 로그로 남김 (실패한 단계는 건너뛰고 시작은 계속)
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String FIXTURE = "/warmup/medication-fixture.json";
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    // 단계별 반복 횟수
+    @Value("${app.warmup.iterations:1000}")
+    private int iterations;
+
+    // 반복 단계 전체 시간 상한 (넘으면 남은 반복 생략)
+    @Value("${app.warmup.max-seconds:20}")
+    private long maxSeconds;
+
+    @Value("${tilko.api.host}")
+    private String tilkoApiHost;
+
+    @Value("${chatgpt.api.url}")
+    private String chatgptApiUrl;
+
+    @Autowired
+    private OkHttpClient upstreamHttpClient;
+
+    @Autowired
+    private TilkoPublicKeyCache publicKeyCache;
+
+    @Autowired
+    private ChatGptAiService chatGptAiService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            System.out.println("시작 워밍업 건너뜀 (app.warmup.enabled=false)");
+            return;
+        }
+
+        System.out.println("=== 시작 워밍업 시작 ===");
+        long startedAt = System.nanoTime();
+        List<String> report = new ArrayList<>();
+
+        // 1. 외부 API 연결 (연결은 풀에 남아 첫 요청이 재사용)
+        preconnect("Tilko 연결", tilkoApiHost, report);
+        preconnect("ChatGPT 연결", chatgptApiUrl, report);
+
+        // 2. 공개키 캐시
+        String publicKey = null;
+        try {
+            long begin = System.nanoTime();
+            publicKey = publicKeyCache.get();
+            long cold = System.nanoTime() - begin;
+            begin = System.nanoTime();
+            publicKeyCache.get();
+            report.add(line("Tilko 공개키", cold, System.nanoTime() - begin, 1));
+        } catch (Exception e) {
+            report.add("- Tilko 공개키: 실패 (" + e.getMessage() + ")");
+        }
+
+        // 3. 반복 실행으로 JIT 컴파일 유도
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(maxSeconds);
+        try {
+            String rsaKey = publicKey != null ? publicKey : localPublicKey();
+            byte[] aesKey = new byte[16];
+            byte[] aesIv = new byte[16];
+            repeat("RSA 암호화", deadline, report, () -> TilkoCrypto.rsaEncrypt(rsaKey, aesKey));
+            repeat("AES 암호화", deadline, report, () -> TilkoCrypto.aesEncrypt(aesKey, aesIv, "홍길동19900101"));
+
+            String fixture = loadFixture();
+            repeat("응답 파싱 + 처방조제 필터", deadline, report, () -> filterFixture(fixture));
+            Map<String, Object> medicationData = Map.of("ResultList", filterFixture(fixture));
+            repeat("프롬프트 생성", deadline, report, () -> chatGptAiService.prepareAnalysis(medicationData, false));
+        } catch (Exception e) {
+            report.add("- 반복 실행: 실패 (" + e.getMessage() + ")");
+        }
+
+        System.out.println("=== 시작 워밍업 완료 (" + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) + "ms) - 첫 실행 → 워밍업 후 ===");
+        report.forEach(System.out::println);
+    }
+
+    // URL의 호스트에 HEAD 요청 2번 (첫 요청 = 새 연결, 두 번째 = 풀의 연결 재사용)
+    private void preconnect(String name, String url, List<String> report) {
+        HttpUrl parsed = HttpUrl.parse(url);
+        if (parsed == null) {
+            report.add("- " + name + ": 건너뜀 (URL 형식 오류: " + url + ")");
+            return;
+        }
+
+        // 연결이 안 되는 환경(로컬 개발 등)에서 시작이 오래 멈추지 않도록 짧게
+        OkHttpClient client = upstreamHttpClient.newBuilder()
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .build();
+        Request request = new Request.Builder().url(parsed.resolve("/")).head().build();
+        try {
+            long begin = System.nanoTime();
+            client.newCall(request).execute().close();
+            long cold = System.nanoTime() - begin;
+            begin = System.nanoTime();
+            client.newCall(request).execute().close();
+            report.add(line(name, cold, System.nanoTime() - begin, 1));
+        } catch (IOException e) {
+            report.add("- " + name + ": 실패 (" + e.getMessage() + ")");
+        }
+    }
+
+    // 첫 실행 시간과 마지막 10회 평균을 기록 (deadline이 지나면 남은 반복 생략)
+    private void repeat(String name, long deadline, List<String> report, Step step) throws Exception {
+        long begin = System.nanoTime();
+        step.run();
+        long cold = System.nanoTime() - begin;
+
+        long[] recent = new long[10];
+        int count = 1;
+        while (count < iterations && System.nanoTime() < deadline) {
+            begin = System.nanoTime();
+            step.run();
+            recent[count % recent.length] = System.nanoTime() - begin;
+            count++;
+        }
+
+        int tailCount = Math.min(count - 1, recent.length);
+        long tailNanos = 0;
+        for (long elapsed : recent) {
+            tailNanos += elapsed;
+        }
+        report.add(line(name, cold, tailCount > 0 ? tailNanos / tailCount : cold, count));
+    }
+
+    private static JSONArray filterFixture(String fixture) throws Exception {
+        JSONObject json = (JSONObject) new JSONParser().parse(fixture);
+        return IntegratedHealthService.keepPrescriptionRecords((JSONArray) json.get("ResultList"));
+    }
+
+    private String loadFixture() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE)) {
+            if (in == null) {
+                throw new IOException("워밍업 데이터가 없습니다: " + FIXTURE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Tilko 공개키를 받지 못했을 때 RSA 반복용으로 쓰는 임시 공개키
+    private static String localPublicKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded());
+    }
+
+    private static String line(String name, long coldNanos, long warmNanos, int count) {
+        return String.format("- %s: %.2fms → %.3fms%s", name, coldNanos / 1_000_000.0, warmNanos / 1_000_000.0,
+                count > 1 ? " (" + count + "회)" : "");
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+}
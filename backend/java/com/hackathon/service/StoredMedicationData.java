@@ -0,0 +1,65 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.hackathon.mapper.HealthRecordMapper;
+import com.hackathon.repository.PrescriptionRepository;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 저장된 복용약물 전체 이력 (Tilko 복용약물 조회 결과 형식)
+ * - 증분 조회 후 응답용: 최상위 필드(Status 등)는 이번 조회 결과, ResultList는 저장된 전체 이력
+ * - 기록은 읽을 때마다 DB에서 최근 진료 순으로 1건씩 읽어 전달하므로 이력 전체를 힙에 만들지 않음
+ *   (분석 준비, 클라이언트 응답 직렬화가 각각 쿼리 1번씩 읽음)
+ */
+public class StoredMedicationData implements JsonSerializable, RecordStream {
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final String patientKey;
+    private final Map<String, Object> header;
+
+    public StoredMedicationData(PrescriptionRepository prescriptionRepository, String patientKey,
+                                Map<String, Object> header) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.patientKey = patientKey;
+        this.header = new LinkedHashMap<>(header);
+        this.header.remove("ResultList");
+    }
+
+    @Override
+    public Map<String, Object> getHeader() {
+        return Collections.unmodifiableMap(header);
+    }
+
+    @Override
+    public int forEachRecord(Consumer<Map<String, Object>> consumer) {
+        int[] count = {0};
+        prescriptionRepository.forEachPrescriptionNewestFirst(patientKey, (prescription, lines) -> {
+            consumer.accept(HealthRecordMapper.toTilkoRecord(prescription, lines));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        RecordStream.writeJson(this, "ResultList", gen, serializers);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return "StoredMedicationData{" + patientKey + ", " + header + "}";
+    }
+}
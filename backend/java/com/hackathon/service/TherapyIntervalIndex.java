@@ -0,0 +1,245 @@
+package com.hackathon.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * 환자 1명의 투약 기간 인덱스 (계열별 정적 구간 트리)
+ * - 투약 기간: [JinRyoGaesiIl, JinRyoGaesiIl + TuyakIlSoo) (epoch day 단위, 끝 미포함)
+ * - 계열 키별로 시작일 순 정렬 배열 + 부분 트리 최대 종료일(maxEnd) 배열을 만들어
+ *   정렬 배열 자체를 균형 이진 트리로 사용 (구간 [lo, hi)의 루트는 mid = (lo + hi) / 2)
+ * - 구간 겹침 조회는 O(log n + k), 결과는 중위 순회 순서(= 시작일 순)
+ */
+public class TherapyIntervalIndex {
+
+    private final MedicationModel model;
+    private final Map<String, ClassTree> trees;
+
+    private TherapyIntervalIndex(MedicationModel model, Map<String, ClassTree> trees) {
+        this.model = model;
+        this.trees = trees;
+    }
+
+    /**
+     * ATC 4단계(예: C10AA) 기준 인덱스를 만드는 메소드
+     */
+    public static TherapyIntervalIndex byAtcClass(MedicationModel model) {
+        // 계열 키는 서로 다른 ATC 코드마다 한 번만 계산
+        String[] classOfAtc = new String[model.atcCount()];
+        for (int atc = 0; atc < classOfAtc.length; atc++) {
+            String code = model.atcCodeOf(atc);
+            classOfAtc[atc] = code.length() >= 5 ? code.substring(0, 5) : null;
+        }
+        return build(model, atc -> classOfAtc[atc]);
+    }
+
+    /**
+     * 임의의 계열 키로 인덱스를 만드는 메소드
+     * @param classifier ATC 코드 번호 → 계열 키 (null이면 제외, ATC 코드가 없는 약물은 항상 제외)
+     */
+    public static TherapyIntervalIndex build(MedicationModel model, IntFunction<String> classifier) {
+        Map<String, List<Integer>> byClass = new HashMap<>();
+        for (int row = 0; row < model.rowCount(); row++) {
+            if (model.atc(row) == MedicationModel.NONE || model.day(row) == PrescriptionParser.UNKNOWN_DAY
+                    || model.dosageDays(row) <= 0) {
+                continue;
+            }
+            String key = classifier.apply(model.atc(row));
+            if (key != null) {
+                byClass.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<String, ClassTree> trees = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : byClass.entrySet()) {
+            trees.put(entry.getKey(), new ClassTree(model, entry.getValue()));
+        }
+        return new TherapyIntervalIndex(model, trees);
+    }
+
+    public Set<String> classes() {
+        return trees.keySet();
+    }
+
+    /**
+     * 계열 안에서 [from, to) 와 겹치는 투약 기간의 약물 번호 목록 (시작일 순)
+     */
+    public int[] overlapping(String classKey, int from, int to) {
+        ClassTree tree = trees.get(classKey);
+        if (tree == null || from >= to) {
+            return new int[0];
+        }
+        int[] found = new int[tree.size()];
+        int count = tree.collect(0, tree.size(), from, to, found, 0);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = tree.itemIndex[found[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 계열 안에서 같은 시기에 겹쳐 투약된 서로 다른 약물 쌍 목록 (중복 처방 후보)
+     * @param minOverlapDays 이 일수 이상 겹칠 때만 포함 (약 교체 시의 짧은 겹침 제외)
+     * @return {약물 번호 A, 약물 번호 B, 겹친 일수} 목록
+     */
+    public List<int[]> overlappingPairs(String classKey, int minOverlapDays) {
+        List<int[]> pairs = new ArrayList<>();
+        ClassTree tree = trees.get(classKey);
+        if (tree == null) {
+            return pairs;
+        }
+        int[] found = new int[tree.size()];
+        for (int i = 0; i < tree.size(); i++) {
+            // 자신보다 앞에 정렬된 기간(j < i)과의 쌍만 사용하여 각 쌍을 한 번씩 보고
+            int count = tree.collect(0, tree.size(), tree.start[i], tree.end[i], found, 0);
+            for (int n = 0; n < count && found[n] < i; n++) {
+                int j = found[n];
+                int overlap = Math.min(tree.end[i], tree.end[j]) - tree.start[i];
+                if (overlap >= minOverlapDays && !sameDrug(tree.itemIndex[i], tree.itemIndex[j])) {
+                    pairs.add(new int[]{tree.itemIndex[j], tree.itemIndex[i], overlap});
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * 계열의 [from, to) 안 실제 투약 일수 (겹치는 기간은 한 번만 계산)
+     */
+    public int cumulativeDays(String classKey, int from, int to) {
+        int total = 0;
+        for (int[] covered : coverage(classKey, from, to)) {
+            total += covered[1] - covered[0];
+        }
+        return total;
+    }
+
+    /**
+     * 계열의 [from, to) 안 투약 공백 구간 목록
+     * @return {시작 epoch day, 끝 epoch day(미포함)} 목록
+     */
+    public List<int[]> gaps(String classKey, int from, int to) {
+        List<int[]> gaps = new ArrayList<>();
+        int cursor = from;
+        for (int[] covered : coverage(classKey, from, to)) {
+            if (covered[0] > cursor) {
+                gaps.add(new int[]{cursor, covered[0]});
+            }
+            cursor = covered[1];
+        }
+        if (cursor < to) {
+            gaps.add(new int[]{cursor, to});
+        }
+        return gaps;
+    }
+
+    /**
+     * 계열 전체 투약 기간의 시작/끝 (투약 기록이 없으면 null)
+     */
+    public int[] span(String classKey) {
+        ClassTree tree = trees.get(classKey);
+        if (tree == null || tree.size() == 0) {
+            return null;
+        }
+        return new int[]{tree.start[0], tree.maxEnd[tree.size() >>> 1]};
+    }
+
+    // [from, to) 안에서 투약 기간의 합집합 (시작일 순, 서로 겹치지 않는 구간들)
+    private List<int[]> coverage(String classKey, int from, int to) {
+        List<int[]> merged = new ArrayList<>();
+        ClassTree tree = trees.get(classKey);
+        if (tree == null || from >= to) {
+            return merged;
+        }
+        int[] found = new int[tree.size()];
+        int count = tree.collect(0, tree.size(), from, to, found, 0);
+
+        for (int n = 0; n < count; n++) {
+            int s = Math.max(tree.start[found[n]], from);
+            int e = Math.min(tree.end[found[n]], to);
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && s <= last[1]) {
+                last[1] = Math.max(last[1], e);
+            } else {
+                merged.add(new int[]{s, e});
+            }
+        }
+        return merged;
+    }
+
+    private boolean sameDrug(int a, int b) {
+        if (model.drugIndex(a) != DrugDictionary.NOT_FOUND) {
+            return model.drugIndex(a) == model.drugIndex(b);
+        }
+        return model.drug(a) == model.drug(b);
+    }
+
+    /**
+     * 계열 1개의 정적 구간 트리
+     */
+    private static final class ClassTree {
+        final int[] start;
+        final int[] end;
+        final int[] itemIndex;
+        final int[] maxEnd; // maxEnd[mid] = 정렬 배열 [lo, hi) 의 최대 종료일
+
+        ClassTree(MedicationModel model, List<Integer> members) {
+            Integer[] order = members.toArray(new Integer[0]);
+            Arrays.sort(order, (a, b) -> Integer.compare(model.day(a), model.day(b)));
+
+            int size = order.length;
+            start = new int[size];
+            end = new int[size];
+            itemIndex = new int[size];
+            maxEnd = new int[size];
+            for (int i = 0; i < size; i++) {
+                start[i] = model.day(order[i]);
+                end[i] = start[i] + model.dosageDays(order[i]);
+                itemIndex[i] = order[i];
+            }
+            fillMaxEnd(0, size);
+        }
+
+        int size() {
+            return start.length;
+        }
+
+        private int fillMaxEnd(int lo, int hi) {
+            if (lo >= hi) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            maxEnd[mid] = Math.max(end[mid], Math.max(fillMaxEnd(lo, mid), fillMaxEnd(mid + 1, hi)));
+            return maxEnd[mid];
+        }
+
+        /**
+         * 정렬 배열 [lo, hi) 에서 [from, to) 와 겹치는 기간의 배열 위치를 시작일 순으로 out에 모으는 메소드
+         * - 부분 트리의 최대 종료일이 from 이하이면 통째로 제외
+         * - 시작일이 to 이상이면 오른쪽 부분 트리는 모두 시작일이 더 늦으므로 제외
+         */
+        int collect(int lo, int hi, int from, int to, int[] out, int count) {
+            if (lo >= hi) {
+                return count;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] <= from) {
+                return count;
+            }
+            count = collect(lo, mid, from, to, out, count);
+            if (start[mid] < to) {
+                if (end[mid] > from) {
+                    out[count++] = mid;
+                }
+                count = collect(mid + 1, hi, from, to, out, count);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hackathon.service;
+
+import com.hackathon.monitoring.CryptoEvent;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Tilko 요청 암호화 (AuthService, IntegratedHealthService, 시작 시 워밍업에서 공용)
+ * - AES 키는 RSA 공개키로 암호화해 ENC-KEY 헤더로, 개인정보 필드는 AES로 암호화해 본문으로 보냄
+ */
+public final class TilkoCrypto {
+
+    private TilkoCrypto() {
+    }
+
+    /**
+     * RSA 암호화 (Base64 공개키, 결과도 Base64)
+     */
+    public static String rsaEncrypt(String publicKeyStr, byte[] data) throws Exception {
+        CryptoEvent event = CryptoEvent.encrypt("RSA", data.length);
+        try {
+            byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
+            X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            PublicKey publicKey = keyFactory.generatePublic(spec);
+
+            Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
+            byte[] encrypted = cipher.doFinal(data);
+
+            return Base64.getEncoder().encodeToString(encrypted);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * AES 암호화 (빈 문자열은 그대로 빈 문자열)
+     */
+    public static String aesEncrypt(byte[] key, byte[] iv, String plainText) throws Exception {
+        if (plainText == null || plainText.isEmpty()) {
+            return "";
+        }
+
+        byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+        CryptoEvent event = CryptoEvent.encrypt("AES", plainBytes.length);
+        try {
+            SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+            IvParameterSpec ivSpec = new IvParameterSpec(iv);
+
+            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
+            byte[] encrypted = cipher.doFinal(plainBytes);
+
+            return Base64.getEncoder().encodeToString(encrypted);
+        } finally {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.hackathon.service;
+
+import com.hackathon.monitoring.PublicKeyFetchEvent;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tilko RSA 공개키 캐시
+ * - 요청마다 GetPublicKey를 부르지 않고 ttl 동안 재사용 (시작 시 StartupWarmup 에서 미리 조회)
+ * - 만료 시 동시에 들어온 요청 중 하나만 조회하고 나머지는 그 결과를 사용
+ * - Tilko가 오류를 돌려주면 invalidate 로 버려 다음 요청에서 다시 조회 (키 교체 대비)
+ */
+@Service
+public class TilkoPublicKeyCache {
+
+    // 응답 지연 추적(UpstreamLatencyTracker) 엔드포인트 이름
+    private static final String ENDPOINT = "tilko:getpublickey";
+
+    @Value("${tilko.api.host}")
+    private String apiHost;
+
+    @Value("${tilko.api.key}")
+    private String apiKey;
+
+    @Value("${tilko.public-key.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Autowired
+    private OkHttpClient upstreamHttpClient;
+
+    @Autowired
+    private UpstreamLatencyTracker latencyTracker;
+
+    private final ReentrantLock fetchLock = new ReentrantLock();
+    private OkHttpClient client;
+
+    private volatile String publicKey;
+    private volatile long expiresAtNanos;
+
+    @PostConstruct
+    public void init() {
+        // 공개키 조회는 가벼운 요청이므로 타임아웃 상한을 짧게 (연결 풀은 공유, 실제 타임아웃은 UpstreamLatencyTracker)
+        client = upstreamHttpClient.newBuilder()
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 공개키를 반환하는 메소드 (없거나 만료되었으면 조회)
+     */
+    public String get() throws Exception {
+        String cached = publicKey;
+        if (cached != null && System.nanoTime() - expiresAtNanos < 0) {
+            return cached;
+        }
+
+        fetchLock.lock();
+        try {
+            // 기다리는 동안 다른 요청이 조회했으면 그 결과 사용
+            if (publicKey != null && System.nanoTime() - expiresAtNanos < 0) {
+                return publicKey;
+            }
+            String fetched = fetch();
+            expiresAtNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes);
+            publicKey = fetched;
+            return fetched;
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    /**
+     * 캐시된 공개키를 버리는 메소드
+     */
+    public void invalidate() {
+        publicKey = null;
+    }
+
+    // Public Key 조회
+    private String fetch() throws Exception {
+        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
+
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+
+        Call call = latencyTracker.newCall(client, request, ENDPOINT);
+        long startedAt = System.nanoTime();
+        PublicKeyFetchEvent event = new PublicKeyFetchEvent();
+        event.begin();
+        try (Response response = call.execute()) {
+            event.httpStatus = response.code();
+            if (response.body() == null) {
+                throw new IOException("Response body is null");
+            }
+
+            byte[] body = response.body().bytes();
+            event.responseBytes = body.length;
+            latencyTracker.record(ENDPOINT, startedAt);
+            JSONParser jsonParser = new JSONParser();
+            JSONObject jsonObject = (JSONObject) jsonParser.parse(new String(body, StandardCharsets.UTF_8));
+
+            String fetched = (String) jsonObject.get("PublicKey");
+            if (fetched == null) {
+                throw new IOException("Public Key가 null입니다.");
+            }
+
+            event.success = true;
+            System.out.println("Tilko 공개키 조회 완료 (" + ttlMinutes + "분 동안 재사용)");
+            return fetched;
+        } finally {
+            event.commit();
+        }
+    }
+}
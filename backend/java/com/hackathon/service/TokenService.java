@@ -0,0 +1,269 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 토큰(JWT, HS256) 발급 / 검증
+ * - 서명 키만 있으면 어느 서버에서든 DB/세션 조회 없이 검증
+ * - 키 파일은 시작 시 한 번 읽어 SecretKeySpec으로 보관하고, 백그라운드에서 변경 시에만 다시 읽음 (키 교체)
+ *   키 파일 형식 (properties): current=키ID, key.키ID=Base64 비밀키 (이전 키는 남겨두면 기존 토큰도 검증됨)
+ * - 검증한 토큰 문자열 → 인증 주체를 캐시하여 같은 토큰의 다음 요청은 만료 시간만 확인
+ */
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.auth.key-file:data/auth-keys.properties}")
+    private String keyFile;
+
+    @Value("${app.auth.key-reload-seconds:60}")
+    private long keyReloadSeconds;
+
+    @Value("${app.auth.token-ttl-minutes:10080}")
+    private long tokenTtlMinutes;
+
+    // 의사 토큰은 공용 PC에서 쓰일 수 있어 근무 시간 정도만 유효
+    @Value("${app.auth.doctor-token-ttl-minutes:720}")
+    private long doctorTokenTtlMinutes;
+
+    // 검증 결과 캐시 크기 (넘으면 비움)
+    @Value("${app.auth.principal-cache-size:10000}")
+    private int principalCacheSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, AuthPrincipal> verified = new ConcurrentHashMap<>();
+    private volatile KeySet keySet = KeySet.EMPTY;
+    private long keyFileModified = Long.MIN_VALUE;
+    private ScheduledExecutorService keyReloader;
+
+    // Mac은 스레드 안전하지 않으므로 스레드별로 키 ID당 하나씩 보관 (키 세트가 바뀌면 새로 만듦)
+    private final ThreadLocal<MacCache> macs = new ThreadLocal<>();
+
+    @PostConstruct
+    public void init() {
+        reloadKeys();
+        if (keySet == KeySet.EMPTY) {
+            // 키 파일이 없으면 임의 키 사용 (이 서버에서만 검증 가능, 재시작하면 기존 토큰 무효)
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            Map<String, SecretKeySpec> keys = new HashMap<>();
+            keys.put("local", new SecretKeySpec(secret, ALGORITHM));
+            keySet = new KeySet("local", keys);
+            System.out.println("인증 키 파일이 없어 임시 키를 사용합니다: " + Paths.get(keyFile).toAbsolutePath());
+        }
+
+        keyReloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-key-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        keyReloader.scheduleWithFixedDelay(this::reloadKeys, keyReloadSeconds, keyReloadSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keyReloader.shutdownNow();
+    }
+
+    /**
+     * 환자용 토큰을 발급하는 메소드
+     */
+    public String issue(String userId, String patientKey) {
+        long now = System.currentTimeMillis() / 1000;
+        return sign(new AuthPrincipal(userId, patientKey, null, AuthPrincipal.ROLE_PATIENT,
+                now, now + TimeUnit.MINUTES.toSeconds(tokenTtlMinutes)));
+    }
+
+    /**
+     * 의사 웹용 토큰을 발급하는 메소드 (의사 계정 로그인 후)
+     */
+    public String issueDoctor(String doctorId, String doctorName) {
+        long now = System.currentTimeMillis() / 1000;
+        return sign(new AuthPrincipal(doctorId, null, doctorName, AuthPrincipal.ROLE_DOCTOR,
+                now, now + TimeUnit.MINUTES.toSeconds(doctorTokenTtlMinutes)));
+    }
+
+    private String sign(AuthPrincipal principal) {
+        try {
+            KeySet keys = keySet;
+            String signingInput = keys.currentHeader + "."
+                    + BASE64URL.encodeToString(objectMapper.writeValueAsBytes(principal));
+            return signingInput + "." + BASE64URL.encodeToString(
+                    mac(keys, keys.currentKid).doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (IOException e) {
+            throw new IllegalStateException("토큰 생성 실패", e);
+        }
+    }
+
+    /**
+     * 토큰을 검증하여 인증 주체를 돌려주는 메소드
+     * @return 서명이 틀리거나, 모르는 키이거나, 만료되었거나, 형식이 잘못되면 null
+     */
+    public AuthPrincipal verify(String token) {
+        long now = System.currentTimeMillis() / 1000;
+        AuthPrincipal cached = verified.get(token);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                verified.remove(token);
+                return null;
+            }
+            return cached;
+        }
+
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+
+        // 발급한 헤더는 키 ID별로 고정이므로 JSON 해석 없이 문자열로 키를 찾음
+        KeySet keys = keySet;
+        String kid = keys.kidByHeader.get(token.substring(0, headerEnd));
+        if (kid == null) {
+            return null;
+        }
+
+        try {
+            byte[] expected = mac(keys, kid).doFinal(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            byte[] signature = BASE64URL_DECODER.decode(token.substring(payloadEnd + 1));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                return null;
+            }
+            AuthPrincipal principal = objectMapper.readValue(
+                    BASE64URL_DECODER.decode(token.substring(headerEnd + 1, payloadEnd)), AuthPrincipal.class);
+            if (principal.isExpired(now)) {
+                return null;
+            }
+
+            if (verified.size() >= principalCacheSize) {
+                verified.clear();
+            }
+            verified.put(token, principal);
+            return principal;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    // 키 파일이 바뀌었으면 다시 읽음 (실패하면 기존 키 유지)
+    private synchronized void reloadKeys() {
+        Path path = Paths.get(keyFile);
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == keyFileModified) {
+                return;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            String current = properties.getProperty("current");
+            Map<String, SecretKeySpec> keys = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("key.")) {
+                    byte[] secret = Base64.getDecoder().decode(properties.getProperty(name).trim());
+                    if (secret.length < 32) {
+                        throw new IllegalArgumentException(name + " 키는 32바이트 이상이어야 합니다");
+                    }
+                    keys.put(name.substring(4), new SecretKeySpec(secret, ALGORITHM));
+                }
+            }
+            if (current == null || !keys.containsKey(current)) {
+                throw new IllegalArgumentException("current 키가 없습니다");
+            }
+
+            keySet = new KeySet(current, keys);
+            keyFileModified = modified;
+            // 제거된 키로 검증한 캐시가 남지 않도록 비움
+            verified.clear();
+            System.out.println("인증 키 로드 완료 - current: " + current + ", 키 " + keys.size() + "개");
+        } catch (Exception e) {
+            System.err.println("인증 키 로드 실패: " + e.getMessage());
+        }
+    }
+
+    private Mac mac(KeySet keys, String kid) {
+        MacCache cache = macs.get();
+        if (cache == null || cache.keySet != keys) {
+            cache = new MacCache(keys);
+            macs.set(cache);
+        }
+        Mac mac = cache.macs.get(kid);
+        if (mac == null) {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(keys.keys.get(kid));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+            cache.macs.put(kid, mac);
+        }
+        return mac;
+    }
+
+    /**
+     * 불변 키 세트 (키 ID → 키, 키 ID별 고정 헤더)
+     */
+    private static final class KeySet {
+        static final KeySet EMPTY = new KeySet(null, new HashMap<>());
+
+        final String currentKid;
+        final String currentHeader;
+        final Map<String, SecretKeySpec> keys;
+        final Map<String, String> kidByHeader = new HashMap<>();
+
+        KeySet(String currentKid, Map<String, SecretKeySpec> keys) {
+            this.currentKid = currentKid;
+            this.keys = keys;
+            for (String kid : keys.keySet()) {
+                kidByHeader.put(header(kid), kid);
+            }
+            this.currentHeader = currentKid != null ? header(currentKid) : null;
+        }
+
+        private static String header(String kid) {
+            String json = "{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}";
+            return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class MacCache {
+        final KeySet keySet;
+        final Map<String, Mac> macs = new HashMap<>(4);
+
+        MacCache(KeySet keySet) {
+            this.keySet = keySet;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.hackathon.service;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 엔드포인트별 응답 지연 추적 및 호출 타임아웃 계산
+ * - 엔드포인트(예: tilko:simpleauthrequest, openai:gpt-4o)마다 감쇠 히스토그램에 성공 응답 지연을 기록
+ * - 호출 타임아웃 = 최근 p99 × factor (min-ms ~ max-ms), 표본이 min-samples 미만이면 max-ms
+ *   → 평소 3초에 끝나는 호출은 10초 안팎에서 끊고, 원래 느린 호출은 그만큼 여유를 줌
+ * - 요청 마감(RequestDeadline)이 있으면 남은 시간을 넘지 않음, 이미 지났으면 호출하지 않고 실패
+ * - 타임아웃/실패한 호출은 기록하지 않음 (멈춘 외부 API 때문에 타임아웃이 늘어나지 않도록)
+ */
+@Service
+public class UpstreamLatencyTracker {
+
+    @Value("${app.upstream.timeout.factor:3.0}")
+    private double factor;
+
+    @Value("${app.upstream.timeout.min-ms:2000}")
+    private long minMillis;
+
+    @Value("${app.upstream.timeout.max-ms:60000}")
+    private long maxMillis;
+
+    @Value("${app.upstream.timeout.min-samples:20}")
+    private int minSamples;
+
+    // 표본 비중이 절반으로 줄어드는 시간
+    @Value("${app.upstream.timeout.half-life-seconds:300}")
+    private long halfLifeSeconds;
+
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 엔드포인트 타임아웃을 적용한 호출을 만드는 메소드 (요청 전송 ~ 응답 본문 수신 전체에 적용)
+     */
+    public Call newCall(OkHttpClient client, Request request, String endpoint) throws IOException {
+        Call call = client.newCall(request);
+        call.timeout().timeout(timeoutMillis(endpoint), TimeUnit.MILLISECONDS);
+        return call;
+    }
+
+    /**
+     * 이번 호출에 쓸 타임아웃(ms) - 요청 마감이 지났으면 IOException
+     */
+    public long timeoutMillis(String endpoint) throws IOException {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new IOException("요청 처리 제한 시간이 지나 외부 API(" + endpoint + ")를 호출하지 않습니다.");
+        }
+        return Math.min(adaptiveMillis(endpoint), remaining);
+    }
+
+    /**
+     * 성공한 호출의 지연을 기록하는 메소드
+     * @param startedAt 호출 시작 시각 (System.nanoTime)
+     */
+    public void record(String endpoint, long startedAt) {
+        long now = System.nanoTime();
+        histograms.computeIfAbsent(endpoint, key -> new LatencyHistogram(TimeUnit.SECONDS.toNanos(halfLifeSeconds), now))
+                .record(TimeUnit.NANOSECONDS.toMillis(now - startedAt), now);
+    }
+
+    // 최근 p99 × factor (표본이 부족하면 max)
+    private long adaptiveMillis(String endpoint) {
+        LatencyHistogram histogram = histograms.get(endpoint);
+        long now = System.nanoTime();
+        if (histogram == null || histogram.count(now) < minSamples) {
+            return maxMillis;
+        }
+        long p99 = histogram.percentile(0.99, now);
+        return Math.max(minMillis, Math.min(maxMillis, (long) (p99 * factor)));
+    }
+}
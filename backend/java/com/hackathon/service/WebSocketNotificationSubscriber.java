@@ -0,0 +1,46 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.dto.NotificationDto;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * WebSocket 세션 구독 (알림은 JSON 텍스트 메시지, 하트비트는 Ping 프레임)
+ * - 전송은 구독당 하나의 작업에서만 이루어지므로 세션에 동시 전송이 일어나지 않음
+ */
+public class WebSocketNotificationSubscriber extends NotificationSubscriber {
+
+    private final WebSocketSession session;
+    private final ObjectMapper objectMapper;
+
+    public WebSocketNotificationSubscriber(String userId, int capacity, WebSocketSession session,
+                                           ObjectMapper objectMapper) {
+        super(userId, capacity);
+        this.session = session;
+        this.objectMapper = objectMapper;
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    @Override
+    protected void send(NotificationDto notification) throws Exception {
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(notification)));
+    }
+
+    @Override
+    protected void sendHeartbeat() throws Exception {
+        session.sendMessage(new PingMessage());
+    }
+
+    @Override
+    protected void closeTransport() throws Exception {
+        if (session.isOpen()) {
+            session.close(CloseStatus.GOING_AWAY);
+        }
+    }
+}
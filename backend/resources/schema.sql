@@ -0,0 +1,114 @@
+-- 환자 / 처방 / 약물 / 건강검진 수치 스키마 (H2 기준)
+-- 모든 표는 자연키를 기본키로 사용하여 다시 가져온 이력을 MERGE(upsert)로 덮어쓴다
+
+CREATE TABLE IF NOT EXISTS patient (
+    patient_key   VARCHAR(32)  NOT NULL PRIMARY KEY,
+    user_id       VARCHAR(64),
+    name          VARCHAR(100),
+    birth_date    VARCHAR(8),
+    phone_number  VARCHAR(20),
+    created_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_patient_user_id ON patient (user_id);
+
+-- 기본키가 (환자, 날짜) 순이므로 환자별 기간 조회는 기본키 인덱스로 처리
+CREATE TABLE IF NOT EXISTS prescription (
+    patient_key       VARCHAR(32)  NOT NULL,
+    treatment_date    DATE         NOT NULL,
+    seq               INT          NOT NULL,
+    treatment_type    VARCHAR(20),
+    medication_count  INT          NOT NULL,
+    record_json       CLOB,
+    PRIMARY KEY (patient_key, treatment_date, seq)
+);
+
+-- Tilko 처방 원본(JSON) - 증분 조회 후 저장된 전체 이력을 조회 결과와 같은 형식으로 응답하기 위해 보관
+ALTER TABLE prescription ADD COLUMN IF NOT EXISTS record_json CLOB;
+
+CREATE TABLE IF NOT EXISTS medication_detail (
+    patient_key       VARCHAR(32)   NOT NULL,
+    treatment_date    DATE          NOT NULL,
+    prescription_seq  INT           NOT NULL,
+    line_no           INT           NOT NULL,
+    drug_name         VARCHAR(200)  NOT NULL,
+    drug_effect       VARCHAR(200),
+    dosage_days       INT           NOT NULL,
+    component         VARCHAR(500),
+    atc_code          VARCHAR(7),
+    kpic_info         VARCHAR(200),
+    strength_mg       DOUBLE,
+    PRIMARY KEY (patient_key, treatment_date, prescription_seq, line_no)
+);
+
+-- 날짜별(전체 환자) 조회, ATC 코드(접두어) + 기간 조회
+CREATE INDEX IF NOT EXISTS idx_medication_detail_date ON medication_detail (treatment_date);
+CREATE INDEX IF NOT EXISTS idx_medication_detail_atc ON medication_detail (atc_code, treatment_date);
+
+CREATE TABLE IF NOT EXISTS checkup_result (
+    patient_key   VARCHAR(32)   NOT NULL,
+    test_name     VARCHAR(100)  NOT NULL,
+    checkup_date  DATE          NOT NULL,
+    result_value  DOUBLE        NOT NULL,
+    PRIMARY KEY (patient_key, test_name, checkup_date)
+);
+
+-- 환자별 검진일 조회(이전 년도 조회), 날짜별 조회
+CREATE INDEX IF NOT EXISTS idx_checkup_result_patient_date ON checkup_result (patient_key, checkup_date);
+CREATE INDEX IF NOT EXISTS idx_checkup_result_date ON checkup_result (checkup_date);
+
+-- 환자별 / 데이터 종류별 마지막 동기화 기준일 (다음 동기화는 이 날짜 근처부터만 가져옴)
+CREATE TABLE IF NOT EXISTS sync_state (
+    patient_key     VARCHAR(32)  NOT NULL,
+    data_type       VARCHAR(20)  NOT NULL,
+    high_water      DATE         NOT NULL,
+    last_synced_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (patient_key, data_type)
+);
+
+-- 환자별 변경 이력 (앱 증분 동기화용) - version이 그 변경을 반영한 환자 데이터셋 버전
+-- entity: MEDICATION(row_date=진료 시작일, row_seq=처방 순번, row_line=줄 번호)
+--         CHECKUP(row_date=검진일, test_name=검사명)
+-- op: I(추가), U(변경), D(삭제)
+CREATE TABLE IF NOT EXISTS change_log (
+    seq          BIGINT        AUTO_INCREMENT PRIMARY KEY,
+    patient_key  VARCHAR(32)   NOT NULL,
+    entity       VARCHAR(20)   NOT NULL,
+    op           CHAR(1)       NOT NULL,
+    row_date     DATE          NOT NULL,
+    row_seq      INT,
+    row_line     INT,
+    test_name    VARCHAR(100),
+    changed_at   TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_patient_seq ON change_log (patient_key, seq);
+
+-- 버전 컬럼 추가 이전의 이력은 seq를 버전으로 사용 (patient_version 초기값도 MAX(seq)부터 시작)
+ALTER TABLE change_log ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE change_log SET version = seq WHERE version IS NULL;
+CREATE INDEX IF NOT EXISTS idx_change_log_patient_version ON change_log (patient_key, version);
+
+-- 환자별 데이터셋 버전 - 동기화 트랜잭션이 이 행을 잠근 채(SELECT ... FOR UPDATE) 비교/반영하므로
+-- 같은 환자의 동기화는 한 번에 하나씩 반영되고, 버전 순서가 커밋 순서와 같아짐
+CREATE TABLE IF NOT EXISTS patient_version (
+    patient_key  VARCHAR(32)  NOT NULL PRIMARY KEY,
+    version      BIGINT       NOT NULL
+);
+
+-- 간편인증 요청 기록 - 요청한 사람의 이름/생년월일/휴대폰 번호(= 인증 알림을 받은 사람)와 Tilko 거래 ID를 서버에 남기고,
+-- 그 거래로 Tilko 조회가 성공하면(사용자가 인증을 마쳐야만 성공) verified_at 기록
+-- 회원가입은 확인된 기록을 한 번만 사용하며, 환자 키는 클라이언트가 보낸 값이 아닌 이 기록으로 만듦
+CREATE TABLE IF NOT EXISTS auth_session (
+    req_tx_id     VARCHAR(100)  NOT NULL PRIMARY KEY,
+    cx_id         VARCHAR(100)  NOT NULL,
+    patient_key   VARCHAR(32)   NOT NULL,
+    user_name     VARCHAR(100)  NOT NULL,
+    birth_date    VARCHAR(20)   NOT NULL,   -- 간편인증 요청에 쓴 형식 그대로 (Tilko 조회에 다시 사용)
+    phone_number  VARCHAR(20)   NOT NULL,
+    created_at    TIMESTAMP     NOT NULL,
+    verified_at   TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_auth_session_created_at ON auth_session (created_at);
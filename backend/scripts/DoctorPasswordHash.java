@@ -0,0 +1,38 @@
+import com.hackathon.service.DoctorAccountService;
+
+import java.io.Console;
+import java.util.Arrays;
+
+/**
+ * 의사 웹 계정 파일(data/doctor-accounts.properties)에 넣을 줄 생성
+ * (단일 파일 실행, 서버 클래스를 클래스 경로에 지정)
+ * - 비밀번호는 화면에 표시하지 않고 두 번 입력받아 PBKDF2 해시로 변환
+ *
+ * 사용: java -cp {서버 클래스 경로} DoctorPasswordHash.java 의사ID 표시이름
+ */
+public class DoctorPasswordHash {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("사용: java -cp {서버 클래스 경로} DoctorPasswordHash.java 의사ID 표시이름");
+            System.exit(1);
+        }
+        Console console = System.console();
+        if (console == null) {
+            System.err.println("터미널에서 실행해야 비밀번호를 입력할 수 있습니다.");
+            System.exit(1);
+        }
+
+        char[] password = console.readPassword("비밀번호: ");
+        char[] confirm = console.readPassword("비밀번호 확인: ");
+        if (password == null || password.length == 0 || !Arrays.equals(password, confirm)) {
+            System.err.println("비밀번호가 비어 있거나 일치하지 않습니다.");
+            System.exit(1);
+        }
+
+        System.out.println(args[0] + ".name=" + args[1]);
+        System.out.println(args[0] + ".password=" + DoctorAccountService.hash(password));
+        Arrays.fill(password, '\0');
+        Arrays.fill(confirm, '\0');
+    }
+}
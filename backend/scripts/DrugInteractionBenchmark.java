@@ -0,0 +1,217 @@
+import com.hackathon.service.DrugDictionary;
+import com.hackathon.service.DrugInteractionService;
+
+import java.io.BufferedWriter;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 약물 상호작용 검사(DrugInteractionService.checkAll) 측정 - 동시 복용 약물 20개 이상
+ * (단일 파일 실행, 서버 클래스와 의존 jar를 클래스 경로에 지정)
+ * - 약품 마스터/규칙 파일을 지정하지 않으면 임의 데이터(약품 3000개, 성분 1500개, 규칙 20000건)를 만들어 사용
+ * - 복용 약물 수별로 워밍업 후 반복 측정하여 호출당 시간(µs)과 p50/p99, 발견한 상호작용 수를 출력
+ * - 비교용으로 같은 약물 목록을 성분 쌍 Set 조회로 검사한 시간도 출력 (비트 행렬 도입 전 방식)
+ *
+ * 사용: java -cp {서버 클래스 경로} DrugInteractionBenchmark.java [약물 수 목록(예: 20,30,50)] [반복 횟수] [약품 마스터 CSV] [상호작용 규칙 CSV]
+ */
+public class DrugInteractionBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int DRUG_SETS = 256;
+
+    private static final int SYNTHETIC_DRUGS = 3000;
+    private static final int SYNTHETIC_INGREDIENTS = 1500;
+    private static final int SYNTHETIC_RULES = 20000;
+
+    public static void main(String[] args) throws Exception {
+        int[] drugCounts = parseCounts(args.length > 0 ? args[0] : "20,30,50");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        Path workDir = Files.createTempDirectory("interaction-bench");
+        Path master = args.length > 2 ? Path.of(args[2]) : workDir.resolve("drug-master.csv");
+        Path rules = args.length > 3 ? Path.of(args[3]) : workDir.resolve("interaction-rules.csv");
+        Random random = new Random(42);
+        List<String[]> rulePairs = new ArrayList<>();
+        if (args.length <= 2) {
+            writeSyntheticData(master, rules, random, rulePairs);
+        }
+
+        DrugDictionary dictionary = new DrugDictionary();
+        dictionary.load(master, workDir.resolve("drug-master.idx"));
+        DrugInteractionService service = new DrugInteractionService();
+        inject(service, "drugDictionary", dictionary);
+        service.load(rules);
+        Set<Long> pairSet = rulePairs.isEmpty() ? null : pairSet(dictionary, rulePairs);
+
+        System.out.println("약품 " + dictionary.size() + "개, 성분 " + dictionary.totalIngredients() + "개, 반복 " + iterations + "회");
+        for (int drugCount : drugCounts) {
+            int[][] drugSets = drugSets(dictionary.size(), drugCount, random);
+
+            long blackhole = 0;
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                blackhole += run(service, drugSets, iterations / WARMUP_ROUNDS + 1, null);
+            }
+            long[] nanos = new long[iterations];
+            long found = run(service, drugSets, iterations, nanos);
+            blackhole += found;
+            report("비트 행렬  약물 " + drugCount + "개", nanos, found / (double) iterations);
+
+            if (pairSet != null) {
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    blackhole += runPairSet(dictionary, pairSet, drugSets, iterations / WARMUP_ROUNDS + 1, null);
+                }
+                long[] baseline = new long[iterations];
+                long baselineFound = runPairSet(dictionary, pairSet, drugSets, iterations, baseline);
+                blackhole += baselineFound;
+                report("성분쌍 Set 약물 " + drugCount + "개", baseline, baselineFound / (double) iterations);
+            }
+            if (blackhole == Long.MIN_VALUE) {
+                System.out.println(); // 결과를 사용하여 측정 코드가 제거되지 않도록
+            }
+        }
+    }
+
+    // checkAll 반복 호출 (nanos가 있으면 호출별 시간 기록), 발견한 상호작용 수 합계 반환
+    private static long run(DrugInteractionService service, int[][] drugSets, int iterations, long[] nanos) {
+        long found = 0;
+        for (int i = 0; i < iterations; i++) {
+            int[] drugs = drugSets[i % drugSets.length];
+            long startedAt = System.nanoTime();
+            found += service.checkAll(drugs).size();
+            if (nanos != null) {
+                nanos[i] = System.nanoTime() - startedAt;
+            }
+        }
+        return found;
+    }
+
+    // 비교 기준: 모든 약물 쌍의 모든 성분 쌍을 Set에서 조회
+    private static long runPairSet(DrugDictionary dictionary, Set<Long> pairSet, int[][] drugSets, int iterations, long[] nanos) {
+        long found = 0;
+        for (int i = 0; i < iterations; i++) {
+            int[] drugs = drugSets[i % drugSets.length];
+            long startedAt = System.nanoTime();
+            for (int a = 0; a < drugs.length; a++) {
+                for (int b = a + 1; b < drugs.length; b++) {
+                    for (int m = 0; m < dictionary.ingredientCount(drugs[a]); m++) {
+                        for (int n = 0; n < dictionary.ingredientCount(drugs[b]); n++) {
+                            if (pairSet.contains(pairKey(dictionary.ingredientId(drugs[a], m), dictionary.ingredientId(drugs[b], n)))) {
+                                found++;
+                            }
+                        }
+                    }
+                }
+            }
+            if (nanos != null) {
+                nanos[i] = System.nanoTime() - startedAt;
+            }
+        }
+        return found;
+    }
+
+    private static void report(String label, long[] nanos, double foundPerCall) {
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-22s 평균 %8.2fµs  p50 %8.2fµs  p99 %8.2fµs  호출당 상호작용 %.1f건%n",
+                label, total / 1000.0 / nanos.length, percentile(nanos, 0.50) / 1000.0,
+                percentile(nanos, 0.99) / 1000.0, foundPerCall);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    // 임의 약품 마스터(약품코드,약품명,성분명,ATC코드)와 상호작용 규칙(성분A,성분B,심각도,설명) 생성
+    private static void writeSyntheticData(Path master, Path rules, Random random, List<String[]> rulePairs) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(master, StandardCharsets.UTF_8)) {
+            writer.write("약품코드,약품명,성분명,ATC코드\n");
+            for (int drug = 0; drug < SYNTHETIC_DRUGS; drug++) {
+                Set<String> ingredients = new LinkedHashSet<>();
+                int count = 1 + random.nextInt(3);
+                while (ingredients.size() < count) {
+                    ingredients.add(ingredientName(random.nextInt(SYNTHETIC_INGREDIENTS)));
+                }
+                writer.write(String.format("D%05d,벤치약품%05d정,%s,C%02dAA%02d%n",
+                        drug, drug, String.join("+", ingredients), random.nextInt(100), random.nextInt(100)));
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        String[] severities = {"CONTRAINDICATED", "MAJOR", "MODERATE", "MINOR"};
+        try (BufferedWriter writer = Files.newBufferedWriter(rules, StandardCharsets.UTF_8)) {
+            writer.write("성분A,성분B,심각도,설명\n");
+            while (rulePairs.size() < SYNTHETIC_RULES) {
+                int a = random.nextInt(SYNTHETIC_INGREDIENTS);
+                int b = random.nextInt(SYNTHETIC_INGREDIENTS);
+                if (a == b || !seen.add(pairKey(a, b))) {
+                    continue;
+                }
+                rulePairs.add(new String[]{ingredientName(a), ingredientName(b)});
+                writer.write(ingredientName(a) + "," + ingredientName(b) + ","
+                        + severities[random.nextInt(severities.length)] + ",벤치마크 규칙\n");
+            }
+        }
+    }
+
+    private static String ingredientName(int id) {
+        return String.format("ingredient%04d", id);
+    }
+
+    // 규칙의 성분명을 사전 성분 ID 쌍으로 변환
+    private static Set<Long> pairSet(DrugDictionary dictionary, List<String[]> rulePairs) {
+        Set<Long> pairs = new HashSet<>();
+        for (String[] pair : rulePairs) {
+            int a = dictionary.findIngredient(pair[0]);
+            int b = dictionary.findIngredient(pair[1]);
+            if (a != DrugDictionary.NOT_FOUND && b != DrugDictionary.NOT_FOUND) {
+                pairs.add(pairKey(a, b));
+            }
+        }
+        return pairs;
+    }
+
+    private static long pairKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    // 중복 없는 임의 약물 목록 DRUG_SETS개
+    private static int[][] drugSets(int drugTotal, int drugCount, Random random) {
+        int[][] sets = new int[DRUG_SETS][];
+        for (int s = 0; s < DRUG_SETS; s++) {
+            Set<Integer> drugs = new LinkedHashSet<>();
+            while (drugs.size() < Math.min(drugCount, drugTotal)) {
+                drugs.add(random.nextInt(drugTotal));
+            }
+            sets[s] = drugs.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return sets;
+    }
+
+    private static int[] parseCounts(String value) {
+        String[] parts = value.split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            counts[i] = Integer.parseInt(parts[i].trim());
+        }
+        return counts;
+    }
+
+    // 스프링 없이 실행하므로 @Autowired 필드를 직접 설정
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,184 @@
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR 녹화 파일을 구간(Tilko 호출, 공개키 조회, 암호화, 처방 필터링, ChatGPT 호출)별 지연/할당 표로 요약
+ * (단일 파일 실행: java JfrPhaseReport.java {녹화 파일})
+ *
+ * 녹화: 서버를 -XX:StartFlightRecording=filename=hackathon.jfr,settings=profile 옵션으로 실행하거나
+ *      실행 중인 서버에 jcmd {pid} JFR.start settings=profile / JFR.dump filename=hackathon.jfr
+ * - 구간 = com.hackathon.* 이벤트 (monitoring 패키지), 구간 이름은 이벤트 라벨 + endpoint/알고리즘/모델
+ * - 할당은 jdk.ObjectAllocationSample(샘플 가중치 = 추정 할당량)을 같은 스레드에서 진행 중이던 구간에 배정
+ *   (샘플링이므로 짧은 구간은 0으로 보일 수 있음, 건수가 많을수록 정확)
+ */
+public class JfrPhaseReport {
+
+    private static final String PHASE_PREFIX = "com.hackathon.";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String OUTSIDE = "(구간 밖)";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("사용: java JfrPhaseReport.java {녹화 파일}");
+            System.exit(1);
+        }
+
+        Map<Long, List<Phase>> phasesByThread = new HashMap<>();
+        Map<String, List<Long>> durationsByPhase = new TreeMap<>();
+        List<long[]> samples = new ArrayList<>(); // {스레드, 시각(ns), 추정 할당량}
+
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                RecordedThread thread = event.getThread();
+                long threadId = thread != null ? thread.getJavaThreadId() : -1;
+
+                if (type.startsWith(PHASE_PREFIX)) {
+                    String name = phaseName(event);
+                    long start = nanos(event.getStartTime());
+                    long duration = event.getDuration().toNanos();
+                    durationsByPhase.computeIfAbsent(name, key -> new ArrayList<>()).add(duration);
+                    phasesByThread.computeIfAbsent(threadId, key -> new ArrayList<>())
+                            .add(new Phase(name, start, start + duration));
+                } else if (ALLOCATION_SAMPLE.equals(type)) {
+                    samples.add(new long[]{threadId, nanos(event.getStartTime()), event.getLong("weight")});
+                }
+            }
+        }
+
+        if (durationsByPhase.isEmpty()) {
+            System.out.println("com.hackathon.* 이벤트가 없습니다. 녹화 중에 요청이 있었는지 확인하세요.");
+            return;
+        }
+
+        // 할당 샘플을 같은 스레드에서 진행 중이던 (가장 안쪽) 구간에 배정
+        for (List<Phase> phases : phasesByThread.values()) {
+            phases.sort(Comparator.comparingLong(phase -> phase.start));
+            long maxEnd = Long.MIN_VALUE;
+            for (Phase phase : phases) {
+                maxEnd = Math.max(maxEnd, phase.end);
+                phase.maxEndSoFar = maxEnd;
+            }
+        }
+        Map<String, Long> allocatedByPhase = new HashMap<>();
+        long allocatedTotal = 0;
+        for (long[] sample : samples) {
+            String name = enclosingPhase(phasesByThread.get(sample[0]), sample[1]);
+            allocatedByPhase.merge(name, sample[2], Long::sum);
+            allocatedTotal += sample[2];
+        }
+
+        printLatency(durationsByPhase);
+        printAllocation(durationsByPhase, allocatedByPhase, allocatedTotal, samples.size());
+    }
+
+    private static void printLatency(Map<String, List<Long>> durationsByPhase) {
+        System.out.println("== 구간별 지연 (ms) ==");
+        System.out.printf("%-44s %7s %10s %9s %9s %9s %9s%n", "구간", "건수", "합계", "p50", "p90", "p99", "max");
+        for (Map.Entry<String, List<Long>> entry : durationsByPhase.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            long total = 0;
+            for (long duration : sorted) {
+                total += duration;
+            }
+            System.out.printf("%-44s %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), sorted.length,
+                    millis(total), millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]));
+        }
+        System.out.println();
+    }
+
+    private static void printAllocation(Map<String, List<Long>> durationsByPhase, Map<String, Long> allocatedByPhase,
+                                        long allocatedTotal, int sampleCount) {
+        System.out.println("== 구간별 할당 (" + ALLOCATION_SAMPLE + " " + sampleCount + "건 기준 추정) ==");
+        if (sampleCount == 0) {
+            System.out.println("할당 샘플이 없습니다. settings=profile 또는 default 로 녹화했는지 확인하세요.");
+            return;
+        }
+        System.out.printf("%-44s %12s %8s %12s%n", "구간", "할당(MB)", "비율", "건당(KB)");
+        List<String> names = new ArrayList<>(durationsByPhase.keySet());
+        names.add(OUTSIDE);
+        for (String name : names) {
+            long allocated = allocatedByPhase.getOrDefault(name, 0L);
+            List<Long> durations = durationsByPhase.get(name);
+            String perCall = durations != null ? String.format("%.1f", allocated / 1024.0 / durations.size()) : "-";
+            System.out.printf("%-44s %12.2f %7.1f%% %12s%n", name, allocated / 1048576.0,
+                    100.0 * allocated / allocatedTotal, perCall);
+        }
+    }
+
+    // 이벤트 라벨 + 구분 필드 (예: "Tilko Call / simpleauthrequest", "ChatGPT Call / gpt-4o (stream)")
+    private static String phaseName(RecordedEvent event) {
+        String name = event.getEventType().getLabel();
+        if (event.hasField("endpoint")) {
+            return name + " / " + event.getString("endpoint");
+        }
+        if (event.hasField("algorithm")) {
+            return name + " / " + event.getString("algorithm");
+        }
+        if (event.hasField("model")) {
+            return name + " / " + event.getString("model") + (event.getBoolean("streaming") ? " (stream)" : "");
+        }
+        return name;
+    }
+
+    // time 시각에 진행 중이던 구간 중 가장 늦게 시작한 구간 (없으면 구간 밖)
+    private static String enclosingPhase(List<Phase> phases, long time) {
+        if (phases == null) {
+            return OUTSIDE;
+        }
+        int low = 0;
+        int high = phases.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (phases.get(mid).start <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // 앞쪽 구간이 모두 time 전에 끝났으면 더 볼 필요 없음
+        for (int i = low - 1; i >= 0 && phases.get(i).maxEndSoFar >= time; i--) {
+            if (phases.get(i).end >= time) {
+                return phases.get(i).name;
+            }
+        }
+        return OUTSIDE;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Phase {
+        final String name;
+        final long start;
+        final long end;
+        long maxEndSoFar; // 이 구간까지(시작 순) 끝 시각의 최대값
+
+        Phase(String name, long start, long end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
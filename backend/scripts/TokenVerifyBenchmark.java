@@ -0,0 +1,261 @@
+import com.hackathon.config.AuthTokenFilter;
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.TokenService;
+import jakarta.servlet.FilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * 요청 인증 처리량 측정 - 토큰 검증(TokenService.verify)과 인증 필터 전체(AuthTokenFilter.doFilter)
+ * JMH 방식(워밍업 반복 후 측정 반복, 결과 소비)을 단일 파일로 구현 (빌드 파일이 없어 JMH 플러그인을 쓸 수 없음)
+ * - 캐시 적중: 같은 토큰들을 반복 검증 (만료 시간만 확인)
+ * - 캐시 미적중: 검증 결과 캐시를 1건으로 두어 매번 HMAC 계산 + 본문 JSON 해석
+ * - 키 교체 후: 키 파일의 current를 새 키로 바꾸고 다시 읽은 뒤, 이전 키로 발급한 토큰을 처음 검증 (캐시가 비워진 상태)
+ * - 필터: 모의 요청(spring-test)으로 경로 확인(AntPathMatcher) + 헤더 해석 + 검증(캐시 적중) + 권한 확인까지 측정
+ *   (비보호 경로, 환자 본인 경로, 의사 경로, 환자 토큰의 의사 경로 403)
+ *   요청마다 새 모의 응답 객체를 만드는 비용이 포함되고, 서블릿 컨테이너 / 다른 필터 / 네트워크 I/O는 포함되지 않음
+ * - 측정 반복별 초당 처리 수와 평균 ± 표준편차, 1회당 시간을 출력
+ *
+ * 사용: java -cp {서버 클래스 경로 + 의존 jar(spring-test, jakarta.servlet-api 포함)} TokenVerifyBenchmark.java [스레드 수] [측정 반복 수] [반복 시간(초)]
+ */
+public class TokenVerifyBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int TOKENS = 4096;
+    private static final String PATIENT_PREFIX = "bench-patient-";
+
+    // 필터를 통과한 요청은 컨트롤러 대신 아무 일도 하지 않는 체인으로 전달
+    private static final FilterChain PASS = (request, response) -> { };
+
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = TimeUnit.SECONDS.toMillis(args.length > 2 ? Long.parseLong(args[2]) : 1);
+
+        Path keyFile = Files.createTempDirectory("token-bench").resolve("auth-keys.properties");
+        writeKeys(keyFile, "k1", "k1");
+
+        TokenService cached = tokenService(keyFile, 1_000_000);
+        TokenService uncached = tokenService(keyFile, 1);
+        String[] tokens = issue(cached, TOKENS);
+
+        System.out.println("스레드 " + threads + "개, 워밍업 " + WARMUP_ITERATIONS + "회 + 측정 " + iterations + "회 × "
+                + iterationMillis + "ms, 토큰 " + TOKENS + "개");
+        measure("캐시 적중", threads, iterations, iterationMillis, t -> i -> expiresAt(cached.verify(tokens[i % TOKENS])));
+        measure("캐시 미적중", threads, iterations, iterationMillis, t -> i -> expiresAt(uncached.verify(tokens[i % TOKENS])));
+
+        // 필터 전체 - 모의 요청은 스레드 안전하지 않으므로 스레드마다 따로 만듦
+        AuthTokenFilter filter = authTokenFilter(cached);
+        String[] doctorTokens = issueDoctors(cached, TOKENS);
+        measureFilter("필터 비보호", threads, iterations, iterationMillis, filter, 200,
+                i -> request("POST", "/auth/request", null));
+        measureFilter("필터 환자", threads, iterations, iterationMillis, filter, 200,
+                i -> request("GET", "/records/" + PATIENT_PREFIX + i + "/medications", tokens[i]));
+        measureFilter("필터 의사", threads, iterations, iterationMillis, filter, 200,
+                i -> request("POST", "/patients/search", doctorTokens[i]));
+        measureFilter("필터 403", threads, iterations, iterationMillis, filter, 403,
+                i -> request("POST", "/patients/search", tokens[i]));
+
+        // 키 교체 - 이전 키(k1)는 남겨 두므로 기존 토큰도 계속 검증되어야 함
+        writeKeys(keyFile, "k2", "k1", "k2");
+        reloadKeys(cached);
+        int rotated = 0;
+        long startedAt = System.nanoTime();
+        for (String token : tokens) {
+            rotated += cached.verify(token) != null ? 1 : 0;
+        }
+        long firstPassNanos = System.nanoTime() - startedAt;
+        System.out.printf("%-12s 이전 키 토큰 %d/%d건 검증, 첫 검증 평균 %.2fµs%n",
+                "키 교체 후", rotated, TOKENS, firstPassNanos / 1000.0 / TOKENS);
+        measure("키 교체 후", threads, iterations, iterationMillis, t -> i -> expiresAt(cached.verify(tokens[i % TOKENS])));
+
+        cached.shutdown();
+        uncached.shutdown();
+    }
+
+    // 요청 TOKENS개를 스레드마다 만들어 돌려 가며 필터에 넣음 - 측정 전에 기대한 응답 코드인지 먼저 확인
+    private static void measureFilter(String label, int threads, int iterations, long iterationMillis,
+                                      AuthTokenFilter filter, int expectedStatus,
+                                      IntFunction<MockHttpServletRequest> request) throws InterruptedException {
+        long status = filter(filter, request.apply(0));
+        if (status != expectedStatus) {
+            throw new IllegalStateException(label + ": 응답 코드 " + status + " (기대 " + expectedStatus + ")");
+        }
+        measure(label, threads, iterations, iterationMillis, t -> {
+            MockHttpServletRequest[] requests = new MockHttpServletRequest[TOKENS];
+            for (int i = 0; i < TOKENS; i++) {
+                requests[i] = request.apply(i);
+            }
+            return i -> filter(filter, requests[i % TOKENS]);
+        });
+    }
+
+    // 워밍업 후 측정 반복마다 스레드들이 iterationMillis 동안 op를 반복한 횟수로 초당 처리량 계산
+    // (opForThread는 스레드 번호를 받아 그 스레드에서만 쓸 op를 만듦, op의 반환값은 결과 소비용)
+    private static void measure(String label, int threads, int iterations, long iterationMillis,
+                                IntFunction<IntToLongFunction> opForThread) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(threads, iterationMillis, opForThread);
+        }
+        double[] opsPerSecond = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            opsPerSecond[i] = runIteration(threads, iterationMillis, opForThread) * 1000.0 / iterationMillis;
+        }
+
+        double mean = 0;
+        for (double ops : opsPerSecond) {
+            mean += ops / iterations;
+        }
+        double variance = 0;
+        for (double ops : opsPerSecond) {
+            variance += (ops - mean) * (ops - mean) / Math.max(iterations - 1, 1);
+        }
+        System.out.printf("%-12s %,14.0f ± %,10.0f ops/s  (%.3fµs/op, 스레드당)%n",
+                label, mean, Math.sqrt(variance), threads * 1_000_000.0 / mean);
+    }
+
+    private static long runIteration(int threads, long iterationMillis, IntFunction<IntToLongFunction> opForThread)
+            throws InterruptedException {
+        AtomicLong total = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 997;
+            IntToLongFunction op = opForThread.apply(t);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+                long count = 0;
+                long consumed = 0;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 64; i++) {
+                        consumed += op.applyAsLong(offset + (int) count++);
+                    }
+                }
+                blackhole += consumed;
+                total.addAndGet(count);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return total.get();
+    }
+
+    private static long expiresAt(AuthPrincipal principal) {
+        return principal != null ? principal.getExpiresAt() : 1;
+    }
+
+    // 응답 객체는 오류를 쓰면 커밋되어 재사용할 수 없으므로 요청마다 새로 만듦
+    private static long filter(AuthTokenFilter filter, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, PASS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static String[] issue(TokenService tokenService, int count) {
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = tokenService.issue("bench-user-" + i, PATIENT_PREFIX + i);
+        }
+        return tokens;
+    }
+
+    private static String[] issueDoctors(TokenService tokenService, int count) {
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = tokenService.issueDoctor("bench-doctor-" + i, "의사" + i);
+        }
+        return tokens;
+    }
+
+    // 스프링 없이 실행하므로 @Value 필드를 직접 설정하고 init 호출
+    private static TokenService tokenService(Path keyFile, int principalCacheSize) throws Exception {
+        TokenService tokenService = new TokenService();
+        set(tokenService, "keyFile", keyFile.toString());
+        set(tokenService, "keyReloadSeconds", 3600L);
+        set(tokenService, "tokenTtlMinutes", 60L);
+        set(tokenService, "doctorTokenTtlMinutes", 60L);
+        set(tokenService, "principalCacheSize", principalCacheSize);
+        tokenService.init();
+        return tokenService;
+    }
+
+    // 경로 설정은 @Value 기본값과 같게
+    private static AuthTokenFilter authTokenFilter(TokenService tokenService) throws Exception {
+        AuthTokenFilter filter = new AuthTokenFilter();
+        set(filter, "protectedPaths", List.of("/records/**", "/labs/**", "/patients/**",
+                "/notifications/**", "/anomaly/**", "/integrated/analyze-diseases/batch"));
+        set(filter, "doctorPaths", List.of("/patients/**", "/anomaly/**",
+                "/integrated/analyze-diseases/batch", "/notifications/patient-info-request", "/records/medications/**"));
+        set(filter, "patientPathPatterns", List.of("/records/{patientKey}/**",
+                "/labs/{patientKey}/**", "/notifications/{userId}/recent"));
+        set(filter, "tokenService", tokenService);
+        return filter;
+    }
+
+    // 키 파일 형식: current=키ID, key.키ID=Base64 비밀키 (키 ID별 비밀키는 키 ID의 SHA-256으로 고정하여 교체 전후 같은 값 유지)
+    private static void writeKeys(Path keyFile, String current, String... kids) throws Exception {
+        StringBuilder properties = new StringBuilder("current=" + current + "\n");
+        for (String kid : kids) {
+            byte[] secret = MessageDigest.getInstance("SHA-256").digest(kid.getBytes(StandardCharsets.UTF_8));
+            properties.append("key.").append(kid).append('=').append(Base64.getEncoder().encodeToString(secret)).append('\n');
+        }
+        boolean existed = Files.exists(keyFile);
+        long previous = existed ? Files.getLastModifiedTime(keyFile).toMillis() : 0;
+        Files.writeString(keyFile, properties.toString());
+        // 같은 초 안에 다시 쓰면 수정 시간이 같아 다시 읽지 않으므로 시간을 앞으로 옮김
+        if (existed) {
+            Files.setLastModifiedTime(keyFile, FileTime.fromMillis(previous + 1000));
+        }
+    }
+
+    private static void reloadKeys(TokenService tokenService) throws Exception {
+        Method reload = TokenService.class.getDeclaredMethod("reloadKeys");
+        reload.setAccessible(true);
+        reload.invoke(tokenService);
+    }
+
+    private static void set(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
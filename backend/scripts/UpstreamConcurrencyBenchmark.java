@@ -0,0 +1,84 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 느린 외부 API 동시 호출 측정 (scripts/virtual-thread-benchmark.sh 에서 실행, 단일 파일 실행: java UpstreamConcurrencyBenchmark.java)
+ * - 간편인증 요청(POST /auth/request)을 동시에 N건 보내면 서버는 Tilko 대역에 같은 수의 느린 요청을 보내려 함
+ * - 대역의 maxInFlight = 인스턴스 1대가 동시에 열어 둘 수 있었던 외부 API 호출 수
+ *
+ * 사용: java UpstreamConcurrencyBenchmark.java {서버 URL} {대역 통계 URL} {동시 요청 수}
+ */
+public class UpstreamConcurrencyBenchmark {
+
+    private static final String AUTH_BODY =
+            "{\"userName\":\"홍길동\",\"birthDate\":\"19900101\",\"userCellphoneNumber\":\"01012345678\"}";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("사용: java UpstreamConcurrencyBenchmark.java {서버 URL} {대역 통계 URL} {동시 요청 수}");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        String statsUrl = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/request"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(AUTH_BODY))
+                .build();
+
+        // 이전 실행의 최대값 초기화
+        get(client, statsUrl + "?reset=true");
+
+        long[] latencies = new long[concurrency];
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[concurrency];
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            calls[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = (System.nanoTime() - sentAt) / 1_000_000;
+                        String outcome = error != null ? error.getClass().getSimpleName()
+                                : "HTTP " + response.statusCode();
+                        outcomes.computeIfAbsent(outcome, key -> new AtomicInteger()).incrementAndGet();
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(calls).join();
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        Arrays.sort(latencies);
+        System.out.println("동시 요청 수: " + concurrency);
+        System.out.println("전체 소요 시간(ms): " + elapsedMs);
+        System.out.println("응답: " + new TreeMap<>(outcomes));
+        System.out.println("지연(ms) p50=" + percentile(latencies, 0.50) + " p90=" + percentile(latencies, 0.90)
+                + " p99=" + percentile(latencies, 0.99) + " max=" + latencies[latencies.length - 1]);
+        System.out.println("대역 통계: " + get(client, statsUrl));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static String get(HttpClient client, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
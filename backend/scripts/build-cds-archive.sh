@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# AppCDS 아카이브 생성 (Spring Boot 3.3+, JDK 19+)
+# - 실행 jar를 풀어 고정 클래스패스를 만들고, 학습 실행(컨텍스트 refresh 후 종료)으로 로드된 클래스를 아카이브에 저장
+# - 사용: scripts/build-cds-archive.sh path/to/app.jar [출력 디렉터리]
+set -euo pipefail
+
+JAR=${1:?실행 jar 경로가 필요합니다}
+OUT=${2:-build/cds}
+
+rm -rf "$OUT"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT"
+APP_JAR="$OUT/$(basename "$JAR")"
+
+# 학습 실행 - 외부 API/DB 없이 컨텍스트만 띄우고 종료
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+     -Dspring.context.exit=onRefresh \
+     -jar "$APP_JAR" --spring.profiles.active=faststart
+
+echo "CDS 아카이브 생성 완료: $OUT/app.jsa"
+echo "실행: java -XX:SharedArchiveFile=$OUT/app.jsa -jar $APP_JAR --spring.profiles.active=faststart"
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# 시작 시간 측정 - 프로세스 시작부터 첫 요청 성공(HTTP 200)까지의 시간(ms)
+# - 기본 / faststart 프로필 / faststart + CDS 세 가지를 RUNS번씩 실행하여 최소, 중앙값, 최대를 출력
+# - 사용: scripts/startup-benchmark.sh path/to/app.jar
+#   환경 변수: RUNS(기본 5), PORT(기본 8082), HEALTH_PATH(기본 /api/auth/health), CDS_DIR(기본 build/cds)
+set -euo pipefail
+
+JAR=${1:?실행 jar 경로가 필요합니다}
+RUNS=${RUNS:-5}
+PORT=${PORT:-8082}
+HEALTH_URL="http://localhost:${PORT}${HEALTH_PATH:-/api/auth/health}"
+CDS_DIR=${CDS_DIR:-build/cds}
+
+now_ms() {
+  date +%s%3N
+}
+
+# 한 번 실행하여 첫 성공 응답까지의 시간을 출력
+measure() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$HEALTH_URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "프로세스가 종료되었습니다: $*" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+report() {
+  local name=$1
+  shift
+  local results=()
+  for ((i = 0; i < RUNS; i++)); do
+    results+=("$(measure "$@")")
+  done
+  printf '%s\n' "${results[@]}" | sort -n | awk -v name="$name" '
+    { v[NR] = $1 }
+    END { printf "%-20s min %6d ms   median %6d ms   max %6d ms\n", name, v[1], v[int((NR + 1) / 2)], v[NR] }'
+}
+
+report "default" java -jar "$JAR"
+report "faststart" java -jar "$JAR" --spring.profiles.active=faststart
+
+if [[ -f "$CDS_DIR/app.jsa" ]]; then
+  report "faststart+cds" java -XX:SharedArchiveFile="$CDS_DIR/app.jsa" \
+      -jar "$CDS_DIR/$(basename "$JAR")" --spring.profiles.active=faststart
+else
+  echo "CDS 아카이브가 없어 faststart+cds는 건너뜀 (scripts/build-cds-archive.sh 먼저 실행)"
+fi
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# 느린 외부 API 동시 호출 측정 - 플랫폼 스레드(기본) vs 가상 스레드(virtual 프로필)
+# - 같은 jar를 upstream-stub 프로필로 한 번 더 띄워 Tilko/ChatGPT 대역으로 사용 (응답 지연 LATENCY_MS)
+# - 측정 대상 인스턴스에 간편인증 요청을 CONCURRENCY건 동시에 보내고,
+#   대역에 동시에 열려 있던 요청 수(maxInFlight)와 응답 지연을 출력
+# - 사용: scripts/virtual-thread-benchmark.sh path/to/app.jar
+#   환경 변수: CONCURRENCY(기본 2000), LATENCY_MS(기본 5000), PORT(기본 8082), STUB_PORT(기본 9090),
+#             CONTEXT_PATH(기본 /api)
+set -euo pipefail
+
+JAR=${1:?실행 jar 경로가 필요합니다}
+CONCURRENCY=${CONCURRENCY:-2000}
+LATENCY_MS=${LATENCY_MS:-5000}
+PORT=${PORT:-8082}
+STUB_PORT=${STUB_PORT:-9090}
+CONTEXT_PATH=${CONTEXT_PATH:-/api}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+STUB_URL="http://localhost:${STUB_PORT}${CONTEXT_PATH}/stub"
+APP_URL="http://localhost:${PORT}${CONTEXT_PATH}"
+
+# 포트가 응답할 때까지 대기
+wait_for() {
+  local url=$1 pid=$2
+  until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "프로세스가 종료되었습니다: $url" >&2
+      return 1
+    fi
+    sleep 0.2
+  done
+}
+
+# 대역 서버 - 대기 중인 요청은 스레드를 점유하지 않으므로 연결 수만 늘림
+java -jar "$JAR" --server.port="$STUB_PORT" --spring.profiles.active=upstream-stub \
+    --app.upstream-stub.latency-ms="$LATENCY_MS" \
+    --server.tomcat.max-connections=50000 --server.tomcat.accept-count=5000 > /dev/null 2>&1 &
+STUB_PID=$!
+trap 'kill "$STUB_PID" 2> /dev/null || true' EXIT
+wait_for "$STUB_URL/stats" "$STUB_PID"
+
+run() {
+  local name=$1
+  shift
+  local pid
+  java "$@" -jar "$JAR" --server.port="$PORT" \
+      --tilko.api.host="$STUB_URL/tilko" \
+      --chatgpt.api.url="$STUB_URL/openai/v1/chat/completions" > /dev/null 2>&1 &
+  pid=$!
+  wait_for "$APP_URL/auth/health" "$pid"
+
+  echo "=== $name ==="
+  java "$SCRIPT_DIR/UpstreamConcurrencyBenchmark.java" "$APP_URL" "$STUB_URL/stats" "$CONCURRENCY"
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+}
+
+run "platform threads"
+run "virtual threads" -Djdk.tracePinnedThreads=short -Dspring.profiles.active=virtual
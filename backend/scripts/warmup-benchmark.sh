@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# 시작 워밍업 효과 측정 - 준비 완료(/auth/health 200) 직후 첫 요청 지연, 워밍업 끔 vs 켬
+# - 같은 jar를 upstream-stub 프로필로 한 번 더 띄워 Tilko/ChatGPT 대역으로 사용 (응답 지연 LATENCY_MS)
+# - 각 설정을 RUNS번 새로 띄워 첫 간편인증 요청, 첫 기저질환 분석 요청(워밍업 데이터 사용)의 지연 중앙값을 출력
+#   (대역은 로컬 HTTP라 TLS 연결 비용이 없으므로, 실제 Tilko/OpenAI 대비 연결 준비 효과는 작게 나옴)
+# - 사용: scripts/warmup-benchmark.sh path/to/app.jar
+#   환경 변수: RUNS(기본 5), LATENCY_MS(기본 0), PORT(기본 8082), STUB_PORT(기본 9090), CONTEXT_PATH(기본 /api)
+set -euo pipefail
+
+JAR=${1:?실행 jar 경로가 필요합니다}
+RUNS=${RUNS:-5}
+LATENCY_MS=${LATENCY_MS:-0}
+PORT=${PORT:-8082}
+STUB_PORT=${STUB_PORT:-9090}
+CONTEXT_PATH=${CONTEXT_PATH:-/api}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+FIXTURE="$SCRIPT_DIR/../resources/warmup/medication-fixture.json"
+AUTH_BODY='{"userName":"홍길동","birthDate":"19900101","userCellphoneNumber":"01012345678"}'
+
+STUB_URL="http://localhost:${STUB_PORT}${CONTEXT_PATH}/stub"
+APP_URL="http://localhost:${PORT}${CONTEXT_PATH}"
+
+# 200 응답이 올 때까지 대기
+wait_for() {
+  local url=$1 pid=$2
+  until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "프로세스가 종료되었습니다: $url" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+}
+
+# POST 한 번의 전체 지연(ms)
+post_ms() {
+  curl -s -o /dev/null -w '%{time_total}' -H 'Content-Type: application/json' --data-binary "$2" "$APP_URL$1" \
+      | awk '{ printf "%d", $1 * 1000 }'
+}
+
+java -jar "$JAR" --server.port="$STUB_PORT" --spring.profiles.active=upstream-stub \
+    --app.upstream-stub.latency-ms="$LATENCY_MS" > /dev/null 2>&1 &
+STUB_PID=$!
+trap 'kill "$STUB_PID" 2> /dev/null || true' EXIT
+wait_for "$STUB_URL/stats" "$STUB_PID"
+
+# 한 번 띄워 "간편인증 지연 분석 지연" 출력
+measure() {
+  local pid auth analyze
+  java -jar "$JAR" --server.port="$PORT" \
+      --tilko.api.host="$STUB_URL/tilko" \
+      --chatgpt.api.url="$STUB_URL/openai/v1/chat/completions" "$@" > /dev/null 2>&1 &
+  pid=$!
+  wait_for "$APP_URL/auth/health" "$pid"
+  auth=$(post_ms /auth/request "$AUTH_BODY")
+  analyze=$(post_ms /integrated/analyze-diseases "@$FIXTURE")
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+  echo "$auth $analyze"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+report() {
+  local name=$1
+  shift
+  local results=()
+  for ((i = 0; i < RUNS; i++)); do
+    results+=("$(measure "$@")")
+  done
+  printf "%-10s 첫 간편인증 median %6d ms   첫 기저질환 분석 median %6d ms\n" "$name" \
+      "$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)" \
+      "$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)"
+}
+
+report "cold" --app.warmup.enabled=false
+report "warm" --app.warmup.enabled=true
@@ -0,0 +1,48 @@
+package com.hackathon;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HealthcareApplicationTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaultDataSourceIsFileBackedH2() {
+        String url = (String) HealthcareApplication.DEFAULT_PROPERTIES.get("spring.datasource.url");
+
+        assertTrue(url.startsWith("jdbc:h2:file:"), url);
+        assertEquals("always", HealthcareApplication.DEFAULT_PROPERTIES.get("spring.sql.init.mode"));
+    }
+
+    @Test
+    void schemaIsReappliedOnRestartWithoutLosingRows() {
+        // 기본 설정처럼 파일 DB에 시작할 때마다 schema.sql 실행
+        String url = "jdbc:h2:file:" + dir.resolve("healthcare");
+        JdbcTemplate first = start(url);
+        first.update("INSERT INTO prescription (patient_key, treatment_date, seq, medication_count) "
+                + "VALUES ('p1', DATE '2025-03-01', 0, 1)");
+        first.execute("SHUTDOWN");
+
+        JdbcTemplate restarted = start(url);
+
+        assertEquals(1, restarted.queryForObject("SELECT COUNT(*) FROM prescription", Integer.class));
+        restarted.execute("SHUTDOWN");
+    }
+
+    private static JdbcTemplate start(String url) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+}
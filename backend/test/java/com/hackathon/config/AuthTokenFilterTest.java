@@ -0,0 +1,149 @@
+package com.hackathon.config;
+
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AuthTokenFilterTest {
+
+    private static final String PATIENT_KEY = "0123456789abcdef0123456789abcdef";
+    private static final String OTHER_PATIENT_KEY = "fedcba9876543210fedcba9876543210";
+
+    @TempDir
+    Path dir;
+
+    private TokenService tokenService;
+    private final AuthTokenFilter filter = new AuthTokenFilter();
+    private String patientToken;
+    private String doctorToken;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyFile", dir.resolve("auth-keys.properties").toString());
+        ReflectionTestUtils.setField(tokenService, "keyReloadSeconds", 3600L);
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMinutes", 60L);
+        ReflectionTestUtils.setField(tokenService, "doctorTokenTtlMinutes", 60L);
+        ReflectionTestUtils.setField(tokenService, "principalCacheSize", 100);
+        tokenService.init();
+        patientToken = tokenService.issue("user-1", PATIENT_KEY);
+        doctorToken = tokenService.issueDoctor("doctor-1", "김의사");
+
+        // @Value 기본값과 같은 경로 설정
+        ReflectionTestUtils.setField(filter, "protectedPaths", List.of("/records/**", "/labs/**", "/patients/**",
+                "/notifications/**", "/anomaly/**", "/integrated/analyze-diseases/batch"));
+        ReflectionTestUtils.setField(filter, "doctorPaths", List.of("/patients/**", "/anomaly/**",
+                "/integrated/analyze-diseases/batch", "/notifications/patient-info-request", "/records/medications/**"));
+        ReflectionTestUtils.setField(filter, "patientPathPatterns", List.of("/records/{patientKey}/**",
+                "/labs/{patientKey}/**", "/notifications/{userId}/recent"));
+        ReflectionTestUtils.setField(filter, "tokenService", tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenService.shutdown();
+    }
+
+    @Test
+    void missingOrInvalidTokenIsUnauthorized() throws Exception {
+        assertEquals(401, filter("GET", "/patients/search", null).getStatus());
+        assertEquals(401, filter("GET", "/patients/search", "not-a-token").getStatus());
+    }
+
+    @Test
+    void unprotectedPathsAndPreflightPassWithoutToken() throws Exception {
+        assertEquals(200, filter("POST", "/auth/request", null).getStatus());
+        assertEquals(200, filter("OPTIONS", "/patients/search", null).getStatus());
+    }
+
+    @Test
+    void doctorPathsRejectPatientTokens() throws Exception {
+        for (String path : List.of("/patients/search", "/anomaly/check", "/anomaly/check/batch",
+                "/integrated/analyze-diseases/batch", "/notifications/patient-info-request",
+                "/records/medications/by-atc")) {
+            assertEquals(403, filter("POST", path, patientToken).getStatus(), path);
+        }
+    }
+
+    @Test
+    void doctorPathsAllowDoctorTokens() throws Exception {
+        for (String path : List.of("/patients/search", "/anomaly/check", "/anomaly/check/batch",
+                "/integrated/analyze-diseases/batch", "/notifications/patient-info-request",
+                "/records/medications/by-atc")) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockHttpServletRequest request = request("POST", path, doctorToken);
+            filter.doFilter(request, response, new MockFilterChain());
+
+            assertEquals(200, response.getStatus(), path);
+            AuthPrincipal principal = AuthPrincipal.current(request);
+            assertEquals("doctor-1", principal.getUserId());
+            assertEquals("김의사", principal.getName());
+        }
+    }
+
+    @Test
+    void patientTokenIsLimitedToOwnPatientKey() throws Exception {
+        assertEquals(200, filter("GET", "/records/" + PATIENT_KEY + "/medications", patientToken).getStatus());
+        assertEquals(200, filter("GET", "/labs/" + PATIENT_KEY + "/series", patientToken).getStatus());
+        assertEquals(403, filter("GET", "/records/" + OTHER_PATIENT_KEY + "/medications", patientToken).getStatus());
+        assertEquals(403, filter("GET", "/labs/" + OTHER_PATIENT_KEY + "/series", patientToken).getStatus());
+    }
+
+    @Test
+    void doctorTokenCanReadPatientRecords() throws Exception {
+        assertEquals(200, filter("GET", "/records/" + OTHER_PATIENT_KEY + "/medications", doctorToken).getStatus());
+    }
+
+    @Test
+    void userIdScopeAppliesToEveryRole() throws Exception {
+        assertEquals(200, filter("GET", "/notifications/user-1/recent", patientToken).getStatus());
+        assertEquals(403, filter("GET", "/notifications/user-2/recent", patientToken).getStatus());
+        assertEquals(200, filter("GET", "/notifications/doctor-1/recent", doctorToken).getStatus());
+        assertEquals(403, filter("GET", "/notifications/user-1/recent", doctorToken).getStatus());
+
+        MockHttpServletRequest request = request("GET", "/notifications/stream", patientToken);
+        request.setParameter("userId", "user-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void rejectedRequestDoesNotReachController() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/patients/search", patientToken), new MockHttpServletResponse(), chain);
+        assertNull(chain.getRequest());
+
+        chain = new MockFilterChain();
+        filter.doFilter(request("GET", "/patients/search", doctorToken), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    private MockHttpServletResponse filter(String method, String path, String token) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, token), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
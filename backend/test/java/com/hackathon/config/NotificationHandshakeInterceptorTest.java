@@ -0,0 +1,98 @@
+package com.hackathon.config;
+
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationHandshakeInterceptorTest {
+
+    @TempDir
+    Path dir;
+
+    private TokenService tokenService;
+    private final NotificationHandshakeInterceptor interceptor = new NotificationHandshakeInterceptor();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyFile", dir.resolve("auth-keys.properties").toString());
+        ReflectionTestUtils.setField(tokenService, "keyReloadSeconds", 3600L);
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMinutes", 60L);
+        ReflectionTestUtils.setField(tokenService, "principalCacheSize", 100);
+        tokenService.init();
+        ReflectionTestUtils.setField(interceptor, "tokenService", tokenService);
+        token = tokenService.issue("user-1", "patient-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenService.shutdown();
+    }
+
+    @Test
+    void ownUserIdWithValidTokenIsAccepted() {
+        Map<String, Object> attributes = new HashMap<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(handshake("userId=user-1&token=" + token, null, response, attributes));
+        assertEquals("user-1", ((AuthPrincipal) attributes.get(AuthPrincipal.REQUEST_ATTRIBUTE)).getUserId());
+    }
+
+    @Test
+    void bearerHeaderIsAccepted() {
+        assertTrue(handshake("userId=user-1", token, new MockHttpServletResponse(), new HashMap<>()));
+    }
+
+    @Test
+    void missingOrInvalidTokenIsUnauthorized() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(handshake("userId=user-1", null, response, new HashMap<>()));
+        assertEquals(401, response.getStatus());
+
+        response = new MockHttpServletResponse();
+        assertFalse(handshake("userId=user-1&token=" + token + "x", null, response, new HashMap<>()));
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void otherUserIdIsForbidden() {
+        Map<String, Object> attributes = new HashMap<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(handshake("userId=user-2&token=" + token, null, response, attributes));
+        assertEquals(403, response.getStatus());
+        assertTrue(attributes.isEmpty());
+
+        response = new MockHttpServletResponse();
+        assertFalse(handshake("token=" + token, null, response, new HashMap<>()));
+        assertEquals(403, response.getStatus());
+    }
+
+    private boolean handshake(String query, String bearer, MockHttpServletResponse servletResponse,
+                              Map<String, Object> attributes) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws/notifications");
+        request.setQueryString(query);
+        if (bearer != null) {
+            request.addHeader("Authorization", "Bearer " + bearer);
+        }
+        return interceptor.beforeHandshake(new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(servletResponse), null, attributes);
+    }
+}
@@ -0,0 +1,206 @@
+package com.hackathon.controller;
+
+import com.hackathon.domain.Patient;
+import com.hackathon.dto.AuthRequestDto;
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.repository.AuthSessionRepository;
+import com.hackathon.repository.PatientRepository;
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.HealthRecordService;
+import com.hackathon.service.PatientKeys;
+import com.hackathon.service.PatientSearchIndex;
+import com.hackathon.service.SimpleAuthSessionService;
+import com.hackathon.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AuthControllerTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private PatientKeys patientKeys;
+    private PatientRepository patientRepository;
+    private SimpleAuthSessionService authSessions;
+    private TokenService tokenService;
+    private final AuthController controller = new AuthController();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        patientKeys = new PatientKeys();
+        ReflectionTestUtils.setField(patientKeys, "secret", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(patientKeys, "secretFile", "unused");
+        patientKeys.init();
+
+        AuthSessionRepository authSessionRepository = new AuthSessionRepository();
+        ReflectionTestUtils.setField(authSessionRepository, "jdbcTemplate", jdbcTemplate);
+        authSessions = new SimpleAuthSessionService();
+        ReflectionTestUtils.setField(authSessions, "authSessionRepository", authSessionRepository);
+        ReflectionTestUtils.setField(authSessions, "patientKeys", patientKeys);
+        ReflectionTestUtils.setField(authSessions, "ttlMinutes", 30L);
+
+        patientRepository = new PatientRepository();
+        ReflectionTestUtils.setField(patientRepository, "jdbcTemplate", jdbcTemplate);
+        HealthRecordService healthRecordService = new HealthRecordService();
+        ReflectionTestUtils.setField(healthRecordService, "patientRepository", patientRepository);
+
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyFile", dir.resolve("auth-keys.properties").toString());
+        ReflectionTestUtils.setField(tokenService, "keyReloadSeconds", 3600L);
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMinutes", 60L);
+        ReflectionTestUtils.setField(tokenService, "principalCacheSize", 100);
+        tokenService.init();
+
+        ReflectionTestUtils.setField(controller, "authSessions", authSessions);
+        ReflectionTestUtils.setField(controller, "healthRecordService", healthRecordService);
+        ReflectionTestUtils.setField(controller, "patientSearchIndex", new PatientSearchIndex());
+        ReflectionTestUtils.setField(controller, "tokenService", tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenService.shutdown();
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void clientSuppliedIdentityWithoutSimpleAuthIsRejected() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("userId", "attacker");
+        body.put("userName", "홍길동");
+        body.put("birthDate", "19900102");
+        body.put("phoneNumber", "01012345678");
+
+        ResponseEntity<Map<String, Object>> response = controller.completeRegistration(body);
+
+        assertEquals(401, response.getStatusCode().value());
+        assertNull(response.getBody().get("token"));
+        assertNull(patientRepository.findByKey(patientKeys.of("홍길동", "19900102", "01012345678")));
+    }
+
+    @Test
+    void unverifiedSimpleAuthIsRejected() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+
+        assertEquals(401, register("tx-1", "user-1").getStatusCode().value());
+    }
+
+    @Test
+    void verifiedSimpleAuthIssuesTokenForRequester() {
+        requestSimpleAuth("tx-1", "홍길동", "1990-01-02", "010-1234-5678");
+        authSessions.markVerified("tx-1");
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("reqTxId", "tx-1");
+        body.put("userId", "user-1");
+        // 본문의 개인정보는 무시
+        body.put("userName", "김철수");
+        body.put("birthDate", "19800101");
+        body.put("phoneNumber", "01099998888");
+        ResponseEntity<Map<String, Object>> response = controller.completeRegistration(body);
+
+        assertEquals(200, response.getStatusCode().value());
+        String patientKey = patientKeys.of("홍길동", "19900102", "01012345678");
+        AuthPrincipal principal = tokenService.verify((String) response.getBody().get("token"));
+        assertEquals("user-1", principal.getUserId());
+        assertEquals(patientKey, principal.getPatientKey());
+        Patient stored = patientRepository.findByKey(patientKey);
+        assertEquals("홍길동", stored.getName());
+        assertEquals("19900102", stored.getBirthDate());
+    }
+
+    @Test
+    void simpleAuthCanBeUsedOnlyOnce() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+        authSessions.markVerified("tx-1");
+
+        assertEquals(200, register("tx-1", "user-1").getStatusCode().value());
+        assertEquals(401, register("tx-1", "user-1").getStatusCode().value());
+    }
+
+    @Test
+    void expiredSimpleAuthIsRejected() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+        authSessions.markVerified("tx-1");
+        jdbcTemplate.update("UPDATE auth_session SET created_at = DATEADD('HOUR', -1, created_at)");
+
+        assertEquals(401, register("tx-1", "user-1").getStatusCode().value());
+    }
+
+    @Test
+    void returningPatientKeepsStoredUserId() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+        authSessions.markVerified("tx-1");
+        register("tx-1", "user-1");
+
+        requestSimpleAuth("tx-2", "홍길동", "19900102", "01012345678");
+        authSessions.markVerified("tx-2");
+        ResponseEntity<Map<String, Object>> response = register("tx-2", "user-2");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("user-1", tokenService.verify((String) response.getBody().get("token")).getUserId());
+        assertEquals("user-1", patientRepository.findByKey(patientKeys.of("홍길동", "19900102", "01012345678")).getUserId());
+    }
+
+    @Test
+    void userIdOfAnotherPatientIsRejected() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+        authSessions.markVerified("tx-1");
+        register("tx-1", "user-1");
+
+        requestSimpleAuth("tx-2", "김철수", "19800101", "01099998888");
+        authSessions.markVerified("tx-2");
+
+        assertEquals(409, register("tx-2", "user-1").getStatusCode().value());
+        assertNull(patientRepository.findByKey(patientKeys.of("김철수", "19800101", "01099998888")));
+    }
+
+    @Test
+    void simpleAuthMustMatchRecordedTransaction() {
+        requestSimpleAuth("tx-1", "홍길동", "19900102", "01012345678");
+
+        assertNotNull(authSessions.find(authData("tx-1", "cx-tx-1")));
+        assertNull(authSessions.find(authData("tx-1", "cx-other")));
+        assertNull(authSessions.find(authData("tx-unknown", "cx-tx-unknown")));
+    }
+
+    // 간편인증 요청 API가 Tilko 응답을 받은 뒤처럼 거래를 기록
+    private void requestSimpleAuth(String reqTxId, String userName, String birthDate, String phoneNumber) {
+        authSessions.record(new AuthRequestDto(userName, birthDate, phoneNumber), authData(reqTxId, "cx-" + reqTxId));
+    }
+
+    private ResponseEntity<Map<String, Object>> register(String reqTxId, String userId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("reqTxId", reqTxId);
+        body.put("userId", userId);
+        return controller.completeRegistration(body);
+    }
+
+    private static AuthResponseDto authData(String reqTxId, String cxId) {
+        return new AuthResponseDto(cxId, "0", reqTxId, "token", "tx", null, null, null);
+    }
+}
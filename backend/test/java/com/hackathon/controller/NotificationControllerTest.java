@@ -0,0 +1,75 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.NotificationDto;
+import com.hackathon.dto.PatientInfoRequestDto;
+import com.hackathon.service.AuthPrincipal;
+import com.hackathon.service.NotificationHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationControllerTest {
+
+    private final NotificationHub notificationHub = new NotificationHub();
+    private final ExecutorService notificationExecutor = Executors.newSingleThreadExecutor();
+    private final NotificationController controller = new NotificationController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationHub, "replaySize", 50);
+        ReflectionTestUtils.setField(notificationHub, "subscriberQueueSize", 64);
+        ReflectionTestUtils.setField(notificationHub, "maxSubscribersPerUser", 5);
+        ReflectionTestUtils.setField(notificationHub, "heartbeatSeconds", 3600L);
+        ReflectionTestUtils.setField(notificationHub, "channelIdleMinutes", 60L);
+        ReflectionTestUtils.setField(notificationHub, "notificationExecutor", notificationExecutor);
+        notificationHub.init();
+        ReflectionTestUtils.setField(controller, "notificationHub", notificationHub);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationHub.shutdown();
+        notificationExecutor.shutdownNow();
+    }
+
+    @Test
+    void senderComesFromDoctorTokenNotBody() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE,
+                new AuthPrincipal("doctor-1", null, "김의사", AuthPrincipal.ROLE_DOCTOR, 0, Long.MAX_VALUE));
+
+        ResponseEntity<Map<String, Object>> response = controller.requestPatientInfo(
+                new PatientInfoRequestDto("doctor-2", "사칭의사", "user-1", null), httpRequest);
+
+        assertEquals(200, response.getStatusCode().value());
+        List<NotificationDto> received = notificationHub.recent("user-1", 0);
+        assertEquals(1, received.size());
+        assertEquals("doctor-1", received.get(0).getFromUserId());
+        assertEquals("김의사", received.get(0).getFromName());
+        assertTrue(received.get(0).getMessage().startsWith("김의사"));
+    }
+
+    @Test
+    void patientPrincipalCannotSendRequests() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setAttribute(AuthPrincipal.REQUEST_ATTRIBUTE,
+                new AuthPrincipal("user-2", "pk", null, AuthPrincipal.ROLE_PATIENT, 0, Long.MAX_VALUE));
+
+        ResponseEntity<Map<String, Object>> response = controller.requestPatientInfo(
+                new PatientInfoRequestDto("doctor-1", "김의사", "user-1", null), httpRequest);
+
+        assertEquals(403, response.getStatusCode().value());
+        assertTrue(notificationHub.recent("user-1", 0).isEmpty());
+    }
+}
@@ -0,0 +1,179 @@
+package com.hackathon.service;
+
+import com.hackathon.service.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long STABLE_RTT_MILLIS = 10;
+
+    @Test
+    void limitGrowsUnderStableRttWhenBusy() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+        hold(limiter, Priority.INTERACTIVE, 15);
+
+        for (int i = 0; i < 10; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+        }
+
+        assertTrue(limiter.getLimit() > 25, "한도: " + limiter.getLimit());
+    }
+
+    @Test
+    void limitDoesNotGrowWhenMostlyIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+
+        for (int i = 0; i < 50; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void rejectionAllowsGrowthAtLowUtilization() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+        // BATCH 몫(20 × 0.4 = 8)을 채워 두면 처리 중 요청이 한도의 절반 미만이어도 거절이 생김
+        hold(limiter, Priority.INTERACTIVE, 8);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(-1, limiter.tryAcquire(Priority.BATCH));
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+        }
+
+        assertEquals(21, limiter.getLimit());
+    }
+
+    @Test
+    void limitShrinksWhenRttRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 4, 100);
+        hold(limiter, Priority.INTERACTIVE, 25);
+        for (int i = 0; i < 50; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS * 10, false);
+        }
+
+        assertTrue(limiter.getLimit() < before * 0.7, before + " → " + limiter.getLimit());
+    }
+
+    @Test
+    void rttIsTrackedPerPriority() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 4, 100);
+        hold(limiter, Priority.INTERACTIVE, 25);
+        for (int i = 0; i < 50; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+            // 분석 요청은 평소에 100배 느리지만 그 자체로 과부하는 아님
+            request(limiter, Priority.ANALYSIS, STABLE_RTT_MILLIS * 100, false);
+        }
+
+        assertTrue(limiter.getLimit() >= 40, "한도: " + limiter.getLimit());
+    }
+
+    @Test
+    void failuresDriveLimitToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 8, 100);
+
+        request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, true);
+        assertTrue(limiter.getLimit() < 50);
+
+        for (int i = 0; i < 200; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, true);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void limitIsCappedAtMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 25);
+        hold(limiter, Priority.INTERACTIVE, 15);
+
+        for (int i = 0; i < 50; i++) {
+            request(limiter, Priority.INTERACTIVE, STABLE_RTT_MILLIS, false);
+        }
+
+        assertEquals(25, limiter.getLimit());
+    }
+
+    @Test
+    void unsampledSuccessDoesNotChangeLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+        hold(limiter, Priority.INTERACTIVE, 15);
+
+        for (int i = 0; i < 10; i++) {
+            long acquiredAt = limiter.tryAcquire(Priority.INTERACTIVE);
+            limiter.release(Priority.INTERACTIVE, acquiredAt - TimeUnit.SECONDS.toNanos(30), false, false);
+        }
+
+        assertEquals(20, limiter.getLimit());
+        assertEquals(15, limiter.getInFlight());
+    }
+
+    @Test
+    void lowerPrioritiesAreRejectedFirst() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+
+        // 한도 20 → BATCH 8, ANALYSIS 15, INTERACTIVE 20
+        assertEquals(8, hold(limiter, Priority.BATCH, 100));
+        assertEquals(7, hold(limiter, Priority.ANALYSIS, 100));
+        assertEquals(5, hold(limiter, Priority.INTERACTIVE, 100));
+        assertEquals(20, limiter.getInFlight());
+    }
+
+    @Test
+    void retryAfterGrowsWithRttAndLowerPriority() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 100);
+        request(limiter, Priority.ANALYSIS, 2500, false);
+
+        assertEquals(6, limiter.retryAfterSeconds(Priority.ANALYSIS));
+        assertEquals(1, limiter.retryAfterSeconds(Priority.INTERACTIVE));
+        assertEquals(3, limiter.retryAfterSeconds(Priority.BATCH));
+    }
+
+    @Test
+    void prioritySharesMustMatchPriorities() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "priorityShares", new double[]{1.0, 0.5});
+
+        assertThrows(IllegalStateException.class, limiter::init);
+    }
+
+    // 지정한 지연이 걸린 것처럼 허가 시각을 앞당겨 완료를 알림
+    private static void request(AdaptiveConcurrencyLimiter limiter, Priority priority, long rttMillis, boolean failed) {
+        long acquiredAt = limiter.tryAcquire(priority);
+        assertNotEquals(-1, acquiredAt);
+        limiter.release(priority, acquiredAt - TimeUnit.MILLISECONDS.toNanos(rttMillis), true, failed);
+    }
+
+    // 최대 count개의 허가를 받아 처리 중으로 둠 (받은 개수 반환)
+    private static int hold(AdaptiveConcurrencyLimiter limiter, Priority priority, int count) {
+        int held = 0;
+        while (held < count && limiter.tryAcquire(priority) != -1) {
+            held++;
+        }
+        return held;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "initialLimit", initialLimit);
+        ReflectionTestUtils.setField(limiter, "minLimit", minLimit);
+        ReflectionTestUtils.setField(limiter, "maxLimit", maxLimit);
+        ReflectionTestUtils.setField(limiter, "rttTolerance", 1.5);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(limiter, "priorityShares", new double[]{1.0, 0.75, 0.4});
+        limiter.init();
+        return limiter;
+    }
+}
@@ -0,0 +1,270 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatGptAiServiceCascadeTest {
+
+    private static final String FAST_MODEL = "fast-model";
+    private static final String MAIN_MODEL = "main-model";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ChatGptAiService service = new ChatGptAiService();
+
+    // 모델별 준비된 응답 (HTTP 상태, 모델이 답한 내용) / 호출된 모델 순서
+    private final Map<String, Object[]> replies = new HashMap<>();
+    private final List<String> calledModels = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> callingThreads = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        // 네트워크 없이 요청 본문의 모델에 따라 준비된 응답을 돌려주는 클라이언트
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Buffer body = new Buffer();
+            chain.request().body().writeTo(body);
+            String model = body.readUtf8().contains("\"" + FAST_MODEL + "\"") ? FAST_MODEL : MAIN_MODEL;
+            calledModels.add(model);
+            callingThreads.add(Thread.currentThread().getName());
+            Object[] reply = replies.get(model);
+            String json = (int) reply[0] == 200
+                    ? "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":" + quote((String) reply[1])
+                            + "},\"finish_reason\":\"stop\"}]}"
+                    : "{\"error\":{\"message\":\"server error\"}}";
+            return new Response.Builder().request(chain.request()).protocol(Protocol.HTTP_1_1)
+                    .code((int) reply[0]).message("")
+                    .body(ResponseBody.create(MediaType.get("application/json"), json)).build();
+        }).build();
+
+        UpstreamLatencyTracker latencyTracker = new UpstreamLatencyTracker();
+        ReflectionTestUtils.setField(latencyTracker, "maxMillis", 10_000L);
+        ReflectionTestUtils.setField(latencyTracker, "minSamples", 20);
+        ReflectionTestUtils.setField(latencyTracker, "halfLifeSeconds", 300L);
+        OpenAiRateScheduler rateScheduler = new OpenAiRateScheduler();
+        ReflectionTestUtils.setField(rateScheduler, "requestsPerMinute", 1000);
+        ReflectionTestUtils.setField(rateScheduler, "tokensPerMinute", 1_000_000);
+
+        ReflectionTestUtils.setField(service, "chatgptApiUrl", "http://openai.test/v1/chat/completions");
+        ReflectionTestUtils.setField(service, "chatgptApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "chatgptModel", MAIN_MODEL);
+        ReflectionTestUtils.setField(service, "maxTokens", 500);
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 10L);
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        ReflectionTestUtils.setField(service, "fastModel", FAST_MODEL);
+        ReflectionTestUtils.setField(service, "fastMaxTokens", 100);
+        ReflectionTestUtils.setField(service, "maxRetries", 0);
+        ReflectionTestUtils.setField(service, "analysisExecutor", executor);
+        ReflectionTestUtils.setField(service, "backgroundAnalysisExecutor", executor);
+        ReflectionTestUtils.setField(service, "rateScheduler", rateScheduler);
+        ReflectionTestUtils.setField(service, "diseaseHeuristics", new DiseaseHeuristics());
+        ReflectionTestUtils.setField(service, "upstreamHttpClient", client);
+        ReflectionTestUtils.setField(service, "latencyTracker", latencyTracker);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void validFastOutputIsAccepted() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"고혈압\", \"고지혈증\"]"});
+
+        DiseaseAnalysisDto result = service.analyzePrepared(prepared("k1", List.of(Set.of("고혈압"))));
+
+        assertEquals("SUCCESS", result.getStatus());
+        assertEquals(List.of("고혈압", "고지혈증"), diseaseNames(result));
+        assertEquals(List.of(FAST_MODEL), calledModels);
+    }
+
+    @Test
+    void diseaseOutsideVocabularyEscalates() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"고혈압\", \"감기\"]"});
+        replies.put(MAIN_MODEL, new Object[]{200, "[\"고혈압\"]"});
+
+        DiseaseAnalysisDto result = service.analyzePrepared(prepared("k2", List.of()));
+
+        assertEquals("SUCCESS", result.getStatus());
+        assertEquals(List.of("고혈압"), diseaseNames(result));
+        assertEquals(List.of(FAST_MODEL, MAIN_MODEL), calledModels);
+    }
+
+    @Test
+    void missedHeuristicSignalEscalates() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"고혈압\"]"});
+        replies.put(MAIN_MODEL, new Object[]{200, "[\"고혈압\", \"당뇨병\"]"});
+
+        DiseaseAnalysisDto result = service.analyzePrepared(prepared("k3", List.of(Set.of("당뇨병"))));
+
+        assertEquals(List.of("고혈압", "당뇨병"), diseaseNames(result));
+        assertEquals(List.of(FAST_MODEL, MAIN_MODEL), calledModels);
+    }
+
+    @Test
+    void failingFastCallEscalates() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{500, null});
+        replies.put(MAIN_MODEL, new Object[]{200, "[\"천식\"]"});
+
+        DiseaseAnalysisDto result = service.analyzePrepared(prepared("k4", List.of()));
+
+        assertEquals("SUCCESS", result.getStatus());
+        assertEquals(List.of("천식"), diseaseNames(result));
+        assertEquals(List.of(FAST_MODEL, MAIN_MODEL), calledModels);
+    }
+
+    @Test
+    void asyncAnalysisCallsOnFlightExecutor() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"고혈압\", \"감기\"]"});
+        replies.put(MAIN_MODEL, new Object[]{200, "[\"고혈압\"]"});
+        ExecutorService flightExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "batch-llm-test"));
+        try {
+            DiseaseAnalysisDto result = service.analyzePreparedAsync(prepared("k5", List.of()),
+                    OpenAiRateScheduler.Priority.BATCH, flightExecutor, 10_000).get(10, TimeUnit.SECONDS);
+
+            assertEquals(List.of("고혈압"), diseaseNames(result));
+            assertEquals(List.of(FAST_MODEL, MAIN_MODEL), calledModels);
+            assertEquals(List.of("batch-llm-test", "batch-llm-test"), callingThreads);
+        } finally {
+            flightExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncTimeoutStartsWhenCallStarts() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"천식\"]"});
+        ExecutorService flightExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        try {
+            // 호출 스레드가 제한 시간보다 오래 다른 작업 중이어도 호출을 시작한 뒤부터 계산
+            flightExecutor.execute(() -> sleep(busy, 500));
+            CompletableFuture<DiseaseAnalysisDto> result = service.analyzePreparedAsync(prepared("k6", List.of()),
+                    OpenAiRateScheduler.Priority.BATCH, flightExecutor, 300);
+
+            assertEquals(List.of("천식"), diseaseNames(result.get(10, TimeUnit.SECONDS)));
+        } finally {
+            flightExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelledAsyncAnalysisNeverCallsUpstream() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"천식\"]"});
+        ExecutorService flightExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        try {
+            flightExecutor.execute(() -> sleep(busy, 10_000));
+            CompletableFuture<DiseaseAnalysisDto> result = service.analyzePreparedAsync(prepared("k7", List.of()),
+                    OpenAiRateScheduler.Priority.BATCH, flightExecutor, 10_000);
+
+            result.cancel(true);
+            busy.countDown();
+            flightExecutor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+            assertTrue(result.isCancelled());
+            assertTrue(calledModels.isEmpty());
+        } finally {
+            flightExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void interactiveRequestTakesOverQueuedSpeculation() throws Exception {
+        replies.put(FAST_MODEL, new Object[]{200, "[\"천식\"]"});
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(service, "backgroundAnalysisExecutor", background);
+        CountDownLatch busy = new CountDownLatch(1);
+        try {
+            // 선행 분석 풀이 바빠 선행 분석의 ChatGPT 호출이 대기열에 머묾
+            background.execute(() -> sleep(busy, 10_000));
+            CompletableFuture<DiseaseAnalysisDto> speculation = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return service.analyzePrepared(prepared("k8", List.of()), OpenAiRateScheduler.Priority.BATCH);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            SingleFlight<?, ?> flights = (SingleFlight<?, ?>) ReflectionTestUtils.getField(service, "analysisFlights");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flights.inFlightCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            // 사용자 요청은 선행 분석 풀을 기다리지 않고 합류한 호출을 직접 실행
+            DiseaseAnalysisDto result = service.analyzePrepared(prepared("k8", List.of()));
+
+            assertEquals(List.of("천식"), diseaseNames(result));
+            assertEquals(List.of("천식"), diseaseNames(speculation.get(5, TimeUnit.SECONDS)));
+            busy.countDown();
+            background.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(FAST_MODEL), calledModels);
+        } finally {
+            busy.countDown();
+            background.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelledStreamingAnalysisNeverCallsUpstream() {
+        replies.put(MAIN_MODEL, new Object[]{200, "[\"천식\"]"});
+        SingleFlight.CancellationSignal signal = new SingleFlight.CancellationSignal();
+        List<DiseaseAnalysisDto.PredictedDisease> received = new ArrayList<>();
+
+        // 시작 전에 클라이언트 연결이 끊긴 경우
+        signal.cancel();
+
+        assertThrows(IOException.class, () -> service.streamPrescriptionAnalysis(
+                Map.of("ResultList", List.of()), received::add, signal));
+        assertTrue(calledModels.isEmpty());
+        assertTrue(received.isEmpty());
+    }
+
+    private static void sleep(CountDownLatch release, long millis) {
+        try {
+            release.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ChatGptAiService.PreparedAnalysis prepared(String flightKey, List<Set<String>> strongSignals) {
+        return new ChatGptAiService.PreparedAnalysis("처방 분석 프롬프트", flightKey, strongSignals);
+    }
+
+    private static List<String> diseaseNames(DiseaseAnalysisDto result) {
+        List<String> names = new ArrayList<>();
+        for (DiseaseAnalysisDto.PredictedDisease disease : result.getPredictedDiseases()) {
+            names.add(disease.getDiseaseName());
+        }
+        return names;
+    }
+
+    private static String quote(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
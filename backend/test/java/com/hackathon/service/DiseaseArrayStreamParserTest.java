@@ -0,0 +1,82 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiseaseArrayStreamParserTest {
+
+    private final List<String> elements = new ArrayList<>();
+    private final DiseaseArrayStreamParser parser = new DiseaseArrayStreamParser(elements::add);
+
+    @Test
+    void ignoresTextAroundArrayInCodeBlock() {
+        parser.feed("```json\n[\"고혈압\", \"당뇨병\"]\n```\n[\"무시\"]");
+
+        assertEquals(List.of("고혈압", "당뇨병"), elements);
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void emitsEachElementAsSoonAsItCloses() {
+        parser.feed("[\"고혈");
+        assertTrue(elements.isEmpty());
+
+        parser.feed("압\", \"당");
+        assertEquals(List.of("고혈압"), elements);
+        assertFalse(parser.isComplete());
+
+        parser.feed("뇨병\"]");
+        assertEquals(List.of("고혈압", "당뇨병"), elements);
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void sameResultForAnyChunkBoundary() {
+        String response = "결과입니다: [\"고지혈증\", \"만성 \\\"신장\\\" 질환\", \"\\uACE0\\uD608\\uC555\"] 끝";
+
+        for (int i = 0; i < response.length(); i++) {
+            List<String> split = new ArrayList<>();
+            DiseaseArrayStreamParser splitParser = new DiseaseArrayStreamParser(split::add);
+            splitParser.feed(response.substring(0, i));
+            splitParser.feed(response.substring(i));
+
+            assertEquals(List.of("고지혈증", "만성 \"신장\" 질환", "고혈압"), split, "분할 위치 " + i);
+        }
+    }
+
+    @Test
+    void unescapesControlCharacters() {
+        parser.feed("[\"첫줄\\n둘째\\t줄\\\\끝\"]");
+
+        assertEquals(List.of("첫줄\n둘째\t줄\\끝"), elements);
+    }
+
+    @Test
+    void skipsBlankElementsAndTrims() {
+        parser.feed("[\"  \", \" 골다공증 \", \"\"]");
+
+        assertEquals(List.of("골다공증"), elements);
+    }
+
+    @Test
+    void bracketInsideStringDoesNotCloseArray() {
+        parser.feed("[\"통풍 [요산]\", \"빈혈\"]");
+
+        assertEquals(List.of("통풍 [요산]", "빈혈"), elements);
+        assertTrue(parser.isComplete());
+    }
+
+    @Test
+    void incompleteStreamKeepsEmittedElements() {
+        parser.feed("[\"천식\", \"만성 폐쇄");
+
+        assertEquals(List.of("천식"), elements);
+        assertFalse(parser.isComplete());
+    }
+}
@@ -0,0 +1,76 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoctorAccountServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void hashMatchesOnlyItsPassword() {
+        String hash = DoctorAccountService.hash("secret-1".toCharArray());
+
+        assertTrue(DoctorAccountService.matches("secret-1", hash));
+        assertFalse(DoctorAccountService.matches("secret-2", hash));
+        assertNotEquals(hash, DoctorAccountService.hash("secret-1".toCharArray()), "솔트가 매번 달라야 함");
+        assertFalse(DoctorAccountService.matches("secret-1", "plain-text"));
+    }
+
+    @Test
+    void authenticateReturnsDisplayName() throws Exception {
+        Path file = dir.resolve("doctor-accounts.properties");
+        writeAccounts(file, "doctor-1", "김의사", "secret-1");
+        DoctorAccountService service = service(file);
+
+        assertEquals("김의사", service.authenticate("doctor-1", "secret-1"));
+        assertNull(service.authenticate("doctor-1", "wrong"));
+        assertNull(service.authenticate("doctor-2", "secret-1"));
+        assertNull(service.authenticate(null, null));
+    }
+
+    @Test
+    void changedAccountFileIsReloaded() throws Exception {
+        Path file = dir.resolve("doctor-accounts.properties");
+        writeAccounts(file, "doctor-1", "김의사", "secret-1");
+        DoctorAccountService service = service(file);
+
+        writeAccounts(file, "doctor-2", "이의사", "secret-2");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+
+        assertNull(service.authenticate("doctor-1", "secret-1"));
+        assertEquals("이의사", service.authenticate("doctor-2", "secret-2"));
+    }
+
+    @Test
+    void missingAccountFileRejectsEveryone() {
+        DoctorAccountService service = service(dir.resolve("missing-accounts.properties"));
+
+        assertNull(service.authenticate("doctor-1", ""));
+    }
+
+    private static DoctorAccountService service(Path file) {
+        DoctorAccountService service = new DoctorAccountService();
+        ReflectionTestUtils.setField(service, "accountsFile", file.toString());
+        service.init();
+        return service;
+    }
+
+    private static void writeAccounts(Path file, String doctorId, String name, String password) throws Exception {
+        Files.writeString(file, doctorId + ".name=" + name + "\n"
+                + doctorId + ".password=" + DoctorAccountService.hash(password.toCharArray()) + "\n", StandardCharsets.UTF_8);
+    }
+}
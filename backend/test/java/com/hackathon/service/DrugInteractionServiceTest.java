@@ -0,0 +1,133 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.PrescriptionAnomalyDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DrugInteractionServiceTest {
+
+    // 성분 ID가 64개 단위 비트셋의 여러 워드에 걸치도록 채우는 성분 수
+    private static final int FILLER_INGREDIENTS = 100;
+
+    @TempDir
+    Path dir;
+
+    private final DrugDictionary dictionary = new DrugDictionary();
+    private final DrugInteractionService service = new DrugInteractionService();
+
+    private int warfarin;
+    private int aspirin;
+    private int clopidogrelAspirin;
+    private int omeprazole;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StringBuilder master = new StringBuilder("약품코드,약품명,성분명,ATC코드\n");
+        master.append("D001,와파린정,warfarin,B01AA03\n");
+        master.append("D002,아스피린장용정,aspirin,B01AC06\n");
+        master.append("D003,클로피도그렐아스피린정,clopidogrel+aspirin,B01AC30\n");
+        master.append("D004,오메프라졸캡슐,omeprazole,A02BC01\n");
+        for (int i = 0; i < FILLER_INGREDIENTS; i++) {
+            master.append(String.format("F%03d,채움약%03d정,filler-%03d,\n", i, i, i));
+        }
+        Path masterCsv = Files.writeString(dir.resolve("drug-master.csv"), master.toString());
+        dictionary.load(masterCsv, dir.resolve("drug-master.idx"));
+        ReflectionTestUtils.setField(service, "drugDictionary", dictionary);
+
+        warfarin = dictionary.lookup("와파린정");
+        aspirin = dictionary.lookup("아스피린장용정");
+        clopidogrelAspirin = dictionary.lookup("클로피도그렐아스피린정");
+        omeprazole = dictionary.lookup("오메프라졸캡슐");
+    }
+
+    @Test
+    void ruleAcrossBitsetWordsIsFound() throws Exception {
+        loadRules("Warfarin,Aspirin,MAJOR,출혈 위험 증가");
+        // aspirin은 첫 워드, warfarin은 채움 성분 뒤라 두 번째 워드에 위치
+        assertTrue(dictionary.findIngredient("aspirin") < 64);
+        assertTrue(dictionary.findIngredient("warfarin") >= 64);
+
+        List<PrescriptionAnomalyDto> anomalies = service.checkAll(new int[]{warfarin, omeprazole, aspirin});
+
+        assertEquals(1, anomalies.size());
+        PrescriptionAnomalyDto anomaly = anomalies.get(0);
+        assertEquals(PrescriptionAnomalyDto.TYPE_INTERACTION, anomaly.getType());
+        assertEquals("MAJOR", anomaly.getSeverity());
+        assertEquals(List.of("아스피린장용정", "와파린정"), anomaly.getDrugs());
+        assertEquals("aspirin + warfarin: 출혈 위험 증가", anomaly.getMessage());
+    }
+
+    @Test
+    void ruleIsSymmetric() throws Exception {
+        loadRules("warfarin,aspirin,MAJOR,출혈 위험 증가");
+
+        assertEquals(1, service.checkCandidate(warfarin, new int[]{aspirin}).size());
+        assertEquals(1, service.checkCandidate(aspirin, new int[]{warfarin}).size());
+    }
+
+    @Test
+    void compoundDrugReportsEachInteractingIngredient() throws Exception {
+        loadRules("warfarin,aspirin,MAJOR,출혈 위험 증가", "warfarin,clopidogrel,MODERATE,출혈 위험");
+
+        List<PrescriptionAnomalyDto> anomalies = service.checkCandidate(clopidogrelAspirin, new int[]{warfarin, omeprazole});
+
+        assertEquals(2, anomalies.size());
+        assertEquals(List.of("MAJOR", "MODERATE"), anomalies.stream().map(PrescriptionAnomalyDto::getSeverity).sorted().toList());
+        for (PrescriptionAnomalyDto anomaly : anomalies) {
+            assertEquals(List.of("클로피도그렐아스피린정", "와파린정"), anomaly.getDrugs());
+        }
+    }
+
+    @Test
+    void eachPairIsReportedOnce() throws Exception {
+        loadRules("warfarin,aspirin,MAJOR,출혈 위험 증가");
+
+        List<PrescriptionAnomalyDto> anomalies = service.checkAll(new int[]{aspirin, warfarin, clopidogrelAspirin});
+
+        // 아스피린-와파린, 와파린-복합제(aspirin 성분) 두 쌍
+        assertEquals(2, anomalies.size());
+    }
+
+    @Test
+    void unknownDrugsAreIgnored() throws Exception {
+        loadRules("warfarin,aspirin,MAJOR,출혈 위험 증가");
+
+        assertTrue(service.checkCandidate(DrugDictionary.NOT_FOUND, new int[]{warfarin}).isEmpty());
+        assertTrue(service.checkAll(new int[]{warfarin, DrugDictionary.NOT_FOUND}).isEmpty());
+    }
+
+    @Test
+    void invalidRulesAreSkipped() throws Exception {
+        loadRules("warfarin,없는성분,MAJOR,무시", "warfarin,warfarin,MAJOR,무시", "warfarin", "",
+                "omeprazole,clopidogrel,MODERATE,효과 감소");
+
+        assertEquals(dictionary.totalIngredients(), service.ingredientCount());
+        assertTrue(service.checkAll(new int[]{warfarin, aspirin}).isEmpty());
+        assertEquals(1, service.checkAll(new int[]{omeprazole, clopidogrelAspirin}).size());
+    }
+
+    @Test
+    void missingRulesFileKeepsEngineEmpty() throws Exception {
+        service.load(dir.resolve("missing-rules.csv"));
+
+        assertEquals(0, service.ingredientCount());
+        assertNotEquals(DrugDictionary.NOT_FOUND, warfarin);
+        assertTrue(service.checkAll(new int[]{warfarin, aspirin}).isEmpty());
+    }
+
+    private void loadRules(String... rules) throws Exception {
+        Path rulesFile = dir.resolve("interaction-rules.csv");
+        Files.writeString(rulesFile, "성분A,성분B,심각도,설명\n" + String.join("\n", rules) + "\n");
+        service.load(rulesFile);
+    }
+}
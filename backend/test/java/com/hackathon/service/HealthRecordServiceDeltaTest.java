@@ -0,0 +1,256 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.ChangeLogEntry;
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.dto.HealthDeltaDto;
+import com.hackathon.repository.ChangeLogRepository;
+import com.hackathon.repository.CheckupResultRepository;
+import com.hackathon.repository.PrescriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HealthRecordServiceDeltaTest {
+
+    private static final String PATIENT = "p1";
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private PrescriptionRepository prescriptionRepository;
+    private CheckupResultRepository checkupResultRepository;
+    private ChangeLogRepository changeLogRepository;
+    private final HealthRecordService service = new HealthRecordService();
+
+    @BeforeEach
+    void setUp() {
+        // 테스트마다 새 인메모리 H2에 schema.sql 적용
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        prescriptionRepository = repository(new PrescriptionRepository());
+        checkupResultRepository = repository(new CheckupResultRepository());
+        changeLogRepository = repository(new ChangeLogRepository());
+        ReflectionTestUtils.setField(service, "prescriptionRepository", prescriptionRepository);
+        ReflectionTestUtils.setField(service, "checkupResultRepository", checkupResultRepository);
+        ReflectionTestUtils.setField(service, "changeLogRepository", changeLogRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void firstRequestReturnsFullHistory() {
+        long version = sync(insert(medication(1, "아토르바스타틴정")), insert(checkup("LDL", 130)));
+
+        HealthDeltaDto delta = service.delta(PATIENT, 0);
+
+        assertTrue(delta.isFull());
+        assertEquals(String.valueOf(version), delta.getVersion());
+        assertEquals(1, delta.getInsertedMedications().size());
+        assertEquals(1, delta.getInsertedCheckups().size());
+    }
+
+    @Test
+    void unchangedVersionReturnsNull() {
+        long version = sync(insert(medication(1, "아토르바스타틴정")));
+
+        assertNull(service.delta(PATIENT, version));
+    }
+
+    @Test
+    void versionAheadOfServerReturnsFullHistory() {
+        long version = sync(insert(medication(1, "아토르바스타틴정")));
+
+        HealthDeltaDto delta = service.delta(PATIENT, version + 10);
+
+        assertTrue(delta.isFull());
+        assertEquals(1, delta.getInsertedMedications().size());
+    }
+
+    @Test
+    void insertThenUpdateIsReportedAsInsertWithLatestValue() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")));
+        sync(insert(medication(2, "로수바스타틴정")));
+        sync(update(medication(2, "로수바스타틴정 20mg")));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertFalse(delta.isFull());
+        assertEquals(1, delta.getInsertedMedications().size());
+        assertEquals("로수바스타틴정 20mg", delta.getInsertedMedications().get(0).getDrugName());
+        assertTrue(delta.getUpdatedMedications().isEmpty());
+    }
+
+    @Test
+    void insertThenDeleteIsOmitted() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")));
+        sync(insert(medication(2, "로수바스타틴정")), insert(checkup("LDL", 130)));
+        sync(delete(medication(2, "로수바스타틴정")), delete(checkup("LDL", 130)));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertFalse(delta.isFull());
+        assertTrue(delta.getInsertedMedications().isEmpty());
+        assertTrue(delta.getRemovedMedications().isEmpty());
+        assertTrue(delta.getInsertedCheckups().isEmpty());
+        assertTrue(delta.getRemovedCheckups().isEmpty());
+    }
+
+    @Test
+    void repeatedUpdatesAreReportedOnce() {
+        long since = sync(insert(checkup("LDL", 130)));
+        sync(update(checkup("LDL", 120)));
+        sync(update(checkup("LDL", 110)));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertEquals(1, delta.getUpdatedCheckups().size());
+        assertEquals(110, delta.getUpdatedCheckups().get(0).getValue());
+        assertTrue(delta.getInsertedCheckups().isEmpty());
+    }
+
+    @Test
+    void updateThenDeleteOfExistingRowIsRemoved() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")), insert(checkup("LDL", 130)));
+        sync(update(medication(1, "아토르바스타틴정 20mg")));
+        sync(delete(medication(1, "아토르바스타틴정 20mg")), delete(checkup("LDL", 130)));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertEquals(1, delta.getRemovedMedications().size());
+        MedicationDetail removed = delta.getRemovedMedications().get(0);
+        assertEquals(DAY, removed.getTreatmentDate());
+        assertEquals(1, removed.getLineNo());
+        assertEquals(1, delta.getRemovedCheckups().size());
+        assertEquals("LDL", delta.getRemovedCheckups().get(0).getTestName());
+        assertTrue(delta.getUpdatedMedications().isEmpty());
+    }
+
+    @Test
+    void deleteThenReinsertOfExistingRowIsUpdate() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")));
+        sync(delete(medication(1, "아토르바스타틴정")));
+        sync(insert(medication(1, "아토르바스타틴정 40mg")));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertEquals(1, delta.getUpdatedMedications().size());
+        assertEquals("아토르바스타틴정 40mg", delta.getUpdatedMedications().get(0).getDrugName());
+        assertTrue(delta.getInsertedMedications().isEmpty());
+        assertTrue(delta.getRemovedMedications().isEmpty());
+    }
+
+    @Test
+    void changesAfterReadVersionAreExcluded() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")));
+        long version = sync(insert(checkup("LDL", 130)));
+        // 버전을 아직 올리지 않은(진행 중인) 동기화의 이력
+        changeLogRepository.appendAll(List.of(ChangeLogEntry.of(medication(2, "로수바스타틴정"), ChangeLogEntry.OP_INSERT)),
+                version + 1);
+        prescriptionRepository.upsertDetails(List.of(medication(2, "로수바스타틴정")));
+
+        HealthDeltaDto delta = service.delta(PATIENT, since);
+
+        assertEquals(String.valueOf(version), delta.getVersion());
+        assertTrue(delta.getInsertedMedications().isEmpty());
+        assertEquals(1, delta.getInsertedCheckups().size());
+    }
+
+    @Test
+    void otherPatientsChangesAreNotMixedIn() {
+        long since = sync(insert(medication(1, "아토르바스타틴정")));
+        MedicationDetail other = medication(2, "로수바스타틴정");
+        other.setPatientKey("p2");
+        sync("p2", List.of(new Change(ChangeLogEntry.OP_INSERT, other, null)));
+
+        assertNull(service.delta(PATIENT, since));
+    }
+
+    // ----- 동기화 1회 흉내: 버전 잠금 → 데이터 반영 → 같은 버전으로 변경 이력 기록 → 버전 저장 -----
+
+    private long sync(Change... changes) {
+        return sync(PATIENT, List.of(changes));
+    }
+
+    private long sync(String patientKey, List<Change> changes) {
+        long version = changeLogRepository.lockVersion(patientKey) + 1;
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        for (Change change : changes) {
+            boolean delete = ChangeLogEntry.OP_DELETE.equals(change.op);
+            if (change.medication != null) {
+                if (delete) {
+                    prescriptionRepository.deleteDetails(List.of(change.medication));
+                } else {
+                    prescriptionRepository.upsertDetails(List.of(change.medication));
+                }
+                entries.add(ChangeLogEntry.of(change.medication, change.op));
+            } else {
+                if (delete) {
+                    checkupResultRepository.deleteAll(List.of(change.checkup));
+                } else {
+                    checkupResultRepository.upsertAll(List.of(change.checkup));
+                }
+                entries.add(ChangeLogEntry.of(change.checkup, change.op));
+            }
+        }
+        changeLogRepository.appendAll(entries, version);
+        changeLogRepository.saveVersion(patientKey, version);
+        return version;
+    }
+
+    private static Change insert(Object row) {
+        return change(ChangeLogEntry.OP_INSERT, row);
+    }
+
+    private static Change update(Object row) {
+        return change(ChangeLogEntry.OP_UPDATE, row);
+    }
+
+    private static Change delete(Object row) {
+        return change(ChangeLogEntry.OP_DELETE, row);
+    }
+
+    private static Change change(String op, Object row) {
+        return row instanceof MedicationDetail medication
+                ? new Change(op, medication, null)
+                : new Change(op, null, (CheckupResult) row);
+    }
+
+    private static MedicationDetail medication(int lineNo, String drugName) {
+        return new MedicationDetail(PATIENT, DAY, 1, lineNo, drugName, "고지혈증치료제", 30,
+                null, "C10AA05", null, null);
+    }
+
+    private static CheckupResult checkup(String testName, double value) {
+        return new CheckupResult(PATIENT, testName, DAY, value);
+    }
+
+    private <T> T repository(T repository) {
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "batchSize", 100);
+        return repository;
+    }
+
+    private record Change(String op, MedicationDetail medication, CheckupResult checkup) {
+    }
+}
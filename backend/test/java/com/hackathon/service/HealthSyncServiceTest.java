@@ -0,0 +1,233 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.CheckupResult;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.dto.SyncResultDto;
+import com.hackathon.repository.ChangeLogRepository;
+import com.hackathon.repository.CheckupResultRepository;
+import com.hackathon.repository.PrescriptionRepository;
+import com.hackathon.repository.SyncStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HealthSyncServiceTest {
+
+    private static final String PATIENT = "p1";
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(2999, 12, 31);
+
+    private static final LocalDate JAN_05 = LocalDate.of(2025, 1, 5);
+    private static final LocalDate MAR_01 = LocalDate.of(2025, 3, 1);
+    private static final LocalDate MAR_10 = LocalDate.of(2025, 3, 10);
+    private static final LocalDate MAR_20 = LocalDate.of(2025, 3, 20);
+
+    private JdbcTemplate jdbcTemplate;
+    private PrescriptionRepository prescriptionRepository;
+    private CheckupResultRepository checkupResultRepository;
+    private ChangeLogRepository changeLogRepository;
+    private final HealthSyncService service = new HealthSyncService();
+
+    @BeforeEach
+    void setUp() {
+        // 테스트마다 새 인메모리 H2에 schema.sql 적용
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        prescriptionRepository = repository(new PrescriptionRepository());
+        checkupResultRepository = repository(new CheckupResultRepository());
+        changeLogRepository = repository(new ChangeLogRepository());
+        SyncStateRepository syncStateRepository = new SyncStateRepository();
+        ReflectionTestUtils.setField(syncStateRepository, "jdbcTemplate", jdbcTemplate);
+
+        ReflectionTestUtils.setField(service, "medicationOverlapDays", 35);
+        ReflectionTestUtils.setField(service, "checkupOverlapDays", 90);
+        ReflectionTestUtils.setField(service, "incrementalFetch", true);
+        ReflectionTestUtils.setField(service, "syncStateRepository", syncStateRepository);
+        ReflectionTestUtils.setField(service, "prescriptionRepository", prescriptionRepository);
+        ReflectionTestUtils.setField(service, "checkupResultRepository", checkupResultRepository);
+        ReflectionTestUtils.setField(service, "changeLogRepository", changeLogRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void firstSyncStoresFullHistory() {
+        assertNull(service.medicationFetchFrom(PATIENT));
+
+        SyncResultDto result = service.syncMedications(PATIENT, medicationData(
+                prescription(JAN_05, "아토르바스타틴정"),
+                prescription(MAR_01, "암로디핀정", "메트포르민정")), null);
+
+        assertNull(result.getFetchedFrom());
+        assertEquals(3, result.getInserted());
+        assertEquals("2025-03-01", result.getHighWater());
+        assertEquals(2, prescriptionRepository.findPrescriptions(PATIENT, MIN_DATE, MAX_DATE).size());
+        assertEquals(1, changeLogRepository.latestVersion(PATIENT));
+        // 다음 조회는 기준일 - 겹침 기간(35일)부터
+        assertEquals(MAR_01.minusDays(35), service.medicationFetchFrom(PATIENT));
+    }
+
+    @Test
+    void incrementalSyncComparesOnlyTheOverlapWindow() {
+        service.syncMedications(PATIENT, medicationData(
+                prescription(JAN_05, "아토르바스타틴정"),
+                prescription(MAR_01, "암로디핀정")), null);
+        LocalDate from = service.medicationFetchFrom(PATIENT);
+
+        // 겹침 구간의 3/1 처방은 그대로, 3/20 처방이 새로 청구됨 (1/5 처방은 조회 구간 밖)
+        SyncResultDto result = service.syncMedications(PATIENT, medicationData(
+                prescription(MAR_01, "암로디핀정"),
+                prescription(MAR_20, "로수바스타틴정")), from);
+
+        assertEquals(from.toString(), result.getFetchedFrom());
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(0, result.getDeleted());
+        assertEquals(List.of("아토르바스타틴정", "암로디핀정", "로수바스타틴정"), storedDrugNames());
+        assertEquals("2025-03-20", result.getHighWater());
+        assertEquals(2, changeLogRepository.latestVersion(PATIENT));
+    }
+
+    @Test
+    void rowsRemovedUpstreamInsideWindowAreDeleted() {
+        service.syncMedications(PATIENT, medicationData(
+                prescription(JAN_05, "아토르바스타틴정"),
+                prescription(MAR_01, "암로디핀정", "메트포르민정"),
+                prescription(MAR_10, "타이레놀정")), null);
+        LocalDate from = service.medicationFetchFrom(PATIENT);
+
+        // 3/1 처방의 두 번째 줄과 3/10 처방 전체가 취소됨
+        SyncResultDto result = service.syncMedications(PATIENT, medicationData(
+                prescription(MAR_01, "암로디핀정")), from);
+
+        assertEquals(2, result.getDeleted());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(List.of("아토르바스타틴정", "암로디핀정"), storedDrugNames());
+        assertEquals(2, prescriptionRepository.findPrescriptions(PATIENT, MIN_DATE, MAX_DATE).size());
+        // 기준일은 뒤로 가지 않음
+        assertEquals("2025-03-10", result.getHighWater());
+    }
+
+    @Test
+    void upstreamIgnoringStartDateDoesNotTouchOlderRows() {
+        service.syncMedications(PATIENT, medicationData(
+                prescription(JAN_05, "아토르바스타틴정"),
+                prescription(MAR_01, "암로디핀정")), null);
+        LocalDate from = service.medicationFetchFrom(PATIENT);
+
+        // 조회 시작일을 무시하고 전체를 돌려줌 - 구간 밖(1/5) 처방은 내용이 달라도 비교/저장하지 않음
+        SyncResultDto result = service.syncMedications(PATIENT, medicationData(
+                prescription(JAN_05, "아토르바스타틴정 20mg"),
+                prescription(MAR_01, "암로디핀정")), from);
+
+        assertEquals(0, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(0, result.getDeleted());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(List.of("아토르바스타틴정", "암로디핀정"), storedDrugNames());
+        assertEquals(1, changeLogRepository.latestVersion(PATIENT));
+    }
+
+    @Test
+    void checkupHighWaterAdvancesAndLimitsNextWindow() {
+        SyncResultDto first = service.syncCheckups(PATIENT, checkupData(
+                checkup("2023", "05/02", "LDL", "150"),
+                checkup("2024", "03/15", "LDL", "130")));
+
+        assertNull(first.getFetchedFrom());
+        assertEquals(2, first.getInserted());
+        assertEquals("2024-03-15", first.getHighWater());
+
+        // 다음 동기화는 기준일 - 90일 이후만 비교 - 2023년 값이 달라져도 무시, 2024년 값 변경과 2025년 추가만 반영
+        SyncResultDto second = service.syncCheckups(PATIENT, checkupData(
+                checkup("2023", "05/02", "LDL", "999"),
+                checkup("2024", "03/15", "LDL", "120"),
+                checkup("2025", "04/01", "LDL", "110")));
+
+        assertEquals("2023-12-16", second.getFetchedFrom());
+        assertEquals(1, second.getInserted());
+        assertEquals(1, second.getUpdated());
+        assertEquals("2025-04-01", second.getHighWater());
+        List<Double> values = new ArrayList<>();
+        for (CheckupResult result : checkupResultRepository.findByPatient(PATIENT, MIN_DATE, MAX_DATE)) {
+            values.add(result.getValue());
+        }
+        assertEquals(List.of(150.0, 120.0, 110.0), values);
+    }
+
+    private List<String> storedDrugNames() {
+        List<String> names = new ArrayList<>();
+        for (MedicationDetail detail : prescriptionRepository.findDetails(PATIENT, MIN_DATE, MAX_DATE)) {
+            names.add(detail.getDrugName());
+        }
+        return names;
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> medicationData(Map<String, Object>... prescriptions) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("Status", "OK");
+        data.put("ResultList", List.of(prescriptions));
+        return data;
+    }
+
+    private static Map<String, Object> prescription(LocalDate day, String... drugNames) {
+        List<Map<String, Object>> medications = new ArrayList<>();
+        for (String drugName : drugNames) {
+            Map<String, Object> detail = new HashMap<>();
+            detail.put("CmpnInfo", "");
+            detail.put("AtcInfo", "[C10AA05]");
+            detail.put("KpicInfo", "");
+
+            Map<String, Object> medication = new HashMap<>();
+            medication.put("ChoBangYakPumMyung", drugName);
+            medication.put("ChoBangYakPumHyoneung", "");
+            medication.put("TuyakIlSoo", "30");
+            medication.put("DrugDetailInfo", detail);
+            medications.add(medication);
+        }
+
+        Map<String, Object> prescription = new HashMap<>();
+        prescription.put("JinRyoGaesiIl", day.toString().replace("-", ""));
+        prescription.put("JinRyoHyungTae", "처방조제");
+        prescription.put("RetrieveTreatmentInjectionInformationPersonDetailList", medications);
+        return prescription;
+    }
+
+    @SafeVarargs
+    private static Map<String, Object> checkupData(Map<String, Object>... checkups) {
+        return Map.of("Status", "OK", "ResultList", List.of(checkups));
+    }
+
+    private static Map<String, Object> checkup(String year, String checkUpDate, String testName, String value) {
+        return Map.of("Year", year, "CheckUpDate", checkUpDate,
+                "Inspections", List.of(Map.of("Name", testName, "Value", value)));
+    }
+
+    private <T> T repository(T repository) {
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(repository, "batchSize", 100);
+        return repository;
+    }
+}
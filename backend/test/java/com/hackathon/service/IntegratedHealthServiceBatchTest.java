@@ -0,0 +1,201 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.BatchDiseaseAnalysisRequestDto;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntegratedHealthServiceBatchTest {
+
+    private final ForkJoinPool localPool = new ForkJoinPool(2);
+    private final ExecutorService llmExecutor = Executors.newFixedThreadPool(2);
+    private final IntegratedHealthService service = new IntegratedHealthService();
+
+    // 분석 호출마다 만든 Future (테스트가 직접 완료/취소 여부 확인)
+    private final List<CompletableFuture<DiseaseAnalysisDto>> analyses = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ChatGptAiService chatGptAiService = new ChatGptAiService() {
+            @Override
+            public PreparedAnalysis prepareAnalysis(Object medicationData) {
+                return new PreparedAnalysis("처방 분석 프롬프트", String.valueOf(medicationData), List.of());
+            }
+
+            @Override
+            public CompletableFuture<DiseaseAnalysisDto> analyzePreparedAsync(PreparedAnalysis prepared,
+                                                                              OpenAiRateScheduler.Priority priority,
+                                                                              Executor flightExecutor,
+                                                                              long timeoutMillis) {
+                CompletableFuture<DiseaseAnalysisDto> analysis = new CompletableFuture<>();
+                analyses.add(analysis);
+                return analysis;
+            }
+        };
+        ReflectionTestUtils.setField(service, "chatGptAiService", chatGptAiService);
+        ReflectionTestUtils.setField(service, "batchLocalPool", localPool);
+        ReflectionTestUtils.setField(service, "batchLlmExecutor", llmExecutor);
+        ReflectionTestUtils.setField(service, "batchMaxPatients", 10);
+        ReflectionTestUtils.setField(service, "batchPatientTimeoutSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        localPool.shutdownNow();
+        llmExecutor.shutdownNow();
+    }
+
+    @Test
+    void completedBatchSendsResultsThenComplete() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        service.analyzeDiseasesBatch(request("p1", "p2"), emitter);
+        awaitAnalyses(2);
+
+        for (CompletableFuture<DiseaseAnalysisDto> analysis : analyses) {
+            analysis.complete(success());
+        }
+
+        assertTrue(emitter.awaitCompleted());
+        assertEquals(List.of("result", "result", "complete"), emitter.eventNames());
+    }
+
+    @Test
+    void clientDisconnectCancelsPendingAnalyses() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        service.analyzeDiseasesBatch(request("p1", "p2", "p3"), emitter);
+        awaitAnalyses(3);
+        analyses.get(0).complete(success());
+        awaitEvents(emitter, 1);
+
+        // 클라이언트 연결 끊김
+        emitter.fireError(new IllegalStateException("연결 끊김"));
+
+        assertTrue(analyses.get(1).isCancelled());
+        assertTrue(analyses.get(2).isCancelled());
+        // 취소 후에는 결과/완료 이벤트를 보내지 않고 emitter도 다시 완료하지 않음
+        Thread.sleep(100);
+        assertEquals(List.of("result"), emitter.eventNames());
+        assertFalse(emitter.completed);
+    }
+
+    @Test
+    void timeoutCancelsAnalysesNotStartedYet() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        service.analyzeDiseasesBatch(request("p1", "p2"), emitter);
+        awaitAnalyses(2);
+
+        emitter.fireTimeout();
+
+        assertTrue(analyses.get(0).isCancelled());
+        assertTrue(analyses.get(1).isCancelled());
+        assertTrue(emitter.eventNames().isEmpty());
+    }
+
+    private void awaitAnalyses(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (analyses.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, analyses.size());
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.eventNames().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, emitter.eventNames().size());
+    }
+
+    private static BatchDiseaseAnalysisRequestDto request(String... patientIds) {
+        List<BatchDiseaseAnalysisRequestDto.PatientMedication> patients = new ArrayList<>();
+        for (String patientId : patientIds) {
+            patients.add(new BatchDiseaseAnalysisRequestDto.PatientMedication(patientId, patientId));
+        }
+        return new BatchDiseaseAnalysisRequestDto(patients);
+    }
+
+    private static DiseaseAnalysisDto success() {
+        DiseaseAnalysisDto analysis = new DiseaseAnalysisDto();
+        analysis.setStatus("SUCCESS");
+        return analysis;
+    }
+
+    // 서블릿 컨테이너 없이 등록된 콜백과 보낸 이벤트 이름을 기록하는 SseEmitter
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile Runnable onCompletion;
+        private volatile Runnable onTimeout;
+        private volatile Consumer<Throwable> onError;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = builder.build().iterator().next().getData().toString();
+            events.add(event.substring("event:".length(), event.indexOf('\n')));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completion.complete(null);
+            onCompletion.run();
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            onCompletion = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            onTimeout = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            onError = callback;
+        }
+
+        void fireTimeout() {
+            onTimeout.run();
+            onCompletion.run();
+        }
+
+        void fireError(Throwable error) {
+            onError.accept(error);
+            onCompletion.run();
+        }
+
+        boolean awaitCompleted() throws Exception {
+            completion.get(5, TimeUnit.SECONDS);
+            return completed;
+        }
+
+        List<String> eventNames() {
+            synchronized (events) {
+                return new ArrayList<>(events);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.ChatGptApiResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenAiRateSchedulerTest {
+
+    private static final long SHORT_WAIT_MILLIS = 50;
+    private static final long LONG_WAIT_MILLIS = 5000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private OpenAiRateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = scheduler(500, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void estimateIsClampedToTokensPerMinute() throws Exception {
+        OpenAiRateScheduler.Permit permit = scheduler.acquire(5000, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+
+        assertEquals(1000, permit.getEstimatedTokens());
+    }
+
+    @Test
+    void requestBudgetExhaustedTimesOutAndLeavesQueue() throws Exception {
+        scheduler = scheduler(2, 100_000);
+        scheduler.acquire(10, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+        scheduler.acquire(10, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+
+        assertThrows(TimeoutException.class,
+                () -> scheduler.acquire(10, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+        assertEquals(0, scheduler.queuedCount());
+    }
+
+    @Test
+    void releaseAfterRejectedCallRefundsTokens() throws Exception {
+        OpenAiRateScheduler.Permit rejected = scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+        assertThrows(TimeoutException.class,
+                () -> scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+
+        // 429 등으로 처리되지 않은 호출의 예상 토큰을 돌려받으면 다음 호출이 바로 허가됨
+        scheduler.release(rejected);
+
+        assertNotNull(scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+    }
+
+    @Test
+    void completeRefundsUnusedEstimate() throws Exception {
+        OpenAiRateScheduler.Permit permit = scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+
+        scheduler.complete(permit, usage(100));
+
+        assertNotNull(scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+    }
+
+    @Test
+    void completeWithoutUsageKeepsEstimate() throws Exception {
+        OpenAiRateScheduler.Permit permit = scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+
+        scheduler.complete(permit, null);
+
+        assertThrows(TimeoutException.class,
+                () -> scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+    }
+
+    @Test
+    void rateLimitedPausesCallsEvenWithBudget() {
+        scheduler.onRateLimited(TimeUnit.MINUTES.toMillis(1));
+
+        assertThrows(TimeoutException.class,
+                () -> scheduler.acquire(1, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null));
+        assertFalse(scheduler.hasHeadroom(0));
+    }
+
+    @Test
+    void callsResumeAfterRetryAfter() throws Exception {
+        long startedAt = System.nanoTime();
+        scheduler.onRateLimited(100);
+
+        scheduler.acquire(1, OpenAiRateScheduler.Priority.INTERACTIVE, LONG_WAIT_MILLIS, null);
+
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueuePromptly() throws Exception {
+        scheduler.acquire(1000, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+        SingleFlight.CancellationSignal signal = new SingleFlight.CancellationSignal();
+        CompletableFuture<OpenAiRateScheduler.Permit> waiting = acquireAsync(500, OpenAiRateScheduler.Priority.INTERACTIVE, signal);
+        awaitQueued(1);
+
+        signal.cancel();
+
+        // CompletableFuture.get은 원인이 CancellationException이면 그대로 던짐
+        assertThrows(CancellationException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.queuedCount());
+    }
+
+    @Test
+    void interactiveRequestIsServedBeforeEarlierBatchRequest() throws Exception {
+        OpenAiRateScheduler.Permit held = scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+        CompletableFuture<OpenAiRateScheduler.Permit> batch = acquireAsync(800, OpenAiRateScheduler.Priority.BATCH, null);
+        awaitQueued(1);
+        CompletableFuture<OpenAiRateScheduler.Permit> interactive = acquireAsync(800, OpenAiRateScheduler.Priority.INTERACTIVE, null);
+        awaitQueued(2);
+
+        scheduler.release(held);
+
+        assertNotNull(interactive.get(1, TimeUnit.SECONDS));
+        assertFalse(batch.isDone());
+        assertEquals(1, scheduler.queuedCount());
+    }
+
+    @Test
+    void urgentBatchWaiterIsPromotedAheadOfLaterInteractive() throws Exception {
+        OpenAiRateScheduler.Permit held = scheduler.acquire(800, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+        SingleFlight.CancellationSignal signal = new SingleFlight.CancellationSignal();
+        CompletableFuture<OpenAiRateScheduler.Permit> speculation = acquireAsync(800, OpenAiRateScheduler.Priority.BATCH, signal);
+        awaitQueued(1);
+        CompletableFuture<OpenAiRateScheduler.Permit> interactive = acquireAsync(800, OpenAiRateScheduler.Priority.INTERACTIVE, null);
+        awaitQueued(2);
+
+        // 사용자 요청이 선행 분석 호출에 합류 - 먼저 기다린 순서대로 처리
+        signal.markUrgent();
+        scheduler.release(held);
+
+        assertNotNull(speculation.get(1, TimeUnit.SECONDS));
+        assertFalse(interactive.isDone());
+        assertEquals(1, scheduler.queuedCount());
+    }
+
+    @Test
+    void headroomRequiresReserveFraction() throws Exception {
+        assertTrue(scheduler.hasHeadroom(0.5));
+
+        scheduler.acquire(600, OpenAiRateScheduler.Priority.INTERACTIVE, SHORT_WAIT_MILLIS, null);
+
+        assertFalse(scheduler.hasHeadroom(0.5));
+    }
+
+    private CompletableFuture<OpenAiRateScheduler.Permit> acquireAsync(int tokens, OpenAiRateScheduler.Priority priority,
+                                                                       SingleFlight.CancellationSignal signal) {
+        CompletableFuture<OpenAiRateScheduler.Permit> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(scheduler.acquire(tokens, priority, LONG_WAIT_MILLIS, signal));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.queuedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, scheduler.queuedCount());
+    }
+
+    private static ChatGptApiResponseDto.Usage usage(int totalTokens) {
+        ChatGptApiResponseDto.Usage usage = new ChatGptApiResponseDto.Usage();
+        usage.setTotalTokens(totalTokens);
+        return usage;
+    }
+
+    private static OpenAiRateScheduler scheduler(int requestsPerMinute, int tokensPerMinute) {
+        OpenAiRateScheduler scheduler = new OpenAiRateScheduler();
+        ReflectionTestUtils.setField(scheduler, "requestsPerMinute", requestsPerMinute);
+        ReflectionTestUtils.setField(scheduler, "tokensPerMinute", tokensPerMinute);
+        return scheduler;
+    }
+}
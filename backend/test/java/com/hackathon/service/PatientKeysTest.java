@@ -0,0 +1,73 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatientKeysTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sameIdentityGivesSameKeyRegardlessOfFormat() throws Exception {
+        PatientKeys patientKeys = patientKeys(secret(1), "unused");
+
+        String key = patientKeys.of("홍길동", "1990-01-02", "010-1234-5678");
+
+        assertEquals(key, patientKeys.of(" 홍길동 ", "19900102", "01012345678"));
+        assertTrue(key.matches("[0-9a-f]{32}"));
+        assertNotEquals(key, patientKeys.of("홍길동", "19900102", "01012345679"));
+    }
+
+    @Test
+    void keyDependsOnSecret() throws Exception {
+        String first = patientKeys(secret(1), "unused").of("홍길동", "19900102", "01012345678");
+        String second = patientKeys(secret(2), "unused").of("홍길동", "19900102", "01012345678");
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void secretFileIsCreatedOnceAndReused() throws Exception {
+        Path secretFile = dir.resolve("keys").resolve("patient-key.secret");
+
+        String first = patientKeys("", secretFile.toString()).of("홍길동", "19900102", "01012345678");
+        assertTrue(Files.exists(secretFile));
+        String second = patientKeys("", secretFile.toString()).of("홍길동", "19900102", "01012345678");
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shortSecretIsRejected() {
+        PatientKeys patientKeys = new PatientKeys();
+        ReflectionTestUtils.setField(patientKeys, "secret", Base64.getEncoder().encodeToString(new byte[16]));
+        ReflectionTestUtils.setField(patientKeys, "secretFile", "unused");
+
+        assertThrows(IllegalStateException.class, patientKeys::init);
+    }
+
+    private static PatientKeys patientKeys(String secret, String secretFile) throws Exception {
+        PatientKeys patientKeys = new PatientKeys();
+        ReflectionTestUtils.setField(patientKeys, "secret", secret);
+        ReflectionTestUtils.setField(patientKeys, "secretFile", secretFile);
+        patientKeys.init();
+        return patientKeys;
+    }
+
+    private static String secret(int seed) {
+        byte[] secret = new byte[32];
+        secret[0] = (byte) seed;
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
@@ -0,0 +1,218 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentJoinsShareOneUpstreamCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.Upstream<String> upstream = signal -> {
+            calls.incrementAndGet();
+            release.await();
+            return "결과";
+        };
+
+        CompletableFuture<String> first = singleFlight.join("k", upstream);
+        CompletableFuture<String> second = singleFlight.join("k", upstream);
+        release.countDown();
+
+        assertEquals("결과", first.get(5, TimeUnit.SECONDS));
+        assertEquals("결과", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void cancellingOneOfTwoWaitersKeepsUpstreamRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight.CancellationSignal[] seen = new SingleFlight.CancellationSignal[1];
+        SingleFlight.Upstream<String> upstream = signal -> {
+            seen[0] = signal;
+            started.countDown();
+            release.await();
+            return "결과";
+        };
+
+        CompletableFuture<String> first = singleFlight.join("k", upstream);
+        CompletableFuture<String> second = singleFlight.join("k", upstream);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        first.cancel(false);
+        assertFalse(seen[0].isCancelled());
+        assertEquals(1, singleFlight.inFlightCount());
+
+        release.countDown();
+        assertEquals("결과", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancellingLastWaiterCancelsUpstream() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        SingleFlight.Upstream<String> upstream = signal -> {
+            signal.setOnCancel(cancelled::countDown);
+            started.countDown();
+            cancelled.await();
+            return "늦은 결과";
+        };
+
+        CompletableFuture<String> first = singleFlight.join("k", upstream);
+        CompletableFuture<String> second = singleFlight.join("k", upstream);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        first.cancel(false);
+        second.cancel(false);
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void onCancelRegisteredAfterCancellationRunsImmediately() {
+        SingleFlight.CancellationSignal signal = new SingleFlight.CancellationSignal();
+        signal.cancel();
+
+        AtomicInteger runs = new AtomicInteger();
+        signal.setOnCancel(runs::incrementAndGet);
+
+        assertTrue(signal.isCancelled());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void joinAfterCancelledFlightStartsNewCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        SingleFlight.Upstream<String> slow = signal -> {
+            calls.incrementAndGet();
+            started.countDown();
+            CountDownLatch cancelled = new CountDownLatch(1);
+            signal.setOnCancel(cancelled::countDown);
+            cancelled.await();
+            return "취소된 호출";
+        };
+
+        CompletableFuture<String> abandoned = singleFlight.join("k", slow);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        abandoned.cancel(false);
+
+        CompletableFuture<String> fresh = singleFlight.join("k", signal -> {
+            calls.incrementAndGet();
+            return "새 호출";
+        });
+        assertEquals("새 호출", fresh.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void upstreamFailureIsSharedAndFlightIsRemoved() throws Exception {
+        CompletableFuture<String> failed = singleFlight.join("k", signal -> {
+            throw new IllegalStateException("업스트림 오류");
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void rejectedExecutorFailsWaiterAndDoesNotLeakFlight() {
+        CompletableFuture<String> rejected = singleFlight.join("k", signal -> "결과", command -> {
+            throw new RejectedExecutionException("가득 참");
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void urgentJoinRunsQueuedFlightOnItsOwnExecutor() throws Exception {
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlight.CancellationSignal[] seen = new SingleFlight.CancellationSignal[1];
+        SingleFlight.Upstream<String> upstream = signal -> {
+            calls.incrementAndGet();
+            seen[0] = signal;
+            return Thread.currentThread().getName();
+        };
+        try {
+            // 선행 분석 풀이 다른 작업으로 바빠 호출이 대기열에 머묾
+            background.execute(() -> {
+                try {
+                    busy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CompletableFuture<String> speculation = singleFlight.join("k", upstream, background);
+
+            CompletableFuture<String> interactive = singleFlight.join("k", upstream, executor, true);
+
+            String thread = interactive.get(5, TimeUnit.SECONDS);
+            assertEquals(thread, speculation.get(5, TimeUnit.SECONDS));
+            assertTrue(seen[0].isUrgent());
+
+            // 나중에 대기열의 원래 실행이 돌아와도 다시 호출하지 않음
+            busy.countDown();
+            background.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            assertEquals(1, calls.get());
+        } finally {
+            background.shutdownNow();
+        }
+    }
+
+    @Test
+    void urgentJoinMarksRunningFlightWithoutSecondCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SingleFlight.CancellationSignal[] seen = new SingleFlight.CancellationSignal[1];
+        SingleFlight.Upstream<String> upstream = signal -> {
+            calls.incrementAndGet();
+            seen[0] = signal;
+            started.countDown();
+            release.await();
+            return "결과";
+        };
+
+        CompletableFuture<String> speculation = singleFlight.join("k", upstream);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(seen[0].isUrgent());
+
+        CompletableFuture<String> interactive = singleFlight.join("k", upstream, executor, true);
+        assertTrue(seen[0].isUrgent());
+        release.countDown();
+
+        assertEquals("결과", interactive.get(5, TimeUnit.SECONDS));
+        assertEquals("결과", speculation.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+}
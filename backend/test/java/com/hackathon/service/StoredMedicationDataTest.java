@@ -0,0 +1,131 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.domain.MedicationDetail;
+import com.hackathon.domain.Prescription;
+import com.hackathon.repository.PrescriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class StoredMedicationDataTest {
+
+    private static final String PATIENT = "p1";
+    private static final LocalDate OLD_DAY = LocalDate.of(2024, 12, 1);
+    private static final LocalDate NEW_DAY = LocalDate.of(2025, 3, 1);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private PrescriptionRepository prescriptionRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        prescriptionRepository = new PrescriptionRepository();
+        ReflectionTestUtils.setField(prescriptionRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(prescriptionRepository, "batchSize", 100);
+
+        // 원본이 저장된 처방 1건 + 원본 없이 줄만 저장된 같은 날 처방 2건
+        prescriptionRepository.upsertPrescriptions(List.of(
+                new Prescription(PATIENT, OLD_DAY, 0, "처방조제", 1,
+                        "{\"JinRyoGaesiIl\":\"20241201\",\"JinRyoHyungTae\":\"처방조제\",\"BeongWonNm\":\"원본\"}"),
+                new Prescription(PATIENT, NEW_DAY, 0, "처방조제", 2, null),
+                new Prescription(PATIENT, NEW_DAY, 1, "처방조제", 1, null),
+                new Prescription("p2", NEW_DAY, 0, "처방조제", 1, null)));
+        prescriptionRepository.upsertDetails(List.of(
+                detail(PATIENT, NEW_DAY, 0, 0, "아토르바스타틴정"),
+                detail(PATIENT, NEW_DAY, 0, 1, "암로디핀정"),
+                detail(PATIENT, NEW_DAY, 1, 0, "메트포르민정"),
+                detail("p2", NEW_DAY, 0, 0, "다른환자약")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void recordsAreNewestFirstWithLinesInOrder() {
+        List<Map<String, Object>> records = records(stored());
+
+        assertEquals(3, records.size());
+        assertEquals(List.of("메트포르민정"), drugNames(records.get(0)));
+        assertEquals(List.of("아토르바스타틴정", "암로디핀정"), drugNames(records.get(1)));
+        assertEquals("20250301", records.get(1).get("JinRyoGaesiIl"));
+        // 원본이 있으면 저장된 줄 대신 원본 그대로
+        assertEquals("원본", records.get(2).get("BeongWonNm"));
+    }
+
+    @Test
+    void serializesHeaderAndStoredHistoryLikeTilkoResponse() throws Exception {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("Status", "OK");
+        header.put("ResultList", List.of("이번 조회 결과는 사용하지 않음"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> json = mapper.readValue(mapper.writeValueAsString(
+                new StoredMedicationData(prescriptionRepository, PATIENT, header)), LinkedHashMap.class);
+
+        assertEquals(List.of("Status", "ResultList"), new ArrayList<>(json.keySet()));
+        assertEquals("OK", json.get("Status"));
+        assertEquals(3, ((List<?>) json.get("ResultList")).size());
+    }
+
+    @Test
+    void prescriptionParserReadsStoredHistory() {
+        List<String> drugNames = new ArrayList<>();
+        PrescriptionParser.parse(stored()).forEach(item -> drugNames.add(item.getDrugName()));
+
+        assertEquals(List.of("메트포르민정", "아토르바스타틴정", "암로디핀정"), drugNames);
+    }
+
+    @Test
+    void patientWithoutHistoryHasNoRecords() {
+        StoredMedicationData empty = new StoredMedicationData(prescriptionRepository, "none", Map.of("Status", "OK"));
+
+        assertEquals(0, empty.forEachRecord(record -> { }));
+        assertFalse(empty.getHeader().containsKey("ResultList"));
+    }
+
+    private StoredMedicationData stored() {
+        return new StoredMedicationData(prescriptionRepository, PATIENT, Map.of("Status", "OK"));
+    }
+
+    private static List<Map<String, Object>> records(StoredMedicationData stored) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        stored.forEachRecord(records::add);
+        return records;
+    }
+
+    private static List<String> drugNames(Map<String, Object> record) {
+        List<String> names = new ArrayList<>();
+        for (Object line : (List<?>) record.get("RetrieveTreatmentInjectionInformationPersonDetailList")) {
+            names.add((String) ((Map<?, ?>) line).get("ChoBangYakPumMyung"));
+        }
+        return names;
+    }
+
+    private static MedicationDetail detail(String patientKey, LocalDate day, int seq, int lineNo, String drugName) {
+        return new MedicationDetail(patientKey, day, seq, lineNo, drugName, "효능", 30,
+                null, "C10AA05", null, null);
+    }
+}
@@ -0,0 +1,176 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TherapyIntervalIndexTest {
+
+    private static final int BASE_DAY = (int) LocalDate.of(2025, 1, 1).toEpochDay();
+
+    // 약물 줄 번호 (처방 데이터 순서)
+    private static final int ATORVASTATIN = 0;
+    private static final int ROSUVASTATIN = 3;
+    private static final int ATORVASTATIN_AGAIN = 4;
+    private static final int ROSUVASTATIN_LATER = 7;
+
+    private final MedicationModel model = MedicationModel.parse(medicationData(), null);
+    private final TherapyIntervalIndex index = TherapyIntervalIndex.byAtcClass(model);
+
+    @Test
+    void rowsWithoutAtcDayOrDaysAreExcluded() {
+        assertEquals(Set.of("C10AA", "C08CA"), index.classes());
+        // 날짜를 모르는 심바스타틴, 투약 일수 0인 프라바스타틴은 기간이 없어 제외
+        assertEquals(4, index.overlapping("C10AA", BASE_DAY - 1000, BASE_DAY + 1000).length);
+    }
+
+    @Test
+    void overlappingReturnsRowsByStartDay() {
+        assertArrayEquals(new int[]{ATORVASTATIN, ROSUVASTATIN, ATORVASTATIN_AGAIN},
+                index.overlapping("C10AA", day(25), day(26)));
+        assertArrayEquals(new int[]{ROSUVASTATIN_LATER}, index.overlapping("C10AA", day(60), day(200)));
+    }
+
+    @Test
+    void intervalEndIsExclusive() {
+        // 아토르바스타틴 [0, 30) 은 30일째와 겹치지 않음
+        assertArrayEquals(new int[]{ROSUVASTATIN, ATORVASTATIN_AGAIN}, index.overlapping("C10AA", day(30), day(31)));
+        assertArrayEquals(new int[0], index.overlapping("C10AA", day(54), day(59)));
+        assertArrayEquals(new int[0], index.overlapping("C10AA", day(10), day(10)));
+        assertArrayEquals(new int[0], index.overlapping("없는계열", day(0), day(100)));
+    }
+
+    @Test
+    void overlappingPairsSkipSameDrugAndShortOverlaps() {
+        List<int[]> pairs = index.overlappingPairs("C10AA", 1);
+
+        // 아토르바스타틴 두 처방(6일 겹침)은 같은 약이라 제외
+        assertEquals(2, pairs.size());
+        assertArrayEquals(new int[]{ATORVASTATIN, ROSUVASTATIN, 10}, pairs.get(0));
+        assertArrayEquals(new int[]{ROSUVASTATIN, ATORVASTATIN_AGAIN, 26}, pairs.get(1));
+
+        List<int[]> longPairs = index.overlappingPairs("C10AA", 15);
+        assertEquals(1, longPairs.size());
+        assertArrayEquals(new int[]{ROSUVASTATIN, ATORVASTATIN_AGAIN, 26}, longPairs.get(0));
+
+        assertTrue(index.overlappingPairs("C08CA", 1).isEmpty());
+    }
+
+    @Test
+    void cumulativeDaysCountsOverlapOnce() {
+        // [0, 54) + [59, 89)
+        assertEquals(84, index.cumulativeDays("C10AA", day(0), day(100)));
+        assertEquals(10, index.cumulativeDays("C10AA", day(10), day(20)));
+        assertEquals(0, index.cumulativeDays("C10AA", day(54), day(59)));
+    }
+
+    @Test
+    void gapsAreUncoveredRanges() {
+        List<int[]> gaps = index.gaps("C10AA", day(-5), day(100));
+
+        assertEquals(3, gaps.size());
+        assertArrayEquals(new int[]{day(-5), day(0)}, gaps.get(0));
+        assertArrayEquals(new int[]{day(54), day(59)}, gaps.get(1));
+        assertArrayEquals(new int[]{day(89), day(100)}, gaps.get(2));
+
+        assertTrue(index.gaps("C10AA", day(0), day(54)).isEmpty());
+    }
+
+    @Test
+    void spanCoversWholeClass() {
+        assertArrayEquals(new int[]{day(0), day(89)}, index.span("C10AA"));
+        assertArrayEquals(new int[]{day(0), day(90)}, index.span("C08CA"));
+        assertNull(index.span("없는계열"));
+    }
+
+    @Test
+    void customClassifierGroupsAndExcludes() {
+        TherapyIntervalIndex statins = TherapyIntervalIndex.build(model,
+                atc -> model.atcCodeOf(atc).startsWith("C10") ? "스타틴" : null);
+
+        assertEquals(Set.of("스타틴"), statins.classes());
+        assertEquals(84, statins.cumulativeDays("스타틴", day(0), day(100)));
+    }
+
+    @Test
+    void largeClassMatchesLinearScan() {
+        // 구간 트리 가지치기 결과가 전체 비교와 같은지 확인
+        List<Map<String, Object>> prescriptions = new ArrayList<>();
+        int[] starts = new int[200];
+        int[] lengths = new int[200];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = (i * 37) % 365;
+            lengths[i] = 1 + (i * 13) % 60;
+            prescriptions.add(prescription(day(starts[i]),
+                    medication("약" + i, String.valueOf(lengths[i]), "C10AA05")));
+        }
+        TherapyIntervalIndex large = TherapyIntervalIndex.byAtcClass(MedicationModel.parse(Map.of("ResultList", prescriptions), null));
+
+        for (int from = -10; from < 400; from += 7) {
+            int to = from + 5;
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < starts.length; i++) {
+                if (starts[i] < to && starts[i] + lengths[i] > from) {
+                    expected.add(i);
+                }
+            }
+            expected.sort((a, b) -> starts[a] != starts[b] ? Integer.compare(starts[a], starts[b]) : Integer.compare(a, b));
+
+            int[] found = large.overlapping("C10AA", day(from), day(to));
+            assertEquals(expected.size(), found.length, "구간 [" + from + ", " + to + ")");
+            for (int n = 0; n < found.length; n++) {
+                assertEquals(starts[expected.get(n)], starts[found[n]]);
+            }
+        }
+    }
+
+    private static Map<String, Object> medicationData() {
+        List<Map<String, Object>> prescriptions = new ArrayList<>();
+        prescriptions.add(prescription(day(0),
+                medication("아토르바스타틴칼슘정10mg", "30", "C10AA05"),
+                medication("암로디핀베실산염정5mg", "90", "C08CA01"),
+                medication("타이레놀정500mg", "3", null)));
+        prescriptions.add(prescription(day(20), medication("로수바스타틴칼슘정10mg", "30", "C10AA07")));
+        prescriptions.add(prescription(day(24), medication("아토르바스타틴칼슘정10mg", "30", "C10AA05")));
+        prescriptions.add(prescription(null, medication("심바스타틴정20mg", "30", "C10AA01")));
+        prescriptions.add(prescription(day(40), medication("프라바스타틴나트륨정20mg", "0", "C10AA03")));
+        prescriptions.add(prescription(day(59), medication("로수바스타틴칼슘정10mg", "30", "C10AA07")));
+        return Map.of("ResultList", prescriptions);
+    }
+
+    private static Map<String, Object> prescription(Integer epochDay, Map<?, ?>... medications) {
+        Map<String, Object> prescription = new HashMap<>();
+        prescription.put("JinRyoGaesiIl", epochDay == null ? "" : LocalDate.ofEpochDay(epochDay).toString().replace("-", ""));
+        prescription.put("JinRyoHyungTae", "처방조제");
+        prescription.put("RetrieveTreatmentInjectionInformationPersonDetailList", List.of(medications));
+        return prescription;
+    }
+
+    private static Map<String, Object> medication(String drugName, String dosageDays, String atcCode) {
+        Map<String, Object> detail = new HashMap<>();
+        detail.put("CmpnInfo", "");
+        detail.put("AtcInfo", atcCode == null ? "" : "[" + atcCode + "]");
+        detail.put("KpicInfo", "");
+
+        Map<String, Object> medication = new HashMap<>();
+        medication.put("ChoBangYakPumMyung", drugName);
+        medication.put("ChoBangYakPumHyoneung", "");
+        medication.put("TuyakIlSoo", dosageDays);
+        medication.put("DrugDetailInfo", detail);
+        return medication;
+    }
+
+    private static int day(int offset) {
+        return BASE_DAY + offset;
+    }
+}
@@ -0,0 +1,234 @@
+package com.hackathon.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private Path keyFile;
+    private final List<TokenService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyFile = dir.resolve("auth-keys.properties");
+        writeKeys("k1", "k1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(TokenService::shutdown);
+    }
+
+    @Test
+    void issuedTokenVerifies() {
+        TokenService tokenService = tokenService(60, 100);
+
+        AuthPrincipal principal = tokenService.verify(tokenService.issue("user-1", "patient-1"));
+
+        assertNotNull(principal);
+        assertEquals("user-1", principal.getUserId());
+        assertEquals("patient-1", principal.getPatientKey());
+        assertEquals(AuthPrincipal.ROLE_PATIENT, principal.getRole());
+        assertEquals(3600, principal.getExpiresAt() - principal.getIssuedAt());
+    }
+
+    @Test
+    void doctorTokenCarriesRoleAndName() {
+        TokenService tokenService = tokenService(60, 100);
+
+        AuthPrincipal doctor = tokenService.verify(tokenService.issueDoctor("doctor-1", "김의사"));
+        AuthPrincipal patient = tokenService.verify(tokenService.issue("user-1", "patient-1"));
+
+        assertTrue(doctor.isDoctor());
+        assertEquals("doctor-1", doctor.getUserId());
+        assertEquals("김의사", doctor.getName());
+        assertNull(doctor.getPatientKey());
+        assertEquals(120 * 60, doctor.getExpiresAt() - doctor.getIssuedAt());
+        assertFalse(patient.isDoctor());
+        assertNull(patient.getName());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        TokenService tokenService = tokenService(60, 100);
+        String[] mine = tokenService.issue("user-1", "patient-1").split("\\.");
+        String[] other = tokenService.issue("user-2", "patient-2").split("\\.");
+
+        // 다른 토큰의 본문으로 바꿔치기 / 서명 1바이트 변경
+        assertNull(tokenService.verify(mine[0] + "." + other[1] + "." + mine[2]));
+        byte[] signature = Base64.getUrlDecoder().decode(mine[2]);
+        signature[0] ^= 1;
+        assertNull(tokenService.verify(mine[0] + "." + mine[1] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(signature)));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        TokenService tokenService = tokenService(60, 100);
+        String[] parts = tokenService.issue("user-1", "patient-1").split("\\.");
+
+        assertNull(tokenService.verify(""));
+        assertNull(tokenService.verify("abc"));
+        assertNull(tokenService.verify(parts[0] + "." + parts[1]));
+        assertNull(tokenService.verify(parts[0] + "." + parts[1] + "." + parts[2] + ".x"));
+        assertNull(tokenService.verify(parts[0] + "." + parts[1] + ".%%%"));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        TokenService tokenService = tokenService(-1, 100);
+
+        assertNull(tokenService.verify(tokenService.issue("user-1", "patient-1")));
+    }
+
+    @Test
+    void tokenFromUnknownKeyIsRejected() throws Exception {
+        TokenService tokenService = tokenService(60, 100);
+        Path otherFile = dir.resolve("other-keys.properties");
+        Files.writeString(otherFile, "current=k9\nkey.k9=" + secret("k9") + "\n");
+        TokenService other = tokenService(otherFile, 60, 100);
+
+        assertNull(tokenService.verify(other.issue("user-1", "patient-1")));
+    }
+
+    @Test
+    void sameKidWithDifferentSecretIsRejected() throws Exception {
+        TokenService tokenService = tokenService(60, 100);
+        Path otherFile = dir.resolve("other-keys.properties");
+        Files.writeString(otherFile, "current=k1\nkey.k1=" + secret("다른 비밀키") + "\n");
+        TokenService other = tokenService(otherFile, 60, 100);
+
+        assertNull(tokenService.verify(other.issue("user-1", "patient-1")));
+    }
+
+    @Test
+    void rotationKeepsOldKeyTokensValid() throws Exception {
+        TokenService tokenService = tokenService(60, 100);
+        String oldToken = tokenService.issue("user-1", "patient-1");
+
+        writeKeys("k2", "k1", "k2");
+        reloadKeys(tokenService);
+        String newToken = tokenService.issue("user-1", "patient-1");
+
+        assertNotNull(tokenService.verify(oldToken));
+        assertNotNull(tokenService.verify(newToken));
+        assertNotEquals(oldToken.split("\\.")[0], newToken.split("\\.")[0], "새 토큰은 새 키 ID 헤더로 발급");
+    }
+
+    @Test
+    void removedKeyInvalidatesCachedTokens() throws Exception {
+        TokenService tokenService = tokenService(60, 100);
+        String oldToken = tokenService.issue("user-1", "patient-1");
+        assertNotNull(tokenService.verify(oldToken));
+
+        writeKeys("k2", "k2");
+        reloadKeys(tokenService);
+
+        assertNull(tokenService.verify(oldToken));
+        assertNotNull(tokenService.verify(tokenService.issue("user-1", "patient-1")));
+    }
+
+    @Test
+    void invalidKeyFileKeepsPreviousKeys() throws Exception {
+        TokenService tokenService = tokenService(60, 100);
+        String token = tokenService.issue("user-1", "patient-1");
+
+        // 32바이트 미만 키 / current 없는 키 파일은 무시
+        Files.writeString(keyFile, "current=k2\nkey.k2=" + Base64.getEncoder().encodeToString(new byte[16]) + "\n");
+        touch(2000);
+        reloadKeys(tokenService);
+        assertNotNull(tokenService.verify(token));
+
+        Files.writeString(keyFile, "key.k1=" + secret("k1") + "\n");
+        touch(4000);
+        reloadKeys(tokenService);
+        assertNotNull(tokenService.verify(token));
+    }
+
+    @Test
+    void missingKeyFileUsesLocalKey() {
+        TokenService tokenService = tokenService(dir.resolve("missing-keys.properties"), 60, 100);
+
+        assertNotNull(tokenService.verify(tokenService.issue("user-1", "patient-1")));
+    }
+
+    @Test
+    void fullCacheStillVerifies() {
+        TokenService tokenService = tokenService(60, 1);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(tokenService.issue("user-" + i, "patient-" + i));
+        }
+
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < tokens.size(); i++) {
+                assertEquals("user-" + i, tokenService.verify(tokens.get(i)).getUserId());
+            }
+        }
+    }
+
+    private TokenService tokenService(long tokenTtlMinutes, int principalCacheSize) {
+        return tokenService(keyFile, tokenTtlMinutes, principalCacheSize);
+    }
+
+    // 스프링 없이 @Value 필드를 직접 설정하고 init 호출 (백그라운드 재로드는 테스트 중 일어나지 않도록 길게)
+    private TokenService tokenService(Path file, long tokenTtlMinutes, int principalCacheSize) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyFile", file.toString());
+        ReflectionTestUtils.setField(tokenService, "keyReloadSeconds", 3600L);
+        ReflectionTestUtils.setField(tokenService, "tokenTtlMinutes", tokenTtlMinutes);
+        ReflectionTestUtils.setField(tokenService, "doctorTokenTtlMinutes", 120L);
+        ReflectionTestUtils.setField(tokenService, "principalCacheSize", principalCacheSize);
+        tokenService.init();
+        services.add(tokenService);
+        return tokenService;
+    }
+
+    private void writeKeys(String current, String... kids) throws Exception {
+        StringBuilder properties = new StringBuilder("current=" + current + "\n");
+        for (String kid : kids) {
+            properties.append("key.").append(kid).append('=').append(secret(kid)).append('\n');
+        }
+        boolean existed = Files.exists(keyFile);
+        Files.writeString(keyFile, properties.toString());
+        if (existed) {
+            touch(1000);
+        }
+    }
+
+    // 같은 초 안에 다시 쓰면 수정 시간이 같아 다시 읽지 않으므로 시간을 앞으로 옮김
+    private void touch(long millis) throws Exception {
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(System.currentTimeMillis() + millis));
+    }
+
+    private static void reloadKeys(TokenService tokenService) {
+        ReflectionTestUtils.invokeMethod(tokenService, "reloadKeys");
+    }
+
+    private static String secret(String seed) throws Exception {
+        byte[] secret = MessageDigest.getInstance("SHA-256").digest(seed.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}